@@ -4,6 +4,8 @@
 
 #include <jni.h>
 #include <string>
+#include <vector>
+#include <cstdint>
 #include <jnimediaplayer.h>
 
 #include "rapidjson/document.h"
@@ -120,6 +122,60 @@ namespace apl {
             return env->NewStringUTF(c->getChildAt(cid)->getUniqueId().c_str());
         }
 
+        /**
+         * @return the number of a unique id such as ":1000", or -1 if the id is not numeric.
+         * Must match Component#toUid.
+         */
+        static jint toNumericUid(const std::string& uniqueId) {
+            size_t start = (!uniqueId.empty() && uniqueId[0] == ':') ? 1 : 0;
+            if (start == uniqueId.size()) {
+                return -1;
+            }
+            int64_t uid = 0;
+            for (size_t i = start; i < uniqueId.size(); i++) {
+                char digit = uniqueId[i];
+                if (digit < '0' || digit > '9') {
+                    return -1;
+                }
+                uid = uid * 10 + (digit - '0');
+                if (uid > INT32_MAX) {
+                    return -1;
+                }
+            }
+            return static_cast<jint>(uid);
+        }
+
+        static jintArray toUidArray(JNIEnv *env, const std::vector<jint>& uids) {
+            auto count = static_cast<jsize>(uids.size());
+            jintArray result = env->NewIntArray(count);
+            env->SetIntArrayRegion(result, 0, count, uids.data());
+            return result;
+        }
+
+        JNIEXPORT jintArray JNICALL
+        Java_com_amazon_apl_android_Component_nGetChildUids(JNIEnv *env, jclass clazz,
+                                                            jlong handle) {
+
+            auto c = get<Component>(handle);
+            std::vector<jint> uids(c->getChildCount());
+            for (size_t i = 0; i < uids.size(); i++) {
+                uids[i] = toNumericUid(c->getChildAt(i)->getUniqueId());
+            }
+            return toUidArray(env, uids);
+        }
+
+        JNIEXPORT jintArray JNICALL
+        Java_com_amazon_apl_android_Component_nGetDisplayedChildUids(JNIEnv *env, jclass clazz,
+                                                                     jlong handle) {
+
+            auto c = get<Component>(handle);
+            std::vector<jint> uids(c->getDisplayedChildCount());
+            for (size_t i = 0; i < uids.size(); i++) {
+                uids[i] = toNumericUid(c->getDisplayedChildAt(i)->getUniqueId());
+            }
+            return toUidArray(env, uids);
+        }
+
         JNIEXPORT void JNICALL
         Java_com_amazon_apl_android_Component_nEnsureLayout(JNIEnv *env, jclass clazz,
                                                             jlong handle) {
@@ -2,6 +2,7 @@
  * Copyright 2019 Amazon.com, Inc. or its affiliates. All Rights Reserved.
  */
 
+#include <cstring>
 #include <jni.h>
 #include "apl/apl.h"
 #include "jniutil.h"
@@ -9,6 +10,115 @@
 namespace apl {
     namespace jni {
 
+        /**
+         * Reads the changes encoded by LiveDataBatch.java.  The constants must match it.
+         */
+        class BatchReader {
+        public:
+            static const uint8_t OP_PUSH_BACK = 1;
+            static const uint8_t OP_INSERT = 2;
+            static const uint8_t OP_UPDATE = 3;
+            static const uint8_t OP_REMOVE = 4;
+            static const uint8_t OP_SET = 5;
+            static const uint8_t OP_REMOVE_KEY = 6;
+
+            BatchReader(JNIEnv *env, jobject buffer, jint length, jobjectArray objects)
+                    : mEnv(env),
+                      mData(static_cast<const uint8_t *>(env->GetDirectBufferAddress(buffer))),
+                      mLength(mData ? static_cast<size_t>(length) : 0),
+                      mObjects(objects) {}
+
+            bool hasNext() const { return mPosition < mLength; }
+
+            uint8_t readOperation() { return readByte(); }
+
+            int32_t readInt() {
+                int32_t value = 0;
+                read(&value, sizeof(value));
+                return value;
+            }
+
+            std::string readKey() {
+                auto length = readInt();
+                if (length <= 0 || !available(length))
+                    return "";
+                std::string key(reinterpret_cast<const char *>(mData + mPosition), length);
+                mPosition += length;
+                return key;
+            }
+
+            Object readValue() {
+                switch (readByte()) {
+                    case VALUE_FALSE:
+                        return Object::FALSE_OBJECT();
+                    case VALUE_TRUE:
+                        return Object::TRUE_OBJECT();
+                    case VALUE_NUMBER: {
+                        double value = 0;
+                        read(&value, sizeof(value));
+                        return value;
+                    }
+                    case VALUE_STRING:
+                        return readKey();
+                    case VALUE_OBJECT: {
+                        auto index = readInt();
+                        if (mObjects == nullptr || index < 0 || index >= mEnv->GetArrayLength(mObjects))
+                            return Object::NULL_OBJECT();
+                        auto object = mEnv->GetObjectArrayElement(mObjects, index);
+                        auto result = getAPLObject(mEnv, object);
+                        mEnv->DeleteLocalRef(object);
+                        return result;
+                    }
+                    default:
+                        return Object::NULL_OBJECT();
+                }
+            }
+
+            /**
+             * Reads the count and the values of a range operation.
+             */
+            std::vector<Object> readValues() {
+                auto count = readInt();
+                std::vector<Object> values;
+                if (count > 0 && available(count))
+                    values.reserve(static_cast<size_t>(count));
+                for (int32_t i = 0; i < count && hasNext(); i++)
+                    values.emplace_back(readValue());
+                return values;
+            }
+
+        private:
+            static const uint8_t VALUE_FALSE = 1;
+            static const uint8_t VALUE_TRUE = 2;
+            static const uint8_t VALUE_NUMBER = 3;
+            static const uint8_t VALUE_STRING = 4;
+            static const uint8_t VALUE_OBJECT = 5;
+
+            bool available(int32_t length) const {
+                return static_cast<size_t>(length) <= mLength - mPosition;
+            }
+
+            uint8_t readByte() {
+                return hasNext() ? mData[mPosition++] : 0;
+            }
+
+            void read(void *value, size_t size) {
+                if (!available(static_cast<int32_t>(size))) {
+                    mPosition = mLength;
+                    return;
+                }
+                // The buffer is in native order and not aligned.
+                std::memcpy(value, mData + mPosition, size);
+                mPosition += size;
+            }
+
+            JNIEnv *mEnv;
+            const uint8_t *mData;
+            size_t mLength;
+            size_t mPosition = 0;
+            jobjectArray mObjects;
+        };
+
 #ifdef __cplusplus
         extern "C" {
 #endif
@@ -121,6 +231,60 @@ namespace apl {
             liveArray->push_back(array.begin(), array.end());
         }
 
+        /**
+         * Applies a batch of changes in order, stopping at the first change that fails.
+         * @return the number of changes applied.
+         */
+        JNIEXPORT jint JNICALL
+        Java_com_amazon_apl_android_LiveArray_nApplyBatch(JNIEnv *env, jclass clazz,
+                                                          jlong contentHandle, jobject buffer,
+                                                          jint length, jobjectArray objects) {
+            auto liveArray = get<LiveArray>(contentHandle);
+            BatchReader reader(env, buffer, length, objects);
+            jint applied = 0;
+
+            while (reader.hasNext()) {
+                bool success;
+                switch (reader.readOperation()) {
+                    case BatchReader::OP_PUSH_BACK: {
+                        auto values = reader.readValues();
+                        liveArray->push_back(values.begin(), values.end());
+                        success = true;
+                        break;
+                    }
+                    case BatchReader::OP_INSERT: {
+                        auto position = reader.readInt();
+                        auto values = reader.readValues();
+                        success = position >= 0 && liveArray->insert(
+                                static_cast<LiveArray::size_type>(position), values.begin(), values.end());
+                        break;
+                    }
+                    case BatchReader::OP_UPDATE: {
+                        auto position = reader.readInt();
+                        auto values = reader.readValues();
+                        success = position >= 0 && liveArray->update(
+                                static_cast<LiveArray::size_type>(position), values.begin(), values.end());
+                        break;
+                    }
+                    case BatchReader::OP_REMOVE: {
+                        auto position = reader.readInt();
+                        auto count = reader.readInt();
+                        success = position >= 0 && count > 0 && liveArray->remove(
+                                static_cast<LiveArray::size_type>(position),
+                                static_cast<LiveArray::size_type>(count));
+                        break;
+                    }
+                    default:
+                        success = false;
+                        break;
+                }
+                if (!success)
+                    break;
+                applied++;
+            }
+            return applied;
+        }
+
         JNIEXPORT jlong JNICALL
         Java_com_amazon_apl_android_LiveMap_nCreate(JNIEnv *env, jclass clazz) {
             auto liveMap = LiveMap::create();
@@ -180,6 +344,33 @@ namespace apl {
             return removed;
         }
 
+        /**
+         * Applies a batch of changes in order.
+         * @return the number of changes applied.
+         */
+        JNIEXPORT jint JNICALL
+        Java_com_amazon_apl_android_LiveMap_nApplyBatch(JNIEnv *env, jclass clazz, jlong handle,
+                                                        jobject buffer, jint length,
+                                                        jobjectArray objects) {
+            auto liveMap = get<LiveMap>(handle);
+            BatchReader reader(env, buffer, length, objects);
+            jint applied = 0;
+
+            while (reader.hasNext()) {
+                auto operation = reader.readOperation();
+                if (operation == BatchReader::OP_SET) {
+                    auto key = reader.readKey();
+                    liveMap->set(key, reader.readValue());
+                } else if (operation == BatchReader::OP_REMOVE_KEY) {
+                    liveMap->remove(reader.readKey());
+                } else {
+                    break;
+                }
+                applied++;
+            }
+            return applied;
+        }
+
 #pragma clang diagnostic pop
 
 #ifdef __cplusplus
@@ -3,7 +3,9 @@
  */
 
 #include <jni.h>
+#include <cmath>
 #include <codecvt>
+#include <limits>
 #include <list>
 #include <queue>
 #include <string>
@@ -636,6 +638,34 @@ namespace apl {
             return static_cast<jboolean>(rc->isDirty());
         }
 
+        /**
+         * Returns true if the root context has events waiting to be handled.
+         */
+        JNIEXPORT jboolean JNICALL
+        Java_com_amazon_apl_android_RootContext_nHasEvent(JNIEnv *env,
+                                                          jclass clazz,
+                                                          jlong handle) {
+            auto rc = get<RootContext>(handle);
+            return static_cast<jboolean>(rc->hasEvent());
+        }
+
+        /**
+         * Returns the delay in milliseconds until the next core timer is due, or -1 if no timer
+         * is scheduled.
+         */
+        JNIEXPORT jlong JNICALL
+        Java_com_amazon_apl_android_RootContext_nNextTimerDelay(JNIEnv *env,
+                                                                jclass clazz,
+                                                                jlong handle) {
+            auto rc = get<RootContext>(handle);
+            auto delay = rc->nextTime() - rc->currentTime();
+            // An empty timer queue reports a far future time.
+            if (delay >= static_cast<double>(std::numeric_limits<jint>::max())) {
+                return -1;
+            }
+            return delay > 0 ? static_cast<jlong>(std::ceil(delay)) : 0;
+        }
+
         /**
          * Returns true if the screenlock is on.
          */
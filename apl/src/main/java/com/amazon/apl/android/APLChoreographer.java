@@ -5,6 +5,10 @@
 
 package com.amazon.apl.android;
 
+import android.os.Handler;
+import android.os.Looper;
+import android.os.MessageQueue;
+import android.os.SystemClock;
 import android.view.Choreographer;
 
 import androidx.annotation.UiThread;
@@ -12,12 +16,21 @@ import androidx.annotation.UiThread;
 /**
  * This is an implementation of IClock that is powered by the Android Choreographer.
  * It should run at 60 frames per second.
+ *
+ * When the callback reports that no tick is needed on the next frame, the clock idles: it posts
+ * no frame callback until the requested delay has passed, {@link #requestTick()} is called, or
+ * other work run on the clock thread leaves the callback needing a tick.
  */
-public class APLChoreographer implements IClock, Choreographer.FrameCallback  {
+public class APLChoreographer implements IClock, Choreographer.FrameCallback, MessageQueue.IdleHandler {
     
     final IClockCallback callback;
+    // Posts to the thread the clock runs on, set when started.
+    private volatile Handler mHandler;
     Boolean running = false;
     Boolean scheduled = false;
+    Boolean idle = false;
+    // Uptime at which the frame callback posted while idle is due, or Long.MAX_VALUE if there is none.
+    private long mIdleDeadline = Long.MAX_VALUE;
 
     public APLChoreographer(IClockCallback callback) {
         this.callback = callback;
@@ -28,6 +41,7 @@ public class APLChoreographer implements IClock, Choreographer.FrameCallback  {
     public void start() {
         if (!running) {
             running = true;
+            mHandler = new Handler(Looper.myLooper());
             scheduled = true;
             Choreographer.getInstance().postFrameCallback(this);
         }
@@ -37,6 +51,7 @@ public class APLChoreographer implements IClock, Choreographer.FrameCallback  {
     @UiThread
     public void stop() {
         running = false;
+        exitIdle();
 
         if (scheduled) {
             //Optimistically try and prevent the doFrame from happening.
@@ -45,14 +60,90 @@ public class APLChoreographer implements IClock, Choreographer.FrameCallback  {
         }
     }
 
+    @Override
+    public void requestTick() {
+        final Handler handler = mHandler;
+        if (handler == null) {
+            return;
+        }
+        if (Looper.myLooper() == handler.getLooper()) {
+            wake();
+        } else {
+            handler.post(this::wake);
+        }
+    }
+
     @Override
     public void doFrame(long frameTime) {
         scheduled = false;
+        exitIdle();
         callback.onTick(frameTime);
 
         if (running) {
+            long delay = callback.getNextTickDelay();
+            if (delay == 0) {
+                Choreographer.getInstance().postFrameCallback(this);
+                scheduled = true;
+            } else {
+                enterIdle(delay);
+            }
+        }
+    }
+
+    /**
+     * Called whenever the message queue of the clock thread runs out of messages. Anything run
+     * since the last tick may have given the callback work, so ask it again while idle.
+     */
+    @Override
+    public boolean queueIdle() {
+        if (!idle) {
+            return false;
+        }
+
+        long delay = callback.getNextTickDelay();
+        if (delay == 0) {
+            wake();
+            return false;
+        }
+        if (delay > 0 && SystemClock.uptimeMillis() + delay < mIdleDeadline) {
+            scheduleIdleFrame(delay);
+        }
+        return true;
+    }
+
+    private void wake() {
+        if (running && idle) {
+            exitIdle();
+            Choreographer.getInstance().removeFrameCallback(this);
             Choreographer.getInstance().postFrameCallback(this);
             scheduled = true;
         }
     }
+
+    private void enterIdle(long delay) {
+        idle = true;
+        Looper.myQueue().addIdleHandler(this);
+        scheduleIdleFrame(delay);
+    }
+
+    private void exitIdle() {
+        if (idle) {
+            idle = false;
+            mIdleDeadline = Long.MAX_VALUE;
+            Looper.myQueue().removeIdleHandler(this);
+        }
+    }
+
+    private void scheduleIdleFrame(long delay) {
+        final Choreographer choreographer = Choreographer.getInstance();
+        if (scheduled) {
+            choreographer.removeFrameCallback(this);
+            scheduled = false;
+        }
+        if (delay > 0) {
+            mIdleDeadline = SystemClock.uptimeMillis() + delay;
+            choreographer.postFrameCallbackDelayed(this, delay);
+            scheduled = true;
+        }
+    }
 }
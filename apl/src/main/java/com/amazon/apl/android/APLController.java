@@ -32,9 +32,11 @@ import com.amazon.apl.android.providers.impl.NoOpTelemetryProvider;
 import com.amazon.apl.android.utils.ConcurrencyUtils;
 import com.amazon.alexaext.ExtensionRegistrar;
 import com.amazon.apl.android.bitmap.IBitmapCache;
+import com.amazon.apl.android.bitmap.SegmentedBitmapCache;
 import com.amazon.apl.android.dependencies.IPackageCache;
 import com.amazon.apl.android.ExtensionMediator.ILoadExtensionCallback;
 import com.amazon.apl.android.font.TypefaceResolver;
+import com.amazon.apl.android.graphic.PathDataCache;
 import com.amazon.common.Consumer;
 import com.amazon.apl.android.providers.ITelemetryProvider;
 import com.amazon.apl.android.providers.ITelemetryProvider.Type;
@@ -42,7 +44,9 @@ import com.amazon.apl.android.scaling.Scaling;
 import com.amazon.apl.android.scaling.ViewportMetrics;
 import com.amazon.apl.android.thread.Threading;
 import com.amazon.apl.android.utils.APLTrace;
+import com.amazon.apl.android.utils.CacheGovernor;
 import com.amazon.apl.android.utils.FluidityIncidentReporter;
+import com.amazon.apl.android.utils.ITrimmableCache;
 import com.amazon.apl.android.utils.TracePoint;
 import com.amazon.apl.devtools.DevToolsProvider;
 import com.amazon.apl.devtools.models.network.IDTNetworkRequestHandler;
@@ -163,13 +167,27 @@ public class APLController implements IDocumentLifecycleListener, IAPLController
         sDeleteService.scheduleAtFixedRate(NativeBinding::doDeletes, 5, 2, TimeUnit.SECONDS);
         // initialize fonts typeface resolver in order to start preloading fonts as soon as possible
         TypefaceResolver.getInstance().initialize(context, runtimeConfig);
+
+        // Caches the governor can trim are trimmed by it alone, others keep their own callbacks.
+        CacheGovernor cacheGovernor = CacheGovernor.getInstance();
+        context.registerComponentCallbacks(cacheGovernor);
+        cacheGovernor.register("font", TypefaceResolver.getInstance(), CacheGovernor.Priority.HIGH, 0.5f);
+        cacheGovernor.register("pathData", PathDataCache.getInstance(), CacheGovernor.Priority.LOW, 1f);
         IPackageCache packageCache = runtimeConfig.getPackageCache();
-        if (packageCache != null) {
-            context.registerComponentCallbacks(runtimeConfig.getPackageCache());
+        if (packageCache instanceof ITrimmableCache) {
+            cacheGovernor.register("package", (ITrimmableCache) packageCache, CacheGovernor.Priority.HIGH, 0.5f);
+        } else if (packageCache != null) {
+            context.registerComponentCallbacks(packageCache);
         }
 
         IBitmapCache bitmapCache = runtimeConfig.getBitmapCache();
-        if (bitmapCache instanceof ComponentCallbacks2) {
+        if (bitmapCache instanceof SegmentedBitmapCache && ((SegmentedBitmapCache) bitmapCache).getBitmapPool() == null) {
+            // Evicted scratch bitmaps go back to the pool new bitmaps are created from.
+            ((SegmentedBitmapCache) bitmapCache).setBitmapPool(runtimeConfig.getBitmapPool());
+        }
+        if (bitmapCache instanceof ITrimmableCache) {
+            cacheGovernor.register("bitmap", (ITrimmableCache) bitmapCache, CacheGovernor.Priority.NORMAL, 1f);
+        } else if (bitmapCache instanceof ComponentCallbacks2) {
             context.registerComponentCallbacks((ComponentCallbacks2) bitmapCache);
         }
         DependencyContainer.getInstance().getTargetCatalog().setAppContext(context);
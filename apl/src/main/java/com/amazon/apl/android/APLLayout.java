@@ -381,6 +381,18 @@ public class APLLayout extends FrameLayout implements AccessibilityManager.Acces
         mDTView.post(() -> callback.execute(RequestStatus.successful()));
     }
 
+    @Override
+    public void startFrameMetricsRecording(int id, long timelineIntervalMs, IDTCallback<String> callback) {
+        if (mRootContext == null) {
+            DTError error = DTError.NO_DOCUMENT_RENDERED;
+            mDTView.post(() -> callback.execute(RequestStatus.failed(id, error)));
+            return;
+        }
+
+        mRootContext.startFrameMetricsRecording(mDTView::onFrameTimeline, timelineIntervalMs);
+        mDTView.post(() -> callback.execute(RequestStatus.successful()));
+    }
+
     @Override
     public void stopFrameMetricsRecording(int id, IDTCallback<List<JSONObject>> callback) {
         if (mRootContext == null) {
@@ -1435,12 +1447,16 @@ public class APLLayout extends FrameLayout implements AccessibilityManager.Acces
 
     @Override
     protected void dispatchDraw(Canvas canvas) {
+        final long drawStart = System.nanoTime();
         try {
             super.dispatchDraw(canvas);
             if (!mPath.isEmpty()){
                 drawPathOnCanvas(canvas);
             }
         } finally {
+            if (mRootContext != null) {
+                mRootContext.recordFrameDraw(System.nanoTime() - drawStart);
+            }
             if (mViewsNeedDisplay.getAndSet(false)) {
                 mAplViewPresenter.onDocumentDisplayed();
             }
@@ -171,6 +171,11 @@ public abstract class APLOptions {
 
     public abstract boolean isScenegraphEnabled();
 
+    /**
+     * @return true if the frame loop may skip frames while the document is idle.
+     */
+    public abstract boolean isIdleFrameSchedulingEnabled();
+
     public abstract Map<String, Object> getConfigurationMap();
 
     /**
@@ -223,6 +228,7 @@ public abstract class APLOptions {
                 .contentDataRetriever((request, successCallback, failureCallback) -> failureCallback.onFailure(request, "Content datasources not implemented."))
                 .avgRetriever((request, successCallback, failureCallback) -> failureCallback.onFailure(request, "AVG source not implemented."))
                 .scenegraphEnabled(BuildConfig.BUILD_TYPE.equals("releaseWithSceneGraph"))
+                .idleFrameSchedulingEnabled(false)
                 .embeddedDocumentFactory(new NoOpEmbeddedDocumentFactory())
                 .viewportSizeUpdateCallback((width, height) ->{})
                 .userPerceivedFatalCallback(new NoOpUserPerceivedFatalCallback())
@@ -461,6 +467,16 @@ public abstract class APLOptions {
 
         public abstract Builder scenegraphEnabled(boolean enableScenegraph);
 
+        /**
+         * Lets the frame loop stop ticking while the document is idle, until a core timer is due
+         * or new work arrives. Only honoured by clocks which support idling, like the default
+         * {@link APLChoreographer}. Not supported with the scenegraph. Defaults to false.
+         *
+         * @param enableIdleFrameScheduling whether to skip frames while idle
+         * @return this builder
+         */
+        public abstract Builder idleFrameSchedulingEnabled(boolean enableIdleFrameScheduling);
+
         /**
          * Allow runtime to fulfill embedded document requests
          * @param embeddedDocumentFactory handler of embedded document requests
@@ -32,7 +32,9 @@ import com.amazon.apl.enums.UpdateType;
 
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 import java.nio.charset.StandardCharsets;
 
 import static com.amazon.apl.android.providers.ITelemetryProvider.APL_DOMAIN;
@@ -54,6 +56,11 @@ public abstract class Component extends BoundObject implements IAccessibilityPro
 
     private final static String METRIC_COMPONENT_NULL = TAG + ".uninflated_component_in_core";
 
+    /**
+     * The uid of components whose unique id is not numeric.
+     */
+    static final int NO_UID = -1;
+
     /**
      * The root context that created this component.
      * TODO component should not have access to RootContext, it is currently
@@ -70,6 +77,11 @@ public abstract class Component extends BoundObject implements IAccessibilityPro
     @NonNull
     private final String mComponentId;
 
+    /**
+     * The number in the unique id, or {@link #NO_UID}.
+     */
+    private final int mUid;
+
     /**
      * The properties describing this object.
      */
@@ -90,6 +102,7 @@ public abstract class Component extends BoundObject implements IAccessibilityPro
     protected Component(long nativeHandle, @NonNull String componentId, @NonNull RenderingContext renderingContext) {
         bind(nativeHandle);
         mComponentId = componentId;
+        mUid = toUid(componentId);
         mRenderingContext = renderingContext;
         mProperties = createPropertyMap();
     }
@@ -261,6 +274,38 @@ public abstract class Component extends BoundObject implements IAccessibilityPro
         return mComponentId;
     }
 
+    /**
+     * @return the number in the unique id, {@link #NO_UID} if the unique id is not numeric.
+     */
+    final int getUid() {
+        return mUid;
+    }
+
+    /**
+     * Parses the number in a core unique id such as ":1000". Must match the native parsing.
+     *
+     * @param uniqueId the unique id.
+     * @return the number, or {@link #NO_UID} if the id is not numeric.
+     */
+    static int toUid(@NonNull String uniqueId) {
+        int start = uniqueId.startsWith(":") ? 1 : 0;
+        if (start == uniqueId.length()) {
+            return NO_UID;
+        }
+        long uid = 0;
+        for (int i = start; i < uniqueId.length(); i++) {
+            char digit = uniqueId.charAt(i);
+            if (digit < '0' || digit > '9') {
+                return NO_UID;
+            }
+            uid = uid * 10 + (digit - '0');
+            if (uid > Integer.MAX_VALUE) {
+                return NO_UID;
+            }
+        }
+        return (int) uid;
+    }
+
     /**
      * This value is cached in the {@link #mComponentId} value. Use {@link #getComponentId()}.
      *
@@ -407,10 +452,71 @@ public abstract class Component extends BoundObject implements IAccessibilityPro
      * @return a list of all children of this component
      */
     public List<Component> getAllChildren() {
-        int count = getChildCount();
-        List<Component> children = new ArrayList<>(count);
-        for (int i = 0; i < count; i++) {
-            Component component = getChildAt(i);
+        return resolveChildren(getChildUids(), false);
+    }
+
+    /**
+     * @return the unique id numbers of all children, in order, {@link #NO_UID} for children with a
+     * unique id which is not numeric.
+     */
+    final int[] getChildUids() {
+        return nGetChildUids(getNativeHandle());
+    }
+
+    /**
+     * Resolves children enumerated in bulk by unique id number, without creating id Strings for
+     * children which are already inflated.
+     *
+     * @param uids      the unique id numbers of the children, in order.
+     * @param displayed whether the children are the displayed children.
+     * @return the children.
+     */
+    private List<Component> resolveChildren(int[] uids, boolean displayed) {
+        List<Component> children = new ArrayList<>(uids.length);
+        for (int i = 0; i < uids.length; i++) {
+            Component component = mRootContext.getComponentWithUid(uids[i]);
+            if (component == null) {
+                // Not inflated yet, inflate it through its String id.
+                component = displayed ? getDisplayedChildAt(i) : getChildAt(i);
+            }
+            if (component != null) {
+                children.add(component);
+            }
+        }
+        return children;
+    }
+
+    /**
+     * Returns the children which follow the last displayed child and already have a Component,
+     * such as the children a sequence scrolls in next. Children without a Component are skipped
+     * rather than inflated.
+     *
+     * @param count the number of children past the last displayed child to consider.
+     * @return the inflated children, in order.
+     */
+    public List<Component> getInflatedChildrenAfterDisplayed(int count) {
+        int[] displayedUids = nGetDisplayedChildUids(getNativeHandle());
+        if (displayedUids.length == 0 || count <= 0) {
+            return Collections.emptyList();
+        }
+        Set<Integer> displayed = new HashSet<>(displayedUids.length);
+        for (int uid : displayedUids) {
+            displayed.add(uid);
+        }
+        int[] uids = getChildUids();
+        int lastDisplayed = -1;
+        for (int i = 0; i < uids.length; i++) {
+            if (uids[i] != NO_UID && displayed.contains(uids[i])) {
+                lastDisplayed = i;
+            }
+        }
+        if (lastDisplayed < 0) {
+            return Collections.emptyList();
+        }
+        int end = Math.min(uids.length, lastDisplayed + 1 + count);
+        List<Component> children = new ArrayList<>(Math.max(0, end - lastDisplayed - 1));
+        for (int i = lastDisplayed + 1; i < end; i++) {
+            Component component = uids[i] == NO_UID ? null : mRootContext.getComponentWithUid(uids[i]);
             if (component != null) {
                 children.add(component);
             }
@@ -444,15 +550,7 @@ public abstract class Component extends BoundObject implements IAccessibilityPro
      * @return
      */
     public List<Component> getDisplayedChildren() {
-        int count = getDisplayedChildCount();
-        List<Component> children = new ArrayList<>(count);
-        for (int i = 0; i < count; i++) {
-            Component component = getDisplayedChildAt(i);
-            if (component != null) {
-                children.add(component);
-            }
-        }
-        return children;
+        return resolveChildren(nGetDisplayedChildUids(getNativeHandle()), true);
     }
 
     public int getDisplayedChildCount() {
@@ -689,6 +787,12 @@ public abstract class Component extends BoundObject implements IAccessibilityPro
     @NonNull
     private static native String nGetChildId(long nativeHandle, int index);
 
+    @NonNull
+    private static native int[] nGetChildUids(long nativeHandle);
+
+    @NonNull
+    private static native int[] nGetDisplayedChildUids(long nativeHandle);
+
     private static native int nGetType(long nativeHandle);
 
     private static native void nEnsureLayout(long nativeHandle);
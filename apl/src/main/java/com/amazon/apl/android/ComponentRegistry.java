@@ -0,0 +1,198 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package com.amazon.apl.android;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import com.amazon.apl.android.utils.IntObjectMap;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * The inflated Java Components of a {@link RootContext}, keyed by the number in their core unique
+ * id (":1000" is 1000).
+ *
+ * Inserts and removes take constant time on average, so inflating and removing large data-bound
+ * hierarchies is linear in their size. Lookups by String unique id parse the number instead of
+ * hashing the String. Components with a unique id that is not numeric are kept by String.
+ *
+ * Accessed on the main thread only.
+ */
+final class ComponentRegistry {
+    private final IntObjectMap<Component> mByUid;
+    // Components whose unique id is not numeric, empty for core generated ids.
+    private final Map<String, Component> mByComponentId = new HashMap<>();
+
+    ComponentRegistry(int expectedSize) {
+        mByUid = new IntObjectMap<>(expectedSize);
+    }
+
+    /**
+     * @param componentId the unique id of the Component.
+     * @return the Component, or null if it is not inflated.
+     */
+    @Nullable
+    Component get(@NonNull String componentId) {
+        int uid = Component.toUid(componentId);
+        return uid == Component.NO_UID ? mByComponentId.get(componentId) : mByUid.get(uid);
+    }
+
+    /**
+     * @param uid the number in the unique id of the Component.
+     * @return the Component, or null if it is not inflated.
+     */
+    @Nullable
+    Component get(int uid) {
+        return uid == Component.NO_UID ? null : mByUid.get(uid);
+    }
+
+    boolean contains(@NonNull String componentId) {
+        return get(componentId) != null;
+    }
+
+    void put(@NonNull Component component) {
+        int uid = component.getUid();
+        if (uid == Component.NO_UID) {
+            mByComponentId.put(component.getComponentId(), component);
+        } else {
+            mByUid.put(uid, component);
+        }
+    }
+
+    /**
+     * @return the removed Component, or null if it was not inflated.
+     */
+    @Nullable
+    Component remove(@NonNull Component component) {
+        int uid = component.getUid();
+        return uid == Component.NO_UID
+                ? mByComponentId.remove(component.getComponentId())
+                : mByUid.remove(uid);
+    }
+
+    /**
+     * Removes a Component and every inflated Component below it, whether displayed or not.
+     * Children that are not inflated are skipped along with their subtrees, nothing is inflated.
+     *
+     * @param root the root of the subtree.
+     * @return the number of Components removed.
+     */
+    int removeSubtree(@NonNull Component root) {
+        int removed = 0;
+        Deque<Component> pending = new ArrayDeque<>();
+        pending.push(root);
+        while (!pending.isEmpty()) {
+            Component component = pending.pop();
+            if (remove(component) == null) {
+                continue;
+            }
+            removed++;
+            int[] childUids = component.getChildUids();
+            for (int i = 0; i < childUids.length; i++) {
+                Component child = childUids[i] == Component.NO_UID
+                        ? mByComponentId.get(component.getChildId(i))
+                        : mByUid.get(childUids[i]);
+                if (child != null) {
+                    pending.push(child);
+                }
+            }
+        }
+        return removed;
+    }
+
+    int size() {
+        return mByUid.size() + mByComponentId.size();
+    }
+
+    void clear() {
+        mByUid.clear();
+        mByComponentId.clear();
+    }
+
+    /**
+     * @return the Components, in no particular order.
+     */
+    @NonNull
+    Iterable<Component> values() {
+        if (mByComponentId.isEmpty()) {
+            return mByUid.values();
+        }
+        return () -> new Iterator<Component>() {
+            private final Iterator<Component> mUids = mByUid.values().iterator();
+            private final Iterator<Component> mOthers = mByComponentId.values().iterator();
+
+            @Override
+            public boolean hasNext() {
+                return mUids.hasNext() || mOthers.hasNext();
+            }
+
+            @Override
+            public Component next() {
+                return mUids.hasNext() ? mUids.next() : mOthers.next();
+            }
+        };
+    }
+
+    /**
+     * @return a read-only view of the Components by unique id.
+     */
+    @NonNull
+    Map<String, Component> asMap() {
+        return new AbstractMap<String, Component>() {
+            @Override
+            public Component get(Object key) {
+                return key instanceof String ? ComponentRegistry.this.get((String) key) : null;
+            }
+
+            @Override
+            public boolean containsKey(Object key) {
+                return get(key) != null;
+            }
+
+            @Override
+            public int size() {
+                return ComponentRegistry.this.size();
+            }
+
+            @NonNull
+            @Override
+            public Set<Entry<String, Component>> entrySet() {
+                return new AbstractSet<Entry<String, Component>>() {
+                    @Override
+                    public int size() {
+                        return ComponentRegistry.this.size();
+                    }
+
+                    @NonNull
+                    @Override
+                    public Iterator<Entry<String, Component>> iterator() {
+                        Iterator<Component> components = values().iterator();
+                        return new Iterator<Entry<String, Component>>() {
+                            @Override
+                            public boolean hasNext() {
+                                return components.hasNext();
+                            }
+
+                            @Override
+                            public Entry<String, Component> next() {
+                                Component component = components.next();
+                                return new SimpleImmutableEntry<>(component.getComponentId(), component);
+                            }
+                        };
+                    }
+                };
+            }
+        };
+    }
+}
@@ -9,6 +9,12 @@ package com.amazon.apl.android;
  * The clock interface that will call onTick on a set interval.
  */
 public interface IClock {
+    /**
+     * Returned by {@link IClockCallback#getNextTickDelay()} when no tick is needed until the
+     * clock is woken up.
+     */
+    long NO_TICK_NEEDED = -1;
+
     /**
      * Starts calling onTick.
      */
@@ -19,9 +25,24 @@ public interface IClock {
      */
     void stop();
 
+    /**
+     * Requests a tick on the next frame. Clocks which idle between ticks must wake up, clocks
+     * which tick every frame can ignore this. May be called from any thread.
+     */
+    default void requestTick() {
+    }
+
     interface IClockCallback {
         void onTick(long frameTime);
+
+        /**
+         * Called by clocks which idle between ticks to find out when the next tick is needed.
+         *
+         * @return the delay in milliseconds until the next tick is needed, 0 if it is needed on
+         *         the next frame, or {@link #NO_TICK_NEEDED}.
+         */
+        default long getNextTickDelay() {
+            return 0;
+        }
     }
 }
-
-
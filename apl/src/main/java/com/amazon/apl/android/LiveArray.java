@@ -9,6 +9,7 @@ import androidx.annotation.NonNull;
 import androidx.annotation.Nullable;
 import androidx.annotation.VisibleForTesting;
 
+import java.nio.ByteBuffer;
 import java.util.AbstractList;
 import java.util.ArrayList;
 import java.util.Collection;
@@ -24,6 +25,10 @@ import java.util.NoSuchElementException;
  * To use a LiveArray, register the array with {@link RootConfig#liveData(String, LiveArray)}.
  * Make changes to the LiveArray from your UX thread.  Changes in the LiveArray will
  * propagate through the APL data-binding context and show up on the screen.
+ * <p>
+ * Arrays that change many elements at a time should use a {@link Batch}, which applies all of
+ * its changes to the C++ array in a single call.  Arrays that are rarely read from Java can be
+ * created with {@link #createWriteMostly()}, which does not keep a Java copy of the array.
  */
 public class LiveArray extends LiveData implements List<Object> {
     /**
@@ -31,8 +36,10 @@ public class LiveArray extends LiveData implements List<Object> {
      * array is stored in attached C++ object.  The main purpose of the backing
      * array is so that users of a LiveArray can iterate over the array, search
      * for elements, and otherwise treat the LiveArray as a normal Java List.
+     * Null for write-mostly arrays, which read from the C++ array instead.
      */
-    private ArrayList<Object> mBackingArray;
+    @Nullable
+    private final ArrayList<Object> mBackingArray;
 
     /**
      * Exception class for unrecoverable exceptions
@@ -54,7 +61,18 @@ public class LiveArray extends LiveData implements List<Object> {
      * @return The live array
      */
     static public LiveArray create() {
-        return new LiveArray();
+        return new LiveArray(true);
+    }
+
+    /**
+     * Construct an empty LiveArray that does not keep a Java copy of its elements.
+     * <p>
+     * Changes cost less time and memory, but reading the array, including searching and
+     * iterating over it, converts the elements of the C++ array on each call.
+     * @return The live array
+     */
+    static public LiveArray createWriteMostly() {
+        return new LiveArray(false);
     }
 
     /**
@@ -63,7 +81,7 @@ public class LiveArray extends LiveData implements List<Object> {
      * @return The live array
      */
     static public LiveArray create(Object[] array) {
-        LiveArray liveArray = new LiveArray();
+        LiveArray liveArray = new LiveArray(true);
         Collections.addAll(liveArray.mBackingArray, array);
         nPushBackRange(liveArray.getNativeHandle(), array);
         return liveArray;
@@ -75,7 +93,7 @@ public class LiveArray extends LiveData implements List<Object> {
      * @return The live array
      */
     static public LiveArray create(Collection<?> collection) {
-        LiveArray liveArray = new LiveArray();
+        LiveArray liveArray = new LiveArray(true);
         liveArray.mBackingArray.addAll(collection);
         nPushBackRange(liveArray.getNativeHandle(), collection.toArray());
         return liveArray;
@@ -83,30 +101,69 @@ public class LiveArray extends LiveData implements List<Object> {
 
     /**
      * Construct an empty LiveArray.
+     * @param mirrored Whether a Java copy of the array is kept.
      */
-    private LiveArray() {
+    private LiveArray(boolean mirrored) {
         long handle = nCreate();
         bind(handle);
-        mBackingArray = new ArrayList<>();
+        mBackingArray = mirrored ? new ArrayList<>() : null;
+    }
+
+    /**
+     * @return Whether a Java copy of the array is kept.
+     */
+    public boolean isMirrored() {
+        return mBackingArray != null;
+    }
+
+    /**
+     * @return A new batch of changes to this array.
+     */
+    @NonNull
+    public Batch newBatch() {
+        return new Batch();
+    }
+
+    /**
+     * @return The elements of the array, copied from the C++ array when no Java copy is kept.
+     */
+    private List<Object> elements() {
+        if (mBackingArray != null)
+            return mBackingArray;
+
+        int size = nSize(getNativeHandle());
+        List<Object> elements = new ArrayList<>(size);
+        for (int i = 0 ; i < size ; i++)
+            elements.add(nAt(getNativeHandle(), i));
+        return elements;
+    }
+
+    private static void checkPosition(int index, int size) {
+        if (index < 0 || index > size)
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
     }
 
     @Override
     public boolean add(Object element) {
-        mBackingArray.add(element);
+        if (mBackingArray != null)
+            mBackingArray.add(element);
         nPushBack(getNativeHandle(), element);
         return true;
     }
 
     @Override
     public void add(int index, Object element) {
-        mBackingArray.add(index, element);
+        if (mBackingArray != null)
+            mBackingArray.add(index, element);
+        else
+            checkPosition(index, size());
         if (!nInsert(getNativeHandle(), index, element))
             throw new LiveArrayException("Insert at index="+index+" should not fail");
     }
 
     @Override
     public boolean addAll(@NonNull Collection<?> collection) {
-        if (!mBackingArray.addAll(collection))
+        if (mBackingArray != null ? !mBackingArray.addAll(collection) : collection.isEmpty())
             return false;
 
         nPushBackRange(getNativeHandle(), collection.toArray());
@@ -115,8 +172,14 @@ public class LiveArray extends LiveData implements List<Object> {
 
     @Override
     public boolean addAll(int index, @NonNull Collection<?> collection) {
-        if (!mBackingArray.addAll(index, collection))
-            return false;
+        if (mBackingArray != null) {
+            if (!mBackingArray.addAll(index, collection))
+                return false;
+        } else {
+            checkPosition(index, size());
+            if (collection.isEmpty())
+                return false;
+        }
 
         if (!nInsertRange(getNativeHandle(), index, collection.toArray()))
             throw new LiveArrayException("Insert range at index="+index+" should not fail");
@@ -126,33 +189,40 @@ public class LiveArray extends LiveData implements List<Object> {
 
     @Override
     public void clear() {
-        mBackingArray.clear();
+        if (mBackingArray != null)
+            mBackingArray.clear();
         nClear(getNativeHandle());
     }
 
     @Override
     public boolean contains(@Nullable Object element) {
-        return mBackingArray.contains(element);
+        return elements().contains(element);
     }
 
     @Override
     public boolean containsAll(@NonNull Collection<?> collection) {
-        return mBackingArray.containsAll(collection);
+        return elements().containsAll(collection);
     }
 
     @Override
     public Object get(int index) {
-        return mBackingArray.get(index);
+        if (mBackingArray != null)
+            return mBackingArray.get(index);
+
+        int size = size();
+        if (index < 0 || index >= size)
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+        return nAt(getNativeHandle(), index);
     }
 
     @Override
     public int indexOf(@Nullable Object element) {
-        return mBackingArray.indexOf(element);
+        return elements().indexOf(element);
     }
 
     @Override
     public boolean isEmpty() {
-        return mBackingArray.isEmpty();
+        return size() == 0;
     }
 
     @NonNull
@@ -163,7 +233,7 @@ public class LiveArray extends LiveData implements List<Object> {
 
     @Override
     public int lastIndexOf(@Nullable Object element) {
-        return mBackingArray.lastIndexOf(element);
+        return elements().lastIndexOf(element);
     }
 
     @NonNull
@@ -186,7 +256,7 @@ public class LiveArray extends LiveData implements List<Object> {
     @NonNull
     @Override
     public Object remove(int index) {
-        Object result = mBackingArray.remove(index);
+        Object result = mBackingArray != null ? mBackingArray.remove(index) : get(index);
         if (!nRemove(getNativeHandle(), index, 1))
             throw new LiveArrayException("Illegal remove at index="+index);
         return result;
@@ -194,11 +264,12 @@ public class LiveArray extends LiveData implements List<Object> {
 
     @Override
     public boolean remove(@Nullable Object element) {
-        int index = mBackingArray.indexOf(element);
+        int index = indexOf(element);
         if (index < 0)
             return false;
 
-        mBackingArray.remove(index);
+        if (mBackingArray != null)
+            mBackingArray.remove(index);
         if (!nRemove(getNativeHandle(), index, 1))
             throw new LiveArrayException("Illegal remove of element by value at index="+index);
         return true;
@@ -216,7 +287,7 @@ public class LiveArray extends LiveData implements List<Object> {
 
     @Override
     public Object set(int index, Object element) {
-        Object result = mBackingArray.set(index, element);
+        Object result = mBackingArray != null ? mBackingArray.set(index, element) : get(index);
         if (!nUpdate(getNativeHandle(), index, element))
             throw new LiveArrayException("Illegal set at index="+index);
         return result;
@@ -224,7 +295,7 @@ public class LiveArray extends LiveData implements List<Object> {
 
     @Override
     public int size() {
-        return mBackingArray.size();
+        return mBackingArray != null ? mBackingArray.size() : nSize(getNativeHandle());
     }
 
     @NonNull
@@ -236,12 +307,12 @@ public class LiveArray extends LiveData implements List<Object> {
     @Nullable
     @Override
     public Object[] toArray() {
-        return mBackingArray.toArray();
+        return elements().toArray();
     }
 
     @Override
     public <T> T[] toArray(@Nullable T[] a) {
-        return mBackingArray.toArray(a);
+        return elements().toArray(a);
     }
 
 
@@ -350,11 +421,11 @@ public class LiveArray extends LiveData implements List<Object> {
      * @throws LiveArrayException if the position was invalid
      */
     public void removeRange(int position, int count) {
-        if (position < 0 || count <= 0 || position + count > mBackingArray.size())
+        if (position < 0 || count <= 0 || position + count > size())
             throw new IndexOutOfBoundsException();
 
-        for (int i = 0 ; i < count ; i++)
-            mBackingArray.remove(position);
+        if (mBackingArray != null)
+            mBackingArray.subList(position, position + count).clear();
 
         if (!nRemove(getNativeHandle(), position, count))
             throw new LiveArrayException("Unexpected removeRange position="+position+" count="+count);
@@ -368,12 +439,14 @@ public class LiveArray extends LiveData implements List<Object> {
      */
     public void setRange(int position, @NonNull Collection<?> collection) {
         Object[] array = collection.toArray();
-        if (position < 0 || position + array.length > mBackingArray.size())
+        if (position < 0 || position + array.length > size())
             throw new IndexOutOfBoundsException();
 
         if (array.length > 0) {
-            for (int i = 0; i < array.length; i++)
-                mBackingArray.set(position + i, array[i]);
+            if (mBackingArray != null) {
+                for (int i = 0; i < array.length; i++)
+                    mBackingArray.set(position + i, array[i]);
+            }
 
             if (!nUpdateRange(getNativeHandle(), position, array))
                 throw new LiveArrayException("Unexpected update range error position="+position);
@@ -395,30 +468,295 @@ public class LiveArray extends LiveData implements List<Object> {
      */
     @VisibleForTesting
     public Object innerGet(int position) {
-        if (position < 0 || position >= mBackingArray.size())
+        if (position < 0 || position >= size())
             throw new ArrayIndexOutOfBoundsException();
 
         return nAt(getNativeHandle(), position);
     }
 
+    /**
+     * A batch of changes to the array, applied with {@link #apply()}.
+     * <p>
+     * The changes are encoded as they are made and applied to the C++ array in a single call,
+     * rather than one call per element.  Booleans, numbers and strings are encoded without
+     * conversion.  Consecutive changes of adjacent elements are merged into one operation.
+     * <p>
+     * A batch is reused after it is applied.
+     */
+    public final class Batch extends LiveDataBatch {
+        // The operations of the batch, to apply to the Java copy of the array.
+        @Nullable
+        private final List<MirrorOperation> mMirror = mBackingArray != null ? new ArrayList<>() : null;
+        private byte mLastOperation;
+        private int mLastCountPosition;
+        private int mNextIndex;
+
+        private Batch() {
+        }
+
+        /**
+         * Append an element to the end of the array.
+         * @param value The element.
+         * @return This batch.
+         */
+        public Batch pushBack(@Nullable Object value) {
+            MirrorOperation mirror = beginElement(OP_PUSH_BACK, 0);
+            if (mirror != null)
+                mirror.mValues.add(value);
+            writeValue(value);
+            return this;
+        }
+
+        public Batch pushBack(boolean value) {
+            MirrorOperation mirror = beginElement(OP_PUSH_BACK, 0);
+            if (mirror != null)
+                mirror.mValues.add(value);
+            writeBoolean(value);
+            return this;
+        }
+
+        public Batch pushBack(int value) {
+            MirrorOperation mirror = beginElement(OP_PUSH_BACK, 0);
+            if (mirror != null)
+                mirror.mValues.add(value);
+            writeNumber(value);
+            return this;
+        }
+
+        public Batch pushBack(double value) {
+            MirrorOperation mirror = beginElement(OP_PUSH_BACK, 0);
+            if (mirror != null)
+                mirror.mValues.add(value);
+            writeNumber(value);
+            return this;
+        }
+
+        public Batch pushBack(@Nullable String value) {
+            MirrorOperation mirror = beginElement(OP_PUSH_BACK, 0);
+            if (mirror != null)
+                mirror.mValues.add(value);
+            writeString(value);
+            return this;
+        }
+
+        /**
+         * Insert an element.  The index must fall within [0,size] when the batch reaches it.
+         * @param index The index at which to insert the element.
+         * @param value The element.
+         * @return This batch.
+         */
+        public Batch insert(int index, @Nullable Object value) {
+            MirrorOperation mirror = beginElement(OP_INSERT, index);
+            if (mirror != null)
+                mirror.mValues.add(value);
+            writeValue(value);
+            return this;
+        }
+
+        public Batch insert(int index, boolean value) {
+            MirrorOperation mirror = beginElement(OP_INSERT, index);
+            if (mirror != null)
+                mirror.mValues.add(value);
+            writeBoolean(value);
+            return this;
+        }
+
+        public Batch insert(int index, int value) {
+            MirrorOperation mirror = beginElement(OP_INSERT, index);
+            if (mirror != null)
+                mirror.mValues.add(value);
+            writeNumber(value);
+            return this;
+        }
+
+        public Batch insert(int index, double value) {
+            MirrorOperation mirror = beginElement(OP_INSERT, index);
+            if (mirror != null)
+                mirror.mValues.add(value);
+            writeNumber(value);
+            return this;
+        }
+
+        public Batch insert(int index, @Nullable String value) {
+            MirrorOperation mirror = beginElement(OP_INSERT, index);
+            if (mirror != null)
+                mirror.mValues.add(value);
+            writeString(value);
+            return this;
+        }
+
+        /**
+         * Replace an element.  The index must fall within [0,size) when the batch reaches it.
+         * @param index The index of the element.
+         * @param value The new element.
+         * @return This batch.
+         */
+        public Batch update(int index, @Nullable Object value) {
+            MirrorOperation mirror = beginElement(OP_UPDATE, index);
+            if (mirror != null)
+                mirror.mValues.add(value);
+            writeValue(value);
+            return this;
+        }
+
+        public Batch update(int index, boolean value) {
+            MirrorOperation mirror = beginElement(OP_UPDATE, index);
+            if (mirror != null)
+                mirror.mValues.add(value);
+            writeBoolean(value);
+            return this;
+        }
+
+        public Batch update(int index, int value) {
+            MirrorOperation mirror = beginElement(OP_UPDATE, index);
+            if (mirror != null)
+                mirror.mValues.add(value);
+            writeNumber(value);
+            return this;
+        }
+
+        public Batch update(int index, double value) {
+            MirrorOperation mirror = beginElement(OP_UPDATE, index);
+            if (mirror != null)
+                mirror.mValues.add(value);
+            writeNumber(value);
+            return this;
+        }
+
+        public Batch update(int index, @Nullable String value) {
+            MirrorOperation mirror = beginElement(OP_UPDATE, index);
+            if (mirror != null)
+                mirror.mValues.add(value);
+            writeString(value);
+            return this;
+        }
+
+        /**
+         * Remove a range of elements.  The range must fall within the array when the batch
+         * reaches it.
+         * @param index The index of the first element to remove.
+         * @param count The number of elements to remove.
+         * @return This batch.
+         */
+        public Batch remove(int index, int count) {
+            writeOperation(OP_REMOVE);
+            writeInt(index);
+            writeInt(count);
+            mLastOperation = OP_REMOVE;
+            if (mMirror != null)
+                mMirror.add(new MirrorOperation(OP_REMOVE, index, count));
+            return this;
+        }
+
+        /**
+         * Apply the changes of the batch, in order, and clear the batch.  The changes stop at
+         * the first operation that fails, the operations before it stay applied.
+         * @return True if every operation was applied.
+         */
+        public boolean apply() {
+            if (isEmpty())
+                return true;
+
+            int applied = nApplyBatch(getNativeHandle(), getBuffer(), getLength(), getObjects());
+            if (mMirror != null) {
+                try {
+                    for (int i = 0 ; i < applied ; i++)
+                        mMirror.get(i).applyTo(mBackingArray);
+                } catch (IndexOutOfBoundsException e) {
+                    throw new LiveArrayException("Batch operation applied to the C++ array should not fail");
+                }
+            }
+
+            boolean complete = applied == getOperationCount();
+            clear();
+            return complete;
+        }
+
+        @Override
+        public void clear() {
+            super.clear();
+            mLastOperation = 0;
+            if (mMirror != null)
+                mMirror.clear();
+        }
+
+        /**
+         * Start a change of one element, merging it into the last operation when it changes the
+         * next element.
+         * @return The operation to record the element in the Java copy of the array, if kept.
+         */
+        @Nullable
+        private MirrorOperation beginElement(byte operation, int index) {
+            if (operation == mLastOperation && (operation == OP_PUSH_BACK || index == mNextIndex)) {
+                putInt(mLastCountPosition, getInt(mLastCountPosition) + 1);
+            } else {
+                writeOperation(operation);
+                if (operation != OP_PUSH_BACK)
+                    writeInt(index);
+                mLastCountPosition = position();
+                writeInt(1);
+                mLastOperation = operation;
+                if (mMirror != null)
+                    mMirror.add(new MirrorOperation(operation, index, 0));
+            }
+            mNextIndex = index + 1;
+            return mMirror != null ? mMirror.get(mMirror.size() - 1) : null;
+        }
+    }
+
+    /**
+     * An operation of a batch, as applied to the Java copy of the array.
+     */
+    private static class MirrorOperation {
+        private final byte mOperation;
+        private final int mIndex;
+        private final int mCount;
+        private final List<Object> mValues = new ArrayList<>();
+
+        MirrorOperation(byte operation, int index, int count) {
+            mOperation = operation;
+            mIndex = index;
+            mCount = count;
+        }
+
+        void applyTo(List<Object> array) {
+            switch (mOperation) {
+                case LiveDataBatch.OP_PUSH_BACK:
+                    array.addAll(mValues);
+                    break;
+                case LiveDataBatch.OP_INSERT:
+                    array.addAll(mIndex, mValues);
+                    break;
+                case LiveDataBatch.OP_UPDATE:
+                    for (int i = 0 ; i < mValues.size() ; i++)
+                        array.set(mIndex + i, mValues.get(i));
+                    break;
+                case LiveDataBatch.OP_REMOVE:
+                    array.subList(mIndex, mIndex + mCount).clear();
+                    break;
+            }
+        }
+    }
+
     @Override
     public boolean applyUpdates(List<LiveData.Update> operations) {
+        Batch batch = newBatch();
+        for (LiveArray.Update operation : operations) {
+            if (operation.getType().equals("insert")) {
+                batch.insert(operation.getIndex(), operation.getValue());
+            } else if (operation.getType().equals("remove")) {
+                batch.remove(operation.getIndex(), 1);
+            } else if (operation.getType().equals("update")) {
+                batch.update(operation.getIndex(), operation.getValue());
+            } else
+                return false;
+        }
+
         try {
-            for (LiveArray.Update operation : operations) {
-                if (operation.getType().equals("insert")) {
-                    add(operation.getIndex(), operation.getValue());
-                } else if (operation.getType().equals("remove")) {
-                    remove(operation.getIndex());
-                } else if (operation.getType().equals("update")) {
-                    set(operation.getIndex(), operation.getValue());
-                } else
-                    return false;
-            }
+            return batch.apply();
         } catch (LiveArrayException ex) {
             return false;
         }
-
-        return true;
     }
 
     private static native long nCreate();
@@ -432,4 +770,5 @@ public class LiveArray extends LiveData implements List<Object> {
     private static native boolean nUpdateRange(long nativeHandle, int position, Object[] array);
     private static native void nPushBack(long nativeHandle, Object value);
     private static native void nPushBackRange(long nativeHandle, Object[] objectArray);
+    private static native int nApplyBatch(long nativeHandle, ByteBuffer buffer, int length, Object[] objects);
 }
@@ -0,0 +1,177 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package com.amazon.apl.android;
+
+import androidx.annotation.Nullable;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+
+/**
+ * Encodes a batch of changes to a live data object into a single buffer, so that the batch is
+ * applied to the C++ object in one call.
+ * <p>
+ * Booleans, numbers and strings are written to the buffer.  Other values, such as maps and lists,
+ * are passed alongside the buffer and converted like the values of single changes.
+ * <p>
+ * The encoding is read by jnilivedata.cpp, the constants below must match it.
+ */
+abstract class LiveDataBatch {
+    static final byte OP_PUSH_BACK = 1;     // count, values
+    static final byte OP_INSERT = 2;        // index, count, values
+    static final byte OP_UPDATE = 3;        // index, count, values
+    static final byte OP_REMOVE = 4;        // index, count
+    static final byte OP_SET = 5;           // key, value
+    static final byte OP_REMOVE_KEY = 6;    // key
+
+    static final byte VALUE_NULL = 0;
+    static final byte VALUE_FALSE = 1;
+    static final byte VALUE_TRUE = 2;
+    static final byte VALUE_NUMBER = 3;     // double
+    static final byte VALUE_STRING = 4;     // length, UTF-8 bytes
+    static final byte VALUE_OBJECT = 5;     // index of the object passed alongside the buffer
+
+    private static final int INITIAL_CAPACITY = 4096;
+
+    // Direct, so that the native side reads it in place.
+    private ByteBuffer mBuffer = allocate(INITIAL_CAPACITY);
+    private final ArrayList<Object> mObjects = new ArrayList<>();
+    private int mOperationCount;
+
+    /**
+     * @return The number of operations in the batch.  Consecutive changes of adjacent elements
+     * are merged into one operation.
+     */
+    public int getOperationCount() {
+        return mOperationCount;
+    }
+
+    /**
+     * @return Whether the batch has no changes.
+     */
+    public boolean isEmpty() {
+        return mOperationCount == 0;
+    }
+
+    /**
+     * Removes all changes from the batch, so that it can be reused.
+     */
+    public void clear() {
+        mBuffer.clear();
+        mObjects.clear();
+        mOperationCount = 0;
+    }
+
+    final ByteBuffer getBuffer() {
+        return mBuffer;
+    }
+
+    final int getLength() {
+        return mBuffer.position();
+    }
+
+    @Nullable
+    final Object[] getObjects() {
+        return mObjects.isEmpty() ? null : mObjects.toArray();
+    }
+
+    final void writeOperation(byte operation) {
+        ensureCapacity(1);
+        mBuffer.put(operation);
+        mOperationCount++;
+    }
+
+    final void writeInt(int value) {
+        ensureCapacity(4);
+        mBuffer.putInt(value);
+    }
+
+    /**
+     * @return The position of the next value written to the buffer.
+     */
+    final int position() {
+        return mBuffer.position();
+    }
+
+    final int getInt(int position) {
+        return mBuffer.getInt(position);
+    }
+
+    final void putInt(int position, int value) {
+        mBuffer.putInt(position, value);
+    }
+
+    final void writeBoolean(boolean value) {
+        ensureCapacity(1);
+        mBuffer.put(value ? VALUE_TRUE : VALUE_FALSE);
+    }
+
+    final void writeNumber(double value) {
+        ensureCapacity(9);
+        mBuffer.put(VALUE_NUMBER);
+        mBuffer.putDouble(value);
+    }
+
+    final void writeString(@Nullable String value) {
+        if (value == null) {
+            writeNull();
+            return;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        ensureCapacity(5 + bytes.length);
+        mBuffer.put(VALUE_STRING);
+        mBuffer.putInt(bytes.length);
+        mBuffer.put(bytes);
+    }
+
+    /**
+     * Writes a key, which is a string without a type.
+     */
+    final void writeKey(String key) {
+        byte[] bytes = key.getBytes(StandardCharsets.UTF_8);
+        ensureCapacity(4 + bytes.length);
+        mBuffer.putInt(bytes.length);
+        mBuffer.put(bytes);
+    }
+
+    final void writeValue(@Nullable Object value) {
+        if (value == null) {
+            writeNull();
+        } else if (value instanceof Boolean) {
+            writeBoolean((Boolean) value);
+        } else if (value instanceof Number) {
+            writeNumber(((Number) value).doubleValue());
+        } else if (value instanceof String) {
+            writeString((String) value);
+        } else {
+            ensureCapacity(5);
+            mBuffer.put(VALUE_OBJECT);
+            mBuffer.putInt(mObjects.size());
+            mObjects.add(value);
+        }
+    }
+
+    private void writeNull() {
+        ensureCapacity(1);
+        mBuffer.put(VALUE_NULL);
+    }
+
+    private void ensureCapacity(int length) {
+        if (mBuffer.remaining() >= length)
+            return;
+
+        ByteBuffer buffer = allocate(Math.max(mBuffer.capacity() * 2, mBuffer.position() + length));
+        mBuffer.flip();
+        buffer.put(mBuffer);
+        mBuffer = buffer;
+    }
+
+    private static ByteBuffer allocate(int capacity) {
+        return ByteBuffer.allocateDirect(capacity).order(ByteOrder.nativeOrder());
+    }
+}
@@ -9,8 +9,11 @@ import androidx.annotation.NonNull;
 import androidx.annotation.Nullable;
 import androidx.annotation.VisibleForTesting;
 
+import java.nio.ByteBuffer;
 import java.util.AbstractCollection;
+import java.util.AbstractMap;
 import java.util.AbstractSet;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashMap;
 import java.util.Iterator;
@@ -38,8 +41,13 @@ import java.util.Set;
  *       "type": "Text",
  *       "text": "The live object is currently '${MyLiveMap.MyValue}'"
  *     }
+ * <p>
+ * Maps that change many keys at a time should use a {@link Batch}, which applies all of its
+ * changes to the C++ map in a single call.
  */
 public class LiveMap extends LiveData implements Map<String,Object> {
+    // Marks a key removed by a batch.
+    private static final Object REMOVED = new Object();
     private final Map<String,Object> mBackingMap = new HashMap<>();
 
     /**
@@ -343,18 +351,123 @@ public class LiveMap extends LiveData implements Map<String,Object> {
         return nGet(getNativeHandle(), key);
     }
 
+    /**
+     * @return A new batch of changes to this map.
+     */
+    @NonNull
+    public Batch newBatch() {
+        return new Batch();
+    }
+
+    /**
+     * A batch of changes to the map, applied with {@link #apply()}.
+     * <p>
+     * The changes are encoded as they are made and applied to the C++ map in a single call,
+     * rather than one call per key.  Booleans, numbers and strings are encoded without
+     * conversion.
+     * <p>
+     * A batch is reused after it is applied.
+     */
+    public final class Batch extends LiveDataBatch {
+        // The changes of the batch, in order, to apply to the Java copy of the map.
+        private final List<Entry<String,Object>> mMirror = new ArrayList<>();
+
+        private Batch() {
+        }
+
+        /**
+         * Set the value of a key.
+         * @param key The key.
+         * @param value The value.
+         * @return This batch.
+         */
+        public Batch set(@NonNull String key, @NonNull Object value) {
+            beginSet(key, value);
+            writeValue(value);
+            return this;
+        }
+
+        public Batch set(@NonNull String key, boolean value) {
+            beginSet(key, value);
+            writeBoolean(value);
+            return this;
+        }
+
+        public Batch set(@NonNull String key, int value) {
+            beginSet(key, value);
+            writeNumber(value);
+            return this;
+        }
+
+        public Batch set(@NonNull String key, double value) {
+            beginSet(key, value);
+            writeNumber(value);
+            return this;
+        }
+
+        public Batch set(@NonNull String key, @NonNull String value) {
+            beginSet(key, value);
+            writeString(value);
+            return this;
+        }
+
+        /**
+         * Remove a key.
+         * @param key The key.
+         * @return This batch.
+         */
+        public Batch remove(@NonNull String key) {
+            writeOperation(OP_REMOVE_KEY);
+            writeKey(key);
+            mMirror.add(new AbstractMap.SimpleEntry<>(key, REMOVED));
+            return this;
+        }
+
+        /**
+         * Apply the changes of the batch, in order, and clear the batch.
+         */
+        public void apply() {
+            if (isEmpty())
+                return;
+
+            nApplyBatch(getNativeHandle(), getBuffer(), getLength(), getObjects());
+            for (Entry<String,Object> entry : mMirror) {
+                if (entry.getValue() == REMOVED) {
+                    mBackingMap.remove(entry.getKey());
+                } else {
+                    mBackingMap.put(entry.getKey(), entry.getValue());
+                }
+            }
+            clear();
+        }
+
+        @Override
+        public void clear() {
+            super.clear();
+            mMirror.clear();
+        }
+
+        private void beginSet(String key, Object value) {
+            writeOperation(OP_SET);
+            writeKey(key);
+            mMirror.add(new AbstractMap.SimpleEntry<>(key, value));
+        }
+    }
+
     @Override
     public boolean applyUpdates(List<Update> operations) {
         try {
+            Batch batch = newBatch();
             for (LiveMap.Update operation : operations) {
                 if (operation.getType().equals("set")) {
-                    put(operation.getKey(), operation.getValue());
+                    batch.set(operation.getKey(), operation.getValue());
                 } else if (operation.getType().equals("remove")) {
-                    remove(operation.getKey());
+                    batch.remove(operation.getKey());
                 } else {
                     return false;
                 }
             }
+            batch.apply();
         } catch (Exception ex) {
             return false;
         }
@@ -370,4 +483,5 @@ public class LiveMap extends LiveData implements Map<String,Object> {
     private static native Object nGet(long nativeHandle, String key);
     private static native boolean nHas(long nativeHandle, String key);
     private static native boolean nRemove(long nativeHandle, String key);
+    private static native int nApplyBatch(long nativeHandle, ByteBuffer buffer, int length, Object[] objects);
 }
@@ -19,6 +19,7 @@ import com.amazon.apl.android.dependencies.IExtensionEventCallback;
 import com.amazon.apl.android.dependencies.IExtensionImageFilterCallback;
 import com.amazon.apl.android.dependencies.IImageProcessor;
 import com.amazon.apl.android.dependencies.IImageUriSchemeValidator;
+import com.amazon.apl.android.graphic.ShaderCache;
 import com.amazon.apl.android.media.ImageFilterProcessor;
 import com.amazon.apl.android.providers.AbstractMediaPlayerProvider;
 import com.amazon.apl.android.providers.IImageLoaderProvider;
@@ -51,12 +52,14 @@ public class RenderingContext {
     private final IBitmapCache bitmapCache;
     private final ImageFilterProcessor imageFilterProcessor;
     private final ShadowCache mShadowCache;
+    private final ShaderCache mShaderCache;
     private final WeakCache<String, Path> mPathCache;
     private final IContentRetriever<Uri, String> avgRetriever;
     private final IExtensionEventCallback extensionEventCallback;
     private final APLTrace aplTrace;
     private final boolean mediaPlayerV2Enabled;
     private final boolean isRuntimeHardwareAccelerationEnabled;
+    private final boolean isAVGBackgroundRasterEnabled;
 
     private RenderingContext(
             int docVersion,
@@ -76,7 +79,8 @@ public class RenderingContext {
             IExtensionEventCallback extensionEventCallback,
             APLTrace aplTrace,
             boolean mediaPlayerV2Enabled,
-            boolean isRuntimeHardwareAccelerationEnabled) {
+            boolean isRuntimeHardwareAccelerationEnabled,
+            boolean isAVGBackgroundRasterEnabled) {
         this.docVersion = docVersion;
         this.metricsTransform = metricsTransform;
         this.textLayoutFactory = textLayoutFactory;
@@ -95,7 +99,9 @@ public class RenderingContext {
         this.aplTrace = aplTrace;
         this.mediaPlayerV2Enabled = mediaPlayerV2Enabled;
         this.isRuntimeHardwareAccelerationEnabled = isRuntimeHardwareAccelerationEnabled;
+        this.isAVGBackgroundRasterEnabled = isAVGBackgroundRasterEnabled;
         mShadowCache = new ShadowCache();
+        mShaderCache = new ShaderCache();
         this.mPathCache = new WeakCache<>();
     }
 
@@ -163,6 +169,10 @@ public class RenderingContext {
         return mShadowCache;
     }
 
+    public ShaderCache getShaderCache() {
+        return mShaderCache;
+    }
+
     public WeakCache<String, Path> getPathCache() {
         return mPathCache;
     }
@@ -181,6 +191,10 @@ public class RenderingContext {
         return isRuntimeHardwareAccelerationEnabled;
     }
 
+    public boolean isAVGBackgroundRasterEnabled() {
+        return isAVGBackgroundRasterEnabled;
+    }
+
     // Defaults are no-ops
     public static Builder builder() {
         return new Builder()
@@ -217,6 +231,7 @@ public class RenderingContext {
         private APLTrace aplTrace;
         private boolean isMediaPlayerV2Enabled;
         private boolean isRuntimeHardwareAccelerationEnabled;
+        private boolean isAVGBackgroundRasterEnabled;
 
         Builder() {
         }
@@ -312,6 +327,11 @@ public class RenderingContext {
             return this;
         }
 
+        public RenderingContext.Builder isAVGBackgroundRasterEnabled(boolean isAVGBackgroundRasterEnabled) {
+            this.isAVGBackgroundRasterEnabled = isAVGBackgroundRasterEnabled;
+            return this;
+        }
+
         public RenderingContext build() {
             return new RenderingContext(
                     this.docVersion,
@@ -331,7 +351,8 @@ public class RenderingContext {
                     this.extensionEventCallback,
                     this.aplTrace,
                     this.isMediaPlayerV2Enabled,
-                    this.isRuntimeHardwareAccelerationEnabled);
+                    this.isRuntimeHardwareAccelerationEnabled,
+                    this.isAVGBackgroundRasterEnabled);
         }
     }
 }
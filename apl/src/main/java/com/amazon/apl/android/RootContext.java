@@ -10,12 +10,12 @@ import static com.amazon.apl.android.providers.ITelemetryProvider.Type.COUNTER;
 import static com.amazon.apl.android.providers.ITelemetryProvider.Type.TIMER;
 import static com.amazon.apl.enums.EventType.valueOf;
 
+import android.content.Context;
 import android.os.Handler;
 import android.os.Looper;
 import android.os.SystemClock;
 import android.renderscript.RenderScript;
 import android.text.TextUtils;
-import android.util.ArrayMap;
 import android.util.Log;
 import android.util.Pair;
 
@@ -41,6 +41,7 @@ import com.amazon.apl.android.events.OpenURLEvent;
 import com.amazon.apl.android.events.RefreshEvent;
 import com.amazon.apl.android.events.ReinflateEvent;
 import com.amazon.apl.android.events.SendEvent;
+import com.amazon.apl.android.image.ImagePrefetcher;
 import com.amazon.apl.android.image.filters.RenderScriptProvider;
 import com.amazon.apl.android.image.filters.RenderScriptWrapper;
 import com.amazon.apl.android.media.ImageFilterProcessor;
@@ -57,8 +58,10 @@ import com.amazon.apl.android.scenegraph.edittext.EditTextFactory;
 import com.amazon.apl.android.thread.Threading;
 import com.amazon.apl.android.touch.Pointer;
 import com.amazon.apl.android.utils.APLTrace;
+import com.amazon.apl.android.utils.CacheGovernor;
 import com.amazon.apl.android.utils.FluidityIncidentReporter;
 import com.amazon.apl.android.utils.FrameStat;
+import com.amazon.apl.android.utils.FrameTimeline;
 import com.amazon.apl.android.utils.JNIUtils;
 import com.amazon.apl.android.utils.TracePoint;
 import com.amazon.apl.enums.ComponentType;
@@ -120,6 +123,8 @@ public class RootContext extends BoundObject implements IClock.IClockCallback, T
     private static final String METRIC_DO_FRAME_FAIL = TAG + ".doFrame.fail";
     private static final String METRIC_DROP_FRAME = TAG + ".dropFrame";
     private static final long TARGET_DO_FRAME_TIME = 16700000; //16.7ms
+    // Frames kept by a frame metrics recording, 30 seconds at 60 fps.
+    private static final int FRAME_TIMELINE_CAPACITY = 1800;
     private int cDoFrameFail;
     private ICounter mDoFrameFailCounter;
     private int cDropFrame;
@@ -137,6 +142,7 @@ public class RootContext extends BoundObject implements IClock.IClockCallback, T
     private int tReinflate;
 
     private static final String METRIC_COMPONENT_COUNT = TAG + ".componentCount";
+    private static final String METRIC_IMAGE_PREFETCH_COUNT = TAG + ".imagePrefetchCount";
     private int cComponent;
     private ICounter mComponentCounter;
     private long cComponentBatchedIncrementCount;
@@ -152,7 +158,7 @@ public class RootContext extends BoundObject implements IClock.IClockCallback, T
     // Map of Component unique ID to Components in this layout
     // TODO consider only creating components as needed (i.e. ones that are laid-out by core).
     private static final int INITIAL_COMPONENT_MAP_CAPACITY = 128;
-    private final Map<String, Component> mAplComponents = new ArrayMap<>(INITIAL_COMPONENT_MAP_CAPACITY);
+    private final ComponentRegistry mAplComponents = new ComponentRegistry(INITIAL_COMPONENT_MAP_CAPACITY);
 
     // The start time of the APL update loop.
     private long mStartLoopTime = 0;
@@ -166,6 +172,9 @@ public class RootContext extends BoundObject implements IClock.IClockCallback, T
     @NonNull
     private final Queue<Runnable> mWorkQueue = new ConcurrentLinkedQueue<>();
 
+    // Whether the clock was told it could skip frames since the last tick.
+    private boolean mFrameLoopIdled = false;
+
     // Used internally to communicate views back out to the APLLayout
     @NonNull
     private IAPLViewPresenter mViewPresenter;
@@ -228,13 +237,14 @@ public class RootContext extends BoundObject implements IClock.IClockCallback, T
     //Width after core auto sizes
     private int mAutoSizedWidth;
 
-    private boolean mShouldRecordFrameMetrics;
+    // Not null while frame metrics are recorded.
+    @Nullable
+    private FrameTimeline mFrameTimeline;
     private final FluidityIncidentReporter mFluidityIncidentReporter;
 
     @NonNull
     private final IMetricsRecorder mMetricsRecorder;
 
-    private List<FrameStat> mFrameStats = new ArrayList<>();
     IMetricsRecorder getMetricsRecorder() {
         return mMetricsRecorder;
     }
@@ -399,10 +409,37 @@ public class RootContext extends BoundObject implements IClock.IClockCallback, T
                 inflate();
             }
             checkIfAutoSizeNeeded(mMetricsTransform.getScaledViewhostWidth(), mMetricsTransform.getScaledViewhostHeight());
+            if (!options.isScenegraphEnabled() && (boolean) properties.get(APLProperty.kImagePrefetchEnabled)) {
+                prefetchImages(((Number) properties.get(APLProperty.kImagePrefetchLookahead)).intValue());
+            }
             mDocumentContext = new DocumentContext(nGetDocumentContext(getNativeHandle()));
         }
     }
 
+    /**
+     * Starts downloading and decoding the images of the inflated document so they are cached by
+     * the time the views are laid out and bound.
+     *
+     * @param lookahead the number of not yet displayed Sequence children to include.
+     */
+    private void prefetchImages(int lookahead) {
+        Component top = getTopComponent();
+        Context context = mViewPresenter.getContext();
+        if (top == null || context == null) {
+            return;
+        }
+        try (APLTrace.AutoTrace trace = mAplTrace.startAutoTrace(TracePoint.ROOT_CONTEXT_PREFETCH_IMAGES)) {
+            int count = new ImagePrefetcher(context, lookahead).prefetch(top);
+            if (count > 0) {
+                int cPrefetch = mTelemetryProvider.createMetricId(APL_DOMAIN, METRIC_IMAGE_PREFETCH_COUNT, COUNTER);
+                mTelemetryProvider.incrementCount(cPrefetch, count);
+            }
+        } catch (Exception e) {
+            // Prefetching is an optimization only, the images are loaded again when bound.
+            Log.w(TAG, "Image prefetch failed", e);
+        }
+    }
+
     /**
      * Sets the variables with respect to auto size post inflation.
      */
@@ -466,7 +503,8 @@ public class RootContext extends BoundObject implements IClock.IClockCallback, T
                 .extensionEventCallback(eeCB)
                 .aplTrace(mAplTrace)
                 .isMediaPlayerV2Enabled(config.isMediaPlayerV2Enabled())
-                .isRuntimeHardwareAccelerationEnabled(isRuntimeHardwareAccelerationEnabled);
+                .isRuntimeHardwareAccelerationEnabled(isRuntimeHardwareAccelerationEnabled)
+                .isAVGBackgroundRasterEnabled((boolean) aplProperties.get(APLProperty.kAVGBackgroundRasterEnabled));
 
         if (extensionMediator != null) {
             ctxBuilder.extensionResourceProvider(extensionMediator.extensionResourceProvider);
@@ -873,6 +911,7 @@ public class RootContext extends BoundObject implements IClock.IClockCallback, T
         Log.i(TAG, String.format("Document(%s) with handle(%s) finishing.", mRootConfig.getSession().getLogId(), mDocumentHandle));
         mUserPerceivedFatalReporter.reportSuccess();
         mFluidityIncidentReporter.emitFluidityMetrics();
+        CacheGovernor.getInstance().reportTo(mTelemetryProvider);
         synchronized (mLock) {
             // mark the context as finished to block any per frame loop.
             mIsFinished.set(true);
@@ -1034,7 +1073,7 @@ public class RootContext extends BoundObject implements IClock.IClockCallback, T
      */
     @SuppressWarnings("unused")
     private void buildComponent(String componentId, long nativeHandle, int typeId) {
-        if (mAplComponents.containsKey(componentId)) {
+        if (mAplComponents.contains(componentId)) {
             return;
         }
 
@@ -1075,7 +1114,7 @@ public class RootContext extends BoundObject implements IClock.IClockCallback, T
         //noinspection deprecation
         component.mRootContext = this;
 
-        mAplComponents.put(componentId, component);
+        mAplComponents.put(component);
         cComponentBatchedIncrementCount += 1;
         if (BuildConfig.DEBUG) {
             // metrics per component, not for production, used for debug only
@@ -1125,6 +1164,7 @@ public class RootContext extends BoundObject implements IClock.IClockCallback, T
     @Nullable
     public Action executeCommands(@NonNull String commands) {
         long handle = nExecuteCommands(getNativeHandle(), commands);
+        mAplClock.requestTick();
         if (handle == 0) {
             return null;
         }
@@ -1139,6 +1179,7 @@ public class RootContext extends BoundObject implements IClock.IClockCallback, T
 
         long handle = nInvokeExtensionEventHandler(getNativeHandle(),
                 uri, name, data, fastmode);
+        mAplClock.requestTick();
 
         if (handle == 0) {
             return null;
@@ -1155,7 +1196,9 @@ public class RootContext extends BoundObject implements IClock.IClockCallback, T
      * @return true if data source has been updated successfully, otherwise - false
      */
     public boolean updateDataSource(@NonNull final String type, @NonNull final String data) {
-        return nUpdateDataSource(getNativeHandle(), type, data);
+        boolean updated = nUpdateDataSource(getNativeHandle(), type, data);
+        mAplClock.requestTick();
+        return updated;
     }
 
 
@@ -1208,7 +1251,7 @@ public class RootContext extends BoundObject implements IClock.IClockCallback, T
                     if (toRemove == null) {
                         Log.w(TAG, "Invalid component to remove in kPropertyNotifyChildrenChanged, ignoring.");
                     } else {
-                        APLLayout.traverseComponentHierarchy(toRemove, child -> mAplComponents.remove(child.getComponentId()));
+                        mAplComponents.removeSubtree(toRemove);
                     }
                 }
             }
@@ -1301,6 +1344,7 @@ public class RootContext extends BoundObject implements IClock.IClockCallback, T
             for (int i = 0; i < pointers.size(); i++) {
                 mPointerQueue.add(pointers.get(i));
             }
+            mAplClock.requestTick();
         }
     }
 
@@ -1410,7 +1454,7 @@ public class RootContext extends BoundObject implements IClock.IClockCallback, T
     @NonNull
     @VisibleForTesting
     public Map<String, Component> getComponents() {
-        return mAplComponents;
+        return mAplComponents.asMap();
     }
 
 
@@ -1470,6 +1514,7 @@ public class RootContext extends BoundObject implements IClock.IClockCallback, T
      */
     public void post(Runnable r) {
         mWorkQueue.add(r);
+        mAplClock.requestTick();
     }
 
     /**
@@ -1513,6 +1558,7 @@ public class RootContext extends BoundObject implements IClock.IClockCallback, T
         mAplTrace.startTrace(TracePoint.ROOT_CONTEXT_UPDATE_TIME);
         updateTime(nativeHandle, time, currentUtcTime);
         mAplTrace.endTrace();
+        markFramePhase(FrameTimeline.Phase.UPDATE_TIME);
 
         mAplTrace.startTrace(TracePoint.ROOT_CONTEXT_CLEAR_PENDING);
 
@@ -1528,6 +1574,7 @@ public class RootContext extends BoundObject implements IClock.IClockCallback, T
         }
 
         mAplTrace.endTrace();
+        markFramePhase(FrameTimeline.Phase.CLEAR_PENDING);
 
         if (mOptions.isScenegraphEnabled()) {
             mViewPresenter.inflateScenegraph();
@@ -1545,10 +1592,12 @@ public class RootContext extends BoundObject implements IClock.IClockCallback, T
             }
             mAplTrace.endTrace();
         }
+        markFramePhase(FrameTimeline.Phase.DIRTY_PROPERTIES);
 
         mAplTrace.startTrace(TracePoint.ROOT_CONTEXT_HANDLE_EVENTS);
         nHandleEvents(nativeHandle);
         mAplTrace.endTrace();
+        markFramePhase(FrameTimeline.Phase.EVENTS);
 
         processScreenLock(nIsScreenLocked(nativeHandle));
 
@@ -1565,6 +1614,7 @@ public class RootContext extends BoundObject implements IClock.IClockCallback, T
             notifyDataSourceContext();
         }
         mAplTrace.endTrace();
+        markFramePhase(FrameTimeline.Phase.CONTEXT_NOTIFY);
 
         // Allow embedded documents a chance to update their visual and data source context
         ViewhostImpl viewhost = (ViewhostImpl)mOptions.getViewhost();
@@ -1572,6 +1622,7 @@ public class RootContext extends BoundObject implements IClock.IClockCallback, T
             mAplTrace.startTrace(TracePoint.ROOT_CONTEXT_NEW_VIEWHOST_TICK);
             viewhost.tick();
             mAplTrace.endTrace();
+            markFramePhase(FrameTimeline.Phase.VIEWHOST_TICK);
         }
     }
 
@@ -1588,19 +1639,52 @@ public class RootContext extends BoundObject implements IClock.IClockCallback, T
     }
 
     public void startFrameMetricsRecording() {
-        mShouldRecordFrameMetrics = true;
+        startFrameMetricsRecording(null, 0);
+    }
+
+    /**
+     * Starts recording frame metrics, discarding any previous recording. Only the last frames
+     * of a recording are kept.
+     *
+     * @param listener   receives the phases of the recorded frames in batches, or null.
+     * @param intervalMs the minimum interval between batches, in milliseconds.
+     */
+    public void startFrameMetricsRecording(@Nullable FrameTimeline.Listener listener, long intervalMs) {
+        mFrameTimeline = new FrameTimeline(FRAME_TIMELINE_CAPACITY);
+        mFrameTimeline.setListener(listener, intervalMs);
     }
 
     public List<JSONObject> stopFrameMetricsRecording() throws JSONException {
-        mShouldRecordFrameMetrics = false;
         List<JSONObject> result = new ArrayList<>();
-        for (FrameStat frameStat : mFrameStats) {
+        if (mFrameTimeline == null) {
+            return result;
+        }
+        // Hand over the frames not streamed yet.
+        mFrameTimeline.flush();
+        for (FrameStat frameStat : mFrameTimeline.getFrameStats()) {
             result.add(frameStat.toJSON());
         }
-        mFrameStats.clear();
+        mFrameTimeline = null;
         return result;
     }
 
+    /**
+     * Attributes a draw of the document to the last frame, while frame metrics are recorded.
+     *
+     * @param drawNanos the duration of the draw.
+     */
+    void recordFrameDraw(long drawNanos) {
+        if (mFrameTimeline != null) {
+            mFrameTimeline.recordDraw(drawNanos);
+        }
+    }
+
+    private void markFramePhase(FrameTimeline.Phase phase) {
+        if (mFrameTimeline != null) {
+            mFrameTimeline.mark(phase);
+        }
+    }
+
     /**
      * Called when a new display frame is being rendered.
      * See {@link IClock.IClockCallback#onTick(long)}
@@ -1618,22 +1702,26 @@ public class RootContext extends BoundObject implements IClock.IClockCallback, T
             } else if (mIsFinished.get()) {
                 return;
             }
-
+            if (mFrameTimeline != null) {
+                mFrameTimeline.beginFrame(frameTimeNanos);
+            }
 
             //do any work that's pending
             while (!mWorkQueue.isEmpty()) {
                 Runnable r = mWorkQueue.poll();
                 r.run();
             }
+            markFramePhase(FrameTimeline.Phase.WORK_QUEUE);
 
             // Send one pending pointer after specified delay
             Pair<Pointer, Long> pointer = mPointerQueue.peek();
             if (pointer != null && SystemClock.uptimeMillis() >= pointer.second) {
                 mPointerQueue.poll();
                 if (!handlePointer(pointer.first)) {
-                    mRootConfig.getSession().write(Session.LogEntryLevel.WARN, Session.LogEntrySource.VIEW, "Could not process pointer " + pointer.first.toString());
+                    mRootConfig.getSession().writeFormatted(Session.LogEntryLevel.WARN, Session.LogEntrySource.VIEW, "Could not process pointer %s", pointer.first);
                 }
             }
+            markFramePhase(FrameTimeline.Phase.POINTER);
 
             // convert to ms
             long time = (frameTimeNanos - mStartLoopTime) / 1000000;
@@ -1649,9 +1737,13 @@ public class RootContext extends BoundObject implements IClock.IClockCallback, T
                     mDropFrameCounter.increment(1);
                 }
             }
-            if (mShouldRecordFrameMetrics) {
-                FrameStat pair = new FrameStat(frameTimeNanos, end);
-                mFrameStats.add(pair);
+            if (mFrameTimeline != null) {
+                mFrameTimeline.endFrame(end);
+            }
+            if (mFrameLoopIdled) {
+                // Frames skipped while idle are not slow frames.
+                mFluidityIncidentReporter.restartFrameSequence();
+                mFrameLoopIdled = false;
             }
             mFluidityIncidentReporter.addFrameStat(new FrameStat(frameTimeNanos, end));
         } catch (Exception e) {
@@ -1676,6 +1768,55 @@ public class RootContext extends BoundObject implements IClock.IClockCallback, T
         return nElapsedTime(getNativeHandle());
     }
 
+    /**
+     * Reports when the next frame is needed, so an idle document does not tick every frame.
+     * See {@link IClock.IClockCallback#getNextTickDelay()}
+     *
+     * @return the delay in milliseconds until core or the view host has work, 0 if there is work
+     *         for the next frame, or {@link IClock#NO_TICK_NEEDED} if nothing is scheduled.
+     */
+    @Override
+    public long getNextTickDelay() {
+        if (!mOptions.isIdleFrameSchedulingEnabled() || mOptions.isScenegraphEnabled()) {
+            return 0;
+        }
+        if (mIsFinished.get()) {
+            return IClock.NO_TICK_NEEDED;
+        }
+        if (!mWorkQueue.isEmpty()) {
+            return 0;
+        }
+
+        final long nativeHandle = getNativeHandle();
+        if (nIsDirty(nativeHandle) || nHasEvent(nativeHandle)
+                || mRenderingContext.getMediaPlayerProvider().hasPlayingMediaPlayer()) {
+            return 0;
+        }
+
+        final long now = SystemClock.elapsedRealtime();
+        long delay = nNextTimerDelay(nativeHandle);
+        if (nIsVisualContextDirty(nativeHandle)) {
+            delay = earliest(delay, mLastVisualContextUpdateTime + VISUAL_CONTEXT_UPDATE_INTERVAL_MS - now);
+        }
+        if (nIsDataSourceContextDirty(nativeHandle)) {
+            delay = earliest(delay, mLastDataSourceUpdateTime + DATA_SOURCE_CONTEXT_UPDATE_INTERVAL_MS - now);
+        }
+        Pair<Pointer, Long> pointer = mPointerQueue.peek();
+        if (pointer != null) {
+            delay = earliest(delay, pointer.second - SystemClock.uptimeMillis());
+        }
+
+        if (delay != 0) {
+            mFrameLoopIdled = true;
+        }
+        return delay;
+    }
+
+    private static long earliest(long delay, long otherDelay) {
+        otherDelay = Math.max(0, otherDelay);
+        return delay == IClock.NO_TICK_NEEDED ? otherDelay : Math.min(delay, otherDelay);
+    }
+
     /**
      * Returns whether or not the setting was set in the document.
      *
@@ -1737,6 +1878,7 @@ public class RootContext extends BoundObject implements IClock.IClockCallback, T
                         keyboard.alt(),
                         keyboard.ctrl(),
                         keyboard.meta());
+        mAplClock.requestTick();
 
         if (DEBUG) Log.d(TAG, "keyboard: " + keyboard + ", isAplConsumed: " + isAplConsumed);
         return isAplConsumed;
@@ -1826,12 +1968,14 @@ public class RootContext extends BoundObject implements IClock.IClockCallback, T
      */
     @VisibleForTesting
     public boolean handlePointer(@NonNull final Pointer pointer) {
-        return nHandlePointerEvent(getNativeHandle(),
+        boolean handled = nHandlePointerEvent(getNativeHandle(),
                 pointer.getId(),
                 pointer.getPointerType().getIndex(),
                 pointer.getPointerEventType().getIndex(),
                 mMetricsTransform.toCore(pointer.getX()),
                 mMetricsTransform.toCore(pointer.getY()));
+        mAplClock.requestTick();
+        return handled;
     }
 
     /**
@@ -1892,6 +2036,7 @@ public class RootContext extends BoundObject implements IClock.IClockCallback, T
                 configurationChange.screenReaderEnabled(),
                 configurationChange.disallowVideo(),
                 configurationChange.environmentValues());
+        mAplClock.requestTick();
 
         // If we have a scaled viewport and we're undergoing a configuration change,
         // then our metrics are changing and the existing layouts need to be cleared and re-laid out.
@@ -1913,6 +2058,7 @@ public class RootContext extends BoundObject implements IClock.IClockCallback, T
         if (DEBUG) Log.d(TAG, "Update Display State: " + displayState.name());
 
         nUpdateDisplayState(getNativeHandle(), displayState.getIndex());
+        mAplClock.requestTick();
 
         // When the display state changes, we want to ensure that the document is notified promptly
         // and that any resulting events are processed immediately, rather than waiting for the next
@@ -1984,6 +2130,17 @@ public class RootContext extends BoundObject implements IClock.IClockCallback, T
         return mAplComponents.get(componentId);
     }
 
+    /**
+     * Returns an inflated Java Component by the number in its unique id, without inflating it.
+     *
+     * @param uid the number in the unique id of the Component.
+     * @return the Component, or null if it is not inflated.
+     */
+    @Nullable
+    Component getComponentWithUid(int uid) {
+        return mAplComponents.get(uid);
+    }
+
     /**
      * @return the visual context
      */
@@ -2015,6 +2172,7 @@ public class RootContext extends BoundObject implements IClock.IClockCallback, T
      */
     public void mediaLoaded(final String source) {
         nMediaLoaded(getNativeHandle(), source);
+        mAplClock.requestTick();
     }
 
     /**
@@ -2025,6 +2183,7 @@ public class RootContext extends BoundObject implements IClock.IClockCallback, T
      */
     public void mediaLoadFailed(final String source, int errorCode, String failureReason) {
         nMediaLoadFailed(getNativeHandle(), source, errorCode, failureReason);
+        mAplClock.requestTick();
     }
 
     /**
@@ -2040,7 +2199,9 @@ public class RootContext extends BoundObject implements IClock.IClockCallback, T
     }
 
     public String documentCommandRequest(String method, String params) {
-        return nDocumentCommandRequest(getNativeHandle(), method, params);
+        String result = nDocumentCommandRequest(getNativeHandle(), method, params);
+        mAplClock.requestTick();
+        return result;
     }
 
     /**
@@ -2077,6 +2238,10 @@ public class RootContext extends BoundObject implements IClock.IClockCallback, T
 
     private static native boolean nIsScreenLocked(long nativeHandle);
 
+    private static native boolean nHasEvent(long nativeHandle);
+
+    private static native long nNextTimerDelay(long nativeHandle);
+
     private native void nInflate(long nativeHandle);
 
     private native boolean nReinflate(long nativeHandle);
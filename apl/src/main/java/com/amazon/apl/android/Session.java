@@ -8,21 +8,40 @@ package com.amazon.apl.android;
 import com.amazon.apl.android.dependencies.IAPLSessionListener;
 import com.amazon.common.BoundObject;
 
-import java.util.ArrayList;
-import java.util.Collections;
-import java.util.List;
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.annotation.VisibleForTesting;
+
+import java.util.Locale;
 
 /**
  * Document logging session. Limited at the moment, but ultimately provides a possibility to provide
  * logs that could be sent to the experience developer (parsing/execution errors/etc).
+ *
+ * The last entries are kept in a ring buffer, so that a listener attached later receives them.
+ * Entries below the minimum level are dropped before any formatting, and entries written with
+ * {@link #writeFormatted} are only formatted once a listener receives them.
  */
 public class Session extends BoundObject {
-    private final List<LogInfo> mLogList;
-    private IAPLSessionListener mListener;
+    // Entries kept for listeners attached later, the oldest are dropped first.
+    private static final int DEFAULT_LOG_CAPACITY = 256;
+
+    private final LogInfo[] mLogs;
+    private int mLogStart;
+    private int mLogCount;
+    private long mDroppedLogCount;
+    private long mFilteredLogCount;
+    private volatile LogEntryLevel mMinimumLevel = LogEntryLevel.NONE;
+    private volatile IAPLSessionListener mListener;
 
     public Session() {
+        this(DEFAULT_LOG_CAPACITY);
+    }
+
+    @VisibleForTesting
+    Session(int logCapacity) {
         bind(nCreate());
-        mLogList = Collections.synchronizedList(new ArrayList<>());
+        mLogs = new LogInfo[logCapacity];
     }
 
     public enum LogEntryLevel {
@@ -56,12 +75,59 @@ public class Session extends BoundObject {
 
     public void setAPLListener(IAPLSessionListener listener) {
         mListener = listener;
-        reportExistingLogs();
+        reportExistingLogs(listener);
+    }
+
+    private void reportExistingLogs(IAPLSessionListener listener) {
+        LogInfo[] logs;
+        long dropped;
+        synchronized (mLogs) {
+            logs = new LogInfo[mLogCount];
+            for (int i = 0; i < mLogCount; i++) {
+                logs[i] = mLogs[(mLogStart + i) % mLogs.length];
+            }
+            dropped = mDroppedLogCount;
+        }
+        if (dropped > 0) {
+            listener.write(LogEntryLevel.WARN, LogEntrySource.SESSION,
+                    "Dropped " + dropped + " earlier log entries", null);
+        }
+        for (LogInfo logInfo : logs) {
+            listener.write(logInfo.getLevel(), logInfo.getSource(), logInfo.getMessage(), logInfo.getArguments());
+        }
+    }
+
+    /**
+     * Drops the entries below a level, before they are formatted or kept.
+     *
+     * @param level the minimum level of the entries written, {@link LogEntryLevel#NONE} for all.
+     */
+    public void setMinimumLogLevel(@NonNull LogEntryLevel level) {
+        mMinimumLevel = level;
+    }
+
+    /**
+     * @return whether an entry of this level is written, so that callers can skip building it.
+     */
+    public boolean isLoggable(@NonNull LogEntryLevel level) {
+        return level.compareTo(mMinimumLevel) >= 0;
+    }
+
+    /**
+     * @return the number of entries dropped from the buffer before a listener received them.
+     */
+    public long getDroppedLogCount() {
+        synchronized (mLogs) {
+            return mDroppedLogCount;
+        }
     }
 
-    private void reportExistingLogs() {
-        for (LogInfo logInfo : mLogList) {
-            mListener.write(logInfo.getLevel(), logInfo.getSource(), logInfo.getMessage(), logInfo.getArguments());
+    /**
+     * @return the number of entries dropped for being below the minimum level.
+     */
+    public long getFilteredLogCount() {
+        synchronized (mLogs) {
+            return mFilteredLogCount;
         }
     }
 
@@ -85,22 +151,67 @@ public class Session extends BoundObject {
      * @param arguments Any additional arguments associated with log entry
      */
     public void write(LogEntryLevel level, LogEntrySource source, String message, Object[] arguments){
-        if (mListener != null) {
-            mListener.write(level, source, message, arguments);
+        if (isLoggable(level)) {
+            write(new LogInfo(level, source, message, null, arguments));
+        } else {
+            onFiltered();
+        }
+    }
+
+    /**
+     * Writes an entry whose message is only formatted, with {@link String#format}, once a
+     * listener receives it.
+     *
+     * @param level The log entry's severity level
+     * @param source The log entry's source
+     * @param format The format of the log entry's message
+     * @param formatArgs The arguments of the format
+     */
+    public void writeFormatted(LogEntryLevel level, LogEntrySource source, String format, Object... formatArgs) {
+        if (isLoggable(level)) {
+            write(new LogInfo(level, source, format, formatArgs, null));
+        } else {
+            onFiltered();
+        }
+    }
+
+    private void write(LogInfo logInfo) {
+        synchronized (mLogs) {
+            if (mLogCount == mLogs.length) {
+                mLogs[mLogStart] = logInfo;
+                mLogStart = (mLogStart + 1) % mLogs.length;
+                mDroppedLogCount++;
+            } else {
+                mLogs[(mLogStart + mLogCount) % mLogs.length] = logInfo;
+                mLogCount++;
+            }
+        }
+        IAPLSessionListener listener = mListener;
+        if (listener != null) {
+            listener.write(logInfo.getLevel(), logInfo.getSource(), logInfo.getMessage(), logInfo.getArguments());
+        }
+    }
+
+    private void onFiltered() {
+        synchronized (mLogs) {
+            mFilteredLogCount++;
         }
-        mLogList.add(new LogInfo(level, source, message, arguments));
     }
 
     private static class LogInfo {
         private final LogEntryLevel mLevel;
         private final LogEntrySource mSource;
-        private final String mMessage;
         private final Object[] mArguments;
+        // Formatted on first use.
+        private String mMessage;
+        private Object[] mFormatArgs;
 
-        LogInfo(LogEntryLevel level, LogEntrySource source, String message, Object[] arguments) {
+        LogInfo(LogEntryLevel level, LogEntrySource source, String message, @Nullable Object[] formatArgs,
+                @Nullable Object[] arguments) {
             mLevel = level;
             mSource = source;
             mMessage = message;
+            mFormatArgs = formatArgs;
             mArguments = arguments;
         }
 
@@ -112,7 +223,11 @@ public class Session extends BoundObject {
             return mSource;
         }
 
-        public String getMessage() {
+        public synchronized String getMessage() {
+            if (mFormatArgs != null) {
+                mMessage = String.format(Locale.US, mMessage, mFormatArgs);
+                mFormatArgs = null;
+            }
             return mMessage;
         }
 
@@ -19,13 +19,19 @@ import com.amazon.apl.android.font.FontConstant;
 import com.amazon.apl.android.font.TypefaceResolver;
 import com.amazon.apl.android.primitive.Dimension;
 import com.amazon.apl.android.scenegraph.text.APLTextLayout;
+import com.amazon.apl.android.utils.ITrimmableCache;
 
 /**
  * Cache for text layouts (generally {@link StaticLayout}) and also caches
  * {@link TextPaint}). The user is expected to manage creation of the Layout
  * objects and select an appropriate key that makes reuse possible.
  */
-public final class TextLayoutCache {
+public final class TextLayoutCache implements ITrimmableCache {
+    // Rough retained sizes of the entries, the caches are bounded by count.
+    private static final long ESTIMATED_LAYOUT_BYTES = 4 * 1024;
+    private static final long ESTIMATED_PAINT_BYTES = 512;
+    private static final long ESTIMATED_WIDTH_BYTES = 64;
+
     /**
      * A LruCache of Layouts using the visual hash and some other identifying info as a key.
      */
@@ -152,6 +158,20 @@ public final class TextLayoutCache {
         mMeasuredTextWidths.evictAll();
     }
 
+    @Override
+    public long getEstimatedBytes() {
+        return mLayoutCache.size() * ESTIMATED_LAYOUT_BYTES
+                + mPaintCache.size() * ESTIMATED_PAINT_BYTES
+                + mMeasuredTextWidths.size() * ESTIMATED_WIDTH_BYTES;
+    }
+
+    @Override
+    public void trimToFraction(float fraction) {
+        mLayoutCache.trimToSize((int) (mLayoutCache.size() * fraction));
+        mPaintCache.trimToSize((int) (mPaintCache.size() * fraction));
+        mMeasuredTextWidths.trimToSize((int) (mMeasuredTextWidths.size() * fraction));
+    }
+
     private static boolean shouldDisableHinting(String fontFamily) {
         /**
          * Font hinting is a default-on feature that changes the shape of glyphs when
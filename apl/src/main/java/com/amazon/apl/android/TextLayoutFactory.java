@@ -20,6 +20,7 @@ import com.amazon.apl.android.scaling.IMetricsTransform;
 import com.amazon.apl.android.scaling.ViewportMetrics;
 import com.amazon.apl.android.scenegraph.text.APLTextLayout;
 import com.amazon.apl.android.text.LineSpan;
+import com.amazon.apl.android.utils.CacheGovernor;
 
 /**
  * Factory for Text (and EditText) Layouts, which returns a cached layout
@@ -75,6 +76,7 @@ public class TextLayoutFactory {
     private TextLayoutFactory(float density, AndroidTextMeasure androidTextMeasure) {
         mDensity = density;
         mTextLayoutCache = new TextLayoutCache();
+        CacheGovernor.getInstance().register("textLayout", mTextLayoutCache, CacheGovernor.Priority.LOW, 1f);
         mAndroidTextMeasure = androidTextMeasure;
     }
 
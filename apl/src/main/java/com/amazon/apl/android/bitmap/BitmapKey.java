@@ -9,4 +9,14 @@ package com.amazon.apl.android.bitmap;
  */
 public interface BitmapKey {
 
-}
\ No newline at end of file
+    /**
+     * Whether a cache may put the bitmap of this key back in its {@link IBitmapPool} when the
+     * bitmap leaves the cache. Only keys whose bitmaps are never drawn or held outside of the
+     * cache may opt in, since a pooled bitmap is handed out and overwritten.
+     *
+     * @return true if the bitmap may be reused once it leaves the cache, false by default.
+     */
+    default boolean isReusableOnEviction() {
+        return false;
+    }
+}
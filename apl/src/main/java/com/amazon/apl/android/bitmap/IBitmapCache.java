@@ -32,6 +32,19 @@ public interface IBitmapCache {
 
     void removeBitmapFromCache(BitmapKey key);
 
+    /**
+     * Hands the {@link Bitmap} with the given key to the caller, who may draw into it until it is
+     * put back with {@link #putBitmap(BitmapKey, Bitmap)}. Meanwhile the cache can neither evict nor
+     * reuse it. Caches which never reuse evicted bitmaps may keep it cached, as this default does.
+     *
+     * @param key the key to return Bitmap of
+     * @return a Bitmap, or null if none is cached
+     */
+    @Nullable
+    default Bitmap takeBitmap(BitmapKey key) {
+        return getBitmap(key);
+    }
+
     /**
      * Get cache size. This could be the number of entries in the cache but should
      * preferably be the total size in bytes for better memory tracking
@@ -0,0 +1,486 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package com.amazon.apl.android.bitmap;
+
+import android.content.ComponentCallbacks2;
+import android.content.res.Configuration;
+import android.graphics.Bitmap;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.annotation.VisibleForTesting;
+
+import com.amazon.apl.android.utils.ITrimmableCache;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A bitmap cache shared by the UI thread, the filter workers and the shadow renderer.
+ *
+ * The cache is split into segments by key hash, each with its own lock and an equal share of the
+ * byte budget, so threads working on different bitmaps do not wait on each other.
+ *
+ * Within a segment, new bitmaps enter a small LRU window. A bitmap leaving the window, or too
+ * large for it, is only admitted to the main LRU if it is used at least as often as each of the
+ * bitmaps it would evict, as estimated by a frequency sketch which halves its counts periodically
+ * so that it follows the workload (W-TinyLFU). A large filter result used once therefore does not push out icons drawn on every
+ * frame. Bitmaps larger than a segment are not cached.
+ *
+ * Bitmaps leaving the cache are left to the GC, since they may still be drawn. Given a pool, the
+ * bitmaps of keys which opt in with {@link BitmapKey#isReusableOnEviction()} are put back in it.
+ * A bitmap which is not admitted by a put stays with its caller and is never pooled.
+ */
+public class SegmentedBitmapCache implements IBitmapCache, ComponentCallbacks2, ITrimmableCache {
+
+    private static final String TAG = "SegmentedBitmapCache";
+    private static final int MEMORY_ALLOCATION = (int)(Runtime.getRuntime().maxMemory() / 16);
+    private static final int MAX_SEGMENTS = 8;
+    // Segments are kept large enough for a full screen bitmap.
+    private static final long MIN_SEGMENT_BYTES = 16L * 1024 * 1024;
+    // The share of a segment taken by the admission window.
+    private static final float WINDOW_FRACTION = 0.1f;
+
+    private final Segment[] mSegments;
+    @Nullable
+    private volatile IBitmapPool mBitmapPool;
+    private final AtomicLong mBytes = new AtomicLong();
+    private final AtomicLong mHitCount = new AtomicLong();
+    private final AtomicLong mMissCount = new AtomicLong();
+    private final AtomicLong mEvictionCount = new AtomicLong();
+    private final AtomicLong mRejectionCount = new AtomicLong();
+
+    /**
+     * Create a new {@link SegmentedBitmapCache} using a sixteenth of the maximum heap. APL sets the
+     * runtime's bitmap pool on it when initialized, see {@link #setBitmapPool(IBitmapPool)}.
+     */
+    public SegmentedBitmapCache() {
+        this(MEMORY_ALLOCATION, null);
+    }
+
+    /**
+     * Create a new {@link SegmentedBitmapCache}.
+     *
+     * @param maxBytes   Max memory that can be used by the cache, in bytes.
+     * @param bitmapPool the pool evicted bitmaps are returned to, if their key allows it.
+     */
+    public SegmentedBitmapCache(long maxBytes, @Nullable IBitmapPool bitmapPool) {
+        this(maxBytes, segmentCount(maxBytes), bitmapPool);
+    }
+
+    /**
+     * @param segmentCount the number of segments, a power of two.
+     */
+    @VisibleForTesting
+    SegmentedBitmapCache(long maxBytes, int segmentCount, @Nullable IBitmapPool bitmapPool) {
+        mBitmapPool = bitmapPool;
+        mSegments = new Segment[segmentCount];
+        for (int i = 0; i < segmentCount; i++) {
+            mSegments[i] = new Segment(maxBytes / segmentCount);
+        }
+    }
+
+    private static int segmentCount(long maxBytes) {
+        int count = 1;
+        while (count < MAX_SEGMENTS && maxBytes / (count * 2) >= MIN_SEGMENT_BYTES) {
+            count *= 2;
+        }
+        return count;
+    }
+
+    /**
+     * @return the pool evicted bitmaps are returned to, or null if there is none.
+     */
+    @Nullable
+    public IBitmapPool getBitmapPool() {
+        return mBitmapPool;
+    }
+
+    /**
+     * Sets the pool evicted bitmaps are returned to, if their key allows it.
+     *
+     * @param bitmapPool the pool, or null to leave evicted bitmaps to the GC.
+     */
+    public void setBitmapPool(@Nullable IBitmapPool bitmapPool) {
+        mBitmapPool = bitmapPool;
+    }
+
+    /**
+     * @inheritDoc
+     */
+    @Override
+    public void putBitmap(BitmapKey key, Bitmap bitmap) {
+        List<Map.Entry<BitmapKey, Bitmap>> evicted = new ArrayList<>();
+        segmentFor(key).put(key, bitmap, evicted);
+        release(evicted);
+    }
+
+    /**
+     * @inheritDoc
+     */
+    @Nullable
+    @Override
+    public Bitmap getBitmap(BitmapKey key) {
+        Bitmap bitmap = segmentFor(key).get(key);
+        (bitmap != null ? mHitCount : mMissCount).incrementAndGet();
+        return bitmap;
+    }
+
+    /**
+     * Removes the bitmap without releasing it to the pool, the caller owns it until it is put back.
+     */
+    @Nullable
+    @Override
+    public Bitmap takeBitmap(BitmapKey key) {
+        List<Map.Entry<BitmapKey, Bitmap>> taken = new ArrayList<>(1);
+        segmentFor(key).remove(key, taken);
+        Bitmap bitmap = taken.isEmpty() ? null : taken.get(0).getValue();
+        (bitmap != null ? mHitCount : mMissCount).incrementAndGet();
+        return bitmap;
+    }
+
+    @Override
+    public void removeBitmapFromCache(BitmapKey key) {
+        List<Map.Entry<BitmapKey, Bitmap>> evicted = new ArrayList<>();
+        segmentFor(key).remove(key, evicted);
+        release(evicted);
+    }
+
+    /**
+     * @return the size of the cached bitmaps, in bytes.
+     */
+    @Override
+    public int getSize() {
+        return (int) Math.min(Integer.MAX_VALUE, mBytes.get());
+    }
+
+    /**
+     * @inheritDoc
+     */
+    @Override
+    public void clear() {
+        trimToFraction(0f);
+    }
+
+    @Override
+    public long getEstimatedBytes() {
+        return mBytes.get();
+    }
+
+    @Override
+    public void trimToFraction(float fraction) {
+        List<Map.Entry<BitmapKey, Bitmap>> evicted = new ArrayList<>();
+        for (Segment segment : mSegments) {
+            segment.trimToFraction(fraction, evicted);
+        }
+        release(evicted);
+    }
+
+    /**
+     * @return the number of lookups which found a bitmap.
+     */
+    public long getHitCount() {
+        return mHitCount.get();
+    }
+
+    /**
+     * @return the number of lookups which found no bitmap.
+     */
+    public long getMissCount() {
+        return mMissCount.get();
+    }
+
+    /**
+     * @return the number of cached bitmaps evicted to make room or by trimming.
+     */
+    public long getEvictionCount() {
+        return mEvictionCount.get();
+    }
+
+    /**
+     * @return the number of bitmaps which were not admitted, being too large or used less often
+     * than the bitmaps they would have evicted.
+     */
+    public long getRejectionCount() {
+        return mRejectionCount.get();
+    }
+
+    @Override
+    public void onTrimMemory(int level) {
+        //System is low on memory so we should clear the cache as its not critical to having a functioning experience
+        if (level >= ComponentCallbacks2.TRIM_MEMORY_RUNNING_CRITICAL) {
+            clear();
+        }
+    }
+
+    @Override
+    public void onConfigurationChanged(@NonNull Configuration newConfig) {
+
+    }
+
+    @Override
+    public void onLowMemory() {
+
+    }
+
+    @NonNull
+    @Override
+    public String toString() {
+        return String.format("%s{bytes=%d, hits=%d, misses=%d, evictions=%d, rejections=%d}", TAG,
+                mBytes.get(), mHitCount.get(), mMissCount.get(), mEvictionCount.get(), mRejectionCount.get());
+    }
+
+    private Segment segmentFor(BitmapKey key) {
+        return mSegments[spread(key.hashCode()) & (mSegments.length - 1)];
+    }
+
+    private static int spread(int hash) {
+        return hash ^ (hash >>> 16);
+    }
+
+    private static long sizeOf(Bitmap bitmap) {
+        return bitmap.getByteCount();
+    }
+
+    /**
+     * Returns the bitmaps which left the cache to the pool, outside of the segment locks.
+     */
+    private void release(List<Map.Entry<BitmapKey, Bitmap>> evicted) {
+        final IBitmapPool bitmapPool = mBitmapPool;
+        if (bitmapPool == null) {
+            return;
+        }
+        for (Map.Entry<BitmapKey, Bitmap> entry : evicted) {
+            if (entry.getKey().isReusableOnEviction()) {
+                bitmapPool.put(entry.getValue());
+            }
+        }
+    }
+
+    private final class Segment {
+        private final long mCapacity;
+        private final long mWindowCapacity;
+        // Access ordered, eldest first.
+        private final LinkedHashMap<BitmapKey, Bitmap> mWindow = new LinkedHashMap<>(16, 0.75f, true);
+        private final LinkedHashMap<BitmapKey, Bitmap> mMain = new LinkedHashMap<>(16, 0.75f, true);
+        private final FrequencySketch mSketch = new FrequencySketch();
+        private long mWindowBytes;
+        private long mMainBytes;
+
+        Segment(long capacity) {
+            mCapacity = capacity;
+            mWindowCapacity = (long) (capacity * WINDOW_FRACTION);
+        }
+
+        synchronized Bitmap get(BitmapKey key) {
+            mSketch.increment(key.hashCode());
+            Bitmap bitmap = mWindow.get(key);
+            return bitmap != null ? bitmap : mMain.get(key);
+        }
+
+        synchronized void put(BitmapKey key, Bitmap bitmap, List<Map.Entry<BitmapKey, Bitmap>> evicted) {
+            mSketch.increment(key.hashCode());
+            if (mWindow.containsKey(key) || mMain.containsKey(key)) {
+                // Keep the cached bitmap, callers may already be drawing it.
+                return;
+            }
+            long size = sizeOf(bitmap);
+            if (size > mCapacity) {
+                // The caller still holds the bitmap, so it is not released.
+                mRejectionCount.incrementAndGet();
+                return;
+            }
+            if (size > mWindowCapacity) {
+                // Passing through the window would only push out recently used bitmaps.
+                admit(key, bitmap, size, evicted);
+                return;
+            }
+            mWindow.put(key, bitmap);
+            mWindowBytes += size;
+            mBytes.addAndGet(size);
+
+            Iterator<Map.Entry<BitmapKey, Bitmap>> it = mWindow.entrySet().iterator();
+            while (mWindowBytes > mWindowCapacity && it.hasNext()) {
+                Map.Entry<BitmapKey, Bitmap> candidate = it.next();
+                long candidateSize = sizeOf(candidate.getValue());
+                it.remove();
+                mWindowBytes -= candidateSize;
+                mBytes.addAndGet(-candidateSize);
+                if (!admit(candidate.getKey(), candidate.getValue(), candidateSize, evicted)) {
+                    // The candidate was cached, so it leaves the cache like an evicted bitmap.
+                    evicted.add(new Entry(candidate.getKey(), candidate.getValue()));
+                }
+            }
+        }
+
+        /**
+         * Moves a bitmap to the main LRU unless one of the bitmaps which would be evicted to make
+         * room for it is used more often.
+         *
+         * @return whether the bitmap was admitted.
+         */
+        private boolean admit(BitmapKey key, Bitmap bitmap, long size, List<Map.Entry<BitmapKey, Bitmap>> evicted) {
+            long needed = mWindowBytes + mMainBytes + size - mCapacity;
+            if (needed > 0) {
+                int frequency = mSketch.frequency(key.hashCode());
+                long freed = 0;
+                int victims = 0;
+                for (Map.Entry<BitmapKey, Bitmap> victim : mMain.entrySet()) {
+                    if (freed >= needed) {
+                        break;
+                    }
+                    // Ties go to the more recently used candidate.
+                    if (mSketch.frequency(victim.getKey().hashCode()) > frequency) {
+                        mRejectionCount.incrementAndGet();
+                        return false;
+                    }
+                    freed += sizeOf(victim.getValue());
+                    victims++;
+                }
+                if (freed < needed) {
+                    mRejectionCount.incrementAndGet();
+                    return false;
+                }
+                evictEldest(mMain, victims, evicted);
+            }
+            mMain.put(key, bitmap);
+            mMainBytes += size;
+            mBytes.addAndGet(size);
+            return true;
+        }
+
+        synchronized void remove(BitmapKey key, List<Map.Entry<BitmapKey, Bitmap>> evicted) {
+            Bitmap bitmap = mWindow.remove(key);
+            if (bitmap != null) {
+                mWindowBytes -= sizeOf(bitmap);
+            } else {
+                bitmap = mMain.remove(key);
+                if (bitmap == null) {
+                    return;
+                }
+                mMainBytes -= sizeOf(bitmap);
+            }
+            mBytes.addAndGet(-sizeOf(bitmap));
+            evicted.add(new Entry(key, bitmap));
+        }
+
+        /**
+         * Evicts the least recently used bitmaps of the main LRU, then of the window.
+         */
+        synchronized void trimToFraction(float fraction, List<Map.Entry<BitmapKey, Bitmap>> evicted) {
+            long target = (long) ((mWindowBytes + mMainBytes) * fraction);
+            while ((mWindowBytes + mMainBytes > target || fraction <= 0f)
+                    && !(mMain.isEmpty() && mWindow.isEmpty())) {
+                evictEldest(mMain.isEmpty() ? mWindow : mMain, 1, evicted);
+            }
+        }
+
+        private void evictEldest(LinkedHashMap<BitmapKey, Bitmap> map, int count,
+                                 List<Map.Entry<BitmapKey, Bitmap>> evicted) {
+            Iterator<Map.Entry<BitmapKey, Bitmap>> it = map.entrySet().iterator();
+            for (int i = 0; i < count && it.hasNext(); i++) {
+                Map.Entry<BitmapKey, Bitmap> entry = it.next();
+                long size = sizeOf(entry.getValue());
+                it.remove();
+                if (map == mMain) {
+                    mMainBytes -= size;
+                } else {
+                    mWindowBytes -= size;
+                }
+                mBytes.addAndGet(-size);
+                mEvictionCount.incrementAndGet();
+                evicted.add(new Entry(entry.getKey(), entry.getValue()));
+            }
+        }
+    }
+
+    private static final class Entry implements Map.Entry<BitmapKey, Bitmap> {
+        private final BitmapKey mKey;
+        private final Bitmap mBitmap;
+
+        Entry(BitmapKey key, Bitmap bitmap) {
+            mKey = key;
+            mBitmap = bitmap;
+        }
+
+        @Override
+        public BitmapKey getKey() {
+            return mKey;
+        }
+
+        @Override
+        public Bitmap getValue() {
+            return mBitmap;
+        }
+
+        @Override
+        public Bitmap setValue(Bitmap value) {
+            throw new UnsupportedOperationException();
+        }
+    }
+
+    /**
+     * A count-min sketch of 4 bit counters estimating how often each key is used. The counters
+     * are halved once enough uses were recorded, so that old popularity fades.
+     */
+    @VisibleForTesting
+    static final class FrequencySketch {
+        private static final long[] SEEDS = {
+                0xc3a5c85c97cb3127L, 0xb492b66fbe98f273L, 0x9ae16a3b2f90404fL, 0xcbf29ce484222325L};
+        private static final long RESET_MASK = 0x7777777777777777L;
+        private static final int COUNTERS = 1024;
+        private static final int SAMPLE_SIZE = 10 * COUNTERS;
+
+        // 16 counters per long.
+        private final long[] mTable = new long[COUNTERS / 16];
+        private int mAdditions;
+
+        int frequency(int hash) {
+            int frequency = Integer.MAX_VALUE;
+            for (int i = 0; i < SEEDS.length; i++) {
+                int counter = counterOf(hash, i);
+                frequency = Math.min(frequency, (int) ((mTable[counter >>> 4] >>> offsetOf(counter)) & 0xfL));
+            }
+            return frequency;
+        }
+
+        void increment(int hash) {
+            boolean added = false;
+            for (int i = 0; i < SEEDS.length; i++) {
+                int counter = counterOf(hash, i);
+                long mask = 0xfL << offsetOf(counter);
+                if ((mTable[counter >>> 4] & mask) != mask) {
+                    mTable[counter >>> 4] += 1L << offsetOf(counter);
+                    added = true;
+                }
+            }
+            if (added && ++mAdditions == SAMPLE_SIZE) {
+                reset();
+            }
+        }
+
+        private void reset() {
+            for (int i = 0; i < mTable.length; i++) {
+                mTable[i] = (mTable[i] >>> 1) & RESET_MASK;
+            }
+            mAdditions /= 2;
+        }
+
+        private static int counterOf(int hash, int i) {
+            long h = (hash + SEEDS[i]) * SEEDS[i];
+            h += h >>> 32;
+            return (int) h & (COUNTERS - 1);
+        }
+
+        private static int offsetOf(int counter) {
+            return (counter & 15) << 2;
+        }
+    }
+}
@@ -45,6 +45,15 @@ public interface IImageLoader {
 
     void downloadImage(DownloadImageParams load);
 
+    /**
+     * Warms the download and decoded bitmap caches for an image ahead of it being bound to a view,
+     * so that a later {@link #loadImage(LoadImageParams)} with the same source and target size
+     * completes from cache. Implementations without a cache may ignore this request.
+     *
+     * @param prefetch The image prefetch parameters
+     */
+    default void prefetchImage(PrefetchImageParams prefetch) {}
+
     /**
      * @deprecated Use {@link #loadImage(LoadImageParams)}.
      */
@@ -208,6 +217,57 @@ public interface IImageLoader {
         }
     }
 
+    /**
+     * Parameters for an Image prefetch.
+     */
+    @AutoValue
+    abstract class PrefetchImageParams {
+        /**
+         * @return the path to the image
+         */
+        public abstract String path();
+
+        /**
+         * @return the width of the view the image will be loaded into.
+         */
+        public abstract int width();
+
+        /**
+         * @return the height of the view the image will be loaded into.
+         */
+        public abstract int height();
+
+        /**
+         * @return whether the bitmap will be scaled to fit the target view. See {@link LoadImageParams#needsScaling()}.
+         */
+        public abstract boolean needsScaling();
+
+        /**
+         * @return the request headers.
+         */
+        public abstract Map<String, String> headers();
+
+        /**
+         * @return whether the bitmap will be scaled up to fill the target view. See {@link LoadImageParams#allowUpscaling()}.
+         */
+        public abstract boolean allowUpscaling();
+
+        public static Builder builder() {
+            return new AutoValue_IImageLoader_PrefetchImageParams.Builder();
+        }
+
+        @AutoValue.Builder
+        public static abstract class Builder {
+            public abstract Builder path(String path);
+            public abstract Builder width(int width);
+            public abstract Builder height(int height);
+            public abstract Builder needsScaling(boolean needsScaling);
+            public abstract Builder headers(Map<String, String> headers);
+            public abstract Builder allowUpscaling(boolean allowUpscaling);
+            public abstract PrefetchImageParams build();
+        }
+    }
+
     /**
      * Parameters for an Image load.
      */
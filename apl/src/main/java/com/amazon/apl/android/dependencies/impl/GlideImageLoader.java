@@ -176,6 +176,40 @@ public class GlideImageLoader implements IImageLoader {
                 .submit();
     }
 
+    @Override
+    public void prefetchImage(PrefetchImageParams prefetch) {
+        if (prefetch != null) prefetchImageInternal(prefetch, Glide.with(mContext));
+    }
+
+    @VisibleForTesting
+    void prefetchImageInternal(@NonNull PrefetchImageParams prefetch, @NonNull RequestManager requestManager) {
+        // The request has to match the one built in loadImageInternal for the decoded bitmap to
+        // be found in Glide's memory cache: same model, options and target size.
+        final int targetWidth = prefetch.needsScaling() ? prefetch.width() : SimpleTarget.SIZE_ORIGINAL;
+        final int targetHeight = prefetch.needsScaling() ? prefetch.height() : SimpleTarget.SIZE_ORIGINAL;
+        final String url = prefetch.path();
+        final Map<String, String> headers = prefetch.headers();
+
+        try {
+            RequestBuilder<Bitmap> requestBuilder = requestManager
+                    .setDefaultRequestOptions(buildLoadImageRequestOptions(headers, prefetch.allowUpscaling()))
+                    .asBitmap()
+                    .priority(Priority.LOW);
+
+            if (isUrlRequest(url) && headers.size() > 0) {
+                requestBuilder = requestBuilder
+                        .load(new GlideUrl(url, new GlideStaticHeaders(headers)));
+            } else {
+                requestBuilder = requestBuilder
+                        .load(url);
+            }
+
+            requestBuilder.preload(targetWidth, targetHeight);
+        } catch (final RejectedExecutionException e) {
+            Log.w(TAG, "Glide failed to prefetch image: " + e);
+        }
+    }
+
     @VisibleForTesting
     void loadImageInternal(@NonNull LoadImageParams load, @NonNull RequestManager requestManager) {
         final ImageView imageView = load.imageView();
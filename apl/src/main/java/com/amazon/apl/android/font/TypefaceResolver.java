@@ -15,6 +15,7 @@ import androidx.annotation.VisibleForTesting;
 import androidx.collection.LruCache;
 
 import com.amazon.apl.android.utils.ConcurrencyUtils;
+import com.amazon.apl.android.utils.ITrimmableCache;
 import com.amazon.apl.android.BuildConfig;
 import com.amazon.apl.android.RuntimeConfig;
 
@@ -30,7 +31,7 @@ import java.util.concurrent.TimeoutException;
  * The ViewHost internal typeface resolver API.
  * Responsible for obtaining font {@link Typeface} information.
  */
-public class TypefaceResolver {
+public class TypefaceResolver implements ITrimmableCache {
     Context mContext;
     private IFontResolver mRuntimeFontResolver;
     private IFontResolver mEmbeddedFontResolver;
@@ -40,6 +41,9 @@ public class TypefaceResolver {
     private static final Typeface DEFAULT_TYPEFACE = Typeface.SANS_SERIF;
     private Future<Boolean> mInitializeResolvers;
     static final LruCache<FontKey, Typeface> FONT_CACHE = new LruCache<>(150);
+    // Rough retained size of a typeface. System fonts are shared, font files loaded by the
+    // runtime are held in memory.
+    private static final long ESTIMATED_TYPEFACE_BYTES = 16 * 1024;
 
     private enum  InitializationState {
         UNINITIALIZED,
@@ -89,6 +93,16 @@ public class TypefaceResolver {
         FontUtil.SEQUENTIAL_EXECUTOR.clearTaskQueue();
     }
 
+    @Override
+    public long getEstimatedBytes() {
+        return FONT_CACHE.size() * ESTIMATED_TYPEFACE_BYTES;
+    }
+
+    @Override
+    public void trimToFraction(float fraction) {
+        FONT_CACHE.trimToSize((int) (FONT_CACHE.size() * fraction));
+    }
+
     private boolean waitUntilFontsAvailable() {
         try {
             return mInitializeResolvers.get(ConcurrencyUtils.SMALL_TIMEOUT_SECONDS, TimeUnit.SECONDS);
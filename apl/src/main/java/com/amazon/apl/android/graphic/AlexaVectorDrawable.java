@@ -13,10 +13,14 @@ import android.graphics.ColorFilter;
 import android.graphics.Matrix;
 import android.graphics.Paint;
 import android.graphics.PixelFormat;
+import android.graphics.PorterDuff;
 import android.graphics.PorterDuff.Mode;
 import android.graphics.PorterDuffColorFilter;
 import android.graphics.Rect;
+import android.graphics.RectF;
 import android.graphics.drawable.Drawable;
+import android.os.Handler;
+import android.os.Looper;
 import androidx.annotation.NonNull;
 import androidx.annotation.Nullable;
 import androidx.annotation.VisibleForTesting;
@@ -30,9 +34,13 @@ import com.amazon.apl.android.RenderingContext;
 import com.amazon.apl.android.bitmap.BitmapCreationException;
 import com.amazon.apl.android.bitmap.IBitmapFactory;
 import com.amazon.apl.android.providers.ITelemetryProvider;
+import com.amazon.apl.android.thread.Threading;
 
 import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.Executor;
 
 /**
  * Creates an AVG drawable. This class uses drawing logic from
@@ -49,6 +57,10 @@ public class AlexaVectorDrawable extends Drawable {
     // The drawable will look blurry above this size.
     private static final int MAX_CACHED_BITMAP_SIZE = 2048;
 
+    // Background rasters are serialized so that they never compete for the CPU with each other.
+    private static final Executor RASTER_EXECUTOR = Threading.createSequentialExecutor();
+    private static final Handler MAIN_HANDLER = new Handler(Looper.getMainLooper());
+
     private VectorDrawableCompatState mVectorState;
 
     @Nullable
@@ -75,6 +87,7 @@ public class AlexaVectorDrawable extends Drawable {
     private int mAVGSRenderedWithoutHA;
 
     private boolean misRuntimeHardwareAccelerationEnabled;
+    private boolean mIsBackgroundRasterEnabled;
 
     private AlexaVectorDrawable(GraphicContainerElement element) {
         mVectorState = new VectorDrawableCompatState(element);
@@ -82,6 +95,7 @@ public class AlexaVectorDrawable extends Drawable {
         mViewportWidth = rc.getMetricsTransform().toViewhost(mVectorState.mPathRenderer.getRootGroup().getViewportWidthActual());
         mViewportHeight = rc.getMetricsTransform().toViewhost(mVectorState.mPathRenderer.getRootGroup().getViewportHeightActual());
         misRuntimeHardwareAccelerationEnabled = rc.isRuntimeHardwareAccelerationEnabled();
+        mIsBackgroundRasterEnabled = rc.isAVGBackgroundRasterEnabled();
 
         mTelemetryProvider = rc.getTelemetryProvider();
         mAVGSRenderedWithHA = mTelemetryProvider.createMetricId(ITelemetryProvider.APL_DOMAIN, METRIC_HARDWARE_ACCELERATION_AVGS_RENDERED_WITH_HA, ITelemetryProvider.Type.COUNTER);
@@ -99,6 +113,7 @@ public class AlexaVectorDrawable extends Drawable {
             mViewportWidth = rc.getMetricsTransform().toViewhost(e.getViewportWidthActual());
             mViewportHeight = rc.getMetricsTransform().toViewhost(e.getViewportHeightActual());
             misRuntimeHardwareAccelerationEnabled = rc.isRuntimeHardwareAccelerationEnabled();
+            mIsBackgroundRasterEnabled = rc.isAVGBackgroundRasterEnabled();
 
             mTelemetryProvider = rc.getTelemetryProvider();
         }
@@ -127,6 +142,7 @@ public class AlexaVectorDrawable extends Drawable {
         final PathRenderer pathRenderer = new PathRenderer(element);
         pathRenderer.applyBaseAndViewportDimensions();
         mVectorState.mPathRenderer = pathRenderer;
+        mVectorState.setDirty(true);
         mVectorState.mTint = null;
         mVectorState.mAutoMirrored = true;
         updateTintFilter(null, mVectorState.mTintMode);
@@ -137,12 +153,90 @@ public class AlexaVectorDrawable extends Drawable {
      * @param dirtyGraphicUniqueIds the set of unique ids of dirty graphics.
      */
     public void updateDirtyGraphics(@NonNull Set<Integer> dirtyGraphicUniqueIds) {
-        mVectorState.setDirty(true);
-        mVectorState.mPathRenderer.applyBaseAndViewportDimensions();
-        mVectorState.mPathRenderer.getRootGroup().applyDirtyProperties(dirtyGraphicUniqueIds);
+        if (mVectorState.mRasterInFlight) {
+            // The graphic elements are being drawn by the raster worker, apply once it finishes.
+            mVectorState.mPendingDirtyGraphicIds.addAll(dirtyGraphicUniqueIds);
+            return;
+        }
+        synchronized (mVectorState.getDrawLock()) {
+            // Damage the area covered by the dirty graphics both before and after they change.
+            mVectorState.addDamage(dirtyGraphicUniqueIds);
+            if (mVectorState.mPathRenderer.applyBaseAndViewportDimensions()) {
+                mVectorState.setDirty(true);
+            }
+            mVectorState.mPathRenderer.getRootGroup().applyDirtyProperties(dirtyGraphicUniqueIds);
+            mVectorState.addDamage(dirtyGraphicUniqueIds);
+        }
+
+        // Start the next raster now so that it is ready ahead of the draw.
+        scheduleBackgroundRasterIfNeeded();
         invalidateSelf();
     }
 
+    /**
+     * Drawing the graphic elements only reads properties cached when they were applied, so it
+     * never calls into core and can run on the raster worker, filters included.
+     */
+    private boolean canRasterInBackground() {
+        return mIsBackgroundRasterEnabled;
+    }
+
+    private void scheduleBackgroundRasterIfNeeded() {
+        final Bitmap frontBitmap = mVectorState.mCachedBitmap;
+        if (canRasterInBackground() && frontBitmap != null
+                && mVectorState.needsRaster(frontBitmap.getWidth(), frontBitmap.getHeight())) {
+            scheduleBackgroundRaster(frontBitmap.getWidth(), frontBitmap.getHeight());
+        }
+    }
+
+    /**
+     * Rasterizes the graphic into the back buffer on the raster worker, which walks the graphic
+     * elements itself. The UI thread keeps drawing the front buffer until the back buffer is ready,
+     * at which point they are swapped on the UI thread. Property updates are held back while the
+     * worker draws, and other walks of the same elements, such as by a mutated copy of this
+     * drawable, wait for it.
+     */
+    private void scheduleBackgroundRaster(int width, int height) {
+        final VectorDrawableCompatState state = mVectorState;
+        if (state.mRasterInFlight) {
+            return;
+        }
+
+        final Bitmap backBitmap = state.obtainBackBitmap(width, height);
+        if (backBitmap == null) {
+            return;
+        }
+        final Bitmap frontBitmap = state.mCachedBitmap;
+        // Only repaint damaged areas when the front buffer can be copied as a starting point.
+        final Rect damage = state.mIsDirty || frontBitmap == null || !state.canReuseBitmap(width, height)
+                ? null : new Rect(state.mDamageRect);
+        final PathRenderer pathRenderer = state.mPathRenderer;
+        state.setDirty(false);
+        state.mRasterInFlight = true;
+
+        RASTER_EXECUTOR.execute(() -> {
+            state.rasterInto(pathRenderer, backBitmap, frontBitmap, damage);
+            MAIN_HANDLER.post(() -> onBackgroundRasterComplete(state, backBitmap));
+        });
+    }
+
+    private void onBackgroundRasterComplete(@NonNull VectorDrawableCompatState state, @NonNull Bitmap rasterBitmap) {
+        state.swapBuffers(rasterBitmap);
+        if (!state.mPendingDirtyGraphicIds.isEmpty()) {
+            // The elements are shared with any mutated copy, so apply the updates regardless.
+            final Set<Integer> pending = new HashSet<>(state.mPendingDirtyGraphicIds);
+            state.mPendingDirtyGraphicIds.clear();
+            updateDirtyGraphics(pending);
+        } else if (state == mVectorState) {
+            // Keep the back buffer only while the graphic keeps changing.
+            scheduleBackgroundRasterIfNeeded();
+            invalidateSelf();
+        }
+        if (!state.mRasterInFlight) {
+            state.releaseBackBitmap();
+        }
+    }
+
     @Override
     public void draw(@NonNull Canvas canvas) {
         // We will offset the bounds for drawBitmap, so copyBounds() here instead
@@ -221,7 +315,15 @@ public class AlexaVectorDrawable extends Drawable {
             if (BuildConfig.DEBUG) Log.d(TAG, "Using software acceleration for AVG rendering");
             if (!parsedGraphicElementIds.contains(element.getUniqueId())) mTelemetryProvider.incrementCount(mAVGSRenderedWithoutHA);
 
-            mVectorState.createOrEraseCachedBitmap((int) scaledWidth, (int) scaledHeight);
+            if (mVectorState.mCachedBitmap != null && canRasterInBackground()) {
+                // Keep showing the previous raster while the new one is produced off the UI thread.
+                if (mVectorState.needsRaster((int) scaledWidth, (int) scaledHeight)) {
+                    scheduleBackgroundRaster((int) scaledWidth, (int) scaledHeight);
+                }
+            } else if (!mVectorState.mRasterInFlight) {
+                // The raster worker may be copying the front buffer, only draw into it when idle.
+                mVectorState.createOrEraseCachedBitmap((int) scaledWidth, (int) scaledHeight);
+            }
             mVectorState.drawCachedBitmapWithRootAlpha(canvas, colorFilter, mTmpBounds);
         }
 
@@ -370,9 +472,27 @@ public class AlexaVectorDrawable extends Drawable {
         Mode mTintMode = DEFAULT_TINT_MODE;
         boolean mAutoMirrored;
         Bitmap mCachedBitmap;
+        // The bitmap the raster worker draws into, swapped with mCachedBitmap once complete.
+        @Nullable
+        private Bitmap mBackBitmap;
+        // Filter scratch bitmaps of the raster worker, kept apart from the ones shared through the
+        // bitmap cache. Only used by the worker while a raster is in flight.
+        private final Map<GraphicElement, Bitmap> mRasterFilterBitmaps = new IdentityHashMap<>();
+        // Only read or written on the UI thread.
+        boolean mRasterInFlight = false;
+        // Dirty graphics whose properties are applied once the raster in flight completes.
+        final Set<Integer> mPendingDirtyGraphicIds = new HashSet<>();
         private boolean mIsDirty = true;
         private IBitmapFactory mBitmapFactory;
 
+        /**
+         * Area of the cached bitmap, in bitmap pixels, which needs to be repainted. Only used when
+         * the cached bitmap is not entirely dirty.
+         */
+        private final Rect mDamageRect = new Rect();
+        private final Rect mTmpDamageRect = new Rect();
+        private final RectF mTmpElementBounds = new RectF();
+
         /**
          * Temporary mPaint object used to draw cached bitmaps.
          */
@@ -396,7 +516,6 @@ public class AlexaVectorDrawable extends Drawable {
                 mTint = copy.mTint;
                 mTintMode = copy.mTintMode;
                 mAutoMirrored = copy.mAutoMirrored;
-                mCachedBitmap = copy.mCachedBitmap;
                 mBitmapFactory = copy.mBitmapFactory;
             }
         }
@@ -436,6 +555,8 @@ public class AlexaVectorDrawable extends Drawable {
             } else if (mIsDirty) {
                 mCachedBitmap.eraseColor(Color.TRANSPARENT);
                 drawAVGToCachedBitmap();
+            } else if (!mDamageRect.isEmpty()) {
+                drawDamageToCachedBitmap();
             }
         }
 
@@ -444,13 +565,42 @@ public class AlexaVectorDrawable extends Drawable {
          */
         private void drawAVGToCachedBitmap() {
             final Canvas tmpCanvas = new Canvas(mCachedBitmap);
-            mPathRenderer.draw(tmpCanvas, mCachedBitmap.getWidth(), mCachedBitmap.getHeight(), mBitmapFactory, false);
+            synchronized (getDrawLock()) {
+                mPathRenderer.draw(tmpCanvas, mCachedBitmap.getWidth(), mCachedBitmap.getHeight(), mBitmapFactory, false);
+            }
             setDirty(false);
         }
 
+        /**
+         * Erases and redraws only the damaged area of the cached bitmap.
+         */
+        private void drawDamageToCachedBitmap() {
+            final Canvas tmpCanvas = new Canvas(mCachedBitmap);
+            tmpCanvas.clipRect(mDamageRect);
+            tmpCanvas.drawColor(Color.TRANSPARENT, PorterDuff.Mode.CLEAR);
+            synchronized (getDrawLock()) {
+                mPathRenderer.draw(tmpCanvas, mCachedBitmap.getWidth(), mCachedBitmap.getHeight(), mBitmapFactory, false);
+            }
+            mDamageRect.setEmpty();
+        }
+
+        /**
+         * Drawing directly to the canvas bypasses the cached bitmap, so the cache dirty state is
+         * left untouched for a later software draw.
+         */
         void drawAVGToCanvas(Canvas canvas, int width, int height, boolean useHardwareAcceleration) {
-            mPathRenderer.draw(canvas, width, height, mBitmapFactory, useHardwareAcceleration);
-            setDirty(false);
+            synchronized (getDrawLock()) {
+                mPathRenderer.draw(canvas, width, height, mBitmapFactory, useHardwareAcceleration);
+            }
+        }
+
+        /**
+         * Drawing writes to the graphic elements and their paints, which are shared with mutated
+         * copies, so every walk of the elements holds the lock of their root.
+         */
+        @NonNull
+        Object getDrawLock() {
+            return mPathRenderer.getRootGroup();
         }
 
         /**
@@ -460,6 +610,51 @@ public class AlexaVectorDrawable extends Drawable {
          */
         void setDirty(boolean isDirty) {
             mIsDirty = isDirty;
+            mDamageRect.setEmpty();
+        }
+
+        /**
+         * Adds the current raster bounds of the given graphics to the damaged area of the cached
+         * bitmap. Falls back to marking the whole bitmap dirty when the bounds cannot be known
+         * cheaply: groups (their transform or clip affects descendants), text, filters, or paths
+         * which have not been rasterized yet.
+         *
+         * @param dirtyGraphicUniqueIds the set of unique ids of dirty graphics.
+         */
+        void addDamage(@NonNull Set<Integer> dirtyGraphicUniqueIds) {
+            if (mIsDirty || mCachedBitmap == null) {
+                return;
+            }
+
+            final GraphicContainerElement root = mPathRenderer.getRootGroup();
+            if (root == null || root.doesMapContainFilters()) {
+                setDirty(true);
+                return;
+            }
+
+            for (Integer graphicElementId : dirtyGraphicUniqueIds) {
+                final GraphicElement element = root.getGraphicElement(graphicElementId);
+                if (!(element instanceof GraphicPathElement)
+                        || !((GraphicPathElement) element).getRasterBounds(mTmpElementBounds)) {
+                    setDirty(true);
+                    return;
+                }
+                mTmpElementBounds.roundOut(mTmpDamageRect);
+                // Leave room for anti-aliasing at the edges.
+                mTmpDamageRect.inset(-1, -1);
+                mDamageRect.union(mTmpDamageRect);
+            }
+        }
+
+        @VisibleForTesting
+        boolean isDirty() {
+            return mIsDirty;
+        }
+
+        @VisibleForTesting
+        @NonNull
+        Rect getDamageRect() {
+            return mDamageRect;
         }
 
         void drawCachedBitmapWithRootAlpha(@NonNull Canvas canvas, ColorFilter filter,
@@ -471,6 +666,78 @@ public class AlexaVectorDrawable extends Drawable {
             }
         }
 
+        /**
+         * @return true if the cached bitmap does not reflect the graphic at the given size.
+         */
+        boolean needsRaster(int width, int height) {
+            return mCachedBitmap == null || mIsDirty || !mDamageRect.isEmpty() || !canReuseBitmap(width, height);
+        }
+
+        /**
+         * Gets a bitmap of the given size for the raster worker to draw into, reusing the previous
+         * front buffer when it is still held. Must be called on the UI thread.
+         */
+        @Nullable
+        Bitmap obtainBackBitmap(int width, int height) {
+            if (mBackBitmap != null && mBackBitmap.getWidth() == width && mBackBitmap.getHeight() == height) {
+                return mBackBitmap;
+            }
+            try {
+                mBackBitmap = mBitmapFactory.createBitmap(width, height);
+            } catch (BitmapCreationException e) {
+                Log.e(TAG, "Error creating back buffer bitmap for AVG.", e);
+                mBackBitmap = null;
+            }
+            return mBackBitmap;
+        }
+
+        /**
+         * Drops the back buffer and the raster filter bitmaps once no raster needs them. Must be
+         * called on the UI thread.
+         */
+        void releaseBackBitmap() {
+            mBackBitmap = null;
+            for (Bitmap filterBitmap : mRasterFilterBitmaps.values()) {
+                mBitmapFactory.disposeBitmap(filterBitmap);
+            }
+            mRasterFilterBitmaps.clear();
+        }
+
+        /**
+         * Draws the AVG into a bitmap. Runs on the raster worker.
+         *
+         * @param pathRenderer  the renderer of the graphic when the raster was scheduled
+         * @param target        the bitmap to draw into
+         * @param previous      the current front buffer
+         * @param damage        the area to repaint starting from the previous raster, or null to
+         *                      repaint everything
+         */
+        void rasterInto(@NonNull PathRenderer pathRenderer, @NonNull Bitmap target,
+                        @Nullable Bitmap previous, @Nullable Rect damage) {
+            final Canvas tmpCanvas = new Canvas(target);
+            if (damage != null && previous != null) {
+                target.eraseColor(Color.TRANSPARENT);
+                tmpCanvas.drawBitmap(previous, 0, 0, null);
+                tmpCanvas.clipRect(damage);
+                tmpCanvas.drawColor(Color.TRANSPARENT, PorterDuff.Mode.CLEAR);
+            } else {
+                target.eraseColor(Color.TRANSPARENT);
+            }
+            synchronized (pathRenderer.getRootGroup()) {
+                pathRenderer.draw(tmpCanvas, target.getWidth(), target.getHeight(), mBitmapFactory, false,
+                        mRasterFilterBitmaps);
+            }
+        }
+
+        /**
+         * Makes a completed raster the front buffer. Must be called on the UI thread.
+         */
+        void swapBuffers(@NonNull Bitmap rasterBitmap) {
+            mBackBitmap = mCachedBitmap;
+            mCachedBitmap = rasterBitmap;
+            mRasterInFlight = false;
+        }
+
         boolean canReuseBitmap(int width, int height) {
             return width == mCachedBitmap.getWidth()
                     && height == mCachedBitmap.getHeight();
@@ -20,4 +20,13 @@ public abstract class FilterBitmapKey implements BitmapKey {
     public static FilterBitmapKey create(int width, int height, int groupId) {
         return new AutoValue_FilterBitmapKey(width, height, groupId);
     }
+
+    /**
+     * Filter bitmaps are scratch space, only drawn into the software raster of the same draw, so
+     * the cache owns them and may pool them once evicted.
+     */
+    @Override
+    public final boolean isReusableOnEviction() {
+        return true;
+    }
 }
\ No newline at end of file
@@ -136,6 +136,17 @@ public abstract class GraphicElement extends BoundObject {
         return mProperties;
     }
 
+    /**
+     * Get a graphic element in the same hierarchy as this element.
+     *
+     * @param uniqueId the unique id of the element
+     * @return the graphic element, or null if no element with the id exists
+     */
+    @Nullable
+    GraphicElement getGraphicElement(int uniqueId) {
+        return mGraphicElementMap.get(uniqueId);
+    }
+
     public void applyDirtyProperties(@NonNull Set<Integer> dirtyGraphicUniqueIds) {
         for (Integer graphicElementId : dirtyGraphicUniqueIds) {
             GraphicElement element = mGraphicElementMap.get(graphicElementId);
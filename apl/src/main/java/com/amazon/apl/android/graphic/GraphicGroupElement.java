@@ -22,7 +22,7 @@ import static com.amazon.apl.enums.GraphicPropertyKey.kGraphicPropertyTransform;
  */
 public class GraphicGroupElement extends GraphicElement {
     @Nullable
-    private PathParser.PathDataNode[] mClipPathNodes = null;
+    private PathData mClipPathData = null;
 
     // mStackedMatrix is only used temporarily when drawing, it combines all
     // the parents' local matrices with the current one.
@@ -31,6 +31,9 @@ public class GraphicGroupElement extends GraphicElement {
     // mLocalMatrix is updated based on this group's transformation information
     private final Matrix mLocalMatrix = new Matrix();
 
+    // mAppliedOpacity caches the opacity so drawing does not need to query core
+    private float mAppliedOpacity = 1.0f;
+
     protected GraphicGroupElement(GraphicElementMap map, long nativeHandle, RenderingContext renderingContext) {
         super(map, nativeHandle, renderingContext);
         applyProperties();
@@ -70,11 +73,18 @@ public class GraphicGroupElement extends GraphicElement {
     }
 
     /**
-     * @return the clip path nodes for this group.
+     * @return the parsed clip path for this group.
      */
     @Nullable
-    PathParser.PathDataNode[] getClipPathNodes() {
-        return mClipPathNodes;
+    PathData getClipPathData() {
+        return mClipPathData;
+    }
+
+    /**
+     * @return the opacity of this group as of the last time its properties were applied.
+     */
+    float getAppliedOpacity() {
+        return mAppliedOpacity;
     }
 
     /**
@@ -98,6 +108,8 @@ public class GraphicGroupElement extends GraphicElement {
         applyClipPath();
 
         applyMatrix();
+
+        mAppliedOpacity = getOpacity();
     }
 
     private void applyMatrix() {
@@ -107,9 +119,12 @@ public class GraphicGroupElement extends GraphicElement {
     private void applyClipPath() {
         final String clipPath = getClipPath();
         if (TextUtils.isEmpty(clipPath)) {
-            mClipPathNodes = null;
+            mClipPathData = null;
         } else {
-            mClipPathNodes = PathParser.createNodesFromPathData(getClipPath(), getRenderingContext());
+            mClipPathData = PathDataCache.getInstance().get(clipPath);
+            if (mClipPathData != null && !mClipPathData.isSvgSpecCompliant(getRenderingContext())) {
+                mClipPathData = null;
+            }
         }
     }
 }
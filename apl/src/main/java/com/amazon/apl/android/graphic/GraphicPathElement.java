@@ -5,6 +5,7 @@
 package com.amazon.apl.android.graphic;
 
 import android.graphics.DashPathEffect;
+import android.graphics.Matrix;
 import android.graphics.Paint;
 import androidx.annotation.NonNull;
 import androidx.annotation.Nullable;
@@ -12,6 +13,7 @@ import androidx.annotation.Nullable;
 import android.graphics.Path;
 import android.graphics.PathMeasure;
 import android.graphics.Rect;
+import android.graphics.RectF;
 import android.util.Log;
 
 import com.amazon.apl.android.PropertyMap;
@@ -49,6 +51,10 @@ public class GraphicPathElement extends FillStrokeGraphicElement {
     @NonNull
     private Paint.Cap mPaintCap = Paint.Cap.BUTT;
 
+    // Transform from path coordinates to pixels of the last software raster of this path.
+    private final Matrix mRasterTransform = new Matrix();
+    private boolean mHasRasterTransform = false;
+
     private GraphicPathElement(GraphicElementMap map, long nativeHandle, RenderingContext renderingContext) {
         super(map, nativeHandle, renderingContext);
         applyProperties();
@@ -141,6 +147,33 @@ public class GraphicPathElement extends FillStrokeGraphicElement {
         return mPath;
     }
 
+    /**
+     * Record the transform used to rasterize this path into a cached bitmap.
+     * @param rasterTransform the transform from path coordinates to bitmap pixels.
+     */
+    void setRasterTransform(@NonNull Matrix rasterTransform) {
+        mRasterTransform.set(rasterTransform);
+        mHasRasterTransform = true;
+    }
+
+    /**
+     * Computes the area this path covers in the last software raster, including its stroke.
+     *
+     * @param outBounds the bounds in bitmap pixels
+     * @return true if the bounds are known, false if this path has not been rasterized yet.
+     */
+    boolean getRasterBounds(@NonNull RectF outBounds) {
+        if (!mHasRasterTransform || mPath == null) {
+            return false;
+        }
+        mPath.computeBounds(outBounds, true);
+        // Miter joins can extend past half the stroke width, so be conservative.
+        final float strokeOutset = getStrokeWidth() * Math.max(1f, getStrokeMiterLimit()) / 2;
+        outBounds.inset(-strokeOutset, -strokeOutset);
+        mRasterTransform.mapRect(outBounds);
+        return true;
+    }
+
     /**
      * Update cached properties when Graphic is marked dirty.
      */
@@ -212,8 +245,10 @@ public class GraphicPathElement extends FillStrokeGraphicElement {
 
         if (mPath == null) {
             mPath = new Path();
-            PathParser.PathDataNode[] nodes = PathParser.createNodesFromPathData(pathData, getRenderingContext());
-            PathParser.toPath(nodes, mPath);
+            PathData parsedPathData = PathDataCache.getInstance().get(pathData);
+            if (parsedPathData != null && parsedPathData.isSvgSpecCompliant(getRenderingContext())) {
+                parsedPathData.toPath(mPath);
+            }
 
             getRenderingContext().getPathCache().put(pathData, new WeakReference<>(mPath));
         }
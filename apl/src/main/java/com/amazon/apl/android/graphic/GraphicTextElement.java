@@ -46,6 +46,7 @@ public class GraphicTextElement extends FillStrokeGraphicElement {
      */
     private int mX;
     private int mY;
+    private String mText = "";
 
     private Rect mBounds;
 
@@ -129,6 +130,14 @@ public class GraphicTextElement extends FillStrokeGraphicElement {
         return mProperties.getInt(kGraphicPropertyCoordinateY);
     }
 
+    /**
+     * @return the text of this text element as of the last time its properties were applied.
+     */
+    @NonNull
+    String getAppliedText() {
+        return mText;
+    }
+
     /**
      * @return the x coordinate for this text element.
      */
@@ -172,8 +181,9 @@ public class GraphicTextElement extends FillStrokeGraphicElement {
 
     private void calculateBounds() {
         applyFontPropsToPaint(mFillPaint);
+        mText = getText();
         mBounds = new Rect();
-        mFillPaint.getTextBounds(getText(), 0, getText().length(), mBounds);
+        mFillPaint.getTextBounds(mText, 0, mText.length(), mBounds);
     }
 
     private void applyFillPaint(Rect textBoundingBox, Boolean boundsChanged, HashSet dirtyProperties) {
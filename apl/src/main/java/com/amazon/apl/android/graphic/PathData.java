@@ -0,0 +1,607 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package com.amazon.apl.android.graphic;
+
+import android.graphics.Path;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.annotation.VisibleForTesting;
+
+import com.amazon.apl.android.APLVersionCodes;
+import com.amazon.apl.android.RenderingContext;
+import com.amazon.apl.android.providers.ITelemetryProvider;
+
+import android.util.Log;
+
+/**
+ * An immutable, compact encoding of AVG pathData.
+ *
+ * Every command is stored as a single op byte (the SVG command character) followed by a fixed
+ * number of coordinates for that command. Commands repeated with implicit parameters are expanded
+ * into one op per parameter group, so "M0 0 1 1 2 2" is stored as M, L, L.
+ *
+ * Instances are safe to share between threads and documents, see {@link PathDataCache}.
+ */
+public final class PathData {
+    private static final String TAG = "PathData";
+
+    private static final ThreadLocal<Parser> sParser = new ThreadLocal<Parser>() {
+        @Override
+        protected Parser initialValue() {
+            return new Parser();
+        }
+    };
+
+    private final byte[] mOps;
+    private final float[] mCoords;
+
+    private PathData(@NonNull byte[] ops, @NonNull float[] coords) {
+        mOps = ops;
+        mCoords = coords;
+    }
+
+    /**
+     * Parses SVG pathData.
+     *
+     * @param pathData the pathData string
+     * @return the parsed path, or null if the pathData is invalid.
+     */
+    @Nullable
+    public static PathData parse(@NonNull String pathData) {
+        return sParser.get().parse(pathData);
+    }
+
+    /**
+     * @return the number of commands in this path.
+     */
+    public int getOpCount() {
+        return mOps.length;
+    }
+
+    /**
+     * @param index the command index
+     * @return the SVG command character of the command at index.
+     */
+    public char getOp(int index) {
+        return (char) mOps[index];
+    }
+
+    /**
+     * @return the number of coordinates in this path.
+     */
+    public int getCoordCount() {
+        return mCoords.length;
+    }
+
+    /**
+     * @param index the coordinate index
+     * @return the coordinate value at index.
+     */
+    public float getCoord(int index) {
+        return mCoords[index];
+    }
+
+    /**
+     * @return the approximate number of bytes retained by this path.
+     */
+    int getSizeInBytes() {
+        return mOps.length + mCoords.length * 4;
+    }
+
+    /**
+     * Checks whether the path is compliant with the Svg Spec.
+     *
+     * @param renderingContext provides access to common objects needed when rendering a doc
+     * @return true if compliant
+     */
+    boolean isSvgSpecCompliant(@NonNull RenderingContext renderingContext) {
+        // prior to APL 1.4, we did not assert that the pathData begins with a move command
+        // and so documents referencing older versions are grandfathered into the old behavior
+        if (renderingContext.getDocVersion() < APLVersionCodes.APL_1_4 || mOps.length == 0) {
+            return true;
+        }
+        if (mOps[0] == 'M' || mOps[0] == 'm') {
+            return true;
+        }
+        ITelemetryProvider telemetryProvider = renderingContext.getTelemetryProvider();
+        int svgSpecComplianceMetricId = telemetryProvider.createMetricId(
+                ITelemetryProvider.APL_DOMAIN, "AvgSpecComplianceFailure",
+                ITelemetryProvider.Type.COUNTER);
+        Log.e(TAG, "pathData must begin with a move command");
+        telemetryProvider.incrementCount(svgSpecComplianceMetricId);
+        return false;
+    }
+
+    /**
+     * Replays this path into an android {@link Path}.
+     *
+     * @param path the target path, which is reset first.
+     */
+    public void toPath(@NonNull Path path) {
+        path.reset();
+
+        float currentX = 0;
+        float currentY = 0;
+        float ctrlPointX = 0;
+        float ctrlPointY = 0;
+        float segmentStartX = 0;
+        float segmentStartY = 0;
+        float reflectiveCtrlPointX;
+        float reflectiveCtrlPointY;
+        char previousCmd = 'm';
+
+        int k = 0;
+        final float[] val = mCoords;
+        for (byte op : mOps) {
+            final char cmd = (char) op;
+            switch (cmd) {
+                case 'z':
+                case 'Z':
+                    path.close();
+                    // Path is closed here, but we need to move the pen to the
+                    // closed position.
+                    currentX = segmentStartX;
+                    currentY = segmentStartY;
+                    ctrlPointX = segmentStartX;
+                    ctrlPointY = segmentStartY;
+                    path.moveTo(currentX, currentY);
+                    break;
+                case 'm':
+                    currentX += val[k];
+                    currentY += val[k + 1];
+                    path.rMoveTo(val[k], val[k + 1]);
+                    segmentStartX = currentX;
+                    segmentStartY = currentY;
+                    k += 2;
+                    break;
+                case 'M':
+                    currentX = val[k];
+                    currentY = val[k + 1];
+                    path.moveTo(val[k], val[k + 1]);
+                    segmentStartX = currentX;
+                    segmentStartY = currentY;
+                    k += 2;
+                    break;
+                case 'l':
+                    path.rLineTo(val[k], val[k + 1]);
+                    currentX += val[k];
+                    currentY += val[k + 1];
+                    k += 2;
+                    break;
+                case 'L':
+                    path.lineTo(val[k], val[k + 1]);
+                    currentX = val[k];
+                    currentY = val[k + 1];
+                    k += 2;
+                    break;
+                case 'h':
+                    path.rLineTo(val[k], 0);
+                    currentX += val[k];
+                    k += 1;
+                    break;
+                case 'H':
+                    path.lineTo(val[k], currentY);
+                    currentX = val[k];
+                    k += 1;
+                    break;
+                case 'v':
+                    path.rLineTo(0, val[k]);
+                    currentY += val[k];
+                    k += 1;
+                    break;
+                case 'V':
+                    path.lineTo(currentX, val[k]);
+                    currentY = val[k];
+                    k += 1;
+                    break;
+                case 'c':
+                    path.rCubicTo(val[k], val[k + 1], val[k + 2], val[k + 3], val[k + 4], val[k + 5]);
+                    ctrlPointX = currentX + val[k + 2];
+                    ctrlPointY = currentY + val[k + 3];
+                    currentX += val[k + 4];
+                    currentY += val[k + 5];
+                    k += 6;
+                    break;
+                case 'C':
+                    path.cubicTo(val[k], val[k + 1], val[k + 2], val[k + 3], val[k + 4], val[k + 5]);
+                    currentX = val[k + 4];
+                    currentY = val[k + 5];
+                    ctrlPointX = val[k + 2];
+                    ctrlPointY = val[k + 3];
+                    k += 6;
+                    break;
+                case 's':
+                    reflectiveCtrlPointX = 0;
+                    reflectiveCtrlPointY = 0;
+                    if (isCubic(previousCmd)) {
+                        reflectiveCtrlPointX = currentX - ctrlPointX;
+                        reflectiveCtrlPointY = currentY - ctrlPointY;
+                    }
+                    path.rCubicTo(reflectiveCtrlPointX, reflectiveCtrlPointY,
+                            val[k], val[k + 1], val[k + 2], val[k + 3]);
+                    ctrlPointX = currentX + val[k];
+                    ctrlPointY = currentY + val[k + 1];
+                    currentX += val[k + 2];
+                    currentY += val[k + 3];
+                    k += 4;
+                    break;
+                case 'S':
+                    reflectiveCtrlPointX = currentX;
+                    reflectiveCtrlPointY = currentY;
+                    if (isCubic(previousCmd)) {
+                        reflectiveCtrlPointX = 2 * currentX - ctrlPointX;
+                        reflectiveCtrlPointY = 2 * currentY - ctrlPointY;
+                    }
+                    path.cubicTo(reflectiveCtrlPointX, reflectiveCtrlPointY,
+                            val[k], val[k + 1], val[k + 2], val[k + 3]);
+                    ctrlPointX = val[k];
+                    ctrlPointY = val[k + 1];
+                    currentX = val[k + 2];
+                    currentY = val[k + 3];
+                    k += 4;
+                    break;
+                case 'q':
+                    path.rQuadTo(val[k], val[k + 1], val[k + 2], val[k + 3]);
+                    ctrlPointX = currentX + val[k];
+                    ctrlPointY = currentY + val[k + 1];
+                    currentX += val[k + 2];
+                    currentY += val[k + 3];
+                    k += 4;
+                    break;
+                case 'Q':
+                    path.quadTo(val[k], val[k + 1], val[k + 2], val[k + 3]);
+                    ctrlPointX = val[k];
+                    ctrlPointY = val[k + 1];
+                    currentX = val[k + 2];
+                    currentY = val[k + 3];
+                    k += 4;
+                    break;
+                case 't':
+                    reflectiveCtrlPointX = 0;
+                    reflectiveCtrlPointY = 0;
+                    if (isQuad(previousCmd)) {
+                        reflectiveCtrlPointX = currentX - ctrlPointX;
+                        reflectiveCtrlPointY = currentY - ctrlPointY;
+                    }
+                    path.rQuadTo(reflectiveCtrlPointX, reflectiveCtrlPointY, val[k], val[k + 1]);
+                    ctrlPointX = currentX + reflectiveCtrlPointX;
+                    ctrlPointY = currentY + reflectiveCtrlPointY;
+                    currentX += val[k];
+                    currentY += val[k + 1];
+                    k += 2;
+                    break;
+                case 'T':
+                    reflectiveCtrlPointX = currentX;
+                    reflectiveCtrlPointY = currentY;
+                    if (isQuad(previousCmd)) {
+                        reflectiveCtrlPointX = 2 * currentX - ctrlPointX;
+                        reflectiveCtrlPointY = 2 * currentY - ctrlPointY;
+                    }
+                    path.quadTo(reflectiveCtrlPointX, reflectiveCtrlPointY, val[k], val[k + 1]);
+                    ctrlPointX = reflectiveCtrlPointX;
+                    ctrlPointY = reflectiveCtrlPointY;
+                    currentX = val[k];
+                    currentY = val[k + 1];
+                    k += 2;
+                    break;
+                case 'a':
+                    PathParser.PathDataNode.drawArc(path, currentX, currentY,
+                            val[k + 5] + currentX, val[k + 6] + currentY,
+                            val[k], val[k + 1], val[k + 2], val[k + 3] != 0, val[k + 4] != 0);
+                    currentX += val[k + 5];
+                    currentY += val[k + 6];
+                    ctrlPointX = currentX;
+                    ctrlPointY = currentY;
+                    k += 7;
+                    break;
+                case 'A':
+                    PathParser.PathDataNode.drawArc(path, currentX, currentY,
+                            val[k + 5], val[k + 6],
+                            val[k], val[k + 1], val[k + 2], val[k + 3] != 0, val[k + 4] != 0);
+                    currentX = val[k + 5];
+                    currentY = val[k + 6];
+                    ctrlPointX = currentX;
+                    ctrlPointY = currentY;
+                    k += 7;
+                    break;
+            }
+            previousCmd = cmd;
+        }
+    }
+
+    private static boolean isCubic(char cmd) {
+        return cmd == 'c' || cmd == 's' || cmd == 'C' || cmd == 'S';
+    }
+
+    private static boolean isQuad(char cmd) {
+        return cmd == 'q' || cmd == 't' || cmd == 'Q' || cmd == 'T';
+    }
+
+    /**
+     * @param cmd an SVG path command
+     * @return the number of coordinates in one parameter group of the command, or -1 if the
+     * command is unknown.
+     */
+    @VisibleForTesting
+    static int getParameterCount(char cmd) {
+        switch (cmd) {
+            case 'z':
+            case 'Z':
+                return 0;
+            case 'h':
+            case 'H':
+            case 'v':
+            case 'V':
+                return 1;
+            case 'm':
+            case 'M':
+            case 'l':
+            case 'L':
+            case 't':
+            case 'T':
+                return 2;
+            case 's':
+            case 'S':
+            case 'q':
+            case 'Q':
+                return 4;
+            case 'c':
+            case 'C':
+                return 6;
+            case 'a':
+            case 'A':
+                return 7;
+            default:
+                return -1;
+        }
+    }
+
+    /**
+     * Single pass, character scanning pathData parser. Holds growable scratch buffers so that
+     * parsing only allocates the exactly sized output arrays. Not thread safe; use one per thread.
+     */
+    private static final class Parser {
+        private static final int LARGE_ARC_FLAG_ARG_POSITION = 3;
+        private static final int SWEEP_ARC_FLAG_ARG_POSITION = 4;
+
+        private byte[] mOpBuffer = new byte[64];
+        private float[] mCoordBuffer = new float[256];
+        private int mOpCount;
+        private int mCoordCount;
+
+        // Parse cursor and the error (if any) found while scanning.
+        private String mSource;
+        private int mPosition;
+        @Nullable
+        private String mError;
+
+        @Nullable
+        PathData parse(@NonNull String pathData) {
+            mSource = pathData;
+            mPosition = 0;
+            mOpCount = 0;
+            mCoordCount = 0;
+            mError = null;
+
+            try {
+                final int length = pathData.length();
+                skipSeparators();
+                while (mPosition < length && mError == null) {
+                    final char cmd = pathData.charAt(mPosition++);
+                    final int paramCount = getParameterCount(cmd);
+                    if (paramCount < 0) {
+                        mError = "unknown command '" + cmd + "'";
+                        break;
+                    }
+                    parseCommand(cmd, paramCount);
+                    skipSeparators();
+                }
+
+                if (mError != null) {
+                    Log.e(TAG, "Dropping pathData due to invalid command in pathData " +
+                            pathData + " - " + mError);
+                    return null;
+                }
+
+                final byte[] ops = new byte[mOpCount];
+                System.arraycopy(mOpBuffer, 0, ops, 0, mOpCount);
+                final float[] coords = new float[mCoordCount];
+                System.arraycopy(mCoordBuffer, 0, coords, 0, mCoordCount);
+                return new PathData(ops, coords);
+            } finally {
+                mSource = null;
+            }
+        }
+
+        private void parseCommand(char cmd, int paramCount) {
+            if (paramCount == 0) {
+                addOp(cmd);
+                // Any numbers following a close command are ignored.
+                while (mPosition < mSource.length() && !isCommand(mSource.charAt(mPosition))) {
+                    mPosition++;
+                }
+                return;
+            }
+
+            final boolean isArc = cmd == 'a' || cmd == 'A';
+            char groupCmd = cmd;
+            while (true) {
+                final int groupStart = mCoordCount;
+                int count = 0;
+                for (; count < paramCount; count++) {
+                    skipSeparators();
+                    if (mPosition >= mSource.length() || isCommand(mSource.charAt(mPosition))) {
+                        break;
+                    }
+                    final boolean parsed;
+                    if (isArc && (count == LARGE_ARC_FLAG_ARG_POSITION || count == SWEEP_ARC_FLAG_ARG_POSITION)) {
+                        parsed = parseFlag();
+                    } else {
+                        parsed = parseNumber();
+                    }
+                    if (!parsed) {
+                        return;
+                    }
+                }
+
+                if (count < paramCount) {
+                    if (count > 0) {
+                        // An incomplete trailing parameter group cannot be drawn, drop it.
+                        Log.w(TAG, "Ignoring incomplete parameters for command '" + cmd + "' in pathData " + mSource);
+                    }
+                    mCoordCount = groupStart;
+                    return;
+                }
+
+                addOp(groupCmd);
+                // According to the spec, if a moveto is followed by multiple pairs of
+                // coordinates, the subsequent pairs are treated as implicit lineto commands.
+                if (groupCmd == 'm') {
+                    groupCmd = 'l';
+                } else if (groupCmd == 'M') {
+                    groupCmd = 'L';
+                }
+            }
+        }
+
+        private boolean parseFlag() {
+            final char c = mSource.charAt(mPosition);
+            if (c != '0' && c != '1') {
+                mError = "Invalid character found: " + c;
+                return false;
+            }
+            mPosition++;
+            addCoord(c == '1' ? 1f : 0f);
+            return true;
+        }
+
+        /**
+         * Parses a number in place, without creating substrings.
+         */
+        private boolean parseNumber() {
+            final String s = mSource;
+            final int length = s.length();
+            final int start = mPosition;
+            int i = mPosition;
+
+            boolean negative = false;
+            char c = s.charAt(i);
+            if (c == '-' || c == '+') {
+                negative = c == '-';
+                i++;
+            }
+
+            long mantissa = 0;
+            int significantDigits = 0;
+            int exponent = 0;
+            boolean hasDigits = false;
+
+            while (i < length && (c = s.charAt(i)) >= '0' && c <= '9') {
+                hasDigits = true;
+                if (significantDigits < 18) {
+                    mantissa = mantissa * 10 + (c - '0');
+                    if (mantissa != 0) significantDigits++;
+                } else {
+                    exponent++;
+                }
+                i++;
+            }
+            if (i < length && s.charAt(i) == '.') {
+                i++;
+                while (i < length && (c = s.charAt(i)) >= '0' && c <= '9') {
+                    hasDigits = true;
+                    if (significantDigits < 18) {
+                        mantissa = mantissa * 10 + (c - '0');
+                        if (mantissa != 0) significantDigits++;
+                        exponent--;
+                    }
+                    i++;
+                }
+            }
+
+            if (!hasDigits) {
+                mError = "error in parsing number at position " + start;
+                return false;
+            }
+
+            if (i < length && ((c = s.charAt(i)) == 'e' || c == 'E')) {
+                int j = i + 1;
+                boolean negativeExponent = false;
+                if (j < length && ((c = s.charAt(j)) == '-' || c == '+')) {
+                    negativeExponent = c == '-';
+                    j++;
+                }
+                if (j < length && (c = s.charAt(j)) >= '0' && c <= '9') {
+                    int explicitExponent = 0;
+                    while (j < length && (c = s.charAt(j)) >= '0' && c <= '9') {
+                        if (explicitExponent < 1000) {
+                            explicitExponent = explicitExponent * 10 + (c - '0');
+                        }
+                        j++;
+                    }
+                    exponent += negativeExponent ? -explicitExponent : explicitExponent;
+                    i = j;
+                } else {
+                    mError = "error in parsing exponent at position " + i;
+                    return false;
+                }
+            }
+
+            double value = mantissa;
+            if (exponent != 0) {
+                value = exponent > 0 ? value * Math.pow(10, exponent) : value / Math.pow(10, -exponent);
+            }
+            addCoord((float) (negative ? -value : value));
+            mPosition = i;
+            return true;
+        }
+
+        /**
+         * Skips comma_wsp::=(wsp+ ","? wsp*) | ("," wsp*)
+         */
+        private void skipSeparators() {
+            final int length = mSource.length();
+            while (mPosition < length) {
+                switch (mSource.charAt(mPosition)) {
+                    case '\t':
+                    case ' ':
+                    case '\n':
+                    case '\f':
+                    case '\r':
+                    case ',':
+                        mPosition++;
+                        break;
+                    default:
+                        return;
+                }
+            }
+        }
+
+        private static boolean isCommand(char c) {
+            // 'e' and 'E' are not commands, they are used in scientific notation.
+            return ((c >= 'A' && c <= 'Z') || (c >= 'a' && c <= 'z')) && c != 'e' && c != 'E';
+        }
+
+        private void addOp(char cmd) {
+            if (mOpCount == mOpBuffer.length) {
+                final byte[] grown = new byte[mOpBuffer.length * 2];
+                System.arraycopy(mOpBuffer, 0, grown, 0, mOpCount);
+                mOpBuffer = grown;
+            }
+            mOpBuffer[mOpCount++] = (byte) cmd;
+        }
+
+        private void addCoord(float value) {
+            if (mCoordCount == mCoordBuffer.length) {
+                final float[] grown = new float[mCoordBuffer.length * 2];
+                System.arraycopy(mCoordBuffer, 0, grown, 0, mCoordCount);
+                mCoordBuffer = grown;
+            }
+            mCoordBuffer[mCoordCount++] = value;
+        }
+    }
+}
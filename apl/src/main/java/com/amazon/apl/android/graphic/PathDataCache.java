@@ -0,0 +1,90 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package com.amazon.apl.android.graphic;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.annotation.VisibleForTesting;
+import androidx.collection.LruCache;
+
+import com.amazon.apl.android.utils.ITrimmableCache;
+
+/**
+ * Process wide, size bounded cache of parsed pathData. Identical pathData strings (for example
+ * icons repeated in every item of a Sequence) are parsed once and shared by every document.
+ */
+public final class PathDataCache implements ITrimmableCache {
+    private static final int MEMORY_ALLOCATION = 512 * 1024; // 512 KiB
+
+    private static final PathDataCache sInstance = new PathDataCache(MEMORY_ALLOCATION);
+
+    /**
+     * Marker for pathData which failed to parse, so invalid data is not re-parsed either.
+     */
+    private static final PathData INVALID = PathData.parse("");
+
+    private final LruCache<String, PathData> mCache;
+
+    @VisibleForTesting
+    PathDataCache(int sizeInBytes) {
+        mCache = new LruCache<String, PathData>(sizeInBytes) {
+            @Override
+            protected int sizeOf(@NonNull String key, @NonNull PathData value) {
+                // Strings are UTF-16.
+                return key.length() * 2 + value.getSizeInBytes();
+            }
+        };
+    }
+
+    @NonNull
+    public static PathDataCache getInstance() {
+        return sInstance;
+    }
+
+    /**
+     * Gets the parsed form of pathData, parsing it if necessary.
+     *
+     * @param pathData the pathData string
+     * @return the parsed path, or null if pathData is null or invalid.
+     */
+    @Nullable
+    public PathData get(@Nullable String pathData) {
+        if (pathData == null) {
+            return null;
+        }
+        PathData parsed = mCache.get(pathData);
+        if (parsed == null) {
+            // Parsing is idempotent so racing threads can both parse; the last one wins.
+            parsed = PathData.parse(pathData);
+            mCache.put(pathData, parsed == null ? INVALID : parsed);
+        }
+        return parsed == INVALID ? null : parsed;
+    }
+
+    /**
+     * @return the approximate number of bytes held by the cache.
+     */
+    public int size() {
+        return mCache.size();
+    }
+
+    @Override
+    public long getEstimatedBytes() {
+        return mCache.size();
+    }
+
+    @Override
+    public void trimToFraction(float fraction) {
+        mCache.trimToSize((int) (mCache.size() * fraction));
+    }
+
+    /**
+     * Removes all cached paths.
+     */
+    public void clear() {
+        mCache.evictAll();
+    }
+}
@@ -654,7 +654,7 @@ public class PathParser {
             current[5] = currentSegmentStartY;
         }
 
-        private static void drawArc(@NonNull Path p,
+        static void drawArc(@NonNull Path p,
                                     float x0,
                                     float y0,
                                     float x1,
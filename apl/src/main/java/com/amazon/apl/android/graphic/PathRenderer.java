@@ -37,6 +37,8 @@ import com.amazon.apl.enums.GradientType;
 import com.amazon.apl.enums.GradientUnits;
 import com.amazon.apl.enums.GraphicPropertyKey;
 
+import java.util.Map;
+
 /**
  * Renderer for an AlexaVectorGraphic. Adapted from {@link android.graphics.drawable.VectorDrawable}.
  */
@@ -104,9 +106,17 @@ final class PathRenderer {
         mRootAlpha = copy.mRootAlpha;
     }
 
-    void applyBaseAndViewportDimensions() {
+    /**
+     * Applies the base and viewport dimensions from the root group.
+     *
+     * @return true if the viewport dimensions changed, meaning any previous raster is invalid.
+     */
+    boolean applyBaseAndViewportDimensions() {
+        final float viewportWidth = mViewportWidth;
+        final float viewportHeight = mViewportHeight;
         applyBaseDimensions();
         applyViewportDimensions();
+        return viewportWidth != mViewportWidth || viewportHeight != mViewportHeight;
     }
 
     private void applyBaseDimensions() {
@@ -132,10 +142,24 @@ final class PathRenderer {
      * @param h         the height of the avg
      */
     void draw(@NonNull Canvas canvas, int w, int h, @NonNull IBitmapFactory bitmapFactory, boolean useHardwareAcceleration) {
+        draw(canvas, w, h, bitmapFactory, useHardwareAcceleration, null);
+    }
+
+    /**
+     * Draws the AVG to the canvas, applying filters through the given scratch bitmaps instead of
+     * the ones shared through the bitmap cache.
+     *
+     * @param canvas         the canvas to draw the avg to
+     * @param w              the width of the avg
+     * @param h              the height of the avg
+     * @param filterBitmaps  the scratch bitmaps for filters, by element, or null to use the bitmap cache
+     */
+    void draw(@NonNull Canvas canvas, int w, int h, @NonNull IBitmapFactory bitmapFactory, boolean useHardwareAcceleration,
+              @Nullable Map<GraphicElement, Bitmap> filterBitmaps) {
         mScaledWidth = w / mViewportWidth;
         mScaledHeight = h / mViewportHeight;
         // Traverse the tree in pre-order to draw.
-        drawGraphicElement(mScaledWidth, mScaledHeight, IDENTITY_MATRIX, mRootGroup, canvas, (float)mRootAlpha / 255, bitmapFactory, useHardwareAcceleration);
+        drawGraphicElement(mScaledWidth, mScaledHeight, IDENTITY_MATRIX, mRootGroup, canvas, (float)mRootAlpha / 255, bitmapFactory, useHardwareAcceleration, filterBitmaps);
     }
 
     @Nullable
@@ -160,7 +184,7 @@ final class PathRenderer {
 
         for (GraphicElement item : graphicPattern.getItems()) {
             // use hardware acceleration as creating a shader has no scaling factor
-            drawGraphicElement(SCALE_X_100_PCT, SCALE_Y_100_PCT, IDENTITY_MATRIX, item, canvas, 1.0f, bitmapFactory, true);
+            drawGraphicElement(SCALE_X_100_PCT, SCALE_Y_100_PCT, IDENTITY_MATRIX, item, canvas, 1.0f, bitmapFactory, true, null);
         }
 
         BitmapShader bitmapShader =
@@ -175,7 +199,8 @@ final class PathRenderer {
                                       @NonNull final Canvas canvas,
                                       final float currentOpacity,
                                       @NonNull final IBitmapFactory bitmapFactory,
-                                      boolean useHardwareAcceleration) {
+                                      boolean useHardwareAcceleration,
+                                      @Nullable final Map<GraphicElement, Bitmap> filterBitmaps) {
 
         // Calculate current group's matrix by preConcat the parent's and
         // and the current one on the top of the stack.
@@ -189,16 +214,16 @@ final class PathRenderer {
 
         // If VClipPath is set on this VGroup, then it needs to be processed before
         // any children.
-        if (currentGroup.getClipPathNodes() != null) {
+        if (currentGroup.getClipPathData() != null) {
             drawClipPath(xScale, yScale, currentGroup, canvas);
         }
 
         // Calculate new stacked opacity.
-        float stackedOpacity = currentOpacity * currentGroup.getOpacity();
+        float stackedOpacity = currentOpacity * currentGroup.getAppliedOpacity();
 
         // Draw the group tree in the same order as the AVG tree.
         for (GraphicElement child : currentGroup.getChildren()) {
-            drawGraphicElement(xScale, yScale, currentGroup.getStackedMatrix(), child, canvas, stackedOpacity, bitmapFactory, useHardwareAcceleration);
+            drawGraphicElement(xScale, yScale, currentGroup.getStackedMatrix(), child, canvas, stackedOpacity, bitmapFactory, useHardwareAcceleration, filterBitmaps);
         }
 
         canvas.restore();
@@ -210,8 +235,9 @@ final class PathRenderer {
                                            @NonNull final Canvas parentCanvas,
                                            final float currentOpacity,
                                            @NonNull final IBitmapFactory bitmapFactory,
-                                           boolean useHardwareAcceleration) {
-        Bitmap bitmap = getFilterBitmap(parentCanvas.getWidth(), parentCanvas.getHeight(), graphicElement, bitmapFactory);
+                                           boolean useHardwareAcceleration,
+                                           @Nullable final Map<GraphicElement, Bitmap> filterBitmaps) {
+        Bitmap bitmap = getFilterBitmap(parentCanvas.getWidth(), parentCanvas.getHeight(), graphicElement, bitmapFactory, filterBitmaps);
         Canvas canvas = parentCanvas;
 
         // Drop shadow bitmap computation uses the bitmap of the AVG object for which the filter is
@@ -223,7 +249,7 @@ final class PathRenderer {
         if (graphicElement instanceof GraphicGroupElement) {
             GraphicGroupElement graphicGroupElement = (GraphicGroupElement) graphicElement;
             drawGroupTree(xScale, yScale, currentTransform,
-                    graphicGroupElement, canvas, currentOpacity, bitmapFactory, useHardwareAcceleration);
+                    graphicGroupElement, canvas, currentOpacity, bitmapFactory, useHardwareAcceleration, filterBitmaps);
         } else if (graphicElement instanceof GraphicPathElement) {
             GraphicPathElement graphicPathElement = (GraphicPathElement) graphicElement;
             drawPath(xScale, yScale, currentTransform, graphicPathElement, canvas, currentOpacity, useHardwareAcceleration);
@@ -235,6 +261,13 @@ final class PathRenderer {
         if(bitmap != null) {
             graphicElement.applyFilters(bitmap, xScale, yScale);
             parentCanvas.drawBitmap(bitmap, new Matrix(), new Paint());
+            // The parent canvas is backed by a bitmap, so the filter bitmap is free for reuse.
+            if (filterBitmaps != null) {
+                filterBitmaps.put(graphicElement, bitmap);
+            } else {
+                graphicElement.getRenderingContext().getBitmapCache().putBitmap(
+                        filterBitmapKey(parentCanvas.getWidth(), parentCanvas.getHeight(), graphicElement), bitmap);
+            }
         }
     }
 
@@ -250,10 +283,10 @@ final class PathRenderer {
         canvas.concat(textTransform);
 
         Paint fillPaint = textElement.getFillPaint(stackedOpacity);
-        canvas.drawText(textElement.getText(), textElement.getX(), textElement.getY(), fillPaint);
+        canvas.drawText(textElement.getAppliedText(), textElement.getX(), textElement.getY(), fillPaint);
 
         Paint strokePaint = textElement.getStrokePaint(stackedOpacity);
-        canvas.drawText(textElement.getText(), textElement.getX(), textElement.getY(), strokePaint);
+        canvas.drawText(textElement.getAppliedText(), textElement.getX(), textElement.getY(), strokePaint);
 
         canvas.restore();
     }
@@ -270,7 +303,7 @@ final class PathRenderer {
         }
 
         Path clipPath = new Path();
-        PathParser.toPath(groupElement.getClipPathNodes(), clipPath);
+        groupElement.getClipPathData().toPath(clipPath);
         clipPath.transform(scaledMatrix);
 
         canvas.clipPath(clipPath);
@@ -301,6 +334,8 @@ final class PathRenderer {
             currentPath = pathElement.getPath();
             canvas.save();
             canvas.concat(scaledTransform);
+            // Remember where this path lands in the raster so it can be repainted in isolation.
+            pathElement.setRasterTransform(scaledTransform);
         }
 
         Paint fillPaint = pathElement.getFillPaint(stackedOpacity);
@@ -389,27 +424,33 @@ final class PathRenderer {
     /**
      * Returns a new bitmap or clears an existing one to be used temporarily to apply filters.
      * A group cannot reuse a bitmap from another group in case of nested groups since we cannot
-     * clear a bitmap before we finished drawing.
+     * clear a bitmap before we finished drawing. The bitmap is taken out of the cache, so that it
+     * is not evicted and pooled while being drawn, and put back once drawn.
      *
      * @param width the width of the bitmap
      * @param height the height of the bitmap
      * @param graphicElement the graphic element to get the bitmap for
      * @param bitmapFactory the factory to use to create bitmaps
+     * @param filterBitmaps the scratch bitmaps to take the bitmap from, or null to use the bitmap cache
      * @return a new or cleared bitmap
      */
-    private static Bitmap getFilterBitmap(int width, int height, GraphicElement graphicElement, @NonNull IBitmapFactory bitmapFactory) {
+    private static Bitmap getFilterBitmap(int width, int height, GraphicElement graphicElement, @NonNull IBitmapFactory bitmapFactory,
+                                          @Nullable Map<GraphicElement, Bitmap> filterBitmaps) {
         if(!graphicElement.containsFilters()) {
             return null;
         }
-        GraphicGroupElement groupElement = null;
-        if(graphicElement instanceof GraphicGroupElement) {
-            groupElement = (GraphicGroupElement) graphicElement;
+        Bitmap bitmap;
+        if (filterBitmaps != null) {
+            bitmap = filterBitmaps.remove(graphicElement);
+            if (bitmap != null && (bitmap.getWidth() != width || bitmap.getHeight() != height)) {
+                bitmapFactory.disposeBitmap(bitmap);
+                bitmap = null;
+            }
+        } else {
+            IBitmapCache bitmapCache = graphicElement.getRenderingContext().getBitmapCache();
+            bitmap = bitmapCache.takeBitmap(filterBitmapKey(width, height, graphicElement));
         }
 
-        FilterBitmapKey key = FilterBitmapKey.create(width, height, groupElement == null ? 0 : groupElement.hashCode());
-        IBitmapCache bitmapCache = graphicElement.getRenderingContext().getBitmapCache();
-        Bitmap bitmap = bitmapCache.getBitmap(key);
-
         if(bitmap != null) {
             bitmap.eraseColor(Color.TRANSPARENT);
             return bitmap;
@@ -422,11 +463,14 @@ final class PathRenderer {
             }
             return null;
         }
-
-        bitmapCache.putBitmap(key, bitmap);
         return bitmap;
     }
 
+    private static FilterBitmapKey filterBitmapKey(int width, int height, GraphicElement graphicElement) {
+        // Keyed by element so that rasters of different graphics never share a bitmap.
+        return FilterBitmapKey.create(width, height, graphicElement.hashCode());
+    }
+
     @NonNull
     private static Matrix scaleMatrix(@NonNull final Matrix matrixToScale, final float scaleWidth,
                                       final float scaleHeight) {
@@ -0,0 +1,164 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package com.amazon.apl.android.graphic;
+
+import android.graphics.LinearGradient;
+import android.graphics.Matrix;
+import android.graphics.RadialGradient;
+import android.graphics.Shader;
+import android.os.Looper;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Caches gradient {@link Shader}s by their colors, stops, spread and geometry, so that applying
+ * the same gradient again reuses the shader, and the gradient it uploads, instead of creating a
+ * new one. The position of the gradient is not part of the key: callers pass geometry relative
+ * to the bounds and the translation to the bounds as part of the local matrix, so moving bounds
+ * only update the local matrix.
+ *
+ * The color and position arrays are kept as part of the key and must not be modified afterwards.
+ * Cached shaders are shared, their local matrix is set on every request. A shader must be set on
+ * the paint and drawn with before the next request, and must not be modified by the caller.
+ * Shaders are only shared on the main thread, which draws the scene graph. Other threads, such as
+ * the filter workers, get shaders of their own.
+ */
+public class ShaderCache {
+    private static final int MAX_ENTRIES = 64;
+
+    // Access ordered for LRU eviction.
+    private final Map<Key, Entry> mShaders = new LinkedHashMap<Key, Entry>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Key, Entry> eldest) {
+            return size() > MAX_ENTRIES;
+        }
+    };
+
+    /**
+     * Get a {@link LinearGradient} from (x1, y1) to (x2, y2).
+     *
+     * @param localMatrix the local matrix of the shader, copied.
+     * @return a shared shader.
+     */
+    @NonNull
+    public Shader getLinearGradient(float x1, float y1, float x2, float y2, @NonNull int[] colors,
+                                    @Nullable float[] positions, @NonNull Shader.TileMode tileMode,
+                                    @NonNull Matrix localMatrix) {
+        if (!isMainThread()) {
+            Shader shader = new LinearGradient(x1, y1, x2, y2, colors, positions, tileMode);
+            shader.setLocalMatrix(localMatrix);
+            return shader;
+        }
+        Key key = new Key(false, new float[] {x1, y1, x2, y2}, colors, positions, tileMode);
+        Entry entry = mShaders.get(key);
+        if (entry == null) {
+            entry = new Entry(new LinearGradient(x1, y1, x2, y2, colors, positions, tileMode));
+            mShaders.put(key, entry);
+        }
+        return entry.withLocalMatrix(localMatrix);
+    }
+
+    /**
+     * Get a {@link RadialGradient} centered on (centerX, centerY).
+     *
+     * @param localMatrix the local matrix of the shader, copied.
+     * @return a shared shader.
+     */
+    @NonNull
+    public Shader getRadialGradient(float centerX, float centerY, float radius, @NonNull int[] colors,
+                                    @Nullable float[] positions, @NonNull Shader.TileMode tileMode,
+                                    @NonNull Matrix localMatrix) {
+        if (!isMainThread()) {
+            Shader shader = new RadialGradient(centerX, centerY, radius, colors, positions, tileMode);
+            shader.setLocalMatrix(localMatrix);
+            return shader;
+        }
+        Key key = new Key(true, new float[] {centerX, centerY, radius}, colors, positions, tileMode);
+        Entry entry = mShaders.get(key);
+        if (entry == null) {
+            entry = new Entry(new RadialGradient(centerX, centerY, radius, colors, positions, tileMode));
+            mShaders.put(key, entry);
+        }
+        return entry.withLocalMatrix(localMatrix);
+    }
+
+    /**
+     * @return the number of cached shaders.
+     */
+    public int size() {
+        return mShaders.size();
+    }
+
+    public void clear() {
+        mShaders.clear();
+    }
+
+    private static boolean isMainThread() {
+        return Looper.myLooper() == Looper.getMainLooper();
+    }
+
+    private static final class Entry {
+        private final Shader mShader;
+        private final Matrix mLocalMatrix = new Matrix();
+
+        Entry(Shader shader) {
+            mShader = shader;
+        }
+
+        Shader withLocalMatrix(Matrix localMatrix) {
+            if (!mLocalMatrix.equals(localMatrix)) {
+                mLocalMatrix.set(localMatrix);
+                mShader.setLocalMatrix(mLocalMatrix);
+            }
+            return mShader;
+        }
+    }
+
+    private static final class Key {
+        private final boolean mRadial;
+        private final float[] mGeometry;
+        private final int[] mColors;
+        private final float[] mPositions;
+        private final Shader.TileMode mTileMode;
+        private final int mHashCode;
+
+        Key(boolean radial, float[] geometry, int[] colors, float[] positions, Shader.TileMode tileMode) {
+            mRadial = radial;
+            mGeometry = geometry;
+            mColors = colors;
+            mPositions = positions;
+            mTileMode = tileMode;
+            mHashCode = 31 * (31 * (31 * (31 * (radial ? 1 : 0) + Arrays.hashCode(geometry))
+                    + Arrays.hashCode(colors)) + Arrays.hashCode(positions)) + tileMode.hashCode();
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof Key)) {
+                return false;
+            }
+            Key key = (Key) o;
+            return mHashCode == key.mHashCode
+                    && mRadial == key.mRadial
+                    && mTileMode == key.mTileMode
+                    && Arrays.equals(mGeometry, key.mGeometry)
+                    && Arrays.equals(mColors, key.mColors)
+                    && Arrays.equals(mPositions, key.mPositions);
+        }
+
+        @Override
+        public int hashCode() {
+            return mHashCode;
+        }
+    }
+}
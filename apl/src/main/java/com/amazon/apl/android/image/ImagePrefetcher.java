@@ -0,0 +1,127 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package com.amazon.apl.android.image;
+
+import android.content.Context;
+import android.util.Log;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.VisibleForTesting;
+
+import com.amazon.apl.android.BuildConfig;
+import com.amazon.apl.android.Component;
+import com.amazon.apl.android.Image;
+import com.amazon.apl.android.bitmap.IBitmapCache;
+import com.amazon.apl.android.dependencies.IImageLoader;
+import com.amazon.apl.android.primitive.Rect;
+import com.amazon.apl.android.primitive.UrlRequests;
+import com.amazon.apl.enums.ComponentType;
+import com.amazon.apl.enums.ImageScale;
+
+import java.util.HashSet;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Queue;
+import java.util.Set;
+
+/**
+ * Warms the image loader caches for the Image components of a freshly inflated document, so that
+ * the images are already downloaded and decoded by the time their views are bound.
+ *
+ * The displayed hierarchy is walked in full. Sequences additionally contribute those of the next
+ * {@code lookahead} children past the last displayed one which are already inflated, as they are
+ * the first to be scrolled in.
+ *
+ * Must be called on the core thread, as it reads component properties.
+ */
+public class ImagePrefetcher {
+    private static final String TAG = "ImagePrefetcher";
+
+    private final Context mContext;
+    private final int mLookahead;
+    private final Set<String> mRequested = new HashSet<>();
+
+    public ImagePrefetcher(@NonNull Context context, int lookahead) {
+        mContext = context;
+        mLookahead = Math.max(0, lookahead);
+    }
+
+    /**
+     * Prefetches the images in the hierarchy rooted at {@code root}.
+     *
+     * @param root the top component of the document
+     * @return the number of prefetch requests issued
+     */
+    public int prefetch(@NonNull Component root) {
+        int count = 0;
+        final Queue<Component> queue = new LinkedList<>();
+        queue.add(root);
+        while (!queue.isEmpty()) {
+            Component component = queue.poll();
+            if (component instanceof Image) {
+                count += prefetch((Image) component);
+            }
+            queue.addAll(component.getDisplayedChildren());
+            if (mLookahead > 0 && isSequence(component)) {
+                // Children which have no Component yet are skipped, rather than created over JNI
+                // while the document is still being inflated.
+                queue.addAll(component.getInflatedChildrenAfterDisplayed(mLookahead));
+            }
+        }
+        return count;
+    }
+
+    @VisibleForTesting
+    int prefetch(@NonNull Image image) {
+        List<UrlRequests.UrlRequest> sources = image.getSourceRequests();
+        Rect bounds = image.getBounds();
+        // Children which have not been laid out yet have no size and cannot be targeted.
+        if (sources.isEmpty() || bounds.intWidth() <= 0 || bounds.intHeight() <= 0) {
+            return 0;
+        }
+
+        IBitmapCache bitmapCache = image.getRenderingContext().getBitmapCache();
+        if (bitmapCache != null && bitmapCache.getBitmap(ProcessedImageBitmapKey.create(image)) != null) {
+            return 0;
+        }
+
+        IImageLoader imageLoader = image.getImageLoader(mContext);
+        if (imageLoader == null) {
+            return 0;
+        }
+
+        // Mirror the request LazyImageLoader makes once the view is bound.
+        boolean needsScaling = image.getScale() != ImageScale.kImageScaleNone;
+        boolean allowUpscaling = sources.size() > 1;
+        int count = 0;
+        for (UrlRequests.UrlRequest source : sources) {
+            String key = source.url() + '|' + bounds.intWidth() + 'x' + bounds.intHeight() + '|' + needsScaling + '|' + allowUpscaling;
+            if (!mRequested.add(key)) {
+                continue;
+            }
+            imageLoader.prefetchImage(IImageLoader.PrefetchImageParams.builder()
+                    .path(source.url())
+                    .headers(source.headers())
+                    .width(bounds.intWidth())
+                    .height(bounds.intHeight())
+                    .needsScaling(needsScaling)
+                    .allowUpscaling(allowUpscaling)
+                    .build());
+            count++;
+        }
+        if (BuildConfig.DEBUG) {
+            Log.d(TAG, "Prefetching " + count + " source(s) for " + image);
+        }
+        return count;
+    }
+
+    private static boolean isSequence(Component component) {
+        ComponentType type = component.getComponentType();
+        return type == ComponentType.kComponentTypeSequence
+                || type == ComponentType.kComponentTypeGridSequence
+                || type == ComponentType.kComponentTypePager;
+    }
+}
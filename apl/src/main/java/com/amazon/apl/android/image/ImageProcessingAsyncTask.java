@@ -60,20 +60,22 @@ public class ImageProcessingAsyncTask extends AsyncTask<ImageProcessingAsyncTask
 
 
         List<Bitmap> sourceBitmaps = params.getBitmaps();
-        // We make copies here due to not wanting to modify Glide's original bitmaps
-        List<Bitmap> bitmapsToProcess = new ArrayList<>(sourceBitmaps.size());
-        for (int i = 0; i < sourceBitmaps.size(); i++) {
-            Bitmap original = sourceBitmaps.get(i);
-            try {
-                bitmapsToProcess.add(params.getBitmapFactory().createBitmap(original));
-            } catch (BitmapCreationException e) {
-                Log.e(TAG, "Unable to make copy for image processing. Not applying filters.", e);
-                return params;
-            }
-        }
+        // Glide's original bitmaps must not be modified. The FilterExecutor never modifies its
+        // source bitmaps, so they are only copied for an image processor, which may.
+        List<Bitmap> bitmapsToProcess = sourceBitmaps;
 
         // Send bitmaps to preprocessor first
         if (params.getImageProcessor() != null) {
+            bitmapsToProcess = new ArrayList<>(sourceBitmaps.size());
+            for (int i = 0; i < sourceBitmaps.size(); i++) {
+                Bitmap original = sourceBitmaps.get(i);
+                try {
+                    bitmapsToProcess.add(params.getBitmapFactory().createBitmap(original));
+                } catch (BitmapCreationException e) {
+                    Log.e(TAG, "Unable to make copy for image processing. Not applying filters.", e);
+                    return params;
+                }
+            }
             bitmapsToProcess = params.getImageProcessor().preProcessImage(params.getSources(), bitmapsToProcess);
             if (isCancelled()) {
                 return params;
@@ -126,6 +128,17 @@ public class ImageProcessingAsyncTask extends AsyncTask<ImageProcessingAsyncTask
             filteredResult = bitmapsToProcess.get(bitmapsToProcess.size() - 1);
         }
 
+        if (sourceBitmaps.contains(filteredResult)) {
+            // The cache owns what it stores, so never hand it one of Glide's bitmaps.
+            try {
+                filteredResult = params.getBitmapFactory().createBitmap(filteredResult);
+            } catch (BitmapCreationException e) {
+                Log.e(TAG, "Unable to copy the filtered result. Not caching it.", e);
+                mResult = filteredResult;
+                return params;
+            }
+        }
+
         mResult = filteredResult;
         if (isCancelled()) {
             return params;
@@ -113,9 +113,19 @@ public class BlendFilterOperation extends RenderscriptFilterOperation<ScriptIntr
                 return super.call();
             }
         } catch (Exception e) {
-            // If there is an exception, then we return the destination.
+            // If there is an exception, then we return a copy of the destination, so that the
+            // result does not alias a bitmap which later filters may modify in place.
             Log.e(TAG, "Exception processing blend filter.", e);
-            return getDestination();
+            FilterResult destination = getDestination();
+            if (destination == null || !destination.isBitmap()) {
+                return destination;
+            }
+            try {
+                return new BitmapFilterResult(getBitmapFactory().createBitmap(destination.getBitmap()), getBitmapFactory());
+            } catch (BitmapCreationException copyException) {
+                Log.e(TAG, "Exception copying blend destination.", copyException);
+                return destination;
+            }
         }
     }
 }
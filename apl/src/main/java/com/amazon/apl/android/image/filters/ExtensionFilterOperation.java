@@ -30,6 +30,14 @@ public class ExtensionFilterOperation extends FilterOperation {
         mCallback = callback;
     }
 
+    /**
+     * Extension callbacks are free to process the bitmaps they are given in place.
+     */
+    @Override
+    boolean mutatesInputs() {
+        return true;
+    }
+
     @Override
     FilterBitmaps createFilterBitmaps() {
         FilterResult source = getSource();
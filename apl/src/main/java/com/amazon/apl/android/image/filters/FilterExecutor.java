@@ -17,7 +17,9 @@ import com.amazon.apl.android.primitive.Filters;
 import com.amazon.apl.enums.ImageScale;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashSet;
+import java.util.IdentityHashMap;
 import java.util.List;
 import java.util.Set;
 import java.util.concurrent.ExecutionException;
@@ -28,6 +30,11 @@ import java.util.concurrent.TimeoutException;
 
 /**
  * This class is responsible for applying all the filters to an Image.
+ *
+ * The source bitmaps are never modified or disposed: they are owned by the caller. Filter
+ * operations which modify their inputs in place are given a copy of an input bitmap when it is also
+ * read by another filter, or when it is a source bitmap. The latter is checked by identity once the
+ * input is available, since a filter result may be a source bitmap passed through.
  */
 public class FilterExecutor {
     private static final String TAG = "FilterExecutor";
@@ -38,6 +45,11 @@ public class FilterExecutor {
     private final IExtensionImageFilterCallback mExtensionImageFilterCallback;
     private final IBitmapFactory mBitmapFactory;
     private final List<Future<FilterResult>> mFilterResultFutures = new ArrayList<>();
+    // Private copies of inputs made for filters which modify their inputs.
+    private final List<Future<FilterResult>> mCopyFutures = new ArrayList<>();
+    // Only written in the constructor.
+    private final Set<Bitmap> mSourceBitmaps = Collections.newSetFromMap(new IdentityHashMap<>());
+    private final int mSourceCount;
     private final ImageScale mImageScale;
     private final Size mImageSize;
 
@@ -58,7 +70,9 @@ public class FilterExecutor {
         // Initialize source bitmaps
         for (final Bitmap source : sourceBitmaps) {
             mFilterResultFutures.add(mExecutorService.submit(() -> new BitmapFilterResult(source, bitmapFactory)));
+            mSourceBitmaps.add(source);
         }
+        mSourceCount = sourceBitmaps.size();
         mImageScale = imageScale;
         mImageSize = imageSize;
     }
@@ -67,7 +81,7 @@ public class FilterExecutor {
      * Creates a FilterExecutor to process Image filters on source bitmaps.
      *
      * @param executorService               The executor to process filters on
-     * @param sourceBitmaps                 The source bitmaps (immutable)
+     * @param sourceBitmaps                 The source bitmaps, which are never modified
      * @param filters                       The filters to process
      * @param renderScript                  RenderScript for fast filter processing
      * @param extensionImageFilterCallback  The callback for ExtensionFilters.
@@ -94,25 +108,42 @@ public class FilterExecutor {
      */
     public FilterResult apply() throws ExecutionException, InterruptedException, TimeoutException {
         Future<FilterResult> result = mFilterResultFutures.get(mFilterResultFutures.size() - 1);
+        final int[] readers = countReaders();
         for (int i = 0; i < mFilters.size(); i++) {
             Filters.Filter filter = mFilters.at(i);
-            result = mExecutorService.submit(FilterOperationFactory.create(
-                            getSourceFilterResults(filter),
+            List<Integer> inputIndices = getInputIndices(filter, mFilterResultFutures.size());
+            List<Future<FilterResult>> inputs = new ArrayList<>(inputIndices.size());
+            for (int index : inputIndices) {
+                inputs.add(mFilterResultFutures.get(index));
+            }
+
+            FilterOperation operation = FilterOperationFactory.create(
+                            inputs,
                             filter,
                             mBitmapFactory,
                             mRenderScript,
                             mExtensionImageFilterCallback,
                             mImageSize,
-                            mImageScale));
+                            mImageScale);
+            if (operation.mutatesInputs()) {
+                for (int j = 0; j < inputIndices.size(); j++) {
+                    int index = inputIndices.get(j);
+                    boolean shared = index < 0 || index >= readers.length || readers[index] > 1;
+                    operation.replaceInput(j, writableCopyOf(inputs.get(j), shared));
+                }
+            }
+            result = mExecutorService.submit(operation);
             mFilterResultFutures.add(result);
         }
 
         FilterResult ret = result.get(ConcurrencyUtils.LARGE_TIMEOUT_SECONDS, TimeUnit.SECONDS);
         Bitmap resultBitmap = ret.isBitmap() ? ret.getBitmap() : null;
 
-        // Free up any used bitmaps here
-        Set<Bitmap> alreadyDisposedBitmaps = new HashSet<>();
-        for (Future<FilterResult> future : mFilterResultFutures) {
+        // Free up any used bitmaps here, except the source bitmaps owned by the caller
+        Set<Bitmap> alreadyDisposedBitmaps = new HashSet<>(mSourceBitmaps);
+        List<Future<FilterResult>> futures = new ArrayList<>(mFilterResultFutures);
+        futures.addAll(mCopyFutures);
+        for (Future<FilterResult> future : futures) {
             if (future.isDone()) {
                 FilterResult filterResult = future.get(ConcurrencyUtils.LARGE_TIMEOUT_SECONDS, TimeUnit.SECONDS);
                 Bitmap toRecycle = filterResult.isBitmap() ? filterResult.getBitmap() : null;
@@ -126,31 +157,75 @@ public class FilterExecutor {
             }
         }
         mFilterResultFutures.clear();
+        mCopyFutures.clear();
         return ret;
     }
 
     /**
-     * Retrieves the source filter results needed by a particular filter.
-     * @param filter    a filter
-     * @return          a list of source future filter results
+     * Counts how many filters read each filter result, so a result read by a single filter can be
+     * modified in place by that filter.
+     *
+     * @return the number of readers, indexed like the filter results.
+     */
+    private int[] countReaders() {
+        final int[] readers = new int[mSourceCount + mFilters.size()];
+        for (int i = 0; i < mFilters.size(); i++) {
+            for (int index : getInputIndices(mFilters.at(i), mSourceCount + i)) {
+                if (index >= 0 && index < readers.length) {
+                    readers[index]++;
+                }
+            }
+        }
+        return readers;
+    }
+
+    /**
+     * Submits the input of a filter which modifies its input, copied unless the filter is the only
+     * one to write to its bitmap.
+     *
+     * @param input  the filter result.
+     * @param shared whether the filter result is read by another filter.
+     * @return the future input, or its copy.
+     */
+    private Future<FilterResult> writableCopyOf(Future<FilterResult> input, boolean shared) {
+        Future<FilterResult> copy = mExecutorService.submit(() -> {
+            FilterResult result = input.get(ConcurrencyUtils.LARGE_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+            if (!result.isBitmap()) {
+                // Color and gradient results create a new bitmap each time one is requested.
+                return result;
+            }
+            Bitmap bitmap = result.getBitmap();
+            if (!shared && !mSourceBitmaps.contains(bitmap)) {
+                return result;
+            }
+            return new BitmapFilterResult(mBitmapFactory.createBitmap(bitmap), mBitmapFactory);
+        });
+        mCopyFutures.add(copy);
+        return copy;
+    }
+
+    /**
+     * Retrieves the indices of the filter results needed by a particular filter.
+     * @param filter        a filter
+     * @param resultCount   the number of filter results available to the filter
+     * @return              the indices of the source and destination filter results
      */
-    private List<Future<FilterResult>> getSourceFilterResults(Filters.Filter filter) {
-        List<Future<FilterResult>> sourceFilterResults = new ArrayList<>();
+    private static List<Integer> getInputIndices(Filters.Filter filter, int resultCount) {
+        List<Integer> inputIndices = new ArrayList<>(2);
         Integer sourceIdx = filter.source();
         if (sourceIdx != null) {
-            sourceFilterResults.add(getFutureFilterResult(sourceIdx));
+            inputIndices.add(unwrapIndex(sourceIdx, resultCount));
         }
 
         Integer destIdx = filter.destination();
         if (destIdx != null) {
-            sourceFilterResults.add(getFutureFilterResult(destIdx));
+            inputIndices.add(unwrapIndex(destIdx, resultCount));
         }
 
-        return sourceFilterResults;
+        return inputIndices;
     }
 
-    private Future<FilterResult> getFutureFilterResult(int wrappedIndex) {
-        int index = wrappedIndex >= 0 ? wrappedIndex : wrappedIndex + mFilterResultFutures.size();
-        return mFilterResultFutures.get(index);
+    private static int unwrapIndex(int wrappedIndex, int resultCount) {
+        return wrappedIndex >= 0 ? wrappedIndex : wrappedIndex + resultCount;
     }
 }
@@ -61,6 +61,27 @@ public abstract class FilterOperation implements Callable<FilterResult> {
         return FilterBitmaps.create(null, null, null);
     }
 
+    /**
+     * Whether this operation writes into its source or destination bitmap instead of a new
+     * bitmap. The {@link FilterExecutor} then gives it private copies of any input bitmap which
+     * is also read by another filter or was not created by the filter pipeline.
+     *
+     * @return true if the input bitmaps are modified, false if they are only read.
+     */
+    boolean mutatesInputs() {
+        return false;
+    }
+
+    /**
+     * Replaces one of the inputs of this operation before it is submitted.
+     *
+     * @param index the index of the input, 0 for the source and 1 for the destination.
+     * @param input the new input.
+     */
+    void replaceInput(int index, Future<FilterResult> input) {
+        mSourceFutures.set(index, input);
+    }
+
     /**
      * Get's the filter for this operation.
      * @return the filter.
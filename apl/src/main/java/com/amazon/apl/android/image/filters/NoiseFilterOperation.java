@@ -35,6 +35,11 @@ public class NoiseFilterOperation extends FilterOperation {
         mTarget = target;
     }
 
+    @Override
+    boolean mutatesInputs() {
+        return true;
+    }
+
     @Override
     FilterBitmaps createFilterBitmaps() {
         FilterResult source = getSource();
@@ -44,10 +49,8 @@ public class NoiseFilterOperation extends FilterOperation {
 
         Bitmap sourceBitmap = mTarget == null ? source.getBitmap() : source.getBitmap(mTarget);
 
-        // TODO this modifies the source bitmap which means that if another filter uses the same bitmap
-        //  as this one there is unexpected behavior. Unfortunately, it is expensive to have this use a
-        //  copy so for now we use the same one.
-        //  return FilterBitmaps.create(sourceBitmap, null, Objects.requireNonNull(sourceBitmap.copy(sourceBitmap.getConfig(), true)));
+        // Noise is applied in place. The executor hands this operation a private copy of the source
+        // whenever the source is shared, see mutatesInputs().
         return FilterBitmaps.create(sourceBitmap, null, sourceBitmap);
     }
 
@@ -0,0 +1,113 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package com.amazon.apl.android.image.filters.bitmap;
+
+import android.graphics.Bitmap;
+import android.graphics.Canvas;
+import android.graphics.Paint;
+import android.graphics.Rect;
+import android.graphics.RectF;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import com.amazon.apl.android.bitmap.BitmapCreationException;
+import com.amazon.apl.android.bitmap.IBitmapFactory;
+
+import java.util.List;
+
+/**
+ * Class representing a region of a source image made of separately decoded tiles.
+ *
+ * The tiles are never stitched into an intermediate bitmap: they are drawn straight into the
+ * destination, either a canvas or a bitmap of the requested size.
+ *
+ * The result pins its tiles: they stay valid while it is in use, even once the bitmap cache has
+ * evicted them.
+ */
+public class TiledFilterResult implements FilterResult {
+    private final List<Bitmap> mTiles;
+    private final List<Rect> mTileRegions;
+    private final Rect mRequestedSourceRegion;
+    private final int mSampleSize;
+    private final IBitmapFactory mBitmapFactory;
+    private final Paint mPaint = new Paint(Paint.FILTER_BITMAP_FLAG);
+
+    /**
+     * @param tiles                 the decoded tiles
+     * @param tileRegions           the region of the source image each tile was decoded from
+     * @param requestedSourceRegion the region of the source image this result represents
+     * @param sampleSize            the sample size the tiles were decoded at
+     * @param bitmapFactory         the factory used to create bitmaps of a requested size
+     */
+    public TiledFilterResult(@NonNull List<Bitmap> tiles, @NonNull List<Rect> tileRegions, @NonNull Rect requestedSourceRegion, int sampleSize, @NonNull IBitmapFactory bitmapFactory) {
+        mTiles = tiles;
+        mTileRegions = tileRegions;
+        mRequestedSourceRegion = requestedSourceRegion;
+        mSampleSize = sampleSize;
+        mBitmapFactory = bitmapFactory;
+    }
+
+    /**
+     * @return the sample size the tiles were decoded at.
+     */
+    public int getSampleSize() {
+        return mSampleSize;
+    }
+
+    @Override
+    public Size getSize() {
+        return Size.create(
+                Math.max(1, (mRequestedSourceRegion.width() + mSampleSize - 1) / mSampleSize),
+                Math.max(1, (mRequestedSourceRegion.height() + mSampleSize - 1) / mSampleSize));
+    }
+
+    @Override
+    public Bitmap getBitmap(Size size) {
+        try {
+            Bitmap bitmap = mBitmapFactory.createBitmap(size.width(), size.height());
+            draw(new Canvas(bitmap), new RectF(0, 0, size.width(), size.height()), mPaint);
+            return bitmap;
+        } catch (BitmapCreationException e) {
+            return mTiles.get(0);
+        }
+    }
+
+    /**
+     * Draws the requested source region into {@code dst}.
+     *
+     * @param canvas the canvas to draw into
+     * @param dst    the destination rectangle
+     * @param paint  the paint to draw the tiles with, may be null
+     */
+    public void draw(@NonNull Canvas canvas, @NonNull RectF dst, @Nullable Paint paint) {
+        final float scaleX = dst.width() / mRequestedSourceRegion.width();
+        final float scaleY = dst.height() / mRequestedSourceRegion.height();
+        final Rect visible = new Rect();
+        final Rect src = new Rect();
+        final RectF tileDst = new RectF();
+        for (int i = 0; i < mTiles.size(); i++) {
+            Bitmap tile = mTiles.get(i);
+            Rect tileRegion = mTileRegions.get(i);
+            if (!visible.setIntersect(tileRegion, mRequestedSourceRegion)) {
+                continue;
+            }
+
+            // Tiles at the right and bottom edges may be rounded up when sampled.
+            float tileScaleX = (float) tile.getWidth() / tileRegion.width();
+            float tileScaleY = (float) tile.getHeight() / tileRegion.height();
+            src.set(Math.round((visible.left - tileRegion.left) * tileScaleX),
+                    Math.round((visible.top - tileRegion.top) * tileScaleY),
+                    Math.round((visible.right - tileRegion.left) * tileScaleX),
+                    Math.round((visible.bottom - tileRegion.top) * tileScaleY));
+            tileDst.set(dst.left + (visible.left - mRequestedSourceRegion.left) * scaleX,
+                    dst.top + (visible.top - mRequestedSourceRegion.top) * scaleY,
+                    dst.left + (visible.right - mRequestedSourceRegion.left) * scaleX,
+                    dst.top + (visible.bottom - mRequestedSourceRegion.top) * scaleY);
+            canvas.drawBitmap(tile, src, tileDst, paint);
+        }
+    }
+}
@@ -16,4 +16,13 @@ public abstract class DecodedImageBitmapKey implements BitmapKey {
     public static DecodedImageBitmapKey create(String sourceUrl, Rect decodeRegion, int sampleSize) {
         return new AutoValue_DecodedImageBitmapKey(sourceUrl, decodeRegion, sampleSize);
     }
+
+    /**
+     * Decoded tiles are pinned by the {@link com.amazon.apl.android.image.filters.bitmap.TiledFilterResult}s
+     * drawing them, which outlive the cache entry, so a tile is never pooled.
+     */
+    @Override
+    public final boolean isReusableOnEviction() {
+        return false;
+    }
 }
@@ -1,8 +1,6 @@
 package com.amazon.apl.android.media;
 
 import android.graphics.Bitmap;
-import android.graphics.BitmapFactory;
-import android.graphics.BitmapRegionDecoder;
 import android.graphics.Paint;
 import android.graphics.Rect;
 import android.util.Log;
@@ -19,6 +17,7 @@ import com.amazon.apl.android.image.filters.RenderScriptWrapper;
 import com.amazon.apl.android.image.filters.SolidFilterOperation;
 import com.amazon.apl.android.image.filters.bitmap.BitmapRegionFilterResult;
 import com.amazon.apl.android.image.filters.bitmap.FilterResult;
+import com.amazon.apl.android.image.filters.bitmap.TiledFilterResult;
 import com.amazon.apl.android.primitive.Filters;
 import com.amazon.apl.android.scenegraph.rendering.APLRender;
 import com.amazon.apl.android.sgcontent.filters.BlendFilter;
@@ -29,13 +28,17 @@ import com.amazon.apl.android.sgcontent.filters.MediaObjectFilter;
 import com.amazon.apl.android.sgcontent.filters.NoiseFilter;
 import com.amazon.apl.android.sgcontent.filters.SaturateFilter;
 import com.amazon.apl.android.sgcontent.filters.SolidFilter;
+import com.amazon.apl.android.utils.CacheGovernor;
+import com.amazon.apl.android.utils.ITrimmableCache;
 import com.amazon.apl.enums.FilterType;
 import com.google.common.util.concurrent.Futures;
 
-import java.io.FileInputStream;
+import java.io.File;
 import java.io.IOException;
 import java.lang.ref.WeakReference;
 import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
@@ -47,12 +50,22 @@ import java.util.concurrent.RejectedExecutionException;
  * Handles queueing, batching, and callbacks for filters.
  */
 // TODO: define this as as an interface with no-op default implementation in the RenderingContext
-public class ImageFilterProcessor {
+public class ImageFilterProcessor implements ITrimmableCache {
     private static final String TAG = "ImageFilterProcessor";
+    private static final int MAX_OPEN_DECODERS = 4;
     private final IBitmapCache mBitmapCache;
     private final ExecutorService mExecutorService;
     private Map<DecodedImageBitmapKey, Future<FilterResult>> mPendingDecodeRequests = new HashMap<>();
-    private Map<String, List<WeakReference<DecodedImageBitmapKey>>> mDecodedItems = new HashMap<>();
+    private final Map<String, TiledImageDecoder> mDecoders = new LinkedHashMap<String, TiledImageDecoder>(MAX_OPEN_DECODERS, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, TiledImageDecoder> eldest) {
+            if (size() > MAX_OPEN_DECODERS) {
+                eldest.getValue().retire();
+                return true;
+            }
+            return false;
+        }
+    };
     private RenderScriptWrapper mRenderScriptWrapper;
 
     private Map<Filter, List<WeakReference<ImageNodeBitmapKey>>> mFiltersProcessed = new HashMap<>();
@@ -64,7 +77,48 @@ public class ImageFilterProcessor {
     }
 
     public static ImageFilterProcessor create(IBitmapCache bitmapCache, ExecutorService executorService, RenderScriptWrapper renderScriptWrapper) {
-        return new ImageFilterProcessor(bitmapCache, executorService, renderScriptWrapper);
+        ImageFilterProcessor processor = new ImageFilterProcessor(bitmapCache, executorService, renderScriptWrapper);
+        CacheGovernor.getInstance().register("imageFilter", processor, CacheGovernor.Priority.NORMAL, 1f);
+        return processor;
+    }
+
+    /**
+     * @return the memory held by the open decoders. Decoded regions live in the bitmap cache.
+     */
+    @Override
+    public synchronized long getEstimatedBytes() {
+        long bytes = 0;
+        for (TiledImageDecoder decoder : mDecoders.values()) {
+            bytes += decoder.getEstimatedBytes();
+        }
+        return bytes;
+    }
+
+    /**
+     * Closes the least recently used decoders and forgets the decoded regions which are gone.
+     */
+    @Override
+    public synchronized void trimToFraction(float fraction) {
+        int close = mDecoders.size() - (int) (mDecoders.size() * fraction);
+        Iterator<TiledImageDecoder> decoders = mDecoders.values().iterator();
+        while (close-- > 0 && decoders.hasNext()) {
+            decoders.next().retire();
+            decoders.remove();
+        }
+
+        Iterator<List<WeakReference<ImageNodeBitmapKey>>> regions = mFiltersProcessed.values().iterator();
+        while (regions.hasNext()) {
+            List<WeakReference<ImageNodeBitmapKey>> keys = regions.next();
+            Iterator<WeakReference<ImageNodeBitmapKey>> it = keys.iterator();
+            while (it.hasNext()) {
+                if (it.next().get() == null) {
+                    it.remove();
+                }
+            }
+            if (keys.isEmpty()) {
+                regions.remove();
+            }
+        }
     }
 
     public Future<FilterResult> processFilter(RenderingContext renderingContext, Filter filter, float canvasScale, Rect source, com.amazon.apl.android.image.filters.bitmap.Size targetSize) {
@@ -213,6 +267,8 @@ public class ImageFilterProcessor {
      * resulting bitmap. If a bitmap satisfying the request is not immediately available,
      * the specified layer will be redrawn when the request is ready.
      *
+     * Only the tiles of the source image intersecting the region are decoded, see {@link TiledImageDecoder}.
+     *
      * @param mediaObject identifies the source image
      * @param decodeRegionRequested the region of the source image to populate in the bitmap
      * @param targetSize the desired resolution for the resulting Bitmap. We will not upsample the source image region,
@@ -220,84 +276,98 @@ public class ImageFilterProcessor {
      * @return a bitmap containing the request region of the source image if available, else null
      */
     private synchronized Future<FilterResult> requestBitmap(RenderingContext renderingContext, MediaObject mediaObject, Rect decodeRegionRequested, com.amazon.apl.android.image.filters.bitmap.Size targetSize) {
-        Size mediaSize = mediaObject.getSize();
-        if (decodeRegionRequested == null || decodeRegionRequested.right > mediaSize.getWidth() || decodeRegionRequested.bottom > mediaSize.getHeight()) {
-            decodeRegionRequested = new Rect(0,0, mediaSize.getWidth(), mediaSize.getHeight());
+        final Rect region = normalizeRegion(decodeRegionRequested, mediaObject.getSize());
+        final int neededSampleSize = calculateSampleSize(region, targetSize);
+        final TiledImageDecoder decoder = getDecoder(mediaObject);
+        if (decoder == null) {
+            return null;
         }
 
-        final Rect decodeRegionRequestedNonNull = decodeRegionRequested;
+        // check if we already have the requested region at the needed sample size
+        TiledFilterResult cached = decoder.findCached(region, neededSampleSize, renderingContext.getBitmapFactory());
+        if (cached != null) {
+            return Futures.immediateFuture(cached);
+        }
 
-        int neededSampleSize = calculateSampleSize(decodeRegionRequested, targetSize);
+        DecodedImageBitmapKey requestKey = DecodedImageBitmapKey.create(mediaObject.getUrl(), region, neededSampleSize);
+        return submitDecode(renderingContext, decoder, region, neededSampleSize, requestKey);
+    }
 
-        // check if we already have the requested region at the needed sample size
-        DecodeResult decodeResult = checkCacheForSourceRegion(mediaObject, decodeRegionRequested, neededSampleSize);
-        if (decodeResult != null) {
-            return Futures.immediateFuture(new BitmapRegionFilterResult(decodeResult.getBitmap(), renderingContext.getBitmapFactory(), decodeRegionRequested, decodeResult.mDecodedRegion));
+    /**
+     * Requests a coarse version of a source image region, to be drawn while the bitmap for
+     * {@link #processFilter} is being decoded. Only plain image sources have a preview.
+     *
+     * @return a future for the preview, or null if there is no preview coarser than the request.
+     */
+    public synchronized Future<FilterResult> requestPreview(RenderingContext renderingContext, Filter filter, Rect source, com.amazon.apl.android.image.filters.bitmap.Size targetSize) {
+        if (!(filter instanceof MediaObjectFilter)) {
+            return null;
+        }
+        MediaObject mediaObject = ((MediaObjectFilter) filter).mediaObject();
+        Size size = mediaObject.getSize();
+        if (size == null || size.getWidth() <= 0 || size.getHeight() <= 0) {
+            return null;
+        }
+
+        final Rect region = normalizeRegion(source, size);
+        final int neededSampleSize = calculateSampleSize(region, targetSize);
+        final TiledImageDecoder decoder = getDecoder(mediaObject);
+        if (decoder == null || neededSampleSize >= decoder.getPreviewSampleSize()) {
+            return null;
+        }
+
+        TiledFilterResult cached = decoder.findPreview(region, neededSampleSize, renderingContext.getBitmapFactory());
+        if (cached != null) {
+            return Futures.immediateFuture(cached);
         }
 
-        Rect calculatedDecodeRegion = calculateDecodeRegion(decodeRegionRequested, mediaObject.getSize());
-        DecodedImageBitmapKey cacheKey = DecodedImageBitmapKey.create(mediaObject.getUrl(), calculatedDecodeRegion, neededSampleSize);
+        // The preview level is a single small tile, so it is decoded well ahead of the finer tiles.
+        int previewSampleSize = decoder.getPreviewSampleSize();
+        DecodedImageBitmapKey requestKey = DecodedImageBitmapKey.create(mediaObject.getUrl(), region, previewSampleSize);
+        return submitDecode(renderingContext, decoder, region, previewSampleSize, requestKey);
+    }
 
+    private Future<FilterResult> submitDecode(RenderingContext renderingContext, TiledImageDecoder decoder, Rect region, int sampleSize, DecodedImageBitmapKey requestKey) {
         // A resizing image can easily fill up the thread pool with duplicate requests
-        Future<FilterResult> futureResult = mPendingDecodeRequests.get(cacheKey);
+        Future<FilterResult> futureResult = mPendingDecodeRequests.get(requestKey);
         if (futureResult == null) {
+            // Keeps the decoder open until this decode has run, even if it is retired meanwhile.
+            decoder.beginDecode();
             try {
-                futureResult = mExecutorService.submit(() -> decode(renderingContext, new DecodeRequest(mediaObject, decodeRegionRequestedNonNull, calculatedDecodeRegion, targetSize, cacheKey)));
-                mPendingDecodeRequests.put(cacheKey, futureResult);
+                futureResult = mExecutorService.submit(() -> decode(renderingContext, decoder, region, sampleSize, requestKey));
+                mPendingDecodeRequests.put(requestKey, futureResult);
             } catch (RejectedExecutionException ex) {
+                decoder.endDecode();
                 Log.e(TAG, "Unable to submit image decode request", ex);
             }
         }
-
         return futureResult;
     }
 
+    private static Rect normalizeRegion(Rect decodeRegionRequested, Size mediaSize) {
+        if (decodeRegionRequested == null || decodeRegionRequested.right > mediaSize.getWidth() || decodeRegionRequested.bottom > mediaSize.getHeight()) {
+            return new Rect(0,0, mediaSize.getWidth(), mediaSize.getHeight());
+        }
+        return decodeRegionRequested;
+    }
+
     /**
-     * Check for previously completed decoding results to see whether there is already a matching
-     * image in the request.
-     * @param mediaObject identifies the source for the image
-     * @param decodeRegionRequested the region from the source image needed
-     * @param sampleSize the maximum sampleSize that is acceptable for the image
-     * @return the cached DecodeResult if available, otherwise null
+     * Gets the tiled decoder for a media object, keeping the decoders of the most recently used
+     * images open.
      */
-    private DecodeResult checkCacheForSourceRegion(MediaObject mediaObject, Rect decodeRegionRequested, int sampleSize) {
-        List<WeakReference<DecodedImageBitmapKey>> previousDecodingsOfMediaObject = mDecodedItems.get(mediaObject.getUrl());
-        if (previousDecodingsOfMediaObject != null) {
-            for (WeakReference<DecodedImageBitmapKey> decodedItemRef : previousDecodingsOfMediaObject) {
-                DecodedImageBitmapKey decodedItem = decodedItemRef.get();
-                if (decodedItem != null
-                        && decodedItem.sampleSize() <= sampleSize
-                        && isWithin(decodeRegionRequested, decodedItem.decodeRegion())) {
-                    Bitmap bitmap  = mBitmapCache.getBitmap(decodedItem);
-                    if (bitmap != null) {
-                        DecodeResult decodeResult = new DecodeResult();
-                        decodeResult.mBitmap = bitmap;
-                        decodeResult.mDecodedRegion = decodedItem.decodeRegion();
-                        decodeResult.mSampleSize = decodedItem.sampleSize();
-                        return decodeResult;
-                    }
-                }
+    private TiledImageDecoder getDecoder(MediaObject mediaObject) {
+        String url = mediaObject.getUrl();
+        TiledImageDecoder decoder = mDecoders.get(url);
+        if (decoder == null) {
+            File file = mediaObject.getFile();
+            Size size = mediaObject.getSize();
+            if (file == null || size == null) {
+                return null;
             }
+            decoder = new TiledImageDecoder(url, file, size.getWidth(), size.getHeight(), mBitmapCache);
+            mDecoders.put(url, decoder);
         }
-        return null;
-    }
-
-    private Rect calculateDecodeRegion(Rect decodeRegionRequested, Size sourceSize) {
-        // this is a simple heuristic which selects the region area to be decoded based on the next
-        // smallest/largest power of two for each coordinate. Some nice properties of this simple
-        // heuristic are that it is stateless and supports growing the decoded area just in the
-        // direction required.
-        // TODO: Get feedback and suggestions for alternatives
-        int powerOfTwoWidth = Integer.highestOneBit(decodeRegionRequested.right) << 1;
-        int powerOfTwoHeight = Integer.highestOneBit(decodeRegionRequested.bottom) << 1;
-        int maxWidth = Math.min(sourceSize.getWidth(), powerOfTwoWidth);
-        int maxHeight = Math.min(sourceSize.getHeight(), powerOfTwoHeight);
-
-        int powerOfTwoLeft = Integer.highestOneBit(decodeRegionRequested.left) >> 1;
-        int powerOfTwoTop = Integer.highestOneBit(decodeRegionRequested.top) >> 1;
-        int left = Math.max(0, powerOfTwoLeft);
-        int top = Math.max(0, powerOfTwoTop);
-        return new Rect(left,top, maxWidth, maxHeight);
+        return decoder;
     }
 
     private boolean isWithin(Rect regionRequested, Rect decodedRegion) {
@@ -307,29 +377,18 @@ public class ImageFilterProcessor {
                 && decodedRegion.bottom >= regionRequested.bottom;
     }
 
-    private synchronized BitmapRegionFilterResult decode(RenderingContext renderingContext, DecodeRequest decodeRequest) {
-        BitmapFactory.Options decodeOptions = new BitmapFactory.Options();
-        decodeOptions.inSampleSize = decodeRequest.mCacheKey.sampleSize();
-
-        // decoding took ~20ms for 1000x1000 image on a crown
-        try (FileInputStream fis = new FileInputStream(decodeRequest.mMediaObject.getFile())) {
-            BitmapRegionDecoder bitmapRegionDecoder = BitmapRegionDecoder.newInstance(fis, false);
-            Bitmap bm = bitmapRegionDecoder.decodeRegion(decodeRequest.mDecodeRegion, decodeOptions);
-            mBitmapCache.putBitmap(decodeRequest.mCacheKey, bm);
-            List<WeakReference<DecodedImageBitmapKey>> decoded = mDecodedItems.get(decodeRequest.mCacheKey.sourceUrl());
-            if (decoded == null) {
-                decoded = new LinkedList<>();
-                mDecodedItems.put(decodeRequest.mCacheKey.sourceUrl(), decoded);
-            }
-
-            decoded.add(new WeakReference<>(decodeRequest.mCacheKey));
-            return new BitmapRegionFilterResult(bm, renderingContext.getBitmapFactory(), decodeRequest.mDecodeRegionRequested,  decodeRequest.mCacheKey.decodeRegion());
+    private FilterResult decode(RenderingContext renderingContext, TiledImageDecoder decoder, Rect region, int sampleSize, DecodedImageBitmapKey requestKey) {
+        try {
+            // decoding took ~20ms for 1000x1000 image on a crown, tiles make this proportional to the visible area
+            return decoder.decode(region, sampleSize, renderingContext.getBitmapFactory());
         } catch (IOException ex) {
             Log.e(TAG, "There was a problem decoding a region of the requested image");
-            // do we need a fallback decoder, e.g. BitmapFactory, here?
             return null;
         } finally {
-            mPendingDecodeRequests.remove(decodeRequest.mCacheKey);
+            decoder.endDecode();
+            synchronized (this) {
+                mPendingDecodeRequests.remove(requestKey);
+            }
         }
     }
 
@@ -354,70 +413,4 @@ public class ImageFilterProcessor {
             return 1;
         }
     }
-
-    /**
-     * BitmapRegionDecoder has some known issues so keeping BitmapFactory as the fallack decoder:
-     * https://issuetracker.google.com/issues/37006509
-     */
-    private synchronized void decodeUsingBitmapFactory(DecodeRequest decodeRequest, BitmapFactory.Options decodeOptions) {
-        try (FileInputStream fis = new FileInputStream(decodeRequest.mMediaObject.getFile())) {
-            Bitmap bm = BitmapFactory.decodeStream(fis, null, decodeOptions);
-            // Create new key to reflect that we have decoded the entire image
-            DecodedImageBitmapKey bitmapKey = DecodedImageBitmapKey.create(decodeRequest.mCacheKey.sourceUrl(),
-                    new Rect(0, 0, bm.getWidth(), bm.getHeight()) ,decodeRequest.mCacheKey.sampleSize());
-            mBitmapCache.putBitmap(bitmapKey, bm);
-        } catch (IOException ex) {
-            Log.e(TAG, "There was a problem decoding the requested image");
-        }
-    }
-
-    private static class DecodeRequest {
-        MediaObject mMediaObject;
-        Rect mDecodeRegionRequested;
-        Rect mDecodeRegion;
-        com.amazon.apl.android.image.filters.bitmap.Size mTargetSize;
-        DecodedImageBitmapKey mCacheKey;
-
-        /**
-         * Captures all of the necessary details to decode a MediaObject.
-         *
-         * @param mediaObject the MediaObject containing image data references to decode
-         * @param decodeRegion the region of the image to decode
-         * @param targetSize the requested bitmap size in pixels, this should account for any
-         *                   dp/canvas scaling required
-         */
-        public DecodeRequest(MediaObject mediaObject, Rect decodeRegionRequested, Rect decodeRegion, com.amazon.apl.android.image.filters.bitmap.Size targetSize, DecodedImageBitmapKey cacheKey) {
-            mMediaObject = mediaObject;
-            mDecodeRegionRequested = decodeRegionRequested;
-            mDecodeRegion = decodeRegion;
-            mTargetSize = targetSize;
-            mCacheKey = cacheKey;
-        }
-    }
-
-    private static class DecodeResult {
-        Bitmap mBitmap;
-        Rect mDecodedRegion;
-        int mSampleSize;
-
-        public Bitmap getBitmap() {
-            return mBitmap;
-        }
-
-        /**
-         * Translate the region from the source into coordinates relative to the actual decoded region
-         * taking into account partial decoding and down sampling.
-         * @param sourceRegion the requested area from the source image
-         * @return a Rect which maps the decoded image content corresponding to the image area in the sourceRegion
-         */
-        public Rect getDecodedRegion(Rect sourceRegion) {
-            if (mDecodedRegion.equals(sourceRegion)) {
-                return null;
-            }
-
-            int translatedLeft = (sourceRegion.left / mSampleSize) - mDecodedRegion.left;
-            int translatedTop = (sourceRegion.top / mSampleSize) - mDecodedRegion.top;
-            return new Rect(translatedLeft, translatedTop, translatedLeft+(sourceRegion.width() / mSampleSize), translatedTop+(sourceRegion.height() / mSampleSize));
-        }
-    }
 }
@@ -0,0 +1,273 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package com.amazon.apl.android.media;
+
+import android.graphics.Bitmap;
+import android.graphics.BitmapFactory;
+import android.graphics.BitmapRegionDecoder;
+import android.graphics.Rect;
+import android.util.Log;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.annotation.VisibleForTesting;
+
+import com.amazon.apl.android.bitmap.IBitmapCache;
+import com.amazon.apl.android.bitmap.IBitmapFactory;
+import com.amazon.apl.android.image.filters.bitmap.TiledFilterResult;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Decodes an image file in fixed size tiles, so only the visible part of a large image is decoded
+ * and only at the sample size needed to display it.
+ *
+ * Tiles are stored in the bitmap cache and any cached tile at least as fine as a request is reused
+ * to satisfy it. The whole image also has a single tile preview level, coarse enough to be decoded
+ * quickly and shown while the finer tiles are decoded.
+ *
+ * Tiles are owned by the cache and never recycled, a {@link TiledFilterResult} keeps the tiles it
+ * draws reachable after they are evicted.
+ */
+class TiledImageDecoder {
+    private static final String TAG = "TiledImageDecoder";
+
+    /**
+     * Size of a decoded tile, in decoded pixels.
+     */
+    @VisibleForTesting
+    static final int TILE_SIZE = 256;
+
+    private final String mUrl;
+    private final File mFile;
+    private final int mWidth;
+    private final int mHeight;
+    private final IBitmapCache mBitmapCache;
+    private final int mPreviewSampleSize;
+
+    // Guarded by this.
+    private BitmapRegionDecoder mDecoder;
+    // The encoded image the open decoder holds, read without the lock by the cache governor.
+    private volatile long mEncodedBytes;
+    // Formats BitmapRegionDecoder does not support are decoded whole, as a single tile.
+    private volatile boolean mIsRegionDecodingSupported = true;
+    // Decodes submitted and not yet finished, the native decoder is only closed once they drain.
+    private final AtomicInteger mPendingDecodes = new AtomicInteger();
+    private volatile boolean mRetired;
+
+    TiledImageDecoder(@NonNull String url, @NonNull File file, int width, int height, @NonNull IBitmapCache bitmapCache) {
+        mUrl = url;
+        mFile = file;
+        mWidth = width;
+        mHeight = height;
+        mBitmapCache = bitmapCache;
+        int previewSampleSize = 1;
+        while (Math.max(width, height) > TILE_SIZE * previewSampleSize) {
+            previewSampleSize <<= 1;
+        }
+        mPreviewSampleSize = previewSampleSize;
+    }
+
+    /**
+     * @return the sample size at which the whole image fits in a single tile.
+     */
+    int getPreviewSampleSize() {
+        return mPreviewSampleSize;
+    }
+
+    /**
+     * Finds cached tiles covering the region at {@code sampleSize} or any finer sample size.
+     *
+     * @return the cached region, or null if it has to be decoded.
+     */
+    @Nullable
+    TiledFilterResult findCached(@NonNull Rect region, int sampleSize, @NonNull IBitmapFactory bitmapFactory) {
+        for (int level = sampleSize; level >= 1; level >>= 1) {
+            TiledFilterResult result = collect(region, level, bitmapFactory);
+            if (result != null) {
+                return result;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Finds cached tiles covering the region at a sample size coarser than {@code sampleSize}, to
+     * be shown until the region is decoded at {@code sampleSize}.
+     *
+     * @return the cached preview, or null if there is none.
+     */
+    @Nullable
+    TiledFilterResult findPreview(@NonNull Rect region, int sampleSize, @NonNull IBitmapFactory bitmapFactory) {
+        for (int level = sampleSize << 1; level <= mPreviewSampleSize; level <<= 1) {
+            TiledFilterResult result = collect(region, level, bitmapFactory);
+            if (result != null) {
+                return result;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Decodes the tiles covering the region at {@code sampleSize} which are not already cached.
+     * Called on a worker thread.
+     *
+     * @return the decoded region.
+     * @throws IOException if the image could not be decoded.
+     */
+    @NonNull
+    TiledFilterResult decode(@NonNull Rect region, int sampleSize, @NonNull IBitmapFactory bitmapFactory) throws IOException {
+        try {
+            return decodeTiles(region, sampleSize, bitmapFactory);
+        } catch (IOException e) {
+            if (!mIsRegionDecodingSupported) {
+                throw e;
+            }
+            // BitmapRegionDecoder has some known issues and only supports some formats so keeping
+            // BitmapFactory as the fallback decoder: https://issuetracker.google.com/issues/37006509
+            Log.w(TAG, "Region decoding failed for " + mUrl + ", decoding whole image", e);
+            mIsRegionDecodingSupported = false;
+            return decodeTiles(region, sampleSize, bitmapFactory);
+        }
+    }
+
+    private TiledFilterResult decodeTiles(Rect region, int sampleSize, IBitmapFactory bitmapFactory) throws IOException {
+        List<Rect> tileRegions = getTileRegions(region, sampleSize);
+        List<Bitmap> tiles = new ArrayList<>(tileRegions.size());
+        for (Rect tileRegion : tileRegions) {
+            tiles.add(decodeTile(tileRegion, sampleSize));
+        }
+        return new TiledFilterResult(tiles, tileRegions, region, sampleSize, bitmapFactory);
+    }
+
+    /**
+     * Records a decode submitted for this decoder. Each call is balanced by {@link #endDecode()}
+     * once the decode has run, or was not submitted.
+     */
+    void beginDecode() {
+        mPendingDecodes.incrementAndGet();
+    }
+
+    /**
+     * Records the end of a decode, closing the native decoder if it was retired while the decode
+     * was pending.
+     */
+    void endDecode() {
+        if (mPendingDecodes.decrementAndGet() == 0 && mRetired) {
+            close();
+        }
+    }
+
+    /**
+     * Closes the native decoder once the pending decodes drain. No decode may begin afterwards.
+     */
+    void retire() {
+        mRetired = true;
+        if (mPendingDecodes.get() == 0) {
+            close();
+        }
+    }
+
+    /**
+     * Releases the native decoder. A later decode reopens it.
+     */
+    synchronized void close() {
+        if (mDecoder != null) {
+            mDecoder.recycle();
+            mDecoder = null;
+            mEncodedBytes = 0;
+        }
+    }
+
+    /**
+     * @return an estimate of the memory held by the open decoder, in bytes.
+     */
+    long getEstimatedBytes() {
+        return mEncodedBytes;
+    }
+
+    /**
+     * @return the regions of the source image of the tiles intersecting {@code region} at {@code sampleSize}.
+     */
+    @VisibleForTesting
+    List<Rect> getTileRegions(@NonNull Rect region, int sampleSize) {
+        int tileSourceSize = mIsRegionDecodingSupported ? TILE_SIZE * sampleSize : Math.max(mWidth, mHeight);
+        int firstColumn = Math.max(0, region.left) / tileSourceSize;
+        int lastColumn = (Math.min(mWidth, region.right) - 1) / tileSourceSize;
+        int firstRow = Math.max(0, region.top) / tileSourceSize;
+        int lastRow = (Math.min(mHeight, region.bottom) - 1) / tileSourceSize;
+
+        List<Rect> tileRegions = new ArrayList<>((lastColumn - firstColumn + 1) * (lastRow - firstRow + 1));
+        for (int row = firstRow; row <= lastRow; row++) {
+            for (int column = firstColumn; column <= lastColumn; column++) {
+                tileRegions.add(new Rect(
+                        column * tileSourceSize,
+                        row * tileSourceSize,
+                        Math.min(mWidth, (column + 1) * tileSourceSize),
+                        Math.min(mHeight, (row + 1) * tileSourceSize)));
+            }
+        }
+        return tileRegions;
+    }
+
+    @Nullable
+    private TiledFilterResult collect(Rect region, int sampleSize, IBitmapFactory bitmapFactory) {
+        List<Rect> tileRegions = getTileRegions(region, sampleSize);
+        List<Bitmap> tiles = new ArrayList<>(tileRegions.size());
+        for (Rect tileRegion : tileRegions) {
+            Bitmap tile = mBitmapCache.getBitmap(DecodedImageBitmapKey.create(mUrl, tileRegion, sampleSize));
+            if (tile == null) {
+                return null;
+            }
+            tiles.add(tile);
+        }
+        return new TiledFilterResult(tiles, tileRegions, region, sampleSize, bitmapFactory);
+    }
+
+    private synchronized Bitmap decodeTile(Rect tileRegion, int sampleSize) throws IOException {
+        // Another request may have decoded this tile while we were waiting.
+        DecodedImageBitmapKey key = DecodedImageBitmapKey.create(mUrl, tileRegion, sampleSize);
+        Bitmap tile = mBitmapCache.getBitmap(key);
+        if (tile != null) {
+            return tile;
+        }
+
+        BitmapFactory.Options decodeOptions = new BitmapFactory.Options();
+        decodeOptions.inSampleSize = sampleSize;
+        if (mIsRegionDecodingSupported) {
+            tile = ensureDecoder().decodeRegion(tileRegion, decodeOptions);
+        } else {
+            tile = decodeWhole(decodeOptions);
+        }
+
+        if (tile == null) {
+            throw new IOException("Unable to decode tile " + tileRegion + " of " + mUrl);
+        }
+        mBitmapCache.putBitmap(key, tile);
+        return tile;
+    }
+
+    private BitmapRegionDecoder ensureDecoder() throws IOException {
+        if (mDecoder == null) {
+            try (FileInputStream fis = new FileInputStream(mFile)) {
+                mDecoder = BitmapRegionDecoder.newInstance(fis, false);
+                mEncodedBytes = mFile.length();
+            }
+        }
+        return mDecoder;
+    }
+
+    private Bitmap decodeWhole(BitmapFactory.Options decodeOptions) throws IOException {
+        try (FileInputStream fis = new FileInputStream(mFile)) {
+            return BitmapFactory.decodeStream(fis, null, decodeOptions);
+        }
+    }
+}
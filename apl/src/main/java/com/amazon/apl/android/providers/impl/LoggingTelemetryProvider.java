@@ -14,9 +14,14 @@ import com.amazon.apl.android.providers.ITelemetryProvider;
 import com.amazon.apl.android.utils.MetricInfo;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
 
 /**
  * Simple Telemetry provider that logs results when document is complete.
@@ -30,25 +35,63 @@ public class LoggingTelemetryProvider implements ITelemetryProvider {
     private static final String TIMER_TOTAL_LOG = "  total:";
     private static final String MS_LOG = "ms";
 
-    // collection of metrics in use
-    private final List<Metric> mMetrics = Collections.synchronizedList(new ArrayList<>());
-    private final List<String> mIds = Collections.synchronizedList(new ArrayList<>());
+    private static final int INITIAL_CAPACITY = 64;
+
+    // Metric names are interned, so repeated createMetricId calls for a name share one slot and
+    // the registry only grows with the number of distinct metrics.
+    private final ConcurrentHashMap<String, Integer> mIds = new ConcurrentHashMap<>();
+    private final Object mCreateLock = new Object();
+    // Grown under mCreateLock and republished. Written before mMetricCount so that readers which
+    // see a count also see the slots below it.
+    private volatile Slot[] mSlots = new Slot[INITIAL_CAPACITY];
+    private volatile int mMetricCount = 0;
 
     @Override
-    public synchronized int createMetricId(String domain, String metricName, Type type) {
-        // Add an identifier to the known identifier list and
-        // return the location in the metrics collection
-        Metric metric = new Metric();
-        metric.metricName = idOf(domain, metricName);
-        int index = mMetrics.size();
-        mMetrics.add(metric);
-        mIds.add(index, metric.metricName);
-        return index;
+    public int createMetricId(String domain, String metricName, Type type) {
+        final String id = idOf(domain, metricName);
+        Integer index = mIds.get(id);
+        if (index != null) {
+            return index;
+        }
+
+        synchronized (mCreateLock) {
+            index = mIds.get(id);
+            if (index != null) {
+                return index;
+            }
+            int count = mMetricCount;
+            Slot[] slots = mSlots;
+            if (count == slots.length) {
+                slots = Arrays.copyOf(slots, count * 2);
+            }
+            slots[count] = new Slot(id);
+            mSlots = slots;
+            mMetricCount = count + 1;
+            mIds.put(id, count);
+            return count;
+        }
     }
 
     @Override
-    public synchronized int getMetricId(String domain, String metricName) {
-        return mIds.indexOf(idOf(domain, metricName));
+    public int getMetricId(String domain, String metricName) {
+        Integer index = mIds.get(idOf(domain, metricName));
+        return index == null ? UNKNOWN_METRIC_ID : index;
+    }
+
+    /**
+     * Looks up a metric slot without taking a lock.
+     *
+     * @param metricId The metric identifier.
+     * @return the metric.
+     * @throws IndexOutOfBoundsException if the metric has not been created.
+     */
+    private Slot slot(int metricId) {
+        // Read the count first, the slots it covers are guaranteed to be published.
+        int count = mMetricCount;
+        if (metricId < 0 || metricId >= count) {
+            throw new IndexOutOfBoundsException("Unknown metric id: " + metricId);
+        }
+        return mSlots[metricId];
     }
 
     /**
@@ -63,18 +106,17 @@ public class LoggingTelemetryProvider implements ITelemetryProvider {
     }
 
     @Override
-    public synchronized void reportTimer(int metricId, TimeUnit timeUnit, long time) {
-        Metric metric = mMetrics.get(metricId);
-        metric.totalTime = timeUnit.toNanos(time); // Convert to nanos
-        final long totalTimeMillis = TimeUnit.MILLISECONDS.convert(metric.totalTime,
-                TimeUnit.NANOSECONDS);
+    public void reportTimer(int metricId, TimeUnit timeUnit, long time) {
+        Slot slot = slot(metricId);
+        final long totalTime = timeUnit.toNanos(time); // Convert to nanos
+        slot.totalTime.set(totalTime);
+        slot.addSuccess(1);
+        slot.run.set(null); // reset time
+        final long totalTimeMillis = TimeUnit.MILLISECONDS.convert(totalTime, TimeUnit.NANOSECONDS);
         // This will log a line in Logcat of the form:
         // I/TelemetryReport: Recording timer: APL-Android-Debug.renderDocument - total:61ms
-        Log.i(TAG, String.format("Recording timer: %s -%s%d%s", metric.metricName, TIMER_TOTAL_LOG,
+        Log.i(TAG, String.format("Recording timer: %s -%s%d%s", slot.name, TIMER_TOTAL_LOG,
                 totalTimeMillis, MS_LOG));
-        metric.success++;
-        metric.seedTime = 0;
-        metric.startTime = 0; // reset time
     }
 
     /**
@@ -84,7 +126,7 @@ public class LoggingTelemetryProvider implements ITelemetryProvider {
      * @param metricId The metric identifier.
      */
     @Override
-    public synchronized void startTimer(int metricId) {
+    public void startTimer(int metricId) {
         startTimer(metricId, TimeUnit.NANOSECONDS, 0);
     }
 
@@ -97,12 +139,10 @@ public class LoggingTelemetryProvider implements ITelemetryProvider {
      * @param initialElapsedTime The initial elapsed time.
      */
     @Override
-    public synchronized void startTimer(int metricId, TimeUnit timeUnit, long initialElapsedTime) {
-        Metric metric = mMetrics.get(metricId);
-
-        if (metric.startTime == 0) {
-            metric.startTime = realtimeNanos();
-            metric.seedTime = timeUnit.toNanos(initialElapsedTime);
+    public void startTimer(int metricId, TimeUnit timeUnit, long initialElapsedTime) {
+        Slot slot = slot(metricId);
+        if (slot.run.get() == null) {
+            slot.run.compareAndSet(null, new Run(realtimeNanos(), timeUnit.toNanos(initialElapsedTime)));
         }
     }
 
@@ -113,7 +153,7 @@ public class LoggingTelemetryProvider implements ITelemetryProvider {
      * @param metricId The metric identifier.
      */
     @Override
-    public synchronized void stopTimer(int metricId) {
+    public void stopTimer(int metricId) {
         long endTime = realtimeNanos();
         stopTimer(metricId, TimeUnit.NANOSECONDS, endTime);
     }
@@ -126,21 +166,20 @@ public class LoggingTelemetryProvider implements ITelemetryProvider {
      * @param endTime   The time to stop the timer at.
      */
     @Override
-    public synchronized void stopTimer(int metricId, TimeUnit timeUnit, long endTime) {
-        Metric metric = mMetrics.get(metricId);
-        if (metric.startTime != 0) {
-            metric.totalTime += timeUnit.toNanos(endTime) - (metric.startTime - metric.seedTime);
-            metric.success++;
-            final long totalTimeMillis = TimeUnit.MILLISECONDS.convert(metric.totalTime,
-                    TimeUnit.NANOSECONDS);
-            // This will log a line in Logcat of the form:
-            // I/TelemetryReport: Stopping timer: APL-Android-Debug.renderDocument - total:61ms
-            Log.i(TAG, String.format("Stopping timer: %s -%s%d%s", metric.metricName, TIMER_TOTAL_LOG,
-                    totalTimeMillis, MS_LOG));
-
-            metric.seedTime = 0;
-            metric.startTime = 0; // reset time
+    public void stopTimer(int metricId, TimeUnit timeUnit, long endTime) {
+        Slot slot = slot(metricId);
+        Run run = slot.run.getAndSet(null); // reset time
+        if (run == null) {
+            return;
         }
+        final long totalTime = slot.totalTime.addAndGet(
+                timeUnit.toNanos(endTime) - (run.startTime - run.seedTime));
+        slot.addSuccess(1);
+        final long totalTimeMillis = TimeUnit.MILLISECONDS.convert(totalTime, TimeUnit.NANOSECONDS);
+        // This will log a line in Logcat of the form:
+        // I/TelemetryReport: Stopping timer: APL-Android-Debug.renderDocument - total:61ms
+        Log.i(TAG, String.format("Stopping timer: %s -%s%d%s", slot.name, TIMER_TOTAL_LOG,
+                totalTimeMillis, MS_LOG));
     }
 
     /**
@@ -150,12 +189,12 @@ public class LoggingTelemetryProvider implements ITelemetryProvider {
      * @param metricId The metric identifier.
      */
     @Override
-    public synchronized void fail(int metricId) {
-        Metric metric = mMetrics.get(metricId);
-        metric.fail++;
-        metric.startTime = 0;  // end timer
-        Log.i(TAG, String.format("Incrementing counter: %s by 1 -%s%d", metric.metricName, FAIL_LOG,
-                metric.fail));
+    public void fail(int metricId) {
+        Slot slot = slot(metricId);
+        final int fail = slot.fail.incrementAndGet();
+        slot.run.set(null);  // end timer
+        Log.i(TAG, String.format("Incrementing counter: %s by 1 -%s%d", slot.name, FAIL_LOG,
+                fail));
     }
 
     /**
@@ -164,23 +203,23 @@ public class LoggingTelemetryProvider implements ITelemetryProvider {
      * @param metricId The metric identifier.
      */
     @Override
-    public synchronized void incrementCount(int metricId) {
+    public void incrementCount(int metricId) {
         incrementCount(metricId, 1);
     }
 
     @Override
-    public synchronized void incrementCount(int metricId, int by) {
-        Metric metric = mMetrics.get(metricId);
-        metric.success += by;
-        Log.i(TAG, String.format("Incrementing counter: %s by %d%s%f", metric.metricName, by, COUNT_LOG,
-                metric.success));
+    public void incrementCount(int metricId, int by) {
+        Slot slot = slot(metricId);
+        final double success = slot.addSuccess(by);
+        Log.i(TAG, String.format("Incrementing counter: %s by %d%s%f", slot.name, by, COUNT_LOG,
+                success));
     }
 
     @Override
-    public synchronized void incrementCount(int metricId, double by) {
-        Metric metric = mMetrics.get(metricId);
-        metric.success += by;
-        Log.i(TAG, String.format("Incrementing counter: %s by %f%s%f", metric.metricName, by, COUNT_LOG, metric.success));
+    public void incrementCount(int metricId, double by) {
+        Slot slot = slot(metricId);
+        final double success = slot.addSuccess(by);
+        Log.i(TAG, String.format("Incrementing counter: %s by %f%s%f", slot.name, by, COUNT_LOG, success));
     }
 
     /**
@@ -192,14 +231,17 @@ public class LoggingTelemetryProvider implements ITelemetryProvider {
     }
 
     /**
-     * Log metrics to standard out and reset all values.
+     * Log metrics to standard out and reset all values. Metric ids stay valid, so callers that
+     * cached an id keep recording into the same metric for the next document.
      */
     @SuppressLint("DefaultLocale")
     private void logAndResetMetrics() {
-        for (int i = 0; i < mMetrics.size(); i++) {
+        final int count = mMetricCount;
+        final Slot[] slots = mSlots;
+        for (int i = 0; i < count; i++) {
             StringBuilder builder = new StringBuilder();
 
-            Metric metric = mMetrics.get(i);
+            Metric metric = slots[i].takeMetric();
             // add use data
             builder.append(metric.metricName)
                     .append(COUNT_LOG).append(metric.success)
@@ -213,17 +255,10 @@ public class LoggingTelemetryProvider implements ITelemetryProvider {
                         TimeUnit.NANOSECONDS);
                 builder.append(TIMER_TOTAL_LOG).append(totalTime).append(MS_LOG);
                 builder.append(TIMER_AVG_LOG).append(avgTime).append(MS_LOG);
-                metric.totalTime = 0;
             }
-            metric.success = 0;
-            metric.fail = 0;
 
             Log.i(TAG, builder.toString());
         }
-
-        // Clear metrics
-        mMetrics.clear();
-        mIds.clear();
     }
 
     @VisibleForTesting
@@ -233,6 +268,8 @@ public class LoggingTelemetryProvider implements ITelemetryProvider {
 
     /**
      * Simplistic Metric class that tracks success and average time for success.
+     *
+     * A Metric is a copy of the values recorded for a metric at the time it was made.
      */
     public class Metric {
         public String metricName;
@@ -243,14 +280,101 @@ public class LoggingTelemetryProvider implements ITelemetryProvider {
         public int fail = 0;
     }
 
+    /**
+     * A timer that is running, replaced as a whole so that its start and seed are read together.
+     */
+    private static final class Run {
+        final long startTime;
+        final long seedTime;
+
+        Run(long startTime, long seedTime) {
+            this.startTime = startTime;
+            this.seedTime = seedTime;
+        }
+    }
+
+    /**
+     * The values recorded for a metric. Each value is updated atomically without a lock, so
+     * recording never blocks, not even against a snapshot.
+     */
+    private final class Slot {
+        final String name;
+        final AtomicReference<Run> run = new AtomicReference<>();
+        final AtomicLong totalTime = new AtomicLong();
+        // The bits of a double, as there is no atomic double on every supported API level.
+        final AtomicLong successBits = new AtomicLong(Double.doubleToRawLongBits(0));
+        final AtomicInteger fail = new AtomicInteger();
+
+        Slot(String name) {
+            this.name = name;
+        }
+
+        /**
+         * @return the success count after adding to it.
+         */
+        double addSuccess(double by) {
+            while (true) {
+                long bits = successBits.get();
+                double success = Double.longBitsToDouble(bits) + by;
+                if (successBits.compareAndSet(bits, Double.doubleToRawLongBits(success))) {
+                    return success;
+                }
+            }
+        }
+
+        Metric toMetric() {
+            Metric metric = new Metric();
+            metric.metricName = name;
+            Run current = run.get();
+            if (current != null) {
+                metric.startTime = current.startTime;
+                metric.seedTime = current.seedTime;
+            }
+            metric.totalTime = totalTime.get();
+            metric.success = Double.longBitsToDouble(successBits.get());
+            metric.fail = fail.get();
+            return metric;
+        }
+
+        /**
+         * Copies the values and resets them, each value atomically.
+         */
+        Metric takeMetric() {
+            Metric metric = new Metric();
+            metric.metricName = name;
+            run.set(null);
+            metric.totalTime = totalTime.getAndSet(0);
+            metric.success = Double.longBitsToDouble(successBits.getAndSet(Double.doubleToRawLongBits(0)));
+            metric.fail = fail.getAndSet(0);
+            return metric;
+        }
+    }
+
     /**
      * Get the simple metric model associated with the metric Id.
      *
      * @param id The metric Id obtained from {@link #getMetricId(String, String)}.
-     * @return the metric model.
+     * @return a copy of the values recorded for the metric so far.
      */
     public Metric getMetric(int id) {
-        return mMetrics.get(id);
+        return slot(id).toMetric();
+    }
+
+    /**
+     * Copies the current value of every metric without blocking recording. Each value is read
+     * atomically, but neither a metric nor the snapshot as a whole is atomic with respect to
+     * concurrent recording.
+     *
+     * @return A copy of all metrics, in metric id order.
+     */
+    public List<Metric> snapshot() {
+        final int count = mMetricCount;
+        final Slot[] slots = mSlots;
+        List<Metric> snapshot = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            snapshot.add(slots[i].toMetric());
+        }
+        return snapshot;
     }
 
     /**
@@ -258,9 +382,9 @@ public class LoggingTelemetryProvider implements ITelemetryProvider {
      *
      * @return A Thread safe List of performance metrics.
      */
-    public synchronized List<MetricInfo> getPerformanceMetrics() {
+    public List<MetricInfo> getPerformanceMetrics() {
         List<MetricInfo> copyOfMetrics = Collections.synchronizedList(new ArrayList<>());
-        for (Metric metric: mMetrics){
+        for (Metric metric : snapshot()) {
             MetricInfo metricInfo;
             if (metric.totalTime > 0 && metric.success > 0) {
                 metricInfo = new MetricInfo(metric.metricName, (double) TimeUnit.MILLISECONDS.convert(metric.totalTime, TimeUnit.NANOSECONDS));
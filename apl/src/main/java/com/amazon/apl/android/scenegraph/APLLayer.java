@@ -29,6 +29,9 @@ import com.amazon.apl.android.sgcontent.Node;
 import com.amazon.apl.android.sgcontent.Path;
 import com.amazon.apl.android.sgcontent.Shadow;
 import com.amazon.apl.android.utils.AccessibilitySettingsUtil;
+import com.amazon.apl.android.views.APLView;
+
+import java.util.concurrent.atomic.AtomicInteger;
 
 public class APLLayer {
     private long mCoreLayerHandle = 0;
@@ -40,6 +43,12 @@ public class APLLayer {
     private android.graphics.Path mOutlinePath;
     private android.graphics.Path mClipPath;
     private android.graphics.RectF mBounds;
+    // Geometry read by layout and drawing, kept on the Java side and refreshed when it changes.
+    private SGRect mLayerBounds;
+    private Point<Float> mChildOffset;
+    private Matrix mTransform;
+    // Changes whenever the content of the layer changes, so that recordings of it are replaced.
+    private final AtomicInteger mContentGeneration = new AtomicInteger();
 
     public APLLayer(RenderingContext renderingContext) {
         mRenderingContext = renderingContext;
@@ -76,7 +85,20 @@ public class APLLayer {
     }
 
     public void forceUpdate() {
-        mChildView.postInvalidate();
+        mContentGeneration.incrementAndGet();
+        if (mChildView instanceof APLView) {
+            APLView view = (APLView) mChildView;
+            view.post(view::recordContent);
+        } else {
+            mChildView.postInvalidate();
+        }
+    }
+
+    /**
+     * @return the generation of the content of this layer, which changes whenever it changes.
+     */
+    public int getContentGeneration() {
+        return mContentGeneration.get();
     }
 
     /**
@@ -99,13 +121,20 @@ public class APLLayer {
             kFlagAccessibilityChanged = 1u << 10,
             kFlagInteractionChanged = 1u << 11
         */
+            // Views are invalidated once, after all the flags are applied. Changes to the content
+            // of the layer only invalidate its own view, so only its display list is recorded again.
+            boolean invalidateView = false;
+            boolean contentChanged = false;
+            // Transforms and shadows are drawn by the parent.
+            boolean invalidateParent = false;
+
             if ((flags & 1) != 0) {
                 fixOpacity();
             }
 
             if ((flags & 2) != 0) { // position
                 fixBounds();
-                mChildView.invalidate();
+                invalidateView = true;
             }
 
             if ((flags & 4) != 0) { // size
@@ -114,25 +143,35 @@ public class APLLayer {
             }
 
             if ((flags & 8) != 0) { // transform
-                fixTransform(); // invalidates parent
+                fixTransform();
+                if (mChildView instanceof APLView && ((APLView) mChildView).applyTransform()) {
+                    // Applied as a property of the view, neither view is recorded again.
+                } else {
+                    invalidateParent = true;
+                    // needed on FOS5 for static transform to be applied on hw layer
+                    invalidateView = true;
+                }
             }
 
             if ((flags & 16) != 0) { // child offset
+                fixChildOffset();
                 mChildView.requestLayout();
             }
 
             if ((flags & 36) != 0) { // outline (32), or size (4) changed
                 fixOutlinePath();
-                mChildView.invalidate();
+                invalidateView = true;
             }
 
-            if ((flags & 64) != 0) { // redraw content
-                mChildView.invalidate();
+            if ((flags & 68) != 0) { // redraw content (64), or size (4) changed
+                mContentGeneration.incrementAndGet();
+                contentChanged = true;
+                invalidateView = true;
             }
 
             if ((flags & 164) != 0) { // shadow (128), outline (32), or size (4) changed
                 fixShadow();
-                invalidateParentView(); // layer shadow are drawn in the parent view
+                invalidateParent = true; // layer shadow are drawn in the parent view
             }
 
             if ((flags & 256) != 0) { // children changed
@@ -141,7 +180,7 @@ public class APLLayer {
 
             if ((flags & 546) != 0) { // child clip changed (512), outline (32), or size (4) changed
                 fixClipPath();
-                mChildView.invalidate();
+                invalidateView = true;
             }
 
             if ((flags & 1024) != 0) { // accessibility changed
@@ -152,6 +191,17 @@ public class APLLayer {
             if ((flags & 2048) != 0) { // interaction changed
                 // TODO: what properties is this for?
             }
+
+            if (contentChanged && mChildView instanceof APLView) {
+                // Copy the content while the scene graph is updated, and record it on a worker.
+                ((APLView) mChildView).prepareContent();
+            }
+            if (invalidateView) {
+                mChildView.invalidate();
+            }
+            if (invalidateParent) {
+                invalidateParentView();
+            }
         } finally {
             Trace.endSection();
         }
@@ -162,6 +212,7 @@ public class APLLayer {
         fixBounds();
         fixOpacity();
         fixTransform();
+        fixChildOffset();
         fixOutlinePath();
         fixClipPath();
         // Shadow uses Bounds/Outline so must be updated after those are updated
@@ -178,7 +229,11 @@ public class APLLayer {
 
     private void fixBounds() {
         SGRect bounds = SGRect.create(nGetBounds(mCoreLayerHandle));
-        mBounds = new android.graphics.RectF(0, 0, bounds.getWidth(), bounds.getHeight());
+        mLayerBounds = bounds;
+        if (mBounds == null) {
+            mBounds = new android.graphics.RectF();
+        }
+        mBounds.set(0, 0, bounds.getWidth(), bounds.getHeight());
     }
 
     private void fixOutlinePath() {
@@ -233,13 +288,22 @@ public class APLLayer {
     }
 
     public Point getChildOffset() {
+        if (mChildOffset == null) {
+            fixChildOffset();
+        }
+        return mChildOffset;
+    }
+
+    private void fixChildOffset() {
         float[] offset = nGetChildOffset(mCoreLayerHandle);
-        Point<Float> offsetPoint = new Point<>(offset[0], offset[1]);
-        return offsetPoint;
+        mChildOffset = new Point<>(offset[0], offset[1]);
     }
 
     public SGRect getBounds() {
-        return SGRect.create(nGetBounds(mCoreLayerHandle));
+        if (mLayerBounds == null) {
+            mLayerBounds = SGRect.create(nGetBounds(mCoreLayerHandle));
+        }
+        return mLayerBounds;
     }
 
     public RectF getBoundsRect() {
@@ -255,11 +319,21 @@ public class APLLayer {
     }
 
 
+    /**
+     * @return a copy of the transform of the layer.
+     */
     public Matrix getTransform() {
-        Matrix m = new Matrix();
-        float[] toMatrix = toMatrix(nGetLayerTransform(mCoreLayerHandle));
-        m.setValues(toMatrix);
-        return m;
+        if (mTransform == null) {
+            fixTransform();
+        }
+        return new Matrix(mTransform);
+    }
+
+    private void fixTransform() {
+        if (mTransform == null) {
+            mTransform = new Matrix();
+        }
+        mTransform.setValues(toMatrix(nGetLayerTransform(mCoreLayerHandle)));
     }
 
     public String getName() {
@@ -359,15 +433,6 @@ public class APLLayer {
         return nIsHorizontallyScrollable(mCoreLayerHandle) || nIsVerticallyScrollable(mCoreLayerHandle);
     }
 
-    private void fixTransform() {
-        if (mChildView != null) {
-            invalidateParentView();
-
-            // needed on FOS5 for static transform to be applied on hw layer
-            mChildView.invalidate();
-        }
-    }
-
     private void invalidateParentView() {
         if (mChildView != null) {
             ViewParent parent = mChildView.getParent();
@@ -7,7 +7,6 @@ import android.graphics.BitmapShader;
 import android.graphics.BlurMaskFilter;
 import android.graphics.Canvas;
 import android.graphics.DashPathEffect;
-import android.graphics.LinearGradient;
 import android.graphics.Matrix;
 import android.graphics.Paint;
 import android.graphics.Path;
@@ -16,7 +15,6 @@ import android.graphics.PointF;
 import android.graphics.PorterDuff;
 import android.graphics.PorterDuffColorFilter;
 import android.graphics.PorterDuffXfermode;
-import android.graphics.RadialGradient;
 import android.graphics.Rect;
 import android.graphics.Region;
 import android.graphics.Shader;
@@ -41,14 +39,15 @@ import com.amazon.apl.android.media.MediaObject;
 import com.amazon.apl.android.primitive.Dimension;
 import com.amazon.apl.android.bitmap.BitmapKey;
 import com.amazon.apl.android.graphic.ImageNodeBitmapKey;
+import com.amazon.apl.android.graphic.ShaderCache;
 import com.amazon.apl.android.image.filters.bitmap.BitmapFilterResult;
 import com.amazon.apl.android.image.filters.bitmap.FilterResult;
+import com.amazon.apl.android.image.filters.bitmap.TiledFilterResult;
 import com.amazon.apl.android.image.filters.bitmap.Size;
 import com.amazon.apl.android.primitive.SGRRect;
 import com.amazon.apl.android.primitive.SGRect;
 import com.amazon.apl.android.scenegraph.APLLayer;
 import com.amazon.apl.android.scenegraph.text.APLTextLayout;
-import com.amazon.apl.android.scenegraph.text.APLTextProperties;
 import com.amazon.apl.android.sgcontent.filters.Filter;
 import com.amazon.apl.android.sgcontent.Node;
 import com.amazon.apl.android.sgcontent.PathOp;
@@ -136,7 +135,7 @@ public class APLRender {
             case "Text": {
                 APLTextLayout textLayout = node.getAplTextLayout();
                 if (textLayout != null) {
-                    APLTextProperties textProperties = textLayout.getTextProperties();
+                    ITextProxy textProperties = textLayout.getTextProperties();
                     try {
                         Layout androidTextLayout = textLayout.getLayout();
                         PathOp pathOp = node.getOp();
@@ -184,8 +183,8 @@ public class APLRender {
                     Rect sRect = source == null ? null : new Rect(source.intLeft(), source.intTop(), source.intRight(), source.intBottom());
 
                     BitmapKey filterKey = buildFilterKey(filter, sRect, targetSize);
-                    if (target.getHeight() > 0 && target.getWidth() > 0 && (node.mFilterKey == null || !node.mFilterKey.equals(filterKey))) {
-
+                    if (target.getHeight() > 0 && target.getWidth() > 0) {
+                        if (node.mFilterKey == null || !node.mFilterKey.equals(filterKey)) {
                             Bitmap filteredBitmap = renderingContext.getBitmapCache().getBitmap(filterKey);
                             if (filteredBitmap != null) {
                                drawBitmap(canvas, filteredBitmap, target);
@@ -195,15 +194,20 @@ public class APLRender {
                                 if (filterResultFuture.isDone()) {
                                     try {
                                         FilterResult filterResult = filterResultFuture.get();
-                                        drawBitmap(canvas, filterResult.getBitmap(targetSize), target);
+                                        drawFilterResult(canvas, filterResult, targetSize, target);
                                     } catch (InterruptedException | ExecutionException ex) {
                                         // These checked exceptions should not happen for cached results
                                         Log.wtf(TAG, "Unexpected exception with cached filter processing result", ex);
                                     }
                                 } else {
+                                    drawFilterPreview(aplLayer, renderingContext, canvas, filter, sRect, targetSize, target, true);
                                     waitForFilterResult(aplLayer, renderingContext, filterResultFuture, filterKey, targetSize, node);
                                 }
                             }
+                        } else {
+                            // Still waiting for the filter result, keep showing the preview if there is one.
+                            drawFilterPreview(aplLayer, renderingContext, canvas, filter, sRect, targetSize, target, false);
+                        }
                     }
                 }
                 drawNodeChildren(aplLayer, renderingContext, node, opacity, canvas);
@@ -271,6 +275,53 @@ public class APLRender {
         canvas.drawBitmap(filteredBitmap, null, tRect, sBitmapPaint);
     }
 
+    private static void drawFilterResult(Canvas canvas, FilterResult filterResult, Size targetSize, SGRect target) {
+        if (filterResult instanceof TiledFilterResult) {
+            // Draw the tiles directly rather than stitching them into a copy first.
+            RectF tRect = new RectF(target.getLeft(), target.getTop(), target.getRight(), target.getBottom());
+            ((TiledFilterResult) filterResult).draw(canvas, tRect, sBitmapPaint);
+        } else {
+            drawBitmap(canvas, filterResult.getBitmap(targetSize), target);
+        }
+    }
+
+    /**
+     * Draws a coarse preview of an image while its bitmap is being decoded.
+     *
+     * @param redrawWhenReady whether to redraw the layer once a pending preview is decoded
+     */
+    private static void drawFilterPreview(APLLayer aplLayer, RenderingContext renderingContext, Canvas canvas, Filter filter, Rect sRect, Size targetSize, SGRect target, boolean redrawWhenReady) {
+        final Future<FilterResult> previewFuture = renderingContext.getImageFilterProcessor().requestPreview(renderingContext, filter, sRect, targetSize);
+        if (previewFuture == null) {
+            return;
+        }
+
+        if (previewFuture.isDone()) {
+            try {
+                FilterResult preview = previewFuture.get();
+                if (preview != null) {
+                    drawFilterResult(canvas, preview, targetSize, target);
+                }
+            } catch (InterruptedException | ExecutionException ex) {
+                Log.wtf(TAG, "Unexpected exception with cached filter preview", ex);
+            }
+        } else if (redrawWhenReady) {
+            try {
+                Threading.THREAD_POOL_EXECUTOR.submit(() -> {
+                    try {
+                        previewFuture.get();
+                    } catch (InterruptedException | ExecutionException ex) {
+                        Log.e(TAG, "Exception in filter preview task", ex);
+                    } finally {
+                        aplLayer.forceUpdate();
+                    }
+                });
+            } catch (RejectedExecutionException ex) {
+                Log.e(TAG, "Exception submitting filter preview task", ex);
+            }
+        }
+    }
+
     private static BitmapKey buildFilterKey(Filter filter, Rect sourceRegion, Size targetSize) {
         return ImageNodeBitmapKey.create(filter, sourceRegion, targetSize);
     }
@@ -532,11 +583,11 @@ public class APLRender {
                 break;
             }
             case "LinearGradient": {
-                applyLinearGradient(paint, sgPaint, bounds);
+                applyLinearGradient(renderingContext.getShaderCache(), paint, sgPaint, bounds);
                 break;
             }
             case "RadialGradient": {
-                applyRadialGradient(paint, sgPaint, bounds);
+                applyRadialGradient(renderingContext.getShaderCache(), paint, sgPaint, bounds);
                 break;
             }
         }
@@ -642,7 +693,7 @@ public class APLRender {
         }
     }
 
-    private static void applyLinearGradient(Paint paint, com.amazon.apl.android.sgcontent.Paint sgPaint, @Nullable Rect bounds) {
+    private static void applyLinearGradient(ShaderCache shaderCache, Paint paint, com.amazon.apl.android.sgcontent.Paint sgPaint, @Nullable Rect bounds) {
         Shader.TileMode tileMode = getTileMode(sgPaint.getSpreadMethod());
         PointF start = sgPaint.getLinearGradientStart();
         PointF end = sgPaint.getLinearGradientEnd();
@@ -650,33 +701,37 @@ public class APLRender {
         float y1 = start.y;
         float x2 = end.x;
         float y2 = end.y;
+        Matrix localMatrix = sgPaint.getTransform();
         if (bounds != null && sgPaint.getUseBoundingBox()) {
-            x1 = bounds.left + start.x * bounds.width();
-            y1 = bounds.top + start.y * bounds.height();
-            x2 = bounds.left + end.x * bounds.width();
-            y2 = bounds.top + end.y * bounds.height();
+            // Relative to the bounds, which only move the shader through its local matrix.
+            x1 = start.x * bounds.width();
+            y1 = start.y * bounds.height();
+            x2 = end.x * bounds.width();
+            y2 = end.y * bounds.height();
+            localMatrix.preTranslate(bounds.left, bounds.top);
         }
 
-        LinearGradient shader = new LinearGradient(x1, y1, x2, y2, sgPaint.getColors(), sgPaint.getPoints(), tileMode);
-        shader.setLocalMatrix(sgPaint.getTransform());
-        paint.setShader(shader);
+        paint.setShader(shaderCache.getLinearGradient(x1, y1, x2, y2,
+                sgPaint.getColors(), sgPaint.getPoints(), tileMode, localMatrix));
     }
 
-    private static void applyRadialGradient(Paint paint, com.amazon.apl.android.sgcontent.Paint sgPaint, @Nullable Rect bounds) {
+    private static void applyRadialGradient(ShaderCache shaderCache, Paint paint, com.amazon.apl.android.sgcontent.Paint sgPaint, @Nullable Rect bounds) {
         Shader.TileMode tileMode = getTileMode(sgPaint.getSpreadMethod());
         PointF center = sgPaint.getRadialGradientCenter();
         float x1 = center.x;
         float y1 = center.y;
         float radius = sgPaint.getRadialGradientRadius();
+        Matrix localMatrix = sgPaint.getTransform();
         if (bounds != null && sgPaint.getUseBoundingBox()) {
-            x1 = bounds.left + center.x * bounds.width();
-            y1 = bounds.top + center.y * bounds.height();
+            // Relative to the bounds, which only move the shader through its local matrix.
+            x1 = center.x * bounds.width();
+            y1 = center.y * bounds.height();
             radius *= Math.max(bounds.width(), bounds.height());
+            localMatrix.preTranslate(bounds.left, bounds.top);
         }
 
-        RadialGradient shader = new RadialGradient(x1, y1, radius, sgPaint.getColors(), sgPaint.getPoints(), tileMode);
-        shader.setLocalMatrix(sgPaint.getTransform());
-        paint.setShader(shader);
+        paint.setShader(shaderCache.getRadialGradient(x1, y1, radius,
+                sgPaint.getColors(), sgPaint.getPoints(), tileMode, localMatrix));
     }
 
     private static Shader.TileMode getTileMode(final GradientSpreadMethod gradientSpreadMethod) {
@@ -695,7 +750,7 @@ public class APLRender {
         return tileMode;
     }
 
-    private static float calculateCanvasScale(Canvas canvas) {
+    static float calculateCanvasScale(Canvas canvas) {
         // mapping a unit square to determine the cumulative scaling applied. This is
         // used to determine the needed upsampling of the vector graphic pattern
         // so it is rasterized at the resolution in will be drawn at.
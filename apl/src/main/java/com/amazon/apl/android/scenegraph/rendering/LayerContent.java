@@ -0,0 +1,92 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package com.amazon.apl.android.scenegraph.rendering;
+
+import android.graphics.Canvas;
+import android.os.Trace;
+
+import androidx.annotation.NonNull;
+
+import com.amazon.apl.android.scenegraph.APLLayer;
+import com.amazon.apl.android.sgcontent.Node;
+import com.amazon.apl.android.sgcontent.NodeRecord;
+
+/**
+ * The content of a layer, copied out of the scene graph into immutable records, see
+ * {@link NodeRecord}. Content is captured while the scene graph is updated, on the thread which
+ * updates it, and can then be drawn on any thread: building its paths, paints and text layouts
+ * does not read from core.
+ */
+public final class LayerContent {
+    private final Node[] mNodes;
+
+    private LayerContent(Node[] nodes) {
+        mNodes = nodes;
+    }
+
+    /**
+     * Reads the content of a layer from core, must be called on the thread which updates the
+     * scene graph.
+     *
+     * @param content the content nodes of the layer.
+     * @return the content.
+     */
+    @NonNull
+    public static LayerContent capture(@NonNull Node[] content) {
+        try {
+            Trace.beginSection("LayerContent.capture");
+            Node[] nodes = new Node[content.length];
+            for (int i = 0; i < content.length; i++) {
+                nodes[i] = NodeRecord.capture(content[i]);
+            }
+            return new LayerContent(nodes);
+        } finally {
+            Trace.endSection();
+        }
+    }
+
+    /**
+     * Draws the content.
+     *
+     * @param aplLayer the layer, redrawn when images being filtered for it are ready.
+     * @param canvas   the canvas to draw to.
+     */
+    public void draw(@NonNull APLLayer aplLayer, @NonNull Canvas canvas) {
+        try {
+            Trace.beginSection("LayerContent.draw");
+            for (Node node : mNodes) {
+                APLRender.drawNode(aplLayer, aplLayer.getRenderingContext(), node, 1.0f, canvas);
+            }
+        } finally {
+            Trace.endSection();
+        }
+    }
+
+    /**
+     * @return whether the content draws a general path, which older hardware renderers draw
+     *         poorly when scaled.
+     */
+    public boolean containsGeneralPath() {
+        for (Node node : mNodes) {
+            if (containsGeneralPath(node)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean containsGeneralPath(Node node) {
+        if ("Draw".equals(node.getType()) && node.getPath() != null && "General".equals(node.getPath().getType())) {
+            return true;
+        }
+        for (Node child : node.getChildren()) {
+            if (containsGeneralPath(child)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,298 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package com.amazon.apl.android.scenegraph.rendering;
+
+import android.graphics.Canvas;
+import android.graphics.Picture;
+import android.graphics.RenderNode;
+import android.os.Build;
+import android.os.Handler;
+import android.os.Looper;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.RequiresApi;
+import androidx.annotation.VisibleForTesting;
+
+import com.amazon.apl.android.thread.Threading;
+
+import java.util.concurrent.Executor;
+
+/**
+ * Records the content of a layer once and replays it until the content changes, so that drawing
+ * a layer again for any other reason, such as a change to its children, clip or position, does
+ * not walk its nodes again.
+ *
+ * Content is recorded into a {@link RenderNode} for hardware accelerated canvases on API 29+, and
+ * into a {@link Picture} otherwise. Hardware accelerated canvases only replay pictures on API 23+,
+ * before that content is drawn directly.
+ *
+ * Content is recorded at the scale of the canvas it is drawn to and scaled back when replayed, so
+ * that content rasterized while drawing, such as shadows and blurs, sees the real scale.
+ *
+ * Content can be recorded ahead of drawing with {@link #prepare}, into a picture recorded on a
+ * worker, so that drawing only replays it. Until the picture is published the previous recording
+ * keeps being replayed, and the layer is drawn again once it is.
+ */
+public class LayerDisplayList {
+    /**
+     * Draws the content of a layer.
+     */
+    public interface Recorder {
+        void record(@NonNull Canvas canvas);
+    }
+
+    private static final int NO_GENERATION = -1;
+
+    // Recordings are serialized so that they never compete for the CPU with each other.
+    private static final Executor RECORD_EXECUTOR = Threading.createSequentialExecutor();
+    private static final Handler MAIN_HANDLER = new Handler(Looper.getMainLooper());
+
+    private final Executor mRecordExecutor;
+    private Object mRenderNode;
+    private Picture mPicture;
+    private int mGeneration = NO_GENERATION;
+    private int mWidth;
+    private int mHeight;
+    private float mScale = 1f;
+    private int mRecordCount;
+    // The generation being recorded on the worker, if any.
+    private int mPendingGeneration = NO_GENERATION;
+
+    public LayerDisplayList() {
+        this(RECORD_EXECUTOR);
+    }
+
+    @VisibleForTesting
+    LayerDisplayList(@NonNull Executor recordExecutor) {
+        mRecordExecutor = recordExecutor;
+    }
+
+    /**
+     * Draws the content, recording it first if it is not recorded for this generation, size and
+     * canvas scale. While this generation is being recorded on the worker, the previous recording
+     * is replayed instead.
+     *
+     * @param canvas     the canvas to draw to.
+     * @param generation the generation of the content, which changes whenever the content changes.
+     * @param width      the width of the layer.
+     * @param height     the height of the layer.
+     * @param recorder   draws the content.
+     */
+    public void draw(@NonNull Canvas canvas, int generation, int width, int height, @NonNull Recorder recorder) {
+        boolean hardware = canvas.isHardwareAccelerated();
+        if (!isRecordable(width, height, hardware)) {
+            recorder.record(canvas);
+            return;
+        }
+        float scale = APLRender.calculateCanvasScale(canvas);
+        if (!(scale > 0f)) {
+            scale = 1f;
+        }
+        if (generation == mPendingGeneration && isRecorded(width, height, scale, hardware)) {
+            generation = mGeneration;
+        }
+        record(generation, width, height, scale, hardware, recorder);
+        int saveCount = canvas.save();
+        canvas.scale(1f / scale, 1f / scale);
+        if (hardware && Build.VERSION.SDK_INT >= Build.VERSION_CODES.Q) {
+            canvas.drawRenderNode((RenderNode) mRenderNode);
+        } else {
+            canvas.drawPicture(mPicture);
+        }
+        canvas.restoreToCount(saveCount);
+    }
+
+    /**
+     * Records the content on the worker ahead of drawing it, if it is not recorded or being
+     * recorded for this generation. The content is recorded at the scale of the last canvas it was
+     * drawn to. Must be called on the main thread.
+     *
+     * @param generation the generation of the content, which changes whenever the content changes.
+     * @param width      the width of the layer.
+     * @param height     the height of the layer.
+     * @param hardware   whether the content is going to be drawn to a hardware accelerated canvas.
+     * @param recorder   draws the content on the worker, so it must not read from core.
+     * @param onPrepared called on the main thread once the recording is published.
+     * @return whether the content is recorded, or being recorded.
+     */
+    public boolean prepare(int generation, int width, int height, boolean hardware,
+                           @NonNull Recorder recorder, @NonNull Runnable onPrepared) {
+        if (!isRecordable(width, height, hardware)) {
+            return false;
+        }
+        if (generation == mPendingGeneration
+                || (generation == mGeneration && width == mWidth && height == mHeight)) {
+            return true;
+        }
+        float scale = mScale;
+        mPendingGeneration = generation;
+        mRecordExecutor.execute(() -> {
+            Picture picture = new Picture();
+            Canvas recordingCanvas = picture.beginRecording(scaled(width, scale), scaled(height, scale));
+            boolean recorded = false;
+            try {
+                record(recordingCanvas, scale, recorder);
+                recorded = true;
+            } finally {
+                picture.endRecording();
+                // A failed recording is dropped, and the content is recorded when drawn instead.
+                Picture result = recorded ? picture : null;
+                MAIN_HANDLER.post(() -> publish(generation, width, height, scale, result, onPrepared));
+            }
+        });
+        return true;
+    }
+
+    /**
+     * Drops the recording, the next draw records the content again.
+     */
+    public void invalidate() {
+        mGeneration = NO_GENERATION;
+        mPendingGeneration = NO_GENERATION;
+    }
+
+    /**
+     * Releases the recording.
+     */
+    public void release() {
+        invalidate();
+        mPicture = null;
+        if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.Q) {
+            releaseRenderNode();
+        }
+    }
+
+    /**
+     * @return the number of times the content was recorded.
+     */
+    @VisibleForTesting
+    public int getRecordCount() {
+        return mRecordCount;
+    }
+
+    private void publish(int generation, int width, int height, float scale, Picture picture, Runnable onPrepared) {
+        if (generation != mPendingGeneration) {
+            // Invalidated, released or replaced by a newer generation meanwhile.
+            return;
+        }
+        mPendingGeneration = NO_GENERATION;
+        if (generation == mGeneration && width == mWidth && height == mHeight && scale == mScale) {
+            // Already recorded while drawing.
+            return;
+        }
+        if (picture == null) {
+            onPrepared.run();
+            return;
+        }
+        // Replayed as is by software canvases, and through the render node by hardware ones.
+        mPicture = picture;
+        mGeneration = generation;
+        mWidth = width;
+        mHeight = height;
+        mScale = scale;
+        mRecordCount++;
+        onPrepared.run();
+    }
+
+    private boolean isRecorded(int width, int height, float scale, boolean hardware) {
+        if (width != mWidth || height != mHeight || scale != mScale) {
+            return false;
+        }
+        if (mPicture != null) {
+            return true;
+        }
+        return hardware && Build.VERSION.SDK_INT >= Build.VERSION_CODES.Q && hasRenderNodeRecording();
+    }
+
+    @RequiresApi(Build.VERSION_CODES.Q)
+    private boolean hasRenderNodeRecording() {
+        return mRenderNode != null && ((RenderNode) mRenderNode).hasDisplayList();
+    }
+
+    private void record(int generation, int width, int height, float scale, boolean hardware, Recorder recorder) {
+        boolean stale = generation != mGeneration || width != mWidth || height != mHeight || scale != mScale;
+        if (hardware && Build.VERSION.SDK_INT >= Build.VERSION_CODES.Q) {
+            recordRenderNode(stale, width, height, scale, recorder);
+        } else {
+            recordPicture(stale, width, height, scale, recorder);
+        }
+        mGeneration = generation;
+        mWidth = width;
+        mHeight = height;
+        mScale = scale;
+    }
+
+    private static void record(Canvas recordingCanvas, float scale, Recorder recorder) {
+        recordingCanvas.scale(scale, scale);
+        recorder.record(recordingCanvas);
+    }
+
+    private static int scaled(int size, float scale) {
+        return (int) Math.ceil(size * scale);
+    }
+
+    private static boolean isRecordable(int width, int height, boolean hardware) {
+        return width > 0 && height > 0 && (!hardware || Build.VERSION.SDK_INT >= Build.VERSION_CODES.M);
+    }
+
+    @RequiresApi(Build.VERSION_CODES.Q)
+    private void recordRenderNode(boolean stale, int width, int height, float scale, Recorder recorder) {
+        RenderNode renderNode = (RenderNode) mRenderNode;
+        if (renderNode == null) {
+            renderNode = new RenderNode("APLLayerContent");
+            mRenderNode = renderNode;
+        }
+        // A picture recorded on the worker, or for a software canvas, is replayed into the render
+        // node rather than recorded again.
+        Picture picture = stale ? null : mPicture;
+        // Only one of the recordings is kept, so that a recording for an older generation is
+        // never replayed after switching canvases.
+        mPicture = null;
+        if (stale || picture != null || !renderNode.hasDisplayList()) {
+            int scaledWidth = scaled(width, scale);
+            int scaledHeight = scaled(height, scale);
+            renderNode.setPosition(0, 0, scaledWidth, scaledHeight);
+            Canvas recordingCanvas = renderNode.beginRecording(scaledWidth, scaledHeight);
+            try {
+                if (picture != null) {
+                    recordingCanvas.drawPicture(picture);
+                } else {
+                    record(recordingCanvas, scale, recorder);
+                    mRecordCount++;
+                }
+            } finally {
+                renderNode.endRecording();
+            }
+        }
+    }
+
+    @RequiresApi(Build.VERSION_CODES.Q)
+    private void releaseRenderNode() {
+        if (mRenderNode != null) {
+            ((RenderNode) mRenderNode).discardDisplayList();
+            mRenderNode = null;
+        }
+    }
+
+    private void recordPicture(boolean stale, int width, int height, float scale, Recorder recorder) {
+        if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.Q) {
+            releaseRenderNode();
+        }
+        if (mPicture == null) {
+            mPicture = new Picture();
+            stale = true;
+        }
+        if (stale) {
+            Canvas recordingCanvas = mPicture.beginRecording(scaled(width, scale), scaled(height, scale));
+            try {
+                record(recordingCanvas, scale, recorder);
+            } finally {
+                mPicture.endRecording();
+            }
+            mRecordCount++;
+        }
+    }
+}
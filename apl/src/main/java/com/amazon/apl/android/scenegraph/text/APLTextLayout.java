@@ -8,6 +8,7 @@ import android.annotation.SuppressLint;
 import android.graphics.Rect;
 import android.text.Layout;
 
+import com.amazon.apl.android.ITextProxy;
 import com.amazon.apl.android.utils.APLTextUtil;
 
 /**
@@ -18,7 +19,7 @@ public class APLTextLayout {
     private final Layout mLayout;
 
     private final CharSequence mText;
-    private APLTextProperties mTextProperties;
+    private ITextProxy mTextProperties;
     private final float mWidthDp;
     private final float mHeightDp;
     private final boolean mLinesClipped;
@@ -32,10 +33,19 @@ public class APLTextLayout {
         mLinesClipped = linesClipped;
     }
 
-    public void attachTextProperties(final APLTextProperties aplTextProperties) {
+    public void attachTextProperties(final ITextProxy aplTextProperties) {
         mTextProperties = aplTextProperties;
     }
 
+    /**
+     * @return a copy of this layout with the given text properties attached.
+     */
+    public APLTextLayout withTextProperties(final ITextProxy aplTextProperties) {
+        APLTextLayout layout = new APLTextLayout(mLayout, mText, mLinesClipped, mWidthDp, mHeightDp);
+        layout.attachTextProperties(aplTextProperties);
+        return layout;
+    }
+
     // Following are overrides of apl::TextLayout to be accessed by JNI layer.
     @SuppressWarnings("unused")
     private int getLineCount() {
@@ -110,7 +120,7 @@ public class APLTextLayout {
         return mLayout;
     }
 
-    public APLTextProperties getTextProperties() {
+    public ITextProxy getTextProperties() {
         return mTextProperties;
     }
 }
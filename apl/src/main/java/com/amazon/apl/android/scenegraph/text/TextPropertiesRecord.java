@@ -0,0 +1,117 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package com.amazon.apl.android.scenegraph.text;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import com.amazon.apl.android.ITextProxy;
+import com.amazon.apl.android.primitive.Dimension;
+import com.amazon.apl.enums.FontStyle;
+import com.amazon.apl.enums.TextAlign;
+import com.amazon.apl.enums.TextAlignVertical;
+
+/**
+ * An immutable copy of text properties, read from core once so that text can be laid out on any
+ * thread.
+ */
+public final class TextPropertiesRecord implements ITextProxy {
+    private final TextAlign mTextAlign;
+    private final String mFontFamily;
+    private final int mFontWeight;
+    private final String mFontLanguage;
+    private final FontStyle mFontStyle;
+    private final float mFontSize;
+    private final Dimension mLetterSpacing;
+    private final int mMaxLines;
+    private final float mLineHeight;
+    private final TextAlignVertical mTextAlignVertical;
+    private final float mScalingFactor;
+    private final String mVisualHash;
+
+    private TextPropertiesRecord(ITextProxy properties) {
+        mTextAlign = properties.getTextAlign();
+        mFontFamily = properties.getFontFamily();
+        mFontWeight = properties.getFontWeight();
+        mFontLanguage = properties.getFontLanguage();
+        mFontStyle = properties.getFontStyle();
+        mFontSize = properties.getFontSize();
+        mLetterSpacing = properties.getLetterSpacing();
+        mMaxLines = properties.getMaxLines();
+        mLineHeight = properties.getLineHeight();
+        mTextAlignVertical = properties.getTextAlignVertical();
+        mScalingFactor = properties.getScalingFactor();
+        mVisualHash = properties.getVisualHash();
+    }
+
+    /**
+     * Reads text properties from core, must be called on the thread which updates the scene graph.
+     */
+    @NonNull
+    public static TextPropertiesRecord capture(@NonNull ITextProxy properties) {
+        return properties instanceof TextPropertiesRecord ? (TextPropertiesRecord) properties : new TextPropertiesRecord(properties);
+    }
+
+    @Override
+    public TextAlign getTextAlign() {
+        return mTextAlign;
+    }
+
+    @Override
+    public String getFontFamily() {
+        return mFontFamily;
+    }
+
+    @Override
+    public int getFontWeight() {
+        return mFontWeight;
+    }
+
+    @Override
+    public String getFontLanguage() {
+        return mFontLanguage;
+    }
+
+    @Override
+    public FontStyle getFontStyle() {
+        return mFontStyle;
+    }
+
+    @Override
+    public float getFontSize() {
+        return mFontSize;
+    }
+
+    @Nullable
+    @Override
+    public Dimension getLetterSpacing() {
+        return mLetterSpacing;
+    }
+
+    @Override
+    public int getMaxLines() {
+        return mMaxLines;
+    }
+
+    @Override
+    public float getLineHeight() {
+        return mLineHeight;
+    }
+
+    @Override
+    public TextAlignVertical getTextAlignVertical() {
+        return mTextAlignVertical;
+    }
+
+    @Override
+    public float getScalingFactor() {
+        return mScalingFactor;
+    }
+
+    @Override
+    public String getVisualHash() {
+        return mVisualHash;
+    }
+}
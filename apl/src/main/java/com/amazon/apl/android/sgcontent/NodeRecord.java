@@ -0,0 +1,183 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package com.amazon.apl.android.sgcontent;
+
+import android.graphics.Matrix;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import com.amazon.apl.android.primitive.SGRect;
+import com.amazon.apl.android.scenegraph.text.APLTextLayout;
+import com.amazon.apl.android.scenegraph.text.TextPropertiesRecord;
+import com.amazon.apl.android.sgcontent.filters.Filter;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * An immutable copy of a {@link Node} and its subtree, read from core once so that it can be drawn
+ * on any thread. Only what the type of the node draws is copied, and nothing below a hidden node.
+ */
+public final class NodeRecord extends Node {
+    private final String mType;
+    private final boolean mVisible;
+    private final NodeRecord mNext;
+    private final List<Node> mChildren;
+    private final PathOpRecord mOp;
+    private final PathRecord mPath;
+    private final float mOpacity;
+    private final Matrix mTransform;
+    private final PathRecord mClipPath;
+    private final int mShadowColor;
+    private final float[] mShadowOffset;
+    private final float mRadius;
+    private final APLTextLayout mTextLayout;
+    private final Filter mFilter;
+    private final SGRect mSourceRect;
+    private final SGRect mTargetRect;
+
+    private NodeRecord(Node node, NodeRecord next) {
+        super(node.mAddress);
+        mType = node.getType();
+        mVisible = node.isVisible();
+        mNext = next;
+        mFilterKey = node.mFilterKey;
+        String type = mVisible ? mType : "";
+        boolean draw = "Draw".equals(type);
+        boolean text = "Text".equals(type);
+        boolean shadow = "Shadow".equals(type);
+        boolean image = "Image".equals(type);
+        mChildren = mVisible ? captureAll(node.getChildren()) : Collections.emptyList();
+        mOp = draw || text ? PathOpRecord.capture(node.getOp()) : null;
+        mPath = draw ? PathRecord.capture(node.getPath()) : null;
+        mOpacity = "Opacity".equals(type) ? node.getOpacity() : 1f;
+        mTransform = "Transform".equals(type) ? node.getTransform() : null;
+        mClipPath = "Clip".equals(type) ? PathRecord.capture(node.getClipPath()) : null;
+        mShadowColor = shadow ? node.getShadowColor() : 0;
+        mShadowOffset = shadow ? node.getShadowOffset() : null;
+        mRadius = shadow ? node.getRadius() : 0f;
+        mTextLayout = text ? captureTextLayout(node.getAplTextLayout()) : null;
+        mFilter = image ? Filter.capture(node.getFilter()) : null;
+        mSourceRect = image ? node.getSourceRect() : null;
+        mTargetRect = image ? node.getTargetRect() : null;
+    }
+
+    /**
+     * Reads a node and its subtree from core, must be called on the thread which updates the
+     * scene graph.
+     */
+    @NonNull
+    public static NodeRecord capture(@NonNull Node node) {
+        return node instanceof NodeRecord ? (NodeRecord) node : new NodeRecord(node, null);
+    }
+
+    /**
+     * Reads a node, the nodes following it and their subtrees from core, must be called on the
+     * thread which updates the scene graph.
+     */
+    @NonNull
+    static NodeRecord captureSiblings(@NonNull Node node) {
+        Node next = node.next();
+        return new NodeRecord(node, next != null ? captureSiblings(next) : null);
+    }
+
+    private static List<Node> captureAll(List<Node> nodes) {
+        List<Node> records = new ArrayList<>(nodes.size());
+        for (Node node : nodes) {
+            records.add(capture(node));
+        }
+        return Collections.unmodifiableList(records);
+    }
+
+    @Nullable
+    private static APLTextLayout captureTextLayout(@Nullable APLTextLayout textLayout) {
+        if (textLayout == null || textLayout.getTextProperties() == null) {
+            return textLayout;
+        }
+        return textLayout.withTextProperties(TextPropertiesRecord.capture(textLayout.getTextProperties()));
+    }
+
+    @Override
+    public String getType() {
+        return mType;
+    }
+
+    @Override
+    public boolean isVisible() {
+        return mVisible;
+    }
+
+    @Override
+    public Node next() {
+        return mNext;
+    }
+
+    @Override
+    public List<Node> getChildren() {
+        return mChildren;
+    }
+
+    @Override
+    public PathOp getOp() {
+        return mOp;
+    }
+
+    @Override
+    public float getOpacity() {
+        return mOpacity;
+    }
+
+    @Override
+    public Matrix getTransform() {
+        return new Matrix(mTransform);
+    }
+
+    @Override
+    public APLTextLayout getAplTextLayout() {
+        return mTextLayout;
+    }
+
+    @Override
+    public Path getPath() {
+        return mPath;
+    }
+
+    @Override
+    public Path getClipPath() {
+        return mClipPath;
+    }
+
+    @Override
+    public int getShadowColor() {
+        return mShadowColor;
+    }
+
+    @Override
+    public float[] getShadowOffset() {
+        return mShadowOffset;
+    }
+
+    @Override
+    public float getRadius() {
+        return mRadius;
+    }
+
+    @Override
+    public Filter getFilter() {
+        return mFilter;
+    }
+
+    @Override
+    public SGRect getSourceRect() {
+        return mSourceRect;
+    }
+
+    @Override
+    public SGRect getTargetRect() {
+        return mTargetRect;
+    }
+}
@@ -0,0 +1,138 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package com.amazon.apl.android.sgcontent;
+
+import android.graphics.Matrix;
+import android.graphics.PointF;
+
+import androidx.annotation.NonNull;
+
+import com.amazon.apl.enums.GradientSpreadMethod;
+
+/**
+ * An immutable copy of a {@link Paint}, read from core once so that it can be applied on any
+ * thread. The nodes of a pattern are copied too.
+ */
+public final class PaintRecord extends Paint {
+    private final String mType;
+    private final float mOpacity;
+    private final int mHashCode;
+    private final int mColor;
+    private final float[] mSize;
+    private final Node mNode;
+    private final Matrix mTransform;
+    private final float[] mPoints;
+    private final int[] mColors;
+    private final GradientSpreadMethod mSpreadMethod;
+    private final boolean mUseBoundingBox;
+    private final PointF mStart;
+    private final PointF mEnd;
+    private final float mRadius;
+
+    private PaintRecord(Paint paint) {
+        super(paint.mAddress);
+        mType = paint.getType();
+        mOpacity = paint.getOpacity();
+        mHashCode = paint.hashCode();
+        boolean pattern = "Pattern".equals(mType);
+        boolean linear = "LinearGradient".equals(mType);
+        boolean radial = "RadialGradient".equals(mType);
+        boolean gradient = linear || radial;
+        mColor = "Color".equals(mType) ? paint.getColor() : 0;
+        mSize = pattern ? paint.getSize() : null;
+        mNode = pattern ? NodeRecord.captureSiblings(paint.getNode()) : null;
+        mTransform = pattern || gradient ? paint.getTransform() : null;
+        mPoints = gradient ? paint.getPoints() : null;
+        mColors = gradient ? paint.getColors() : null;
+        mSpreadMethod = gradient ? paint.getSpreadMethod() : null;
+        mUseBoundingBox = gradient && paint.getUseBoundingBox();
+        mStart = linear ? paint.getLinearGradientStart() : radial ? paint.getRadialGradientCenter() : null;
+        mEnd = linear ? paint.getLinearGradientEnd() : null;
+        mRadius = radial ? paint.getRadialGradientRadius() : 0f;
+    }
+
+    /**
+     * Reads a paint from core, must be called on the thread which updates the scene graph.
+     */
+    @NonNull
+    public static PaintRecord capture(@NonNull Paint paint) {
+        return paint instanceof PaintRecord ? (PaintRecord) paint : new PaintRecord(paint);
+    }
+
+    @Override
+    public String getType() {
+        return mType;
+    }
+
+    @Override
+    public int getColor() {
+        return mColor;
+    }
+
+    @Override
+    public float getOpacity() {
+        return mOpacity;
+    }
+
+    @Override
+    public float[] getSize() {
+        return mSize;
+    }
+
+    @Override
+    public Node getNode() {
+        return mNode;
+    }
+
+    @Override
+    public float[] getPoints() {
+        return mPoints;
+    }
+
+    @Override
+    public int[] getColors() {
+        return mColors;
+    }
+
+    @Override
+    public Matrix getTransform() {
+        return new Matrix(mTransform);
+    }
+
+    @Override
+    public GradientSpreadMethod getSpreadMethod() {
+        return mSpreadMethod;
+    }
+
+    @Override
+    public boolean getUseBoundingBox() {
+        return mUseBoundingBox;
+    }
+
+    @Override
+    public PointF getLinearGradientStart() {
+        return new PointF(mStart.x, mStart.y);
+    }
+
+    @Override
+    public PointF getLinearGradientEnd() {
+        return new PointF(mEnd.x, mEnd.y);
+    }
+
+    @Override
+    public PointF getRadialGradientCenter() {
+        return new PointF(mStart.x, mStart.y);
+    }
+
+    @Override
+    public float getRadialGradientRadius() {
+        return mRadius;
+    }
+
+    @Override
+    public int hashCode() {
+        return mHashCode;
+    }
+}
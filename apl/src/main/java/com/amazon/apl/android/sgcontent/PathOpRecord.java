@@ -0,0 +1,112 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package com.amazon.apl.android.sgcontent;
+
+import androidx.annotation.NonNull;
+
+import com.amazon.apl.enums.GraphicLineCap;
+import com.amazon.apl.enums.GraphicLineJoin;
+
+/**
+ * An immutable copy of a {@link PathOp} and the ops following it, read from core once so that
+ * they can be applied on any thread.
+ */
+public final class PathOpRecord extends PathOp {
+    private final String mType;
+    private final PathOpRecord mNextSibling;
+    private final PaintRecord mPaint;
+    private final float mStrokeWidth;
+    private final float[] mStrokeDashArray;
+    private final float mStrokeDashOffset;
+    private final float mPathLength;
+    private final float mMiterLimit;
+    private final GraphicLineCap mLineCap;
+    private final GraphicLineJoin mLineJoin;
+    private final int mFillType;
+
+    private PathOpRecord(PathOp op, PathOpRecord nextSibling) {
+        super(op.mAddress);
+        mType = op.getType();
+        mNextSibling = nextSibling;
+        mPaint = PaintRecord.capture(op.getPaint());
+        boolean stroke = "Stroke".equals(mType);
+        mStrokeWidth = stroke ? op.getStrokeWidth() : 0f;
+        mStrokeDashArray = stroke ? op.getStrokeDashArray() : null;
+        mStrokeDashOffset = stroke ? op.getStrokeDashOffset() : 0f;
+        mPathLength = stroke ? op.getPathLength() : 0f;
+        mMiterLimit = stroke ? op.getMiterLimit() : 0f;
+        mLineCap = stroke ? op.getLineCap() : null;
+        mLineJoin = stroke ? op.getLineJoin() : null;
+        mFillType = "Fill".equals(mType) ? op.getFillType() : 0;
+    }
+
+    /**
+     * Reads an op and the ops following it from core, must be called on the thread which updates
+     * the scene graph.
+     */
+    @NonNull
+    public static PathOpRecord capture(@NonNull PathOp op) {
+        if (op instanceof PathOpRecord) {
+            return (PathOpRecord) op;
+        }
+        PathOp next = op.getNextSibbling();
+        return new PathOpRecord(op, next != null ? capture(next) : null);
+    }
+
+    @Override
+    public String getType() {
+        return mType;
+    }
+
+    @Override
+    public PathOp getNextSibbling() {
+        return mNextSibling;
+    }
+
+    @Override
+    public Paint getPaint() {
+        return mPaint;
+    }
+
+    @Override
+    public float getStrokeWidth() {
+        return mStrokeWidth;
+    }
+
+    @Override
+    public float[] getStrokeDashArray() {
+        return mStrokeDashArray;
+    }
+
+    @Override
+    public float getStrokeDashOffset() {
+        return mStrokeDashOffset;
+    }
+
+    @Override
+    public float getPathLength() {
+        return mPathLength;
+    }
+
+    @Override
+    public float getMiterLimit() {
+        return mMiterLimit;
+    }
+
+    @Override
+    public GraphicLineCap getLineCap() {
+        return mLineCap;
+    }
+
+    @Override
+    public GraphicLineJoin getLineJoin() {
+        return mLineJoin;
+    }
+
+    @Override
+    public int getFillType() {
+        return mFillType;
+    }
+}
@@ -0,0 +1,82 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package com.amazon.apl.android.sgcontent;
+
+import android.graphics.RectF;
+
+import androidx.annotation.Nullable;
+
+import com.amazon.apl.android.primitive.SGRRect;
+
+/**
+ * An immutable copy of a {@link Path}, read from core once so that it can be converted on any
+ * thread.
+ */
+public final class PathRecord extends Path {
+    private final String mType;
+    private final String mValue;
+    private final float[] mPoints;
+    private final RectF mRect;
+    private final SGRRect mRRect;
+    private final SGRRect mInset;
+
+    private PathRecord(Path path) {
+        super(path.mAddress);
+        mType = path.getType();
+        boolean general = "General".equals(mType);
+        boolean frame = "Frame".equals(mType);
+        mValue = general ? path.getValue() : null;
+        mPoints = general ? path.getPoints() : null;
+        mRect = "Rect".equals(mType) ? path.getRectPathRect() : null;
+        mRRect = frame ? path.getFramePathRRect() : "RRect".equals(mType) ? path.getRRectPathRRect() : null;
+        mInset = frame ? path.getFramePathInset() : null;
+    }
+
+    /**
+     * Reads a path from core, must be called on the thread which updates the scene graph.
+     */
+    @Nullable
+    public static PathRecord capture(@Nullable Path path) {
+        if (path == null) {
+            return null;
+        }
+        return path instanceof PathRecord ? (PathRecord) path : new PathRecord(path);
+    }
+
+    @Override
+    public String getType() {
+        return mType;
+    }
+
+    @Override
+    public String getValue() {
+        return mValue;
+    }
+
+    @Override
+    public float[] getPoints() {
+        return mPoints;
+    }
+
+    @Override
+    public RectF getRectPathRect() {
+        return new RectF(mRect);
+    }
+
+    @Override
+    public SGRRect getFramePathRRect() {
+        return mRRect;
+    }
+
+    @Override
+    public SGRRect getFramePathInset() {
+        return mInset;
+    }
+
+    @Override
+    public SGRRect getRRectPathRRect() {
+        return mRRect;
+    }
+}
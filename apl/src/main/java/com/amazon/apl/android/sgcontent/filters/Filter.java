@@ -2,6 +2,7 @@ package com.amazon.apl.android.sgcontent.filters;
 
 import com.amazon.apl.android.media.MediaObject;
 import com.amazon.apl.android.sgcontent.Paint;
+import com.amazon.apl.android.sgcontent.PaintRecord;
 import com.amazon.apl.enums.BlendMode;
 import com.amazon.apl.enums.NoiseFilterKind;
 
@@ -37,6 +38,32 @@ public abstract class Filter {
         }
     }
 
+    /**
+     * Copies a filter so that it can be processed on any thread without reading from core. Filters
+     * are read when created, apart from the paint of a solid filter.
+     */
+    public static Filter capture(Filter filter) {
+        if (filter instanceof BlendFilter) {
+            BlendFilter blend = (BlendFilter) filter;
+            return BlendFilter.create(filter.mNativeHandle, blend.blendMode(), capture(blend.frontFilter()), capture(blend.backFilter()));
+        } else if (filter instanceof BlurFilter) {
+            BlurFilter blur = (BlurFilter) filter;
+            return BlurFilter.create(filter.mNativeHandle, capture(blur.filter()), blur.radius());
+        } else if (filter instanceof GrayscaleFilter) {
+            GrayscaleFilter grayscale = (GrayscaleFilter) filter;
+            return GrayscaleFilter.create(filter.mNativeHandle, capture(grayscale.filter()), grayscale.amount());
+        } else if (filter instanceof NoiseFilter) {
+            NoiseFilter noise = (NoiseFilter) filter;
+            return NoiseFilter.create(filter.mNativeHandle, capture(noise.filter()), noise.kind(), noise.sigma(), noise.useColor());
+        } else if (filter instanceof SaturateFilter) {
+            SaturateFilter saturate = (SaturateFilter) filter;
+            return SaturateFilter.create(filter.mNativeHandle, capture(saturate.filter()), saturate.amount());
+        } else if (filter instanceof SolidFilter) {
+            return SolidFilter.create(filter.mNativeHandle, PaintRecord.capture(((SolidFilter) filter).paint()));
+        }
+        return filter;
+    }
+
     private static native int nGetType(long nativeHandle);
     private static native long nMediaObjectGetMediaObject(long nativeHandle);
     private static native float nBlurGetRadius(long nativeHandle);
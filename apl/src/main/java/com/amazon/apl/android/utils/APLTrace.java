@@ -13,6 +13,8 @@ import java.util.Map;
 /**
  * Utility class for starting and stopping Trace points. Map is needed for avoiding repeated String allocations
  * for concatenating the Agent name.
+ *
+ * Trace points are also recorded in process by the {@link TraceRecorder} while it is enabled.
  */
 public class APLTrace {
     private static final char AGENT_CLASS_SEPARATOR = '-';
@@ -58,12 +60,14 @@ public class APLTrace {
      */
     public void startTrace(TracePoint tracePoint) {
         Trace.beginSection(mTracePointSectionNameMap.get(tracePoint));
+        TraceRecorder.getInstance().begin(tracePoint);
     }
 
     /**
      * Ends a trace.
      */
     public void endTrace() {
+        TraceRecorder.getInstance().end();
         Trace.endSection();
     }
 
@@ -95,7 +99,7 @@ public class APLTrace {
 
         @Override
         public void close() {
-            Trace.endSection();
+            endTrace();
         }
     }
 }
@@ -0,0 +1,216 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package com.amazon.apl.android.utils;
+
+import android.content.ComponentCallbacks2;
+import android.content.res.Configuration;
+import android.util.Log;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.VisibleForTesting;
+
+import com.amazon.apl.android.providers.ITelemetryProvider;
+
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static com.amazon.apl.android.providers.ITelemetryProvider.APL_DOMAIN;
+
+/**
+ * Shrinks every viewhost cache in proportion to memory pressure.
+ *
+ * Each trim level maps to a fraction of the registered caches' total estimated size to keep.
+ * Caches are trimmed in priority order, lowest first, until the total fits that fraction, so
+ * caches which are expensive to refill are only trimmed once the cheaper ones are not enough.
+ * The weight of a cache is the most of it one trim may evict: a cache of weight 1 may be emptied,
+ * one of weight 0.5 keeps at least half of its contents.
+ *
+ * Caches are held weakly, so caches owned by a document go away with it.
+ */
+public class CacheGovernor implements ComponentCallbacks2 {
+    private static final String TAG = "CacheGovernor";
+    private static final CacheGovernor sInstance = new CacheGovernor();
+
+    /**
+     * The order in which caches are trimmed.
+     */
+    public enum Priority {
+        /** Cheap to refill, trimmed first. */
+        LOW,
+        NORMAL,
+        /** Expensive to refill, for example by I/O or network, trimmed last. */
+        HIGH
+    }
+
+    private final List<Registration> mRegistrations = new ArrayList<>();
+
+    @VisibleForTesting
+    CacheGovernor() {
+    }
+
+    @NonNull
+    public static CacheGovernor getInstance() {
+        return sInstance;
+    }
+
+    /**
+     * Registers a cache. Registering a cache again has no effect.
+     *
+     * @param name     the name the cache is reported under, shared by caches of the same kind.
+     * @param cache    the cache, held weakly.
+     * @param priority the order in which the cache is trimmed.
+     * @param weight   the most of the cache one trim may evict, from 0 to 1.
+     */
+    public synchronized void register(@NonNull String name, @NonNull ITrimmableCache cache,
+                                      @NonNull Priority priority, float weight) {
+        for (Registration registration : mRegistrations) {
+            if (registration.mCache.get() == cache) {
+                return;
+            }
+        }
+        Registration registration = new Registration(name, cache, priority, Math.max(0f, Math.min(1f, weight)));
+        // Keep the list sorted by priority, in registration order within a priority.
+        int index = mRegistrations.size();
+        while (index > 0 && mRegistrations.get(index - 1).mPriority.compareTo(priority) > 0) {
+            index--;
+        }
+        mRegistrations.add(index, registration);
+    }
+
+    /**
+     * @return the estimated bytes retained by the registered caches, summed by name.
+     */
+    @NonNull
+    public synchronized Map<String, Long> getEstimatedBytes() {
+        Map<String, Long> bytes = new LinkedHashMap<>();
+        Iterator<Registration> it = mRegistrations.iterator();
+        while (it.hasNext()) {
+            Registration registration = it.next();
+            ITrimmableCache cache = registration.mCache.get();
+            if (cache == null) {
+                it.remove();
+                continue;
+            }
+            Long total = bytes.get(registration.mName);
+            bytes.put(registration.mName, (total == null ? 0 : total) + cache.getEstimatedBytes());
+        }
+        return bytes;
+    }
+
+    /**
+     * Reports the estimated bytes of each kind of cache as a counter named
+     * {@code CacheGovernor.<name>.bytes}.
+     *
+     * @param telemetryProvider the provider to report to.
+     */
+    public void reportTo(@NonNull ITelemetryProvider telemetryProvider) {
+        for (Map.Entry<String, Long> entry : getEstimatedBytes().entrySet()) {
+            int metricId = telemetryProvider.createMetricId(APL_DOMAIN,
+                    TAG + "." + entry.getKey() + ".bytes", ITelemetryProvider.Type.COUNTER);
+            telemetryProvider.incrementCount(metricId, (double) entry.getValue());
+        }
+    }
+
+    /**
+     * Trims the registered caches until they keep at most a fraction of their total size.
+     *
+     * @param retained the fraction of the total estimated size to keep, from 0 to 1.
+     */
+    @VisibleForTesting
+    synchronized void trim(float retained) {
+        if (retained >= 1f) {
+            return;
+        }
+        long total = 0;
+        Iterator<Registration> it = mRegistrations.iterator();
+        while (it.hasNext()) {
+            ITrimmableCache cache = it.next().mCache.get();
+            if (cache == null) {
+                it.remove();
+            } else {
+                total += cache.getEstimatedBytes();
+            }
+        }
+        long needed = total - (long) (total * retained);
+        for (Registration registration : mRegistrations) {
+            if (needed <= 0) {
+                break;
+            }
+            ITrimmableCache cache = registration.mCache.get();
+            long before = cache == null ? 0 : cache.getEstimatedBytes();
+            if (before == 0 || registration.mWeight == 0) {
+                continue;
+            }
+            long drop = Math.min(needed, (long) (before * registration.mWeight));
+            cache.trimToFraction(1f - (float) drop / before);
+            long after = cache.getEstimatedBytes();
+            needed -= before - after;
+            Log.i(TAG, String.format("Trimmed %s from %d to %d bytes", registration.mName, before, after));
+        }
+    }
+
+    /**
+     * The fraction of cached memory kept at a trim level. While running, pressure only grows at
+     * the RUNNING_* levels. Once in the background, the process is trimmed harder the closer it is
+     * to being killed, and at TRIM_MEMORY_COMPLETE everything that can be given up is.
+     *
+     * @param level the trim level
+     * @return the fraction to keep, from 0 to 1.
+     */
+    @VisibleForTesting
+    static float retainedFraction(int level) {
+        if (level >= TRIM_MEMORY_COMPLETE) {
+            return 0f;
+        } else if (level >= TRIM_MEMORY_MODERATE) {
+            return 0.25f;
+        } else if (level >= TRIM_MEMORY_BACKGROUND) {
+            return 0.5f;
+        } else if (level >= TRIM_MEMORY_UI_HIDDEN) {
+            // Visibility changed, which is no sign of memory pressure.
+            return 1f;
+        } else if (level >= TRIM_MEMORY_RUNNING_CRITICAL) {
+            return 0.5f;
+        } else if (level >= TRIM_MEMORY_RUNNING_LOW) {
+            return 0.75f;
+        } else if (level >= TRIM_MEMORY_RUNNING_MODERATE) {
+            return 0.9f;
+        }
+        return 1f;
+    }
+
+    @Override
+    public void onTrimMemory(int level) {
+        trim(retainedFraction(level));
+    }
+
+    @Override
+    public void onConfigurationChanged(@NonNull Configuration newConfig) {
+        // no-op
+    }
+
+    @Override
+    public void onLowMemory() {
+        onTrimMemory(TRIM_MEMORY_COMPLETE);
+    }
+
+    private static final class Registration {
+        private final String mName;
+        private final WeakReference<ITrimmableCache> mCache;
+        private final Priority mPriority;
+        private final float mWeight;
+
+        Registration(String name, ITrimmableCache cache, Priority priority, float weight) {
+            mName = name;
+            mCache = new WeakReference<>(cache);
+            mPriority = priority;
+            mWeight = weight;
+        }
+    }
+}
@@ -146,6 +146,14 @@ public class FluidityIncidentReporter {
         }
     }
 
+    /**
+     * Starts a new sequence of frames, so the time since the last frame is not counted. Used when
+     * the frame loop skipped frames on purpose.
+     */
+    public void restartFrameSequence() {
+        mLastFrameStat = null;
+    }
+
     /**
      * Emits the necessary indicator metrics
      */
@@ -0,0 +1,261 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package com.amazon.apl.android.utils;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Records how long each phase of a frame takes, for the last frames of a recording.
+ *
+ * Frames are kept in a ring of primitive arrays allocated once, so memory is bounded however long
+ * the recording is and recording a frame does not allocate. The draw of a frame happens after
+ * its tick, so a frame is only committed when the next one begins or the timeline is flushed.
+ *
+ * When a {@link Listener} is set, the frames committed since the last batch are handed to it at
+ * most once per interval. Frames overwritten before they are handed over are counted as dropped.
+ *
+ * Not thread safe, frames are recorded and flushed on the main thread.
+ */
+public final class FrameTimeline {
+    /**
+     * The phases of a frame, in the order they run.
+     */
+    public enum Phase {
+        WORK_QUEUE("workQueue"),
+        POINTER("pointer"),
+        UPDATE_TIME("updateTime"),
+        CLEAR_PENDING("clearPending"),
+        DIRTY_PROPERTIES("dirtyProperties"),
+        EVENTS("events"),
+        CONTEXT_NOTIFY("contextNotify"),
+        VIEWHOST_TICK("viewhostTick"),
+        DRAW("draw");
+
+        private final String mName;
+
+        Phase(String name) {
+            mName = name;
+        }
+
+        @NonNull
+        @Override
+        public String toString() {
+            return mName;
+        }
+    }
+
+    /**
+     * Receives the recorded frames in batches.
+     */
+    public interface Listener {
+        void onFrames(@NonNull Batch batch);
+    }
+
+    private static final Phase[] PHASES = Phase.values();
+    private static final int BEGIN = 0;
+    private static final int END = 1;
+    private static final int FIRST_PHASE = 2;
+    private static final int STRIDE = FIRST_PHASE + PHASES.length;
+
+    private final int mCapacity;
+    private final long[] mFrames;
+    private final long[] mCurrent = new long[STRIDE];
+    private long mWritten;
+    private long mFlushed;
+    private boolean mInFrame;
+    private boolean mPending;
+    private long mLastMark;
+
+    @Nullable
+    private Listener mListener;
+    private long mIntervalNanos;
+    private long mLastFlushNanos;
+
+    /**
+     * @param capacity the number of frames kept.
+     */
+    public FrameTimeline(int capacity) {
+        mCapacity = capacity;
+        mFrames = new long[capacity * STRIDE];
+    }
+
+    /**
+     * Streams frames to a listener.
+     *
+     * @param listener   the listener, or null to stop streaming.
+     * @param intervalMs the minimum interval between batches, in milliseconds.
+     */
+    public void setListener(@Nullable Listener listener, long intervalMs) {
+        mListener = listener;
+        mIntervalNanos = intervalMs * 1_000_000L;
+        mLastFlushNanos = System.nanoTime();
+        mFlushed = mWritten;
+    }
+
+    /**
+     * Begins a frame, committing the previous frame.
+     *
+     * @param frameTimeNanos the time the frame started being rendered, in {@link System#nanoTime()}.
+     */
+    public void beginFrame(long frameTimeNanos) {
+        commit();
+        long now = System.nanoTime();
+        if (mListener != null && now - mLastFlushNanos >= mIntervalNanos) {
+            flush();
+        }
+        for (int i = 0; i < STRIDE; i++) {
+            mCurrent[i] = 0;
+        }
+        mCurrent[BEGIN] = frameTimeNanos;
+        mLastMark = now;
+        mInFrame = true;
+    }
+
+    /**
+     * Attributes the time since the previous mark, or the beginning of the frame, to a phase.
+     */
+    public void mark(@NonNull Phase phase) {
+        if (!mInFrame) {
+            return;
+        }
+        long now = System.nanoTime();
+        mCurrent[FIRST_PHASE + phase.ordinal()] += now - mLastMark;
+        mLastMark = now;
+    }
+
+    /**
+     * Ends the tick of a frame, its draw may follow.
+     *
+     * @param endNanos the end of the tick, in {@link System#nanoTime()}.
+     */
+    public void endFrame(long endNanos) {
+        if (!mInFrame) {
+            return;
+        }
+        mCurrent[END] = endNanos;
+        mInFrame = false;
+        mPending = true;
+    }
+
+    /**
+     * Attributes a draw to the last frame.
+     *
+     * @param drawNanos the duration of the draw.
+     */
+    public void recordDraw(long drawNanos) {
+        if (mPending) {
+            mCurrent[FIRST_PHASE + Phase.DRAW.ordinal()] += drawNanos;
+        }
+    }
+
+    /**
+     * Commits the last frame and hands the frames not handed over yet to the listener, if any.
+     */
+    public void flush() {
+        commit();
+        mLastFlushNanos = System.nanoTime();
+        if (mListener == null || mWritten == mFlushed) {
+            return;
+        }
+        long from = Math.max(mFlushed, mWritten - mCapacity);
+        Batch batch = new Batch(copy(from, mWritten), (int) (mWritten - from), from - mFlushed);
+        mFlushed = mWritten;
+        mListener.onFrames(batch);
+    }
+
+    /**
+     * @return the frames kept, oldest first, after committing the last frame.
+     */
+    @NonNull
+    public List<FrameStat> getFrameStats() {
+        commit();
+        long from = Math.max(0, mWritten - mCapacity);
+        List<FrameStat> frameStats = new ArrayList<>((int) (mWritten - from));
+        for (long i = from; i < mWritten; i++) {
+            int offset = (int) (i % mCapacity) * STRIDE;
+            frameStats.add(new FrameStat(mFrames[offset + BEGIN], mFrames[offset + END]));
+        }
+        return frameStats;
+    }
+
+    /**
+     * Drops all frames.
+     */
+    public void clear() {
+        mWritten = 0;
+        mFlushed = 0;
+        mInFrame = false;
+        mPending = false;
+    }
+
+    private void commit() {
+        if (!mPending) {
+            return;
+        }
+        System.arraycopy(mCurrent, 0, mFrames, (int) (mWritten % mCapacity) * STRIDE, STRIDE);
+        mWritten++;
+        mPending = false;
+    }
+
+    private long[] copy(long from, long to) {
+        long[] frames = new long[(int) (to - from) * STRIDE];
+        for (long i = from; i < to; i++) {
+            System.arraycopy(mFrames, (int) (i % mCapacity) * STRIDE, frames, (int) (i - from) * STRIDE, STRIDE);
+        }
+        return frames;
+    }
+
+    /**
+     * A batch of frames.
+     */
+    public static final class Batch {
+        private final long[] mFrames;
+        private final int mFrameCount;
+        private final long mDroppedFrames;
+
+        Batch(long[] frames, int frameCount, long droppedFrames) {
+            mFrames = frames;
+            mFrameCount = frameCount;
+            mDroppedFrames = droppedFrames;
+        }
+
+        public int getFrameCount() {
+            return mFrameCount;
+        }
+
+        /**
+         * @return the number of frames overwritten before they could be handed over.
+         */
+        public long getDroppedFrames() {
+            return mDroppedFrames;
+        }
+
+        /**
+         * @return the beginning of a frame, in {@link System#nanoTime()}.
+         */
+        public long getBegin(int frame) {
+            return mFrames[frame * STRIDE + BEGIN];
+        }
+
+        /**
+         * @return the end of the tick of a frame, in {@link System#nanoTime()}.
+         */
+        public long getEnd(int frame) {
+            return mFrames[frame * STRIDE + END];
+        }
+
+        /**
+         * @return the time spent in a phase of a frame, in nanoseconds.
+         */
+        public long getPhaseNanos(int frame, @NonNull Phase phase) {
+            return mFrames[frame * STRIDE + FIRST_PHASE + phase.ordinal()];
+        }
+    }
+}
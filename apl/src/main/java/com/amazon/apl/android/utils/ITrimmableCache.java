@@ -0,0 +1,25 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package com.amazon.apl.android.utils;
+
+/**
+ * A cache which can report the memory it retains and shrink on request. Trimmable caches are
+ * registered with the {@link CacheGovernor}, which shrinks them under memory pressure.
+ */
+public interface ITrimmableCache {
+    /**
+     * @return an estimate of the memory retained by the cache, in bytes.
+     */
+    long getEstimatedBytes();
+
+    /**
+     * Shrinks the cache, evicting its least recently used entries first.
+     *
+     * @param fraction the fraction of its current contents the cache should keep, from 0, which
+     *                 empties the cache, to 1, which keeps everything.
+     */
+    void trimToFraction(float fraction);
+}
@@ -0,0 +1,233 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package com.amazon.apl.android.utils;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import java.util.Arrays;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * A map from int keys to non-null values, using open addressing with linear probing.
+ *
+ * Unlike {@link android.util.SparseArray} or {@link android.util.ArrayMap}, which keep sorted
+ * arrays and shift them on every insert and remove, gets, puts and removes take constant time on
+ * average, so filling and emptying the map is linear in its size. Keys are not boxed.
+ *
+ * Not thread safe.
+ */
+public final class IntObjectMap<V> {
+    private static final int MIN_CAPACITY = 16;
+
+    private int[] mKeys;
+    // A null value marks an empty slot.
+    private Object[] mValues;
+    private int mSize;
+    private int mModCount;
+
+    public IntObjectMap() {
+        this(MIN_CAPACITY);
+    }
+
+    /**
+     * @param expectedSize the number of entries the map holds without growing.
+     */
+    public IntObjectMap(int expectedSize) {
+        allocate(capacityFor(expectedSize));
+    }
+
+    /**
+     * @return the value for a key, or null if there is none.
+     */
+    @Nullable
+    @SuppressWarnings("unchecked")
+    public V get(int key) {
+        int mask = mKeys.length - 1;
+        for (int i = slot(key, mask); mValues[i] != null; i = (i + 1) & mask) {
+            if (mKeys[i] == key) {
+                return (V) mValues[i];
+            }
+        }
+        return null;
+    }
+
+    public boolean containsKey(int key) {
+        return get(key) != null;
+    }
+
+    /**
+     * Maps a key to a value.
+     *
+     * @return the previous value for the key, or null if there was none.
+     */
+    @Nullable
+    @SuppressWarnings("unchecked")
+    public V put(int key, @NonNull V value) {
+        if (value == null) {
+            throw new NullPointerException("IntObjectMap does not hold null values");
+        }
+        int mask = mKeys.length - 1;
+        int i = slot(key, mask);
+        for (; mValues[i] != null; i = (i + 1) & mask) {
+            if (mKeys[i] == key) {
+                V previous = (V) mValues[i];
+                mValues[i] = value;
+                return previous;
+            }
+        }
+        mKeys[i] = key;
+        mValues[i] = value;
+        mModCount++;
+        // Keep the load factor at most 1/2 so that probe sequences stay short.
+        if (++mSize > mKeys.length >> 1) {
+            rehash(mKeys.length << 1);
+        }
+        return null;
+    }
+
+    /**
+     * Removes the value for a key.
+     *
+     * @return the removed value, or null if there was none.
+     */
+    @Nullable
+    @SuppressWarnings("unchecked")
+    public V remove(int key) {
+        int mask = mKeys.length - 1;
+        for (int i = slot(key, mask); mValues[i] != null; i = (i + 1) & mask) {
+            if (mKeys[i] == key) {
+                V removed = (V) mValues[i];
+                deleteSlot(i, mask);
+                mSize--;
+                mModCount++;
+                return removed;
+            }
+        }
+        return null;
+    }
+
+    public int size() {
+        return mSize;
+    }
+
+    public boolean isEmpty() {
+        return mSize == 0;
+    }
+
+    /**
+     * Removes every entry, keeping the current capacity.
+     */
+    public void clear() {
+        if (mSize == 0) {
+            return;
+        }
+        Arrays.fill(mValues, null);
+        mSize = 0;
+        mModCount++;
+    }
+
+    /**
+     * @return the values, in no particular order. The map must not be modified while iterating.
+     */
+    @NonNull
+    public Iterable<V> values() {
+        return ValueIterator::new;
+    }
+
+    /**
+     * Empties a slot, shifting back the entries of the probe sequence after it so that no
+     * tombstones are needed.
+     */
+    private void deleteSlot(int hole, int mask) {
+        int i = hole;
+        while (true) {
+            i = (i + 1) & mask;
+            if (mValues[i] == null) {
+                break;
+            }
+            int home = slot(mKeys[i], mask);
+            // Move the entry into the hole unless its home slot lies cyclically in (hole, i].
+            boolean reachable = hole <= i ? (hole < home && home <= i) : (hole < home || home <= i);
+            if (!reachable) {
+                mKeys[hole] = mKeys[i];
+                mValues[hole] = mValues[i];
+                hole = i;
+            }
+        }
+        mValues[hole] = null;
+    }
+
+    private void rehash(int capacity) {
+        int[] keys = mKeys;
+        Object[] values = mValues;
+        allocate(capacity);
+        int mask = capacity - 1;
+        for (int j = 0; j < keys.length; j++) {
+            if (values[j] != null) {
+                int i = slot(keys[j], mask);
+                while (mValues[i] != null) {
+                    i = (i + 1) & mask;
+                }
+                mKeys[i] = keys[j];
+                mValues[i] = values[j];
+            }
+        }
+    }
+
+    private void allocate(int capacity) {
+        mKeys = new int[capacity];
+        mValues = new Object[capacity];
+    }
+
+    private static int capacityFor(int expectedSize) {
+        int capacity = MIN_CAPACITY;
+        while (capacity >> 1 < expectedSize) {
+            capacity <<= 1;
+        }
+        return capacity;
+    }
+
+    private static int slot(int key, int mask) {
+        // Unique ids are sequential, spread them so that neighbours do not cluster.
+        int hash = key * 0x9E3779B9;
+        return (hash ^ (hash >>> 16)) & mask;
+    }
+
+    private final class ValueIterator implements Iterator<V> {
+        private final int mExpectedModCount = mModCount;
+        private int mNext = advance(0);
+
+        private int advance(int from) {
+            int i = from;
+            while (i < mValues.length && mValues[i] == null) {
+                i++;
+            }
+            return i;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return mNext < mValues.length;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public V next() {
+            if (mModCount != mExpectedModCount) {
+                throw new ConcurrentModificationException();
+            }
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            V value = (V) mValues[mNext];
+            mNext = advance(mNext + 1);
+            return value;
+        }
+    }
+}
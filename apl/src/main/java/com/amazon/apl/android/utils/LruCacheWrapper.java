@@ -19,7 +19,7 @@ import com.amazon.apl.android.providers.ITelemetryProvider;
  * @param <K> the keys
  * @param <V> the values
  */
-public abstract class LruCacheWrapper<K,V> implements ICache<K,V> {
+public abstract class LruCacheWrapper<K,V> implements ICache<K,V>, ITrimmableCache {
     private final LruCache<K, V> mLruCacheInternal;
 
     public LruCacheWrapper(LruCache<K, V> lruCache) {
@@ -89,4 +89,17 @@ public abstract class LruCacheWrapper<K,V> implements ICache<K,V> {
     public int getSize() {
         return mLruCacheInternal.size();
     }
+
+    /**
+     * Assumes the cache is sized in bytes.
+     */
+    @Override
+    public long getEstimatedBytes() {
+        return mLruCacheInternal.size();
+    }
+
+    @Override
+    public void trimToFraction(float fraction) {
+        mLruCacheInternal.trimToSize((int) (mLruCacheInternal.size() * fraction));
+    }
 }
@@ -37,6 +37,7 @@ public enum TracePoint {
 
     // Miscellany
     ROOT_CONTEXT_RE_INFLATE("RootContext", "reinflate"),
+    ROOT_CONTEXT_PREFETCH_IMAGES("RootContext", "prefetchImages"),
     APL_LAYOUT_HANDLE_TOUCH("APLLayout", "handleTouch"),
     APL_LAYOUT_HANDLE_CONFIGURATION_CHANGE("APLLayout", "handleConfigurationChange");
 
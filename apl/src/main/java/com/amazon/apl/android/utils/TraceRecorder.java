@@ -0,0 +1,296 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package com.amazon.apl.android.utils;
+
+import android.os.Process;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.VisibleForTesting;
+
+import java.lang.ref.WeakReference;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Records the {@link TracePoint} sections of {@link APLTrace} in process, so that they can be
+ * exported without systrace, for example from production builds in the field.
+ *
+ * Each thread writes the sections it completes into a ring buffer of its own, without locks.
+ * Readers take a snapshot of the buffers at any time, dropping the sections overwritten while
+ * reading. Recording is off by default and costs one volatile read per section when off.
+ *
+ * The buffers of threads which have terminated are dropped whenever a thread creates its buffer
+ * and on every snapshot. Their sections are moved into a single shared ring of the same capacity,
+ * so pools and short-lived threads do not grow the recorder.
+ */
+public final class TraceRecorder {
+    // Sections kept per thread, the oldest are overwritten first.
+    private static final int DEFAULT_CAPACITY = 4096;
+    // Deeper sections are not recorded.
+    private static final int MAX_DEPTH = 64;
+
+    private static final TraceRecorder INSTANCE = new TraceRecorder(DEFAULT_CAPACITY);
+
+    private final int mCapacity;
+    private final List<ThreadBuffer> mBuffers = new CopyOnWriteArrayList<>();
+    private final ThreadLocal<ThreadBuffer> mThreadBuffer = new ThreadLocal<ThreadBuffer>() {
+        @Override
+        protected ThreadBuffer initialValue() {
+            pruneTerminatedThreads();
+            ThreadBuffer buffer = new ThreadBuffer(mCapacity);
+            mBuffers.add(buffer);
+            return buffer;
+        }
+    };
+    // The sections of terminated threads, the oldest are dropped first. Guarded by itself.
+    private final ArrayDeque<Section> mRetiredSections = new ArrayDeque<>();
+    private volatile boolean mEnabled;
+    // Advanced by every start, so that sections begun before it are not recorded.
+    private volatile int mSession;
+
+    @VisibleForTesting
+    TraceRecorder(int capacity) {
+        int size = 1;
+        while (size < capacity) {
+            size <<= 1;
+        }
+        mCapacity = size;
+    }
+
+    /**
+     * @return the recorder of this process.
+     */
+    @NonNull
+    public static TraceRecorder getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Discards the sections recorded so far and starts recording.
+     */
+    public void start() {
+        for (ThreadBuffer buffer : mBuffers) {
+            buffer.mReadFrom = buffer.mWritten;
+        }
+        synchronized (mRetiredSections) {
+            mRetiredSections.clear();
+        }
+        pruneTerminatedThreads();
+        mSession++;
+        mEnabled = true;
+    }
+
+    /**
+     * Stops recording. Recorded sections are kept until the next start.
+     */
+    public void stop() {
+        mEnabled = false;
+    }
+
+    public boolean isEnabled() {
+        return mEnabled;
+    }
+
+    /**
+     * Begins a section on the current thread.
+     */
+    public void begin(@NonNull TracePoint tracePoint) {
+        if (!mEnabled) {
+            return;
+        }
+        ThreadBuffer buffer = currentBuffer();
+        int depth = buffer.mDepth++;
+        if (depth < MAX_DEPTH) {
+            buffer.mOpenPoints[depth] = tracePoint.ordinal();
+            buffer.mOpenStarts[depth] = System.nanoTime();
+        }
+    }
+
+    /**
+     * Ends the innermost section of the current thread.
+     */
+    public void end() {
+        if (!mEnabled) {
+            return;
+        }
+        ThreadBuffer buffer = currentBuffer();
+        if (buffer.mDepth == 0) {
+            // Begun before recording started.
+            return;
+        }
+        int depth = --buffer.mDepth;
+        if (depth < MAX_DEPTH) {
+            buffer.write(buffer.mOpenPoints[depth], buffer.mOpenStarts[depth], System.nanoTime());
+        }
+    }
+
+    /**
+     * @return the sections recorded by all threads, ordered by thread and then by end time.
+     */
+    @NonNull
+    public List<Section> snapshot() {
+        pruneTerminatedThreads();
+        List<Section> sections;
+        synchronized (mRetiredSections) {
+            sections = new ArrayList<>(mRetiredSections);
+        }
+        for (ThreadBuffer buffer : mBuffers) {
+            buffer.readInto(sections);
+        }
+        return Collections.unmodifiableList(sections);
+    }
+
+    @VisibleForTesting
+    int getThreadBufferCount() {
+        return mBuffers.size();
+    }
+
+    /**
+     * Moves the sections of terminated threads into the retired ring and drops their buffers.
+     */
+    private void pruneTerminatedThreads() {
+        synchronized (mRetiredSections) {
+            for (ThreadBuffer buffer : mBuffers) {
+                if (buffer.isThreadAlive()) {
+                    continue;
+                }
+                List<Section> sections = new ArrayList<>();
+                buffer.readInto(sections);
+                for (Section section : sections) {
+                    if (mRetiredSections.size() == mCapacity) {
+                        mRetiredSections.removeFirst();
+                    }
+                    mRetiredSections.addLast(section);
+                }
+                mBuffers.remove(buffer);
+            }
+        }
+    }
+
+    private ThreadBuffer currentBuffer() {
+        ThreadBuffer buffer = mThreadBuffer.get();
+        if (buffer.mSession != mSession) {
+            buffer.mSession = mSession;
+            buffer.mDepth = 0;
+        }
+        return buffer;
+    }
+
+    /**
+     * A completed section.
+     */
+    public static final class Section {
+        private final TracePoint mTracePoint;
+        private final long mStartNanos;
+        private final long mEndNanos;
+        private final int mThreadId;
+        private final String mThreadName;
+
+        Section(TracePoint tracePoint, long startNanos, long endNanos, int threadId, String threadName) {
+            mTracePoint = tracePoint;
+            mStartNanos = startNanos;
+            mEndNanos = endNanos;
+            mThreadId = threadId;
+            mThreadName = threadName;
+        }
+
+        public TracePoint getTracePoint() {
+            return mTracePoint;
+        }
+
+        /**
+         * @return the start, in {@link System#nanoTime()}.
+         */
+        public long getStartNanos() {
+            return mStartNanos;
+        }
+
+        /**
+         * @return the end, in {@link System#nanoTime()}.
+         */
+        public long getEndNanos() {
+            return mEndNanos;
+        }
+
+        public int getThreadId() {
+            return mThreadId;
+        }
+
+        public String getThreadName() {
+            return mThreadName;
+        }
+    }
+
+    /**
+     * The sections of one thread. Only the owning thread writes, the count of written sections
+     * is published last so that readers see complete entries.
+     */
+    private static final class ThreadBuffer {
+        private final int mMask;
+        private final int[] mPoints;
+        private final long[] mStarts;
+        private final long[] mEnds;
+        private final int mThreadId = Process.myTid();
+        private final String mThreadName = Thread.currentThread().getName();
+        // Weak, so that the buffer never keeps its thread alive.
+        private final WeakReference<Thread> mThread = new WeakReference<>(Thread.currentThread());
+        private volatile long mWritten;
+        // Sections before this were discarded by a start.
+        private volatile long mReadFrom;
+
+        // Owner thread only.
+        private final int[] mOpenPoints = new int[MAX_DEPTH];
+        private final long[] mOpenStarts = new long[MAX_DEPTH];
+        private int mDepth;
+        private int mSession;
+
+        ThreadBuffer(int capacity) {
+            mMask = capacity - 1;
+            mPoints = new int[capacity];
+            mStarts = new long[capacity];
+            mEnds = new long[capacity];
+        }
+
+        boolean isThreadAlive() {
+            Thread thread = mThread.get();
+            return thread != null && thread.isAlive();
+        }
+
+        void write(int point, long start, long end) {
+            long written = mWritten;
+            int slot = (int) (written & mMask);
+            mPoints[slot] = point;
+            mStarts[slot] = start;
+            mEnds[slot] = end;
+            mWritten = written + 1;
+        }
+
+        void readInto(List<Section> sections) {
+            int capacity = mMask + 1;
+            long written = mWritten;
+            long from = Math.max(mReadFrom, written - capacity);
+            int count = (int) (written - from);
+            int[] points = new int[count];
+            long[] starts = new long[count];
+            long[] ends = new long[count];
+            for (int i = 0; i < count; i++) {
+                int slot = (int) ((from + i) & mMask);
+                points[i] = mPoints[slot];
+                starts[i] = mStarts[slot];
+                ends[i] = mEnds[slot];
+            }
+            // Drop the sections the owner may have overwritten while they were copied.
+            long valid = Math.max(from, mWritten - capacity);
+            TracePoint[] tracePoints = TracePoint.values();
+            for (int i = (int) (valid - from); i < count; i++) {
+                sections.add(new Section(tracePoints[points[i]], starts[i], ends[i], mThreadId, mThreadName));
+            }
+        }
+    }
+}
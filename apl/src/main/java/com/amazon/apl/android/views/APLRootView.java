@@ -36,7 +36,7 @@ public class APLRootView extends ViewGroup {
 
     @Override
     protected boolean getChildStaticTransformation(View child, Transformation t) {
-        if (child instanceof APLView) {
+        if (child instanceof APLView && !((APLView) child).usesPropertyTransform()) {
             Matrix m = ((APLView) child).mAplLayer.getTransform();
             t.setTransformationType(Transformation.TYPE_MATRIX);
             t.getMatrix().set(m);
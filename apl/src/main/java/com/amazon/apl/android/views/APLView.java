@@ -11,7 +11,6 @@ import android.graphics.Matrix;
 
 import android.graphics.Paint;
 import android.os.Build;
-import android.os.Trace;
 import android.view.View;
 import android.view.ViewGroup;
 import android.view.animation.Transformation;
@@ -23,17 +22,23 @@ import com.amazon.apl.android.primitive.SGRadii;
 import com.amazon.apl.android.primitive.SGRect;
 import com.amazon.apl.android.scenegraph.APLLayer;
 import com.amazon.apl.android.scenegraph.generic.Point;
-import com.amazon.apl.android.scenegraph.rendering.APLRender;
-import com.amazon.apl.android.sgcontent.Node;
+import com.amazon.apl.android.scenegraph.rendering.LayerContent;
+import com.amazon.apl.android.scenegraph.rendering.LayerDisplayList;
 import com.amazon.apl.android.sgcontent.Shadow;
 
 public class APLView extends ViewGroup {
 
     public APLLayer mAplLayer;
+    // The content of the layer, copied out of the scene graph whenever it changes.
+    private LayerContent mContent;
+    // The content of the layer, recorded once and replayed until it changes.
+    private final LayerDisplayList mContentDisplayList = new LayerDisplayList();
+    private final LayerDisplayList.Recorder mContentRecorder = canvas -> mContent.draw(mAplLayer, canvas);
 
     public APLView(final Context context, final APLLayer aplLayer) {
         super(context);
         mAplLayer = aplLayer;
+        mContent = LayerContent.capture(aplLayer.getContent());
         SGRect bounds = aplLayer.getBounds();
         int w = bounds.intWidth();
         int h = bounds.intHeight();
@@ -44,13 +49,8 @@ public class APLView extends ViewGroup {
          * impacted drawing operation. Hence disable hardware acceleration for Path operations
          * on old Android versions.
          */
-        if (Build.VERSION.SDK_INT < Build.VERSION_CODES.P) {
-            for (Node node : aplLayer.getContent()) {
-                if (containsDrawNode(node)) {
-                    disableHardwareAcceleration();
-                    break;
-                }
-            }
+        if (Build.VERSION.SDK_INT < Build.VERSION_CODES.P && mContent.containsGeneralPath()) {
+            disableHardwareAcceleration();
         }
         setAlpha(aplLayer.getOpacity());
         setLayoutParams(new APLLayoutParams(w, h, 0,0));
@@ -60,7 +60,7 @@ public class APLView extends ViewGroup {
 
     @Override
     protected boolean getChildStaticTransformation(View child, Transformation t) {
-        if (child instanceof APLView) {
+        if (child instanceof APLView && !((APLView) child).usesPropertyTransform()) {
             Matrix m = ((APLView) child).mAplLayer.getTransform();
             t.setTransformationType(Transformation.TYPE_MATRIX);
             t.getMatrix().set(m);
@@ -136,10 +136,69 @@ public class APLView extends ViewGroup {
         return result;
     }
 
+    @Override
+    protected void onAttachedToWindow() {
+        super.onAttachedToWindow();
+        applyTransform();
+    }
+
+    @Override
+    protected void onDetachedFromWindow() {
+        super.onDetachedFromWindow();
+        mContentDisplayList.release();
+    }
+
+    /**
+     * Applies the transform of the layer as a property of this view, so that changes to it only
+     * update the render node of this view, instead of recording this view and its parent again.
+     * Only render nodes take arbitrary matrices, otherwise the parent applies the transform as a
+     * static transformation.
+     *
+     * @return whether the transform is applied as a property of this view.
+     */
+    public boolean applyTransform() {
+        if (!usesPropertyTransform()) {
+            return false;
+        }
+        Matrix transform = mAplLayer.getTransform();
+        setAnimationMatrix(transform.isIdentity() ? null : transform);
+        return true;
+    }
+
+    boolean usesPropertyTransform() {
+        return Build.VERSION.SDK_INT >= Build.VERSION_CODES.Q && isHardwareAccelerated();
+    }
+
+    /**
+     * Copies the content of the layer out of the scene graph after it changed, and records it on a
+     * worker, so that the draw pass only replays it. Must be called while the scene graph is
+     * updated, on the thread which updates it.
+     */
+    public void prepareContent() {
+        mContent = LayerContent.capture(mAplLayer.getContent());
+        recordContent();
+    }
+
+    /**
+     * Records the content of the layer again on a worker, without reading it from the scene graph
+     * again, for instance once an image it draws is ready. Content is recorded when drawn if this
+     * view is not attached yet, since the kind of canvas it is drawn to is not known until then.
+     */
+    public void recordContent() {
+        SGRect bounds = mAplLayer.getBounds();
+        boolean hardware = isHardwareAccelerated() && getLayerType() != LAYER_TYPE_SOFTWARE;
+        LayerContent content = mContent;
+        if (!isAttachedToWindow() || !mContentDisplayList.prepare(mAplLayer.getContentGeneration(),
+                bounds.intWidth(), bounds.intHeight(), hardware,
+                canvas -> content.draw(mAplLayer, canvas), this::invalidate)) {
+            invalidate();
+        }
+    }
+
     @Override
     protected void onDraw(Canvas canvas) {
         super.onDraw(canvas);
-        drawContent(canvas, mAplLayer.getContent());
+        mContentDisplayList.draw(canvas, mAplLayer.getContentGeneration(), getWidth(), getHeight(), mContentRecorder);
     }
 
     private void drawShadow(Canvas canvas, Point<Float> childOffsetPoint) {
@@ -169,33 +228,8 @@ public class APLView extends ViewGroup {
         }
     }
 
-    private void drawContent(Canvas canvas, Node[] content) {
-        try {
-            Trace.beginSection("APLView.drawContent");
-            for (int i = 0; i < content.length; i++) {
-                APLRender.drawNode(mAplLayer, mAplLayer.getRenderingContext(), content[i], 1.0f, canvas);
-            }
-        } finally {
-            Trace.endSection();
-        }
-    }
-
     private void disableHardwareAcceleration() {
         Paint p = new Paint(Paint.ANTI_ALIAS_FLAG | Paint.FILTER_BITMAP_FLAG);
         this.setLayerType(LAYER_TYPE_SOFTWARE, p);
     }
-
-    private boolean containsDrawNode(Node node) {
-        if ("Draw".equals(node.getType()) && "General".equals(node.getPath().getType())) {
-            return true;
-        }
-        for (Node child : node.getChildren()) {
-            boolean containsDrawNode = containsDrawNode(child);
-            if (containsDrawNode) {
-                return true;
-            }
-        }
-        return false;
-        //return true;
-    }
 }
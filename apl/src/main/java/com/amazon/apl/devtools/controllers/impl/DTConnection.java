@@ -10,6 +10,7 @@ import android.util.Log;
 import com.amazon.apl.devtools.enums.DTError;
 import com.amazon.apl.devtools.models.Session;
 import com.amazon.apl.devtools.models.common.Event;
+import com.amazon.apl.devtools.models.common.IFragmentedResponse;
 import com.amazon.apl.devtools.models.common.Request;
 import com.amazon.apl.devtools.models.common.Response;
 import com.amazon.apl.devtools.models.error.DTException;
@@ -45,6 +46,9 @@ public final class DTConnection implements WebSocket {
     private final CommandRequestFactory mCommandRequestFactory;
     private final WebSocket mWebSocket;
     private final Map<String, Session> mRegisteredSessionsMap = new HashMap<>();
+    // Messages are sent from several threads, the fragments of a message must not be interleaved
+    // with other messages.
+    private final Object mSendLock = new Object();
 
     public DTConnection(CommandRequestFactory commandRequestFactory,
                         WebSocket webSocket) {
@@ -113,6 +117,10 @@ public final class DTConnection implements WebSocket {
     }
 
     private <TResponse extends Response> void sendResponse(TResponse response) {
+        if (response instanceof IFragmentedResponse) {
+            sendFragmentedResponse((IFragmentedResponse) response);
+            return;
+        }
         try {
             String responseStr = response.toJSONString();
             Log.i(TAG, "Sending web socket message: " + responseStr);
@@ -122,6 +130,22 @@ public final class DTConnection implements WebSocket {
         }
     }
 
+    private void sendFragmentedResponse(IFragmentedResponse response) {
+        synchronized (mSendLock) {
+            if (!isOpen()) {
+                Log.w(TAG, "Connection closed, ignoring request to send message.");
+                return;
+            }
+            try {
+                Log.i(TAG, "Sending fragmented web socket message");
+                response.writeFragments((utf8, last) ->
+                        mWebSocket.sendFragmentedFrame(Opcode.TEXT, utf8, last));
+            } catch (JSONException e) {
+                Log.e(TAG, "Error serializing response", e);
+            }
+        }
+    }
+
     public <TEvent extends Event> void sendEvent(TEvent event) {
         try {
             String eventStr = event.toJSONString();
@@ -156,21 +180,27 @@ public final class DTConnection implements WebSocket {
 
     @Override
     public void send(String text) throws NotYetConnectedException {
-        if (isOpen()) {
-            mWebSocket.send(text);
-        } else {
-            Log.w(TAG, "Connection closed, ignoring request to send message.");
+        synchronized (mSendLock) {
+            if (isOpen()) {
+                mWebSocket.send(text);
+            } else {
+                Log.w(TAG, "Connection closed, ignoring request to send message.");
+            }
         }
     }
 
     @Override
     public void send(ByteBuffer bytes) throws IllegalArgumentException, NotYetConnectedException {
-        mWebSocket.send(bytes);
+        synchronized (mSendLock) {
+            mWebSocket.send(bytes);
+        }
     }
 
     @Override
     public void send(byte[] bytes) throws IllegalArgumentException, NotYetConnectedException {
-        mWebSocket.send(bytes);
+        synchronized (mSendLock) {
+            mWebSocket.send(bytes);
+        }
     }
 
     @Override
@@ -19,6 +19,8 @@ public enum CommandMethod {
     PERFORMANCE_GET_METRICS(CommandMethod.PERFORMANCE_GET_METRICS_TEXT),
     PERFORMANCE_ENABLE(CommandMethod.PERFORMANCE_ENABLE_TEXT),
     PERFORMANCE_DISABLE(CommandMethod.PERFORMANCE_DISABLE_TEXT),
+    PERFORMANCE_START_TRACING(CommandMethod.PERFORMANCE_START_TRACING_TEXT),
+    PERFORMANCE_STOP_TRACING(CommandMethod.PERFORMANCE_STOP_TRACING_TEXT),
     MEMORY_GET_MEMORY(CommandMethod.MEMORY_GET_MEMORY_TEXT),
     FRAMEMETRICS_RECORD(CommandMethod.FRAMEMETRICS_RECORD_TEXT),
     FRAMEMETRICS_STOP(CommandMethod.FRAMEMETRICS_STOP_TEXT),
@@ -55,6 +57,8 @@ public enum CommandMethod {
     private static final String PERFORMANCE_GET_METRICS_TEXT = "Performance.getMetrics";
     private static final String PERFORMANCE_ENABLE_TEXT = "Performance.enable";
     private static final String PERFORMANCE_DISABLE_TEXT = "Performance.disable";
+    private static final String PERFORMANCE_START_TRACING_TEXT = "Performance.startTracing";
+    private static final String PERFORMANCE_STOP_TRACING_TEXT = "Performance.stopTracing";
     private static final String MEMORY_GET_MEMORY_TEXT = "Memory.getMemory";
     private static final String FRAMEMETRICS_RECORD_TEXT = "FrameMetrics.record";
     private static final String FRAMEMETRICS_STOP_TEXT = "FrameMetrics.stop";
@@ -14,7 +14,10 @@ public enum EventMethod {
     NETWORK_LOADING_FAILED(EventMethod.NETWORK_LOADING_FAILED_TEXT),
     NETWORK_LOADING_FINISHED(EventMethod.NETWORK_LOADING_FINISHED_TEXT),
     PERFORMANCE_METRIC(EventMethod.PERFORMANCE_METRIC_TEXT),
-    FRAMEMETRICS_INCIDENT_REPORTED(EventMethod.FRAMEMETRICS_INCIDENT_REPORTED_TEXT);
+    PERFORMANCE_TRACE_DATA_COLLECTED(EventMethod.PERFORMANCE_TRACE_DATA_COLLECTED_TEXT),
+    PERFORMANCE_TRACING_COMPLETE(EventMethod.PERFORMANCE_TRACING_COMPLETE_TEXT),
+    FRAMEMETRICS_INCIDENT_REPORTED(EventMethod.FRAMEMETRICS_INCIDENT_REPORTED_TEXT),
+    FRAMEMETRICS_TIMELINE(EventMethod.FRAMEMETRICS_TIMELINE_TEXT);
 
     private static final String VIEW_STATE_CHANGE_TEXT = "View.stateChange";
     private static final String LOG_ENTRY_ADDED_TEXT = "Log.entryAdded";
@@ -22,7 +25,10 @@ public enum EventMethod {
     private static final String NETWORK_LOADING_FAILED_TEXT = "Network.loadingFailed";
     private static final String NETWORK_LOADING_FINISHED_TEXT = "Network.loadingFinished";
     private static final String PERFORMANCE_METRIC_TEXT = "Performance.metrics";
+    private static final String PERFORMANCE_TRACE_DATA_COLLECTED_TEXT = "Performance.traceDataCollected";
+    private static final String PERFORMANCE_TRACING_COMPLETE_TEXT = "Performance.tracingComplete";
     private static final String FRAMEMETRICS_INCIDENT_REPORTED_TEXT = "FrameMetrics.incidentReported";
+    private static final String FRAMEMETRICS_TIMELINE_TEXT = "FrameMetrics.timeline";
     private final String mEventMethodText;
 
     EventMethod(String eventMethodText) {
@@ -26,7 +26,12 @@ public class FrameMetricsRecordCommandRequest extends FrameMetricsRecordCommandR
     @Override
     public void execute(IDTCallback<FrameMetricsRecordCommandResponse> callback) {
         Log.i(TAG, "Executing " + CommandMethod.FRAMEMETRICS_RECORD+ " command");
-        getViewTypeTarget().startFrameMetricsRecording(getId(), (result, requestStatus) ->
-            callback.execute(new FrameMetricsRecordCommandResponse(getId(), getSessionId()), requestStatus));
+        IDTCallback<String> onStarted = (result, requestStatus) ->
+                callback.execute(new FrameMetricsRecordCommandResponse(getId(), getSessionId()), requestStatus);
+        if (getTimelineInterval() == NO_TIMELINE) {
+            getViewTypeTarget().startFrameMetricsRecording(getId(), onStarted);
+        } else {
+            getViewTypeTarget().startFrameMetricsRecording(getId(), getTimelineInterval(), onStarted);
+        }
     }
 }
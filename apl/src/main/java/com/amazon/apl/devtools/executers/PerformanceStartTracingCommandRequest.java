@@ -0,0 +1,37 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package com.amazon.apl.devtools.executers;
+
+import android.util.Log;
+
+import com.amazon.apl.android.utils.TraceRecorder;
+import com.amazon.apl.devtools.controllers.impl.DTConnection;
+import com.amazon.apl.devtools.enums.CommandMethod;
+import com.amazon.apl.devtools.models.common.PerformanceDomainCommandResponse;
+import com.amazon.apl.devtools.models.error.DTException;
+import com.amazon.apl.devtools.models.performance.PerformanceStartTracingCommandRequestModel;
+import com.amazon.apl.devtools.util.CommandRequestValidator;
+
+import org.json.JSONException;
+import org.json.JSONObject;
+
+public class PerformanceStartTracingCommandRequest extends PerformanceStartTracingCommandRequestModel {
+    private static final String TAG = PerformanceStartTracingCommandRequest.class.getSimpleName();
+
+    public PerformanceStartTracingCommandRequest(CommandRequestValidator commandRequestValidator,
+                                                 JSONObject obj,
+                                                 DTConnection connection) throws JSONException, DTException {
+        super(obj, commandRequestValidator, connection);
+    }
+
+    @Override
+    public PerformanceDomainCommandResponse execute() {
+        Log.i(TAG, "Executing " + CommandMethod.PERFORMANCE_START_TRACING + " command");
+        // Discards any previous trace
+        TraceRecorder.getInstance().start();
+        return new PerformanceDomainCommandResponse(getId(), getSessionId());
+    }
+}
@@ -0,0 +1,55 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package com.amazon.apl.devtools.executers;
+
+import android.util.Log;
+
+import com.amazon.apl.android.utils.TraceRecorder;
+import com.amazon.apl.devtools.controllers.impl.DTConnection;
+import com.amazon.apl.devtools.enums.CommandMethod;
+import com.amazon.apl.devtools.models.common.PerformanceDomainCommandResponse;
+import com.amazon.apl.devtools.models.error.DTException;
+import com.amazon.apl.devtools.models.performance.PerformanceStopTracingCommandRequestModel;
+import com.amazon.apl.devtools.models.performance.PerformanceTraceDataCollectedEvent;
+import com.amazon.apl.devtools.models.performance.PerformanceTracingCompleteEvent;
+import com.amazon.apl.devtools.util.CommandRequestValidator;
+import com.amazon.apl.devtools.util.IDTCallback;
+import com.amazon.apl.devtools.util.RequestStatus;
+
+import org.json.JSONException;
+import org.json.JSONObject;
+
+import java.util.List;
+
+public class PerformanceStopTracingCommandRequest extends PerformanceStopTracingCommandRequestModel {
+    private static final String TAG = PerformanceStopTracingCommandRequest.class.getSimpleName();
+    // Sections per event, so that a long trace is not serialized into a single message.
+    private static final int SECTIONS_PER_EVENT = 500;
+
+    public PerformanceStopTracingCommandRequest(CommandRequestValidator commandRequestValidator,
+                                                JSONObject obj,
+                                                DTConnection connection) throws JSONException, DTException {
+        super(obj, commandRequestValidator, connection);
+    }
+
+    @Override
+    public void execute(IDTCallback<PerformanceDomainCommandResponse> callback) {
+        Log.i(TAG, "Executing " + CommandMethod.PERFORMANCE_STOP_TRACING + " command");
+        TraceRecorder recorder = TraceRecorder.getInstance();
+        recorder.stop();
+        List<TraceRecorder.Section> sections = recorder.snapshot();
+        callback.execute(new PerformanceDomainCommandResponse(getId(), getSessionId()),
+                RequestStatus.successful());
+
+        // The trace follows the response, as a series of events.
+        for (int start = 0; start < sections.size(); start += SECTIONS_PER_EVENT) {
+            int end = Math.min(start + SECTIONS_PER_EVENT, sections.size());
+            getSession().sendEvent(new PerformanceTraceDataCollectedEvent(getSessionId(),
+                    sections.subList(start, end)));
+        }
+        getSession().sendEvent(new PerformanceTracingCompleteEvent(getSessionId(), sections.size()));
+    }
+}
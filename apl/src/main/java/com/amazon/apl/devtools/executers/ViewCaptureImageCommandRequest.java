@@ -6,13 +6,10 @@
 package com.amazon.apl.devtools.executers;
 
 import android.graphics.Bitmap;
-import android.util.Base64;
 import android.util.Log;
 
 import com.amazon.apl.devtools.controllers.impl.DTConnection;
 import com.amazon.apl.devtools.enums.CommandMethod;
-import com.amazon.apl.devtools.models.Session;
-import com.amazon.apl.devtools.models.ViewTypeTarget;
 import com.amazon.apl.devtools.models.error.DTException;
 import com.amazon.apl.devtools.models.view.ViewCaptureImageCommandRequestModel;
 import com.amazon.apl.devtools.models.view.ViewCaptureImageCommandResponse;
@@ -46,14 +43,18 @@ public final class ViewCaptureImageCommandRequest
     @Override
     public void execute(IDTCallback<ViewCaptureImageCommandResponse> callback) {
         Log.i(TAG, "Executing " + CommandMethod.VIEW_CAPTURE_IMAGE + " command");
-        getViewTypeTarget().getCurrentBitmap((bitmap, requestStatus) -> {
-            // TODO:: Image compression type and quality is hardcoded, but this may change later
-            String imageCompressionType = "image/png";
-            byte[] bytes = compressBitmapToBytes(bitmap, Bitmap.CompressFormat.PNG, 100);
-
-            String encodedImageData = Base64.encodeToString(bytes, Base64.DEFAULT);
-            callback.execute(new ViewCaptureImageCommandResponse(getId(), getSessionId(), bitmap.getHeight(),
-                bitmap.getWidth(), imageCompressionType, encodedImageData), requestStatus);
+        // The capture is delivered on the DevTools thread, so it is encoded off the main thread.
+        getViewTypeTarget().captureImage(getScale(), (bitmap, requestStatus) -> {
+            final int height = bitmap.getHeight();
+            final int width = bitmap.getWidth();
+            byte[] bytes;
+            try {
+                bytes = compressBitmapToBytes(bitmap, getFormat().getCompressFormat(getQuality()), getQuality());
+            } finally {
+                getViewTypeTarget().releaseImage(bitmap);
+            }
+            callback.execute(new ViewCaptureImageCommandResponse(getId(), getSessionId(), height,
+                width, getFormat().getMimeType(), bytes), requestStatus);
         });
     }
 }
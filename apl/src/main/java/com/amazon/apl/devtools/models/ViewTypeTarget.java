@@ -18,12 +18,14 @@ import com.amazon.apl.android.LiveData;
 import com.amazon.apl.android.dependencies.IAPLSessionListener;
 import com.amazon.apl.android.providers.impl.LoggingTelemetryProvider;
 import com.amazon.apl.android.utils.FrameStat;
+import com.amazon.apl.android.utils.FrameTimeline;
 import com.amazon.apl.android.utils.MetricInfo;
 import com.amazon.apl.developer.views.CaptureImageHelper;
 import com.amazon.apl.devtools.enums.DTError;
 import com.amazon.apl.devtools.enums.TargetType;
 import com.amazon.apl.devtools.enums.ViewState;
 import com.amazon.apl.devtools.models.frameMetrics.FrameIncidentReportedEvent;
+import com.amazon.apl.devtools.models.frameMetrics.FrameTimelineEvent;
 import com.amazon.apl.devtools.models.log.LogEntry;
 import com.amazon.apl.devtools.models.log.LogEntryAddedEvent;
 import com.amazon.apl.devtools.models.network.NetworkLoadingFailedEvent;
@@ -42,7 +44,7 @@ import com.amazon.apl.devtools.views.IAPLView;
 
 import org.json.JSONObject;
 
-import java.util.ArrayList;
+import java.util.LinkedList;
 import java.util.List;
 
 /**
@@ -51,9 +53,11 @@ import java.util.List;
 public final class ViewTypeTarget extends Target implements IAPLSessionListener {
     private static final String TARGET_NAME = "main";
     private static final String TAG = "ViewTypeTarget";
+    // Entries kept for the Log domain, the oldest are dropped first.
+    private static final int MAX_LOG_ENTRIES = 1000;
     private IAPLView mView;
     private final Handler mHandler;
-    private final List<LogEntry> mLogEntries = new ArrayList<>();
+    private final LinkedList<LogEntry> mLogEntries = new LinkedList<>();
     private final IdGenerator mIdGenerator = new IdGenerator();
     private int mCurrentDocumentId = 0;
     private ViewState mCurrentDocumentViewState = ViewState.EMPTY;
@@ -114,6 +118,10 @@ public final class ViewTypeTarget extends Target implements IAPLSessionListener
         mView.post(() -> mView.startFrameMetricsRecording(id, callback));
     }
 
+    public void startFrameMetricsRecording(int id, long timelineIntervalMs, IDTCallback<String> callback) {
+        mView.post(() -> mView.startFrameMetricsRecording(id, timelineIntervalMs, callback));
+    }
+
     public void stopFrameMetricsRecording(int id, IDTCallback<List<JSONObject>> callback) {
         mView.post(() -> mView.stopFrameMetricsRecording(id, callback));
     }
@@ -139,8 +147,20 @@ public final class ViewTypeTarget extends Target implements IAPLSessionListener
         });
     }
 
-    public void getCurrentBitmap(IDTCallback<Bitmap> callback) {
-        post(() -> callback.execute(mCaptureImageHelper.captureImage((View) mView), RequestStatus.successful()));
+    /**
+     * Captures the view without blocking. The callback is invoked on the DevTools thread, and
+     * the bitmap is passed to {@link #releaseImage(Bitmap)} once consumed.
+     *
+     * @param scale The scale of the capture, in (0, 1].
+     * @param callback The callback receiving the capture.
+     */
+    public void captureImage(float scale, IDTCallback<Bitmap> callback) {
+        post(() -> mCaptureImageHelper.captureImage((View) mView, scale, mHandler,
+                bitmap -> callback.execute(bitmap, RequestStatus.successful())));
+    }
+
+    public void releaseImage(Bitmap bitmap) {
+        mCaptureImageHelper.release(bitmap);
     }
 
     public void executeCommands(String commands, IDTCallback<ExecuteCommandStatus> callback) {
@@ -212,6 +232,9 @@ public final class ViewTypeTarget extends Target implements IAPLSessionListener
     public void onLogEntryAdded(com.amazon.apl.android.Session.LogEntryLevel level, com.amazon.apl.android.Session.LogEntrySource source, String messageText, double timestamp, Object[] arguments) {
         LogEntry entry = new LogEntry(level, source, messageText, timestamp, arguments);
         mLogEntries.add(entry);
+        if (mLogEntries.size() > MAX_LOG_ENTRIES) {
+            mLogEntries.removeFirst();
+        }
         for (Session session : getRegisteredSessions()) {
             if (session.isLogEnabled()) {
                 session.sendEvent(new LogEntryAddedEvent(session.getSessionId(), level, source, messageText,
@@ -290,6 +313,14 @@ public final class ViewTypeTarget extends Target implements IAPLSessionListener
         return false;
     }
 
+    public void onFrameTimeline(FrameTimeline.Batch batch) {
+        post(() -> {
+            for (Session session : getRegisteredSessions()) {
+                session.sendEvent(new FrameTimelineEvent(session.getSessionId(), batch));
+            }
+        });
+    }
+
     public void onFrameIncidentReported(int incidentId, FrameStat[] framestats, Double[] upsValues, JSONObject details) {
         post(() -> {
             for (Session session : getRegisteredSessions()) {
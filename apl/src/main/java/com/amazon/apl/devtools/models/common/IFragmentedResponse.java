@@ -0,0 +1,32 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package com.amazon.apl.devtools.models.common;
+
+import org.json.JSONException;
+
+import java.nio.ByteBuffer;
+
+/**
+ * A response too large to be serialized into a single string, which is written to the web
+ * socket as a series of fragments of one text message instead.
+ */
+public interface IFragmentedResponse {
+    /**
+     * Receives the fragments of a response.
+     */
+    interface FragmentSink {
+        /**
+         * @param utf8 the next fragment of the serialized response.
+         * @param last whether this is the last fragment.
+         */
+        void write(ByteBuffer utf8, boolean last);
+    }
+
+    /**
+     * Writes the serialized response to the sink, in order.
+     */
+    void writeFragments(FragmentSink sink) throws JSONException;
+}
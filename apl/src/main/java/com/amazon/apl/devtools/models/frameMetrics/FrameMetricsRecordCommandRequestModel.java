@@ -10,7 +10,24 @@ import org.json.JSONException;
 import org.json.JSONObject;
 
 public abstract class FrameMetricsRecordCommandRequestModel extends SessionCommandRequest<FrameMetricsRecordCommandResponse> {
+    // Frames are only streamed when an interval is requested.
+    public static final long NO_TIMELINE = -1;
+
+    private final long mTimelineInterval;
+
     protected FrameMetricsRecordCommandRequestModel(JSONObject obj, CommandRequestValidator commandRequestValidator, DTConnection connection) throws JSONException, DTException {
         super(CommandMethod.FRAMEMETRICS_RECORD, obj, commandRequestValidator, connection);
+        JSONObject params = obj.optJSONObject("params");
+        mTimelineInterval = params != null && params.has("timelineInterval") ?
+                Math.max(0, params.getLong("timelineInterval")) :
+                NO_TIMELINE;
+    }
+
+    /**
+     * @return the minimum interval between streamed batches of frames in milliseconds, or
+     *         {@link #NO_TIMELINE}.
+     */
+    public long getTimelineInterval() {
+        return mTimelineInterval;
     }
 }
@@ -0,0 +1,52 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package com.amazon.apl.devtools.models.frameMetrics;
+
+import com.amazon.apl.android.utils.FrameTimeline;
+import com.amazon.apl.devtools.enums.EventMethod;
+import com.amazon.apl.devtools.models.common.Event;
+
+import org.json.JSONArray;
+import org.json.JSONException;
+import org.json.JSONObject;
+
+/**
+ * A batch of recorded frames. Each frame is an array of its begin and end in nanoseconds,
+ * followed by the time spent in each of the listed phases in microseconds.
+ */
+public class FrameTimelineEvent extends Event {
+    private static final long NANOS_PER_MICRO = 1000;
+
+    private final FrameTimeline.Batch mBatch;
+
+    public FrameTimelineEvent(String sessionId, FrameTimeline.Batch batch) {
+        super(EventMethod.FRAMEMETRICS_TIMELINE, sessionId);
+        mBatch = batch;
+    }
+
+    @Override
+    public JSONObject toJSONObject() throws JSONException {
+        FrameTimeline.Phase[] phases = FrameTimeline.Phase.values();
+        JSONArray phaseNames = new JSONArray();
+        for (FrameTimeline.Phase phase : phases) {
+            phaseNames.put(phase.toString());
+        }
+        JSONArray frames = new JSONArray();
+        for (int i = 0; i < mBatch.getFrameCount(); i++) {
+            JSONArray frame = new JSONArray()
+                    .put(mBatch.getBegin(i))
+                    .put(mBatch.getEnd(i));
+            for (FrameTimeline.Phase phase : phases) {
+                frame.put(mBatch.getPhaseNanos(i, phase) / NANOS_PER_MICRO);
+            }
+            frames.put(frame);
+        }
+        return super.toJSONObject().put("params", new JSONObject()
+                .put("phases", phaseNames)
+                .put("frames", frames)
+                .put("droppedFrames", mBatch.getDroppedFrames()));
+    }
+}
@@ -0,0 +1,65 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package com.amazon.apl.devtools.models.performance;
+
+import android.os.Process;
+
+import com.amazon.apl.android.utils.TraceRecorder;
+import com.amazon.apl.android.utils.TracePoint;
+import com.amazon.apl.devtools.enums.EventMethod;
+import com.amazon.apl.devtools.models.common.Event;
+
+import org.json.JSONArray;
+import org.json.JSONException;
+import org.json.JSONObject;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * A chunk of recorded trace sections, in the Chrome trace event format, so that the chunks can
+ * be concatenated and loaded into Perfetto or chrome://tracing.
+ *
+ * Each chunk names the threads it refers to, so that every chunk can be read on its own.
+ */
+public class PerformanceTraceDataCollectedEvent extends Event {
+    private static final double NANOS_PER_MICRO = 1000.0;
+
+    private final List<TraceRecorder.Section> mSections;
+
+    public PerformanceTraceDataCollectedEvent(String sessionId, List<TraceRecorder.Section> sections) {
+        super(EventMethod.PERFORMANCE_TRACE_DATA_COLLECTED, sessionId);
+        mSections = sections;
+    }
+
+    @Override
+    public JSONObject toJSONObject() throws JSONException {
+        int pid = Process.myPid();
+        JSONArray traceEvents = new JSONArray();
+        Set<Integer> threadIds = new HashSet<>();
+        for (TraceRecorder.Section section : mSections) {
+            if (threadIds.add(section.getThreadId())) {
+                traceEvents.put(new JSONObject()
+                        .put("name", "thread_name")
+                        .put("ph", "M")
+                        .put("pid", pid)
+                        .put("tid", section.getThreadId())
+                        .put("args", new JSONObject().put("name", section.getThreadName())));
+            }
+            TracePoint tracePoint = section.getTracePoint();
+            traceEvents.put(new JSONObject()
+                    .put("name", tracePoint.getClassName() + "." + tracePoint.getMethodName())
+                    .put("cat", "apl")
+                    .put("ph", "X")
+                    .put("ts", section.getStartNanos() / NANOS_PER_MICRO)
+                    .put("dur", (section.getEndNanos() - section.getStartNanos()) / NANOS_PER_MICRO)
+                    .put("pid", pid)
+                    .put("tid", section.getThreadId()));
+        }
+        return super.toJSONObject().put("params", new JSONObject().put("value", traceEvents));
+    }
+}
@@ -0,0 +1,29 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package com.amazon.apl.devtools.models.performance;
+
+import com.amazon.apl.devtools.enums.EventMethod;
+import com.amazon.apl.devtools.models.common.Event;
+
+import org.json.JSONException;
+import org.json.JSONObject;
+
+/**
+ * Sent after the last {@link PerformanceTraceDataCollectedEvent} of a trace.
+ */
+public class PerformanceTracingCompleteEvent extends Event {
+    private final int mSectionCount;
+
+    public PerformanceTracingCompleteEvent(String sessionId, int sectionCount) {
+        super(EventMethod.PERFORMANCE_TRACING_COMPLETE, sessionId);
+        mSectionCount = sectionCount;
+    }
+
+    @Override
+    public JSONObject toJSONObject() throws JSONException {
+        return super.toJSONObject().put("params", new JSONObject().put("sectionCount", mSectionCount));
+    }
+}
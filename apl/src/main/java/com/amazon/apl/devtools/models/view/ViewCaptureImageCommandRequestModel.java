@@ -5,8 +5,12 @@
 
 package com.amazon.apl.devtools.models.view;
 
+import android.graphics.Bitmap;
+import android.os.Build;
+
 import com.amazon.apl.devtools.controllers.impl.DTConnection;
 import com.amazon.apl.devtools.enums.CommandMethod;
+import com.amazon.apl.devtools.enums.DTError;
 import com.amazon.apl.devtools.models.common.SessionCommandRequest;
 import com.amazon.apl.devtools.models.error.DTException;
 import com.amazon.apl.devtools.util.CommandRequestValidator;
@@ -17,7 +21,86 @@ import org.json.JSONObject;
 public abstract class ViewCaptureImageCommandRequestModel
         extends SessionCommandRequest<ViewCaptureImageCommandResponse> {
 
+    /**
+     * The formats a capture can be encoded to.
+     */
+    public enum ImageFormat {
+        PNG("png", "image/png"),
+        JPEG("jpeg", "image/jpeg"),
+        WEBP("webp", "image/webp");
+
+        private final String mName;
+        private final String mMimeType;
+
+        ImageFormat(String name, String mimeType) {
+            mName = name;
+            mMimeType = mimeType;
+        }
+
+        public String getMimeType() {
+            return mMimeType;
+        }
+
+        @SuppressWarnings("deprecation")
+        public Bitmap.CompressFormat getCompressFormat(int quality) {
+            switch (this) {
+                case JPEG:
+                    return Bitmap.CompressFormat.JPEG;
+                case WEBP:
+                    if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.R) {
+                        return quality == 100 ? Bitmap.CompressFormat.WEBP_LOSSLESS : Bitmap.CompressFormat.WEBP_LOSSY;
+                    }
+                    return Bitmap.CompressFormat.WEBP;
+                default:
+                    return Bitmap.CompressFormat.PNG;
+            }
+        }
+
+        static ImageFormat fromName(String name) {
+            for (ImageFormat format : values()) {
+                if (format.mName.equals(name)) {
+                    return format;
+                }
+            }
+            return null;
+        }
+    }
+
+    private final ImageFormat mFormat;
+    private final int mQuality;
+    private final float mScale;
+
     protected ViewCaptureImageCommandRequestModel(JSONObject obj, CommandRequestValidator commandRequestValidator, DTConnection connection) throws JSONException, DTException {
         super(CommandMethod.VIEW_CAPTURE_IMAGE, obj, commandRequestValidator, connection);
+        JSONObject params = obj.has("params") && !obj.isNull("params") ?
+                obj.getJSONObject("params") :
+                new JSONObject();
+        mFormat = ImageFormat.fromName(params.optString("format", "png"));
+        mQuality = params.optInt("quality", 100);
+        mScale = (float) params.optDouble("scale", 1.0);
+        if (mFormat == null) {
+            throw new DTException(getId(), DTError.INVALID_COMMAND.getErrorCode(),
+                    "Unsupported image format " + params.optString("format"));
+        }
+        if (mQuality < 0 || mQuality > 100) {
+            throw new DTException(getId(), DTError.INVALID_COMMAND.getErrorCode(),
+                    "Image quality must be between 0 and 100");
+        }
+        if (!(mScale > 0 && mScale <= 1)) {
+            throw new DTException(getId(), DTError.INVALID_COMMAND.getErrorCode(),
+                    "Image scale must be greater than 0 and at most 1");
+        }
+    }
+
+    public ImageFormat getFormat() {
+        return mFormat;
+    }
+
+    public int getQuality() {
+        return mQuality;
+    }
+
+    public float getScale() {
+        return mScale;
     }
 }
@@ -5,22 +5,39 @@
 
 package com.amazon.apl.devtools.models.view;
 
+import android.util.Base64;
 import android.util.Log;
 
 import com.amazon.apl.devtools.enums.CommandMethod;
+import com.amazon.apl.devtools.models.common.IFragmentedResponse;
 import com.amazon.apl.devtools.models.common.ViewDomainCommandResponse;
 
 import org.json.JSONException;
 import org.json.JSONObject;
 
-public final class ViewCaptureImageCommandResponse extends ViewDomainCommandResponse {
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * The response to a capture. The image is Base64 encoded while the response is written to the
+ * web socket, a chunk at a time, rather than into a single string.
+ *
+ * The encoding is {@link Base64#DEFAULT}, which wraps lines every 76 characters, as captures
+ * have always been encoded.
+ */
+public final class ViewCaptureImageCommandResponse extends ViewDomainCommandResponse
+        implements IFragmentedResponse {
     private static final String TAG = ViewCaptureImageCommandResponse.class.getSimpleName();
+    // Multiple of the 57 bytes encoded on each line, so that chunks are encoded without padding
+    // and their lines break where the lines of the whole image do.
+    private static final int CHUNK_SIZE = 57 * 1024;
+    private static final String DATA_PLACEHOLDER = "%data%";
     private final Result mResult;
 
     public ViewCaptureImageCommandResponse(int id, String sessionId, int height, int width,
-                                           String type, String data) {
+                                           String type, byte[] image) {
         super(id, sessionId);
-        mResult = new Result(height, width, type, data);
+        mResult = new Result(height, width, type, image);
     }
 
     public Result getResult() {
@@ -31,13 +48,13 @@ public final class ViewCaptureImageCommandResponse extends ViewDomainCommandResp
         private final int mHeight;
         private final int mWidth;
         private final String mType;
-        private final String mData;
+        private final byte[] mImage;
 
-        public Result(int height, int width, String type, String data) {
+        public Result(int height, int width, String type, byte[] image) {
             mHeight = height;
             mWidth = width;
             mType = type;
-            mData = data;
+            mImage = image;
         }
 
         public int getHeight() {
@@ -52,18 +69,61 @@ public final class ViewCaptureImageCommandResponse extends ViewDomainCommandResp
             return mType;
         }
 
-        public String getData() {
-            return mData;
+        public byte[] getImage() {
+            return mImage;
         }
     }
 
     @Override
     public JSONObject toJSONObject() throws JSONException {
+        return toJSONObject(Base64.encodeToString(getResult().getImage(), Base64.DEFAULT));
+    }
+
+    @Override
+    public void writeFragments(FragmentSink sink) throws JSONException {
+        String json = toJSONObject(DATA_PLACEHOLDER).toString();
+        int data = json.lastIndexOf(DATA_PLACEHOLDER);
+        sink.write(utf8(json.substring(0, data)), false);
+        byte[] image = getResult().getImage();
+        for (int offset = 0; offset < image.length; offset += CHUNK_SIZE) {
+            int length = Math.min(CHUNK_SIZE, image.length - offset);
+            sink.write(escapeNewlines(Base64.encode(image, offset, length, Base64.DEFAULT)), false);
+        }
+        sink.write(utf8(json.substring(data + DATA_PLACEHOLDER.length())), true);
+    }
+
+    private JSONObject toJSONObject(String data) throws JSONException {
         Log.i(TAG, "Serializing " + CommandMethod.VIEW_CAPTURE_IMAGE + " response object");
         return super.toJSONObject().put("result", new JSONObject()
                 .put("height", getResult().getHeight())
                 .put("width", getResult().getWidth())
                 .put("type", getResult().getType())
-                .put("data", getResult().getData()));
+                .put("data", data));
+    }
+
+    /**
+     * Escapes the line breaks of the encoding, as they are inside a JSON string.
+     */
+    private static ByteBuffer escapeNewlines(byte[] encoded) {
+        int newlines = 0;
+        for (byte b : encoded) {
+            if (b == '\n') {
+                newlines++;
+            }
+        }
+        ByteBuffer escaped = ByteBuffer.allocate(encoded.length + newlines);
+        for (byte b : encoded) {
+            if (b == '\n') {
+                escaped.put((byte) '\\').put((byte) 'n');
+            } else {
+                escaped.put(b);
+            }
+        }
+        escaped.flip();
+        return escaped;
+    }
+
+    private static ByteBuffer utf8(String text) {
+        return ByteBuffer.wrap(text.getBytes(StandardCharsets.UTF_8));
     }
 }
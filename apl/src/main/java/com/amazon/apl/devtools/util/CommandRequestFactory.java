@@ -37,6 +37,8 @@ import com.amazon.apl.devtools.executers.NetworkEnableCommandRequest;
 import com.amazon.apl.devtools.executers.PerformanceDisableCommandRequest;
 import com.amazon.apl.devtools.executers.PerformanceEnableCommandRequest;
 import com.amazon.apl.devtools.executers.PerformanceGetMetricsCommandRequest;
+import com.amazon.apl.devtools.executers.PerformanceStartTracingCommandRequest;
+import com.amazon.apl.devtools.executers.PerformanceStopTracingCommandRequest;
 import com.amazon.apl.devtools.executers.SystemInfoGetEnvironmentMemoryCommandRequest;
 import com.amazon.apl.devtools.executers.SystemInfoProcessorUsageCommandRequestFactory;
 import com.amazon.apl.devtools.executers.TargetAttachToTargetCommandRequest;
@@ -102,6 +104,12 @@ public final class CommandRequestFactory {
             case PERFORMANCE_GET_METRICS:
                 return new PerformanceGetMetricsCommandRequest(mCommandRequestValidator, obj,
                         connection);
+            case PERFORMANCE_START_TRACING:
+                return new PerformanceStartTracingCommandRequest(mCommandRequestValidator, obj,
+                        connection);
+            case PERFORMANCE_STOP_TRACING:
+                return new PerformanceStopTracingCommandRequest(mCommandRequestValidator, obj,
+                        connection);
             case MEMORY_GET_MEMORY:
                 return new MemoryGetMemoryCommandRequest(mCommandRequestValidator, obj, connection);
             case FRAMEMETRICS_RECORD:
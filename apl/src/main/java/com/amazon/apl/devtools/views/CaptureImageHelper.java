@@ -8,6 +8,7 @@ import android.annotation.TargetApi;
 import android.app.Activity;
 import android.graphics.Bitmap;
 import android.graphics.Canvas;
+import android.graphics.Color;
 import android.graphics.Rect;
 import android.os.Build;
 import android.os.Handler;
@@ -17,78 +18,124 @@ import android.view.View;
 
 import androidx.annotation.NonNull;
 
-import java.util.concurrent.CompletableFuture;
-import java.util.concurrent.ExecutionException;
-import java.util.concurrent.TimeUnit;
-import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 /**
  * Class to capture screenshot of a view
  * Uses different APIs to capture screenshot since the APIs were added at different SDK versions
  * Refer https://developer.android.com/reference/android/view/View#getDrawingCache()
  * Refer https://developer.android.com/reference/android/view/PixelCopy
+ *
+ * Asynchronous captures reuse a pooled bitmap, which is returned with {@link #release(Bitmap)}
+ * once the capture has been consumed.
  */
 @TargetApi(24)
 public class CaptureImageHelper {
     private static final String TAG = "CaptureImageHelper";
+    private static final long CAPTURE_TIMEOUT_MS = 1000;
     private final Bitmap mUnitBitmap = Bitmap.createBitmap(1, 1, Bitmap.Config.ARGB_8888);
+    private Bitmap mPooledBitmap;
+    private boolean mPooledBitmapInUse;
 
-    @NonNull
-    public Bitmap captureImage(View view) {
-        // Refer https://developer.android.com/reference/android/view/View#getDrawingCache()
-        // PixelCopy API is the recommended way and is only available on API levels >= 26
-        if (android.os.Build.VERSION.SDK_INT >= Build.VERSION_CODES.P && view.getContext() instanceof Activity) {
-            return captureImage(view, (Activity) view.getContext());
-        } else {
-            return captureImageLegacy(view);
-        }
+    /**
+     * Receives an asynchronous capture.
+     */
+    public interface CaptureCallback {
+        /**
+         * @param bitmap the capture, to be passed to {@link #release(Bitmap)} once consumed.
+         */
+        void onCaptured(@NonNull Bitmap bitmap);
     }
 
-    @TargetApi(26)
-    @NonNull
-    private Bitmap captureImage(View view, Activity activity) {
-        CompletableFuture<Bitmap> completableFuture = new CompletableFuture<>();
-
-        Bitmap bitmap = Bitmap.createBitmap(view.getWidth(), view.getHeight(), Bitmap.Config.ARGB_8888);
-        int[] location = new int[2];
-        view.getLocationInWindow(location);
-
-        Rect rect = new Rect(location[0], location[1], location[0] + view.getWidth(), location[1] + view.getHeight());
-        PixelCopy.OnPixelCopyFinishedListener listener = copyResult -> {
-
-            if (copyResult == PixelCopy.SUCCESS) {
-                completableFuture.complete(bitmap);
-            } else {
-                completableFuture.complete(mUnitBitmap);
+    /**
+     * Captures a view without blocking, scaling it down if requested.
+     *
+     * @param view     the view to capture.
+     * @param scale    the scale of the capture, in (0, 1].
+     * @param handler  the handler the callback is invoked on.
+     * @param callback receives the capture, or a 1x1 bitmap if the capture failed.
+     */
+    public void captureImage(@NonNull View view, float scale, @NonNull Handler handler,
+                             @NonNull CaptureCallback callback) {
+        int width = Math.max(1, Math.round(view.getWidth() * scale));
+        int height = Math.max(1, Math.round(view.getHeight() * scale));
+        Bitmap bitmap = acquire(width, height);
+        AtomicBoolean done = new AtomicBoolean();
+        Runnable timeout = () -> {
+            if (done.compareAndSet(false, true)) {
+                Log.e(TAG, "Failed to capture screenshot because it timed out");
+                // The capture may never finish, and the bitmap may still be written to, so it
+                // leaves the pool and later captures get a new one.
+                discard(bitmap);
+                callback.onCaptured(mUnitBitmap);
+            }
+        };
+        CaptureCallback onCaptured = captured -> {
+            if (done.compareAndSet(false, true)) {
+                handler.removeCallbacks(timeout);
+                if (captured != bitmap) {
+                    release(bitmap);
+                }
+                callback.onCaptured(captured);
             }
+            // A capture that finishes after timing out was discarded, its bitmap is dropped.
         };
+        handler.postDelayed(timeout, CAPTURE_TIMEOUT_MS);
 
-        try {
-            view.post(() -> PixelCopy.request(activity.getWindow(), rect, bitmap, listener, new Handler()));
-        } catch (IllegalArgumentException e) {
-            Log.e(TAG, "Failed to capture screenshot because: ", e);
+        if (android.os.Build.VERSION.SDK_INT >= Build.VERSION_CODES.P && view.getContext() instanceof Activity) {
+            int[] location = new int[2];
+            view.getLocationInWindow(location);
+            Rect rect = new Rect(location[0], location[1], location[0] + view.getWidth(), location[1] + view.getHeight());
+            Activity activity = (Activity) view.getContext();
+            view.post(() -> {
+                try {
+                    // PixelCopy scales the source rect to the size of the bitmap.
+                    PixelCopy.request(activity.getWindow(), rect, bitmap, copyResult ->
+                            onCaptured.onCaptured(copyResult == PixelCopy.SUCCESS ? bitmap : mUnitBitmap), handler);
+                } catch (IllegalArgumentException e) {
+                    Log.e(TAG, "Failed to capture screenshot because: ", e);
+                    handler.post(() -> onCaptured.onCaptured(mUnitBitmap));
+                }
+            });
+        } else {
+            view.post(() -> {
+                bitmap.eraseColor(Color.TRANSPARENT);
+                Canvas canvas = new Canvas(bitmap);
+                canvas.scale((float) width / Math.max(1, view.getWidth()),
+                        (float) height / Math.max(1, view.getHeight()));
+                view.draw(canvas);
+                handler.post(() -> onCaptured.onCaptured(bitmap));
+            });
+        }
+    }
+
+    /**
+     * Returns a capture to the pool.
+     *
+     * @param bitmap a bitmap received from an asynchronous capture.
+     */
+    public synchronized void release(@NonNull Bitmap bitmap) {
+        if (bitmap == mPooledBitmap) {
+            mPooledBitmapInUse = false;
         }
-        try {
-            return completableFuture.get(1000, TimeUnit.MILLISECONDS);
-        } catch (ExecutionException | InterruptedException | TimeoutException e) {
-            Log.e(TAG, "Failed to capture screenshot because: ", e);
-            return mUnitBitmap;
+    }
+
+    private synchronized void discard(Bitmap bitmap) {
+        if (bitmap == mPooledBitmap) {
+            mPooledBitmap = null;
+            mPooledBitmapInUse = false;
         }
     }
 
-    @NonNull
-    private Bitmap captureImageLegacy(@NonNull View view) {
-        CompletableFuture<Bitmap> completableFuture = new CompletableFuture<>();
-        Bitmap screenshot = Bitmap.createBitmap(view.getMeasuredWidth(), view.getMeasuredHeight(), Bitmap.Config.ARGB_8888);
-        Canvas canvas = new Canvas(screenshot);
-        view.post(() -> {
-            view.draw(canvas);
-            completableFuture.complete(screenshot);
-        });
-        try {
-            return completableFuture.get(1000, TimeUnit.MILLISECONDS);
-        } catch (ExecutionException | InterruptedException | TimeoutException e) {
-            return mUnitBitmap;
+    private synchronized Bitmap acquire(int width, int height) {
+        if (mPooledBitmapInUse) {
+            // Only one capture is pooled, overlapping captures get their own bitmap.
+            return Bitmap.createBitmap(width, height, Bitmap.Config.ARGB_8888);
+        }
+        if (mPooledBitmap == null || mPooledBitmap.getWidth() != width || mPooledBitmap.getHeight() != height) {
+            mPooledBitmap = Bitmap.createBitmap(width, height, Bitmap.Config.ARGB_8888);
         }
+        mPooledBitmapInUse = true;
+        return mPooledBitmap;
     }
 }
\ No newline at end of file
@@ -29,6 +29,17 @@ public interface IAPLView {
      */
     void startFrameMetricsRecording(int id, IDTCallback<String> callback);
 
+    /**
+     * Start recording frame metrics, streaming the phases of the recorded frames.
+     *
+     * @param id The request id.
+     * @param timelineIntervalMs The minimum interval between streamed batches of frames, in milliseconds.
+     * @param callback The callback to provide the correct response to the request.
+     */
+    default void startFrameMetricsRecording(int id, long timelineIntervalMs, IDTCallback<String> callback) {
+        startFrameMetricsRecording(id, callback);
+    }
+
     /**
      * Stops recording frame metrics.
      *
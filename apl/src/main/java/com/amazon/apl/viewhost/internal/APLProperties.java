@@ -20,6 +20,10 @@ public class APLProperties {
         put(APLProperty.kFluidityIncidentMinimumDurationMs, 1000.0d);
         put(APLProperty.kFluidityRefreshRate, 16.7d);
         put(APLProperty.kIsRuntimeHardwareAccelerationEnabled, true);
+        put(APLProperty.kAVGBackgroundRasterEnabled, true);
+        put(APLProperty.kImagePrefetchEnabled, true);
+        put(APLProperty.kImagePrefetchLookahead, 3);
+        put(APLProperty.kIdleFrameSchedulingEnabled, false);
         put(APLProperty.kPerformanceInflateOnMainThread, false);
     }};
 
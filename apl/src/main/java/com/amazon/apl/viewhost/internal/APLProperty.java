@@ -20,6 +20,14 @@ public enum APLProperty {
     kFluidityRefreshRate,
     // The boolean that controls if hardware acceleration should be turned on as per the runtimes configuration
     kIsRuntimeHardwareAccelerationEnabled,
+    // The boolean that controls if AVGs which cannot be drawn with hardware acceleration are rasterized on a background thread
+    kAVGBackgroundRasterEnabled,
+    // The boolean that controls if images are prefetched into the image loader caches when a document is inflated
+    kImagePrefetchEnabled,
+    // The number of children past the last displayed child of a Sequence whose images are prefetched
+    kImagePrefetchLookahead,
+    // The boolean that controls if the frame loop stops ticking while the document is idle
+    kIdleFrameSchedulingEnabled,
     // The setting for viewhost to use for inflating the top document asynchronously
     kPerformanceInflateOnMainThread;
 
@@ -29,6 +37,10 @@ public enum APLProperty {
             .put("fluidityIncident.minimumDurationMs", APLProperty.kFluidityIncidentMinimumDurationMs)
             .put("fluidityIncident.refreshRate", APLProperty.kFluidityRefreshRate)
             .put("isRuntimeHardwareAccelerationEnabled", APLProperty.kIsRuntimeHardwareAccelerationEnabled)
+            .put("avg.backgroundRasterEnabled", APLProperty.kAVGBackgroundRasterEnabled)
+            .put("image.prefetchEnabled", APLProperty.kImagePrefetchEnabled)
+            .put("image.prefetchLookahead", APLProperty.kImagePrefetchLookahead)
+            .put("frameLoop.idleSchedulingEnabled", APLProperty.kIdleFrameSchedulingEnabled)
             .put("inflateOnMainThread", APLProperty.kPerformanceInflateOnMainThread)
             .build();
 }
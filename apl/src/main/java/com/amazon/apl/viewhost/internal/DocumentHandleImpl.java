@@ -13,6 +13,7 @@ import androidx.annotation.NonNull;
 import androidx.annotation.Nullable;
 
 import com.amazon.apl.android.Action;
+import com.amazon.apl.android.BuildConfig;
 import com.amazon.apl.android.Content;
 import com.amazon.apl.android.ExtensionMediator;
 import com.amazon.apl.android.RootConfig;
@@ -40,13 +41,16 @@ import org.json.JSONException;
 import org.json.JSONObject;
 
 import java.lang.ref.WeakReference;
+import java.util.ArrayList;
 import java.util.HashSet;
 import java.util.LinkedList;
+import java.util.List;
 import java.util.Queue;
 import java.util.Set;
 import java.util.UUID;
 import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 /**
  * Internal implementation of the document handle
@@ -66,8 +70,19 @@ public class DocumentHandleImpl extends DocumentHandle {
     private DocumentOptions mDocumentOptions;
     private ITelemetryProvider mTelemetryProvider = NoOpTelemetryProvider.getInstance();
     private String mToken;
-    // Pending tasks that should execute post-inflation on the core worker
-    private final ConcurrentLinkedQueue<Runnable> mPendingTasks = new ConcurrentLinkedQueue<>();
+    // Pending requests that should be applied post-inflation on the core worker
+    private final ConcurrentLinkedQueue<CoreRequest> mPendingRequests = new ConcurrentLinkedQueue<>();
+    // Requests waiting for the next core worker pass, in submission order
+    private final ConcurrentLinkedQueue<CoreRequest> mSubmissions = new ConcurrentLinkedQueue<>();
+    private final AtomicBoolean mSubmissionPassScheduled = new AtomicBoolean(false);
+
+    /**
+     * A request applied to core on the core worker. Callbacks that are ready once the request is
+     * applied are added to the list, and delivered together with the rest of the pass.
+     */
+    private interface CoreRequest {
+        void apply(List<Runnable> callbacks);
+    }
 
     /**
      * Retain a link to core's DocumentContext. It can be null while the document is being prepared
@@ -281,7 +296,11 @@ public class DocumentHandleImpl extends DocumentHandle {
             return false;
         }
         String commands = ((JsonStringDecodable) request.getCommands()).getString();
-        Log.i(TAG, String.format("Request received to execute commands for document:%s and the commands are:%s", this, commands));
+        // Command payloads can be large, only format them into the log when debugging.
+        Log.i(TAG, String.format("Request received to execute commands for document:%s of length:%d", this, commands.length()));
+        if (BuildConfig.DEBUG_LOGGING) {
+            Log.d(TAG, "Commands: " + commands);
+        }
 
         if (mViewhost.get() == null) {
             Log.e(TAG, "viewhost not initialised");
@@ -295,11 +314,12 @@ public class DocumentHandleImpl extends DocumentHandle {
         }
 
         ViewhostImpl viewhost = mViewhost.get();
-        mCoreWorker.post(() -> {
+        submit(callbacks -> {
             Action action = mDocumentContext.executeCommands(commands);
             ExecuteCommandsCallback callback = request.getCallback();
             if (callback != null) {
                 if (action != null) {
+                    // These fire once the commands finish, long after this pass.
                     action.then(() -> {
                         viewhost.publish(() -> {
                             callback.onComplete();
@@ -311,9 +331,7 @@ public class DocumentHandleImpl extends DocumentHandle {
                         });
                     });
                 } else {
-                    viewhost.publish(() -> {
-                        callback.onComplete();
-                    });
+                    callbacks.add(() -> callback.onComplete());
                 }
             }
         });
@@ -354,7 +372,7 @@ public class DocumentHandleImpl extends DocumentHandle {
 
         Log.i(TAG, String.format("Request received to updateDataSource for document:%s", this));
 
-        executeWithDocumentContext(() -> {
+        submitWithDocumentContext(callbacks -> {
             UpdateDataSourceCallback callback = new UpdateDataSourceCallbackWrapper(request.getCallback());
             ViewhostImpl viewhost = mViewhost.get();
             if (viewhost == null) {
@@ -363,21 +381,23 @@ public class DocumentHandleImpl extends DocumentHandle {
             }
 
             if (!isValid()) {
-                viewhost.publish(() -> callback.onFailure("Document became invalid"));
+                callbacks.add(() -> callback.onFailure("Document became invalid"));
                 return;
             }
 
-            String payload = ((JsonStringDecodable) request.getData()).getString();
+            JsonStringDecodable data = (JsonStringDecodable) request.getData();
+            String payload = data.getString();
             String type;
             try {
-                JSONObject jsonObject = new JSONObject(payload);
-                type = jsonObject.has("type") ? jsonObject.getString("type") : request.getType();
+                // Only the type is needed here, core parses the whole payload anyway.
+                String payloadType = data.readTopLevelString("type");
+                type = payloadType != null ? payloadType : request.getType();
             } catch (JSONException ex) {
-                viewhost.publish(() -> callback.onFailure("JSON parsing error occurred, " + ex.getMessage()));
+                callbacks.add(() -> callback.onFailure("JSON parsing error occurred, " + ex.getMessage()));
                 return;
             }
             if (TextUtils.isEmpty(type)) {
-                viewhost.publish(() -> callback.onFailure("Data Source type not defined"));
+                callbacks.add(() -> callback.onFailure("Data Source type not defined"));
                 return;
             }
 
@@ -385,16 +405,16 @@ public class DocumentHandleImpl extends DocumentHandle {
             // config (embedded document). We need one or the other in order to call into core.
             if (mRootContext == null && (mDocumentConfig == null || mDocumentConfig.getNativeHandle() == 0)) {
                 Log.e(TAG, "RootContext null or DocumentConfig handle 0 which means provider not defined in document options, hence ignoring the update data source request");
-                viewhost.publish(() -> callback.onFailure("Internal failure"));
+                callbacks.add(() -> callback.onFailure("Internal failure"));
                 return;
             }
 
             boolean updated = mRootContext != null ?
                 mRootContext.updateDataSource(type, payload) : nUpdateDataSource(type, payload, mDocumentConfig.getNativeHandle());
             if (updated) {
-                viewhost.publish(() -> callback.onSuccess());
+                callbacks.add(() -> callback.onSuccess());
             } else {
-                viewhost.publish(() -> callback.onFailure("Encountered runtime error in processing data update"));
+                callbacks.add(() -> callback.onFailure("Encountered runtime error in processing data update"));
             }
         });
 
@@ -698,22 +718,79 @@ public class DocumentHandleImpl extends DocumentHandle {
                 || DocumentState.DISPLAYED.equals(state);
     }
 
-    private void executeWithDocumentContext(Runnable task) {
-        mCoreWorker.post(() -> {
+    /**
+     * Applies a request on the core worker once the document context exists. Requests that arrive
+     * before then are held until {@link #executePendingTasks()}.
+     */
+    private void submitWithDocumentContext(CoreRequest request) {
+        submit(callbacks -> {
             if (null == mDocumentContext) {
                 Log.i(TAG, String.format("Adding post-inflation updateDataSource request for document:%s", this));
-                mPendingTasks.add(task);
+                mPendingRequests.add(request);
                 return;
             }
 
-            // Just run it now
-            task.run();
+            // Just apply it now
+            request.apply(callbacks);
         });
     }
 
     private void executePendingTasks() {
-        while (!mPendingTasks.isEmpty()) {
-            mCoreWorker.post(mPendingTasks.poll());
+        CoreRequest request;
+        while ((request = mPendingRequests.poll()) != null) {
+            submit(request);
         }
     }
+
+    /**
+     * Queues a request for the core worker. Requests submitted before the worker gets to them are
+     * applied together in one pass, in submission order.
+     */
+    private void submit(CoreRequest request) {
+        mSubmissions.add(request);
+        if (mSubmissionPassScheduled.compareAndSet(false, true)) {
+            mCoreWorker.post(this::applySubmissions);
+        }
+    }
+
+    private void applySubmissions() {
+        // Clear the flag first, so that a request submitted during the pass schedules another one
+        // if this pass has already drained the queue.
+        mSubmissionPassScheduled.set(false);
+        List<Runnable> callbacks = new ArrayList<>();
+        try {
+            CoreRequest request;
+            while ((request = mSubmissions.poll()) != null) {
+                try {
+                    request.apply(callbacks);
+                } catch (Exception e) {
+                    // A failing request must not hold back the requests queued after it.
+                    Log.e(TAG, String.format("Failed to apply request for document:%s", this), e);
+                }
+            }
+        } finally {
+            publishAll(callbacks);
+        }
+    }
+
+    private void publishAll(List<Runnable> callbacks) {
+        if (callbacks.isEmpty()) {
+            return;
+        }
+        ViewhostImpl viewhost = mViewhost.get();
+        if (viewhost == null) {
+            Log.w(TAG, String.format("View host is gone, dropping %d callbacks", callbacks.size()));
+            return;
+        }
+        viewhost.publish(() -> {
+            for (Runnable callback : callbacks) {
+                try {
+                    callback.run();
+                } catch (Exception e) {
+                    // A failing callback must not hold back the callbacks published after it.
+                    Log.e(TAG, String.format("Runtime callback failed for document:%s", this), e);
+                }
+            }
+        });
+    }
 }
@@ -72,7 +72,6 @@ import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
-import java.util.Locale;
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
@@ -822,8 +821,8 @@ public class ViewhostImpl extends Viewhost implements DocumentStateChangeListene
                                 SEND_USER_EVENT_REQUEST, payload);
 
                 publish(() -> handler.handleAction(actionMessage));
-                writeAPLSessionLog(document.getSession(), Session.LogEntryLevel.INFO, String.format("%s Arguments: %s Components: %s Flags: %s Source: %s",
-                        SEND_USER_EVENT_REQUEST, Arrays.toString(args), components.toString(), sources.toString(), flags ==  null ? "" : flags.toString()));
+                writeAPLSessionLog(document.getSession(), Session.LogEntryLevel.INFO, "%s Arguments: %s Components: %s Flags: %s Source: %s",
+                        SEND_USER_EVENT_REQUEST, args == null ? null : Arrays.asList(args), components, sources, flags == null ? "" : flags);
             }
         });
 
@@ -902,8 +901,8 @@ public class ViewhostImpl extends Viewhost implements DocumentStateChangeListene
                     new JsonDecodable(payload), listener);
 
             publish(() -> handler.handleAction(actionMessage));
-            writeAPLSessionLog(document.getSession(), Session.LogEntryLevel.INFO, String.format(Locale.US ,"%s source: %s requestId: %d",
-                    OPEN_URL_REQUEST, url, messageId));
+            writeAPLSessionLog(document.getSession(), Session.LogEntryLevel.INFO, "%s source: %s requestId: %d",
+                    OPEN_URL_REQUEST, url, messageId);
         });
 
         return true;
@@ -917,6 +916,14 @@ public class ViewhostImpl extends Viewhost implements DocumentStateChangeListene
         }
     }
 
+    private void writeAPLSessionLog(Session session, Session.LogEntryLevel level, String format, Object... formatArgs) {
+        if (session != null) {
+            session.writeFormatted(level, Session.LogEntrySource.VIEW, format, formatArgs);
+        } else {
+            Log.d(TAG, "Session is null hence skipping session.write");
+        }
+    }
+
     private static native Object nGetDataSourceErrors(long nativeHandle);
 
     @Override
@@ -953,10 +960,15 @@ public class ViewhostImpl extends Viewhost implements DocumentStateChangeListene
             userPerceivedFatalCallback = new NoOpUserPerceivedFatalCallback();
         }
 
+        for (Map.Entry<String, Object> entry : documentHandle.getDocumentOptions().getProperties().entrySet()) {
+           mProperties.set(entry.getKey(), entry.getValue());
+        }
+
         APLOptions.Builder aplOptionsBuilder = APLOptions.builder()
                 .telemetryProvider(mTelemetryProvider)
                 .userPerceivedFatalCallback(userPerceivedFatalCallback)
                 .metricsOptions(documentHandle.getMetricsOptions())
+                .idleFrameSchedulingEnabled((boolean) mProperties.get(APLProperty.kIdleFrameSchedulingEnabled))
                 .viewhost(this);
         if (mConfig.getTimeProvider() != null) {
             aplOptionsBuilder.timeProvider(mConfig.getTimeProvider());
@@ -984,10 +996,6 @@ public class ViewhostImpl extends Viewhost implements DocumentStateChangeListene
             rootConfig.setDocumentManager(documentHandle.getDocumentOptions().getEmbeddedDocumentFactory() , mCoreWorker, mTelemetryProvider);
         }
 
-        for (Map.Entry<String, Object> entry : documentHandle.getDocumentOptions().getProperties().entrySet()) {
-           mProperties.set(entry.getKey(), entry.getValue());
-        }
-
         mProperties.set(APLProperty.kFluidityRefreshRate, (double) 1000.0f / mAplLayout.getDisplayRefreshRate());
 
         mAplLayout.setAgentName(rootConfig);
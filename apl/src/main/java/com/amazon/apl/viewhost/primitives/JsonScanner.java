@@ -0,0 +1,267 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package com.amazon.apl.viewhost.primitives;
+
+import androidx.annotation.Nullable;
+
+import org.json.JSONException;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Scans JSON text in place, either UTF-8 bytes or a String, without building a tree.
+ *
+ * Every structural character of JSON is ASCII, and in UTF-8 no byte of a multi-byte sequence is
+ * ASCII, so the same scanning works on both inputs. Only the values that are read are decoded.
+ * Offsets are indices into the input: bytes for UTF-8 input, chars for a String.
+ */
+final class JsonScanner {
+    @Nullable
+    private final byte[] mBytes;
+    @Nullable
+    private final String mString;
+    private final int mLength;
+
+    JsonScanner(byte[] utf8) {
+        mBytes = utf8;
+        mString = null;
+        mLength = utf8.length;
+    }
+
+    JsonScanner(String json) {
+        mBytes = null;
+        mString = json;
+        mLength = json.length();
+    }
+
+    /**
+     * @return the character at an offset, or -1 past the end of the input.
+     */
+    int at(int offset) {
+        if (offset >= mLength) {
+            return -1;
+        }
+        return mBytes != null ? mBytes[offset] & 0xFF : mString.charAt(offset);
+    }
+
+    /**
+     * @return the offset of the first non whitespace character at or after an offset.
+     */
+    int skipWhitespace(int offset) {
+        while (offset < mLength) {
+            int c = at(offset);
+            if (c != ' ' && c != '\n' && c != '\r' && c != '\t') {
+                break;
+            }
+            offset++;
+        }
+        return offset;
+    }
+
+    /**
+     * Skips the value starting at an offset.
+     *
+     * @param offset the offset of the first character of the value.
+     * @return the offset just past the value.
+     * @throws JSONException if the value is malformed.
+     */
+    int skipValue(int offset) throws JSONException {
+        int c = at(offset);
+        if (c == '"') {
+            return skipString(offset);
+        }
+        if (c == '{' || c == '[') {
+            return skipContainer(offset);
+        }
+        int end = offset;
+        while (end < mLength && !isDelimiter(at(end))) {
+            end++;
+        }
+        if (end == offset) {
+            throw syntaxError("Expected a value", offset);
+        }
+        return end;
+    }
+
+    /**
+     * Skips the string starting at an offset.
+     *
+     * @param offset the offset of the opening quote.
+     * @return the offset just past the closing quote.
+     * @throws JSONException if the string is not terminated.
+     */
+    int skipString(int offset) throws JSONException {
+        for (int i = offset + 1; i < mLength; i++) {
+            int c = at(i);
+            if (c == '\\') {
+                i++;
+            } else if (c == '"') {
+                return i + 1;
+            }
+        }
+        throw syntaxError("Unterminated string", offset);
+    }
+
+    private int skipContainer(int offset) throws JSONException {
+        int depth = 0;
+        for (int i = offset; i < mLength; i++) {
+            int c = at(i);
+            if (c == '"') {
+                i = skipString(i) - 1;
+            } else if (c == '{' || c == '[') {
+                depth++;
+            } else if (c == '}' || c == ']') {
+                if (--depth == 0) {
+                    return i + 1;
+                }
+            }
+        }
+        throw syntaxError("Unterminated container", offset);
+    }
+
+    /**
+     * Reads the string starting at an offset.
+     *
+     * @param offset the offset of the opening quote.
+     * @return the unescaped string.
+     * @throws JSONException if the string is malformed.
+     */
+    String readString(int offset) throws JSONException {
+        if (at(offset) != '"') {
+            throw syntaxError("Expected a string", offset);
+        }
+        int end = skipString(offset);
+        String raw = substring(offset + 1, end - 1);
+        return raw.indexOf('\\') < 0 ? raw : unescape(raw, offset);
+    }
+
+    /**
+     * @return the raw text between two offsets.
+     */
+    String substring(int start, int end) {
+        if (mBytes != null) {
+            return new String(mBytes, start, end - start, StandardCharsets.UTF_8);
+        }
+        return mString.substring(start, end);
+    }
+
+    /**
+     * Checks whether the string starting at an offset equals a key, comparing in place unless the
+     * string has escapes or non ASCII characters.
+     *
+     * @param offset the offset of the opening quote.
+     * @param key    the key.
+     * @return true if the string equals the key.
+     * @throws JSONException if the string is malformed.
+     */
+    boolean stringEquals(int offset, String key) throws JSONException {
+        final int start = offset + 1;
+        final int length = skipString(offset) - 1 - start;
+        for (int i = 0; i < length; i++) {
+            int c = at(start + i);
+            if (c == '\\' || c >= 0x80) {
+                return readString(offset).equals(key);
+            }
+            // Everything before an escape decodes to itself, so a mismatch here is final.
+            if (i >= key.length() || c != key.charAt(i)) {
+                return false;
+            }
+        }
+        return length == key.length();
+    }
+
+    /**
+     * Expects a character at an offset, after whitespace.
+     *
+     * @return the offset just past the character.
+     * @throws JSONException if the character is not found.
+     */
+    int expect(int offset, char expected) throws JSONException {
+        offset = skipWhitespace(offset);
+        if (at(offset) != expected) {
+            throw syntaxError("Expected '" + expected + "'", offset);
+        }
+        return offset + 1;
+    }
+
+    JSONException syntaxError(String message, int offset) {
+        return new JSONException(message + " at offset " + offset);
+    }
+
+    private static boolean isDelimiter(int c) {
+        return c == ',' || c == '}' || c == ']' || c == ' ' || c == '\n' || c == '\r' || c == '\t';
+    }
+
+    private String unescape(String raw, int offset) throws JSONException {
+        StringBuilder builder = new StringBuilder(raw.length());
+        for (int i = 0; i < raw.length(); i++) {
+            char c = raw.charAt(i);
+            if (c != '\\') {
+                builder.append(c);
+                continue;
+            }
+            if (++i == raw.length()) {
+                throw syntaxError("Unterminated escape", offset);
+            }
+            c = raw.charAt(i);
+            switch (c) {
+                case 'b': builder.append('\b'); break;
+                case 'f': builder.append('\f'); break;
+                case 'n': builder.append('\n'); break;
+                case 'r': builder.append('\r'); break;
+                case 't': builder.append('\t'); break;
+                case 'u':
+                    if (i + 4 >= raw.length()) {
+                        throw syntaxError("Unterminated escape", offset);
+                    }
+                    try {
+                        builder.append((char) Integer.parseInt(raw.substring(i + 1, i + 5), 16));
+                    } catch (NumberFormatException e) {
+                        throw syntaxError("Invalid escape", offset);
+                    }
+                    i += 4;
+                    break;
+                default:
+                    // \" \\ \/ and, leniently like org.json, any other escaped character.
+                    builder.append(c);
+            }
+        }
+        return builder.toString();
+    }
+
+    /**
+     * Reads a single top level field of a JSON object, skipping over every other value without
+     * decoding it. The rest of the object after the field is not scanned, or validated.
+     *
+     * @param key the field name.
+     * @return the offset of the value of the field, or -1 if the object has no such field.
+     * @throws JSONException if the input is not an object, or is malformed up to the field.
+     */
+    int findTopLevelField(String key) throws JSONException {
+        int offset = expect(0, '{');
+        offset = skipWhitespace(offset);
+        if (at(offset) == '}') {
+            return -1;
+        }
+        while (true) {
+            offset = skipWhitespace(offset);
+            boolean matches = stringEquals(offset, key);
+            offset = expect(skipString(offset), ':');
+            offset = skipWhitespace(offset);
+            if (matches) {
+                return offset;
+            }
+            offset = skipWhitespace(skipValue(offset));
+            int c = at(offset);
+            if (c == '}') {
+                return -1;
+            }
+            if (c != ',') {
+                throw syntaxError("Expected ',' or '}'", offset);
+            }
+            offset++;
+        }
+    }
+}
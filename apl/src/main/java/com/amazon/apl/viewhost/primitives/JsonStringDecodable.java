@@ -4,17 +4,25 @@
  */
 package com.amazon.apl.viewhost.primitives;
 
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
 import com.amazon.apl.viewhost.primitives.Decodable;
 import com.amazon.apl.viewhost.primitives.decoder.KeyedContainerDecoder;
 import com.amazon.apl.viewhost.primitives.decoder.SingleValueDecoder;
 import com.amazon.apl.viewhost.primitives.decoder.UnkeyedContainerDecoder;
 import com.amazon.apl.viewhost.primitives.transcoder.Transcoder;
 
+import org.json.JSONException;
+
 /**
- * Shim for the decodable contract that wraps a JSON-encoded string.
+ * Shim for the decodable contract that wraps a JSON-encoded string. The string is decoded lazily,
+ * in place, only as far as it is read. See {@link Utf8JsonDecodable}.
  */
 public class JsonStringDecodable implements Decodable {
     private final String mJsonString;
+    @Nullable
+    private JsonScanner mScanner;
 
     public JsonStringDecodable(String jsonString) {
         mJsonString = jsonString;
@@ -27,20 +35,42 @@ public class JsonStringDecodable implements Decodable {
 
     @Override
     public SingleValueDecoder decodeSingleValue() {
-        return null;
+        return mJsonString == null ? null : LazyJsonDecoder.decodeSingleValue(scanner());
     }
 
     @Override
     public KeyedContainerDecoder decodeKeyedContainer() {
-        return null;
+        return mJsonString == null ? null : LazyJsonDecoder.decodeKeyedContainer(scanner());
     }
 
     @Override
     public UnkeyedContainerDecoder decodeUnkeyedContainer() {
-        return null;
+        return mJsonString == null ? null : LazyJsonDecoder.decodeUnkeyedContainer(scanner());
+    }
+
+    /**
+     * Reads a single string field of a top level object without parsing the rest of the payload.
+     *
+     * @param key the field name.
+     * @return the value, or null if there is no such field or it is not a string.
+     * @throws JSONException if the payload is not an object, or is malformed before the field.
+     */
+    @Nullable
+    public String readTopLevelString(@NonNull String key) throws JSONException {
+        if (mJsonString == null) {
+            throw new JSONException("No payload");
+        }
+        return LazyJsonDecoder.readTopLevelString(scanner(), key);
     }
 
     public String getString() {
         return mJsonString;
     }
+
+    private JsonScanner scanner() {
+        if (mScanner == null) {
+            mScanner = new JsonScanner(mJsonString);
+        }
+        return mScanner;
+    }
 }
@@ -0,0 +1,386 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package com.amazon.apl.viewhost.primitives;
+
+import android.util.Log;
+
+import androidx.annotation.Nullable;
+
+import com.amazon.apl.viewhost.primitives.decoder.KeyedContainerDecoder;
+import com.amazon.apl.viewhost.primitives.decoder.SingleValueDecoder;
+import com.amazon.apl.viewhost.primitives.decoder.UnkeyedContainerDecoder;
+
+import org.json.JSONArray;
+import org.json.JSONException;
+import org.json.JSONObject;
+import org.json.JSONTokener;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Decoders over JSON text which decode lazily: a container indexes the offsets of its keys or
+ * elements the first time it is touched, and a value is only parsed when it is read. Nested
+ * containers share the same text and are indexed on their own first touch.
+ *
+ * Decoding follows {@link JsonDecodable}: values are read and coerced as org.json does, so that a
+ * string such as "5" or "true" decodes as a number or a boolean. Reading a value as the wrong type
+ * returns null, and a container read as a string returns its compact JSON text.
+ */
+final class LazyJsonDecoder {
+    private static final String TAG = "LazyJsonDecoder";
+
+    private LazyJsonDecoder() {
+    }
+
+    /**
+     * @return a decoder for a top level value which is not a container, or null.
+     */
+    @Nullable
+    static SingleValueDecoder decodeSingleValue(JsonScanner scanner) {
+        int offset = scanner.skipWhitespace(0);
+        int c = scanner.at(offset);
+        try {
+            if (c == '"') {
+                scanner.skipString(offset);
+                return new ValueDecoder(scanner, offset);
+            }
+            if (c == '-' || (c >= '0' && c <= '9')) {
+                return new ValueDecoder(scanner, offset);
+            }
+            if (c == 't' || c == 'f' || c == 'n') {
+                String literal = scanner.substring(offset, scanner.skipValue(offset));
+                if ("true".equals(literal) || "false".equals(literal) || "null".equals(literal)) {
+                    return new ValueDecoder(scanner, offset);
+                }
+            }
+        } catch (JSONException e) {
+            // Not a single value.
+        }
+        return null;
+    }
+
+    /**
+     * @return a decoder for a top level object, or null.
+     */
+    @Nullable
+    static KeyedContainerDecoder decodeKeyedContainer(JsonScanner scanner) {
+        int offset = scanner.skipWhitespace(0);
+        return scanner.at(offset) == '{' ? new ObjectDecoder(scanner, offset) : null;
+    }
+
+    /**
+     * @return a decoder for a top level array, or null.
+     */
+    @Nullable
+    static UnkeyedContainerDecoder decodeUnkeyedContainer(JsonScanner scanner) {
+        int offset = scanner.skipWhitespace(0);
+        return scanner.at(offset) == '[' ? new ArrayDecoder(scanner, offset) : null;
+    }
+
+    /**
+     * Reads a string field of a top level object, without decoding any other value.
+     *
+     * @return the string, or null if there is no such field or it is not a string.
+     * @throws JSONException if the text is not an object, or is malformed before the field.
+     */
+    @Nullable
+    static String readTopLevelString(JsonScanner scanner, String key) throws JSONException {
+        int offset = scanner.findTopLevelField(key);
+        if (offset < 0 || scanner.at(offset) != '"') {
+            return null;
+        }
+        return scanner.readString(offset);
+    }
+
+    private static class ValueDecoder implements SingleValueDecoder {
+        private final JsonScanner mScanner;
+        private final int mOffset;
+
+        ValueDecoder(JsonScanner scanner, int offset) {
+            mScanner = scanner;
+            mOffset = offset;
+        }
+
+        @Override
+        public boolean decodeNull() {
+            return "null".equals(literal());
+        }
+
+        @Override
+        public Boolean decodeBoolean() {
+            Object value = value();
+            if (value instanceof Boolean) {
+                return (Boolean) value;
+            }
+            if (value instanceof String) {
+                String string = (String) value;
+                if ("true".equalsIgnoreCase(string)) {
+                    return true;
+                }
+                if ("false".equalsIgnoreCase(string)) {
+                    return false;
+                }
+            }
+            return null;
+        }
+
+        @Override
+        public Float decodeFloat() {
+            Number number = number();
+            return number == null ? null : number.floatValue();
+        }
+
+        @Override
+        public Double decodeDouble() {
+            Number number = number();
+            return number == null ? null : number.doubleValue();
+        }
+
+        @Override
+        public Integer decodeInteger() {
+            Number number = number();
+            return number == null ? null : number.intValue();
+        }
+
+        @Override
+        public Long decodeLong() {
+            Number number = number();
+            return number == null ? null : number.longValue();
+        }
+
+        @Override
+        public String decodeString() {
+            try {
+                int c = mScanner.at(mOffset);
+                if (c == '{') {
+                    return new JSONObject(mScanner.substring(mOffset, mScanner.skipValue(mOffset))).toString();
+                }
+                if (c == '[') {
+                    return new JSONArray(mScanner.substring(mOffset, mScanner.skipValue(mOffset))).toString();
+                }
+                Object value = value();
+                return value == null ? null : String.valueOf(value);
+            } catch (JSONException e) {
+                return null;
+            }
+        }
+
+        /**
+         * @return the text of a literal or number value, or null for strings and containers.
+         */
+        @Nullable
+        private String literal() {
+            int c = mScanner.at(mOffset);
+            if (c == '"' || c == '{' || c == '[') {
+                return null;
+            }
+            try {
+                return mScanner.substring(mOffset, mScanner.skipValue(mOffset));
+            } catch (JSONException e) {
+                return null;
+            }
+        }
+
+        /**
+         * @return the value of a string, literal or number as org.json reads it, or null for
+         * containers.
+         */
+        @Nullable
+        private Object value() {
+            try {
+                if (mScanner.at(mOffset) == '"') {
+                    return mScanner.readString(mOffset);
+                }
+                String literal = literal();
+                return literal == null ? null : new JSONTokener(literal).nextValue();
+            } catch (JSONException e) {
+                return null;
+            }
+        }
+
+        /**
+         * @return the value as a number, parsing strings like org.json does, or null.
+         */
+        @Nullable
+        private Number number() {
+            Object value = value();
+            if (value instanceof Number) {
+                return (Number) value;
+            }
+            if (value instanceof String) {
+                try {
+                    return Double.valueOf((String) value);
+                } catch (NumberFormatException e) {
+                    return null;
+                }
+            }
+            return null;
+        }
+    }
+
+    private static class ObjectDecoder implements KeyedContainerDecoder {
+        private final JsonScanner mScanner;
+        private final int mOffset;
+        // Key to value offset, built on first touch.
+        @Nullable
+        private Map<String, Integer> mIndex;
+
+        ObjectDecoder(JsonScanner scanner, int offset) {
+            mScanner = scanner;
+            mOffset = offset;
+        }
+
+        private Map<String, Integer> index() {
+            if (mIndex == null) {
+                // Later duplicates replace earlier ones, like org.json.
+                mIndex = new LinkedHashMap<>();
+                try {
+                    int offset = mScanner.skipWhitespace(mOffset + 1);
+                    if (mScanner.at(offset) != '}') {
+                        while (true) {
+                            offset = mScanner.skipWhitespace(offset);
+                            String key = mScanner.readString(offset);
+                            final int value = mScanner.skipWhitespace(mScanner.expect(mScanner.skipString(offset), ':'));
+                            offset = mScanner.skipWhitespace(mScanner.skipValue(value));
+                            mIndex.put(key, value);
+                            int c = mScanner.at(offset);
+                            if (c == '}') {
+                                break;
+                            }
+                            if (c != ',') {
+                                throw mScanner.syntaxError("Expected ',' or '}'", offset);
+                            }
+                            offset++;
+                        }
+                    }
+                } catch (JSONException e) {
+                    Log.w(TAG, "Malformed object, decoding the keys before the error", e);
+                }
+            }
+            return mIndex;
+        }
+
+        @Override
+        public int size() {
+            return index().size();
+        }
+
+        @Override
+        public boolean hasKey(String key) {
+            return index().containsKey(key);
+        }
+
+        @Override
+        public Iterator<String> keys() {
+            return index().keySet().iterator();
+        }
+
+        @Override
+        public SingleValueDecoder decodeSingleValue(String key) {
+            Integer offset = index().get(key);
+            return offset == null ? null : new ValueDecoder(mScanner, offset);
+        }
+
+        @Override
+        public KeyedContainerDecoder decodeKeyedContainer(String key) {
+            Integer offset = index().get(key);
+            if (offset == null || mScanner.at(offset) != '{') {
+                return null;
+            }
+            return new ObjectDecoder(mScanner, offset);
+        }
+
+        @Override
+        public UnkeyedContainerDecoder decodeUnkeyedContainer(String key) {
+            Integer offset = index().get(key);
+            if (offset == null || mScanner.at(offset) != '[') {
+                return null;
+            }
+            return new ArrayDecoder(mScanner, offset);
+        }
+    }
+
+    private static class ArrayDecoder implements UnkeyedContainerDecoder {
+        private final JsonScanner mScanner;
+        private final int mOffset;
+        // Element offsets, built on first touch.
+        @Nullable
+        private int[] mElements;
+        private int mIndex = 0;
+
+        ArrayDecoder(JsonScanner scanner, int offset) {
+            mScanner = scanner;
+            mOffset = offset;
+        }
+
+        private int[] elements() {
+            if (mElements == null) {
+                int[] elements = new int[8];
+                int count = 0;
+                try {
+                    int offset = mScanner.skipWhitespace(mOffset + 1);
+                    if (mScanner.at(offset) != ']') {
+                        while (true) {
+                            final int element = mScanner.skipWhitespace(offset);
+                            offset = mScanner.skipWhitespace(mScanner.skipValue(element));
+                            if (count == elements.length) {
+                                elements = Arrays.copyOf(elements, count * 2);
+                            }
+                            elements[count++] = element;
+                            int c = mScanner.at(offset);
+                            if (c == ']') {
+                                break;
+                            }
+                            if (c != ',') {
+                                throw mScanner.syntaxError("Expected ',' or ']'", offset);
+                            }
+                            offset++;
+                        }
+                    }
+                } catch (JSONException e) {
+                    Log.w(TAG, "Malformed array, decoding the elements before the error", e);
+                }
+                mElements = Arrays.copyOf(elements, count);
+            }
+            return mElements;
+        }
+
+        @Override
+        public int size() {
+            return elements().length;
+        }
+
+        @Override
+        public boolean atEnd() {
+            return mIndex >= elements().length;
+        }
+
+        @Override
+        public int index() {
+            return mIndex;
+        }
+
+        @Override
+        public SingleValueDecoder decodeSingleValue() {
+            if (atEnd()) return null;
+            return new ValueDecoder(mScanner, mElements[mIndex++]);
+        }
+
+        @Override
+        public KeyedContainerDecoder decodeKeyedContainer() {
+            if (atEnd() || mScanner.at(mElements[mIndex]) != '{') return null;
+            return new ObjectDecoder(mScanner, mElements[mIndex++]);
+        }
+
+        @Override
+        public UnkeyedContainerDecoder decodeUnkeyedContainer() {
+            if (atEnd() || mScanner.at(mElements[mIndex]) != '[') return null;
+            return new ArrayDecoder(mScanner, mElements[mIndex++]);
+        }
+    }
+}
@@ -0,0 +1,101 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package com.amazon.apl.viewhost.primitives;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import com.amazon.apl.viewhost.primitives.decoder.KeyedContainerDecoder;
+import com.amazon.apl.viewhost.primitives.decoder.SingleValueDecoder;
+import com.amazon.apl.viewhost.primitives.decoder.UnkeyedContainerDecoder;
+import com.amazon.apl.viewhost.primitives.transcoder.Transcoder;
+
+import org.json.JSONArray;
+import org.json.JSONException;
+import org.json.JSONObject;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Decodable implementation over UTF-8 encoded JSON which is decoded lazily, without building an
+ * org.json tree. Containers index their keys or elements on first access and values are parsed
+ * when they are read, so reading a few fields of a large payload only scans past the rest.
+ */
+public class Utf8JsonDecodable implements Decodable {
+    private final byte[] mUtf8;
+    private final JsonScanner mScanner;
+
+    /**
+     * @param utf8 UTF-8 encoded JSON. The array is not copied and must not be modified.
+     */
+    public Utf8JsonDecodable(@NonNull byte[] utf8) {
+        mUtf8 = utf8;
+        mScanner = new JsonScanner(utf8);
+    }
+
+    /**
+     * @return the UTF-8 encoded JSON.
+     */
+    public byte[] getBytes() {
+        return mUtf8;
+    }
+
+    /**
+     * @return the JSON text.
+     */
+    public String getString() {
+        return new String(mUtf8, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Reads a single string field of a top level object without decoding anything else. The
+     * payload is only scanned up to the field.
+     *
+     * @param key the field name.
+     * @return the value, or null if there is no such field or it is not a string.
+     * @throws JSONException if the payload is not an object, or is malformed before the field.
+     */
+    @Nullable
+    public String readTopLevelString(@NonNull String key) throws JSONException {
+        return LazyJsonDecoder.readTopLevelString(mScanner, key);
+    }
+
+    @Override
+    public SingleValueDecoder decodeSingleValue() {
+        return LazyJsonDecoder.decodeSingleValue(mScanner);
+    }
+
+    @Override
+    public KeyedContainerDecoder decodeKeyedContainer() {
+        return LazyJsonDecoder.decodeKeyedContainer(mScanner);
+    }
+
+    @Override
+    public UnkeyedContainerDecoder decodeUnkeyedContainer() {
+        return LazyJsonDecoder.decodeUnkeyedContainer(mScanner);
+    }
+
+    @Override
+    public boolean transcode(Transcoder transcoder) {
+        // A JsonTranscoder needs the org.json tree, so only build it for one.
+        if (transcoder instanceof JsonTranscoder) {
+            try {
+                int offset = mScanner.skipWhitespace(0);
+                if (mScanner.at(offset) == '{') {
+                    ((JsonTranscoder) transcoder).setJsonObject(new JSONObject(getString()));
+                    return true;
+                } else if (mScanner.at(offset) == '[') {
+                    ((JsonTranscoder) transcoder).setJsonArray(new JSONArray(getString()));
+                    return true;
+                }
+            } catch (JSONException e) {
+                return false;
+            }
+        }
+
+        // Otherwise the transcoder is not implemented yet
+        return false;
+    }
+}
@@ -70,6 +70,7 @@ import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyBoolean;
 import static org.mockito.ArgumentMatchers.anyFloat;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.inOrder;
 import static org.mockito.Mockito.mock;
@@ -624,6 +625,14 @@ public class APLLayoutTest {
         verify(mockRootContext).startFrameMetricsRecording();
     }
 
+    @Test
+    public void testStartFrameMetricsRecording_withTimeline() {
+        mView.onDocumentRender(mockRootContext);
+        IDTCallback callback = mock(IDTCallback.class);
+        mView.startFrameMetricsRecording(1, 250, callback);
+        verify(mockRootContext).startFrameMetricsRecording(any(), eq(250L));
+    }
+
     @Test
     public void testStopFrameMetricsRecording() throws JSONException {
         mView.onDocumentRender(mockRootContext);
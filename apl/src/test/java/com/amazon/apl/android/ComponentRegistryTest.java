@@ -0,0 +1,104 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package com.amazon.apl.android;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import com.amazon.apl.android.robolectric.ViewhostRobolectricTest;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+public class ComponentRegistryTest extends ViewhostRobolectricTest {
+    private ComponentRegistry mRegistry;
+
+    @Before
+    public void setup() {
+        mRegistry = new ComponentRegistry(16);
+    }
+
+    @Test
+    public void testLookupByStringAndUid() {
+        Component component = component(":1000");
+        Component named = component("named");
+        mRegistry.put(component);
+        mRegistry.put(named);
+
+        assertSame(component, mRegistry.get(":1000"));
+        assertSame(component, mRegistry.get(1000));
+        assertSame(named, mRegistry.get("named"));
+        assertTrue(mRegistry.contains("named"));
+        assertFalse(mRegistry.contains(":1001"));
+        assertNull(mRegistry.get(Component.NO_UID));
+        assertEquals(2, mRegistry.size());
+    }
+
+    @Test
+    public void testRemoveSubtree_removesInflatedDescendants() {
+        Component root = component(":1");
+        Component child = component(":2");
+        Component grandChild = component("named");
+        Component sibling = component(":4");
+        children(root, child);
+        when(root.getChildUids()).thenReturn(new int[] {2, 3});
+        children(child, grandChild);
+        for (Component component : new Component[] {root, child, grandChild, sibling}) {
+            mRegistry.put(component);
+        }
+
+        assertEquals(3, mRegistry.removeSubtree(root));
+
+        assertEquals(1, mRegistry.size());
+        assertSame(sibling, mRegistry.get(4));
+        assertNull(mRegistry.get("named"));
+    }
+
+    @Test
+    public void testAsMap() {
+        Component first = component(":1");
+        Component second = component("named");
+        mRegistry.put(first);
+        mRegistry.put(second);
+
+        Map<String, Component> map = mRegistry.asMap();
+        Set<Component> values = new HashSet<>(map.values());
+
+        assertEquals(2, map.size());
+        assertSame(first, map.get(":1"));
+        assertTrue(map.containsKey("named"));
+        assertTrue(values.contains(first));
+        assertTrue(values.contains(second));
+    }
+
+    private static Component component(String componentId) {
+        Component component = mock(Component.class);
+        when(component.getComponentId()).thenReturn(componentId);
+        when(component.getUid()).thenReturn(Component.toUid(componentId));
+        when(component.getChildUids()).thenReturn(new int[0]);
+        return component;
+    }
+
+    private static void children(Component parent, Component... children) {
+        int[] uids = new int[children.length];
+        for (int i = 0; i < children.length; i++) {
+            uids[i] = children[i].getUid();
+            // Read the id before stubbing, Mockito does not allow calling mocks inside thenReturn.
+            String childId = children[i].getComponentId();
+            when(parent.getChildId(i)).thenReturn(childId);
+        }
+        when(parent.getChildUids()).thenReturn(uids);
+    }
+}
@@ -16,6 +16,7 @@ import com.amazon.apl.android.providers.ITelemetryProvider;
 import com.amazon.apl.android.scaling.ViewportMetrics;
 import com.amazon.apl.android.utils.APLTrace;
 import com.amazon.apl.android.utils.FrameStat;
+import com.amazon.apl.android.utils.TestClock;
 import com.amazon.apl.enums.ScreenShape;
 import com.amazon.apl.enums.ViewportMode;
 
@@ -45,6 +46,7 @@ import android.os.Looper;
 
 import java.util.Calendar;
 import java.util.Date;
+import java.util.List;
 
 public class RootContextTest extends AbstractDocUnitTest {
 
@@ -316,6 +318,99 @@ public class RootContextTest extends AbstractDocUnitTest {
         verify(mAPLPresenter, times(0)).emitFluidityIncident(anyInt(), any(), any(), any());
     }
 
+    @Test
+    public void testNextTickDelay_idleSchedulingDisabled_ticksEveryFrame() {
+        loadDocument(DOC);
+
+        assertEquals(0, mRootContext.getNextTickDelay());
+    }
+
+    @Test
+    public void testNextTickDelay_staticDocument_noTickNeeded() {
+        loadDocument(DOC, buildIdleSchedulingOptions());
+
+        assertEquals(IClock.NO_TICK_NEEDED, mRootContext.getNextTickDelay());
+    }
+
+    @Test
+    public void testNextTickDelay_pendingTimer_waitsForTimer() {
+        loadDocument(DOC, buildIdleSchedulingOptions());
+
+        mRootContext.executeCommands("[{\"type\": \"Idle\", \"delay\": 1000}]");
+
+        long delay = mRootContext.getNextTickDelay();
+        assertTrue(delay > 0);
+        assertTrue(delay <= 1000);
+    }
+
+    @Test
+    public void testNextTickDelay_postedWork_ticksNextFrame() {
+        loadDocument(DOC, buildIdleSchedulingOptions());
+
+        mRootContext.post(() -> {});
+        assertEquals(0, mRootContext.getNextTickDelay());
+
+        update(16);
+        assertEquals(IClock.NO_TICK_NEEDED, mRootContext.getNextTickDelay());
+    }
+
+    @Test
+    public void testOnTick_afterIdle_restartsFluidityFrameSequence() {
+        loadDocument(DOC, buildIdleSchedulingOptions());
+        verify(mFluidityIncidentReporter, never()).restartFrameSequence();
+
+        mRootContext.getNextTickDelay();
+        update(1000);
+
+        verify(mFluidityIncidentReporter).restartFrameSequence();
+    }
+
+    @Test
+    public void test_bulkChildEnumeration_matchesChildAt() {
+        loadDocument("{\n" +
+                "    \"type\": \"APL\",\n" +
+                "    \"version\": \"1.0\",\n" +
+                "    \"mainTemplate\": {\n" +
+                "        \"item\": {\n" +
+                "            \"type\": \"Container\",\n" +
+                "            \"data\": [1, 2, 3],\n" +
+                "            \"item\": {\n" +
+                "                \"type\": \"Text\",\n" +
+                "                \"text\": \"${data}\"\n" +
+                "            }\n" +
+                "        }\n" +
+                "    }\n" +
+                "}");
+        Component top = mRootContext.getTopComponent();
+
+        List<Component> children = top.getAllChildren();
+
+        assertEquals(3, children.size());
+        assertEquals(children, top.getDisplayedChildren());
+        for (int i = 0; i < children.size(); i++) {
+            Component child = children.get(i);
+            Assert.assertSame(top.getChildAt(i), child);
+            Assert.assertNotEquals(Component.NO_UID, child.getUid());
+            Assert.assertSame(child, mRootContext.getComponentWithUid(child.getUid()));
+        }
+    }
+
+    @Test
+    public void test_componentUid_parsesCoreUniqueIds() {
+        assertEquals(1000, Component.toUid(":1000"));
+        assertEquals(7, Component.toUid("7"));
+        assertEquals(Component.NO_UID, Component.toUid(":"));
+        assertEquals(Component.NO_UID, Component.toUid("frame"));
+        assertEquals(Component.NO_UID, Component.toUid(":99999999999"));
+    }
+
+    private APLOptions buildIdleSchedulingOptions() {
+        return APLOptions.builder()
+                .aplClockProvider(callback -> new TestClock(callback))
+                .idleFrameSchedulingEnabled(true)
+                .build();
+    }
+
     private void loadDocument() {
         ViewportMetrics metrics = ViewportMetrics.builder()
                 .width(1280)
@@ -0,0 +1,77 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package com.amazon.apl.android;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+
+import com.amazon.apl.android.dependencies.IAPLSessionListener;
+import com.amazon.apl.android.robolectric.ViewhostRobolectricTest;
+
+import org.junit.Test;
+import org.mockito.InOrder;
+
+public class SessionTest extends ViewhostRobolectricTest {
+
+    @Test
+    public void testExistingLogs_areReportedToListener() {
+        Session session = new Session(4);
+        session.write(Session.LogEntryLevel.INFO, Session.LogEntrySource.VIEW, "first");
+        session.writeFormatted(Session.LogEntryLevel.WARN, Session.LogEntrySource.VIEW, "second %d", 2);
+
+        IAPLSessionListener listener = mock(IAPLSessionListener.class);
+        session.setAPLListener(listener);
+
+        InOrder inOrder = inOrder(listener);
+        inOrder.verify(listener).write(Session.LogEntryLevel.INFO, Session.LogEntrySource.VIEW, "first", null);
+        inOrder.verify(listener).write(Session.LogEntryLevel.WARN, Session.LogEntrySource.VIEW, "second 2", null);
+    }
+
+    @Test
+    public void testFullBuffer_dropsOldestLogs() {
+        Session session = new Session(2);
+        for (int i = 0; i < 5; i++) {
+            session.writeFormatted(Session.LogEntryLevel.INFO, Session.LogEntrySource.VIEW, "log %d", i);
+        }
+        assertEquals(3, session.getDroppedLogCount());
+
+        IAPLSessionListener listener = mock(IAPLSessionListener.class);
+        session.setAPLListener(listener);
+
+        InOrder inOrder = inOrder(listener);
+        inOrder.verify(listener).write(Session.LogEntryLevel.WARN, Session.LogEntrySource.SESSION,
+                "Dropped 3 earlier log entries", null);
+        inOrder.verify(listener).write(Session.LogEntryLevel.INFO, Session.LogEntrySource.VIEW, "log 3", null);
+        inOrder.verify(listener).write(Session.LogEntryLevel.INFO, Session.LogEntrySource.VIEW, "log 4", null);
+    }
+
+    @Test
+    public void testMinimumLevel_filtersBeforeFormatting() {
+        Session session = new Session(4);
+        IAPLSessionListener listener = mock(IAPLSessionListener.class);
+        session.setAPLListener(listener);
+        session.setMinimumLogLevel(Session.LogEntryLevel.WARN);
+        Object argument = new Object() {
+            @Override
+            public String toString() {
+                throw new AssertionError("Filtered entries must not be formatted");
+            }
+        };
+
+        assertFalse(session.isLoggable(Session.LogEntryLevel.INFO));
+        assertTrue(session.isLoggable(Session.LogEntryLevel.ERROR));
+        session.writeFormatted(Session.LogEntryLevel.INFO, Session.LogEntrySource.VIEW, "filtered %s", argument);
+        session.write(Session.LogEntryLevel.DEBUG, Session.LogEntrySource.VIEW, "filtered");
+        session.write(Session.LogEntryLevel.ERROR, Session.LogEntrySource.VIEW, "kept");
+
+        assertEquals(2, session.getFilteredLogCount());
+        verify(listener).write(Session.LogEntryLevel.ERROR, Session.LogEntrySource.VIEW, "kept", null);
+    }
+}
@@ -0,0 +1,60 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package com.amazon.apl.android.benchmark;
+
+import androidx.annotation.Nullable;
+
+import com.amazon.apl.android.utils.TracePoint;
+
+/**
+ * The phases of rendering a document which are timed by the benchmark.
+ *
+ * Phases are inclusive: text is measured during layout, so layout time includes text measure time,
+ * and every phase but inflate and draw is part of a frame.
+ */
+enum BenchmarkPhase {
+    /** Content creation, RootContext creation and view inflation, timed by the harness. */
+    INFLATE,
+    /** A whole {@link com.amazon.apl.android.RootContext#onTick(long)}. */
+    FRAME(TracePoint.ROOT_CONTEXT_DO_FRAME),
+    /** Core layout of pending components, and the view layout pass. */
+    LAYOUT(TracePoint.ROOT_CONTEXT_CLEAR_PENDING, TracePoint.APL_LAYOUT_ON_LAYOUT),
+    /** Text measurement requested by core layout. */
+    TEXT_MEASURE(TracePoint.TEXT_MEASURE),
+    /** Dispatch of dirty component properties to the views. */
+    DIRTY_PROPERTIES(TracePoint.ROOT_CONTEXT_HANDLE_DIRTY_PROPERTIES),
+    /** Drawing the view hierarchy into an offscreen canvas, timed by the harness. */
+    DRAW;
+
+    // Built once, so matching a section does not allocate while allocations are being counted.
+    private final String[] mSectionSuffixes;
+
+    BenchmarkPhase(TracePoint... tracePoints) {
+        mSectionSuffixes = new String[tracePoints.length];
+        for (int i = 0; i < tracePoints.length; i++) {
+            mSectionSuffixes[i] = "-" + tracePoints[i].getClassName() + "." + tracePoints[i].getMethodName();
+        }
+    }
+
+    /**
+     * Finds the phase a trace section belongs to. Section names are built by
+     * {@link com.amazon.apl.android.utils.APLTrace} as {@code agent-Class.method}.
+     *
+     * @param sectionName the trace section name.
+     * @return the phase, or null if the section is not timed.
+     */
+    @Nullable
+    static BenchmarkPhase forSection(String sectionName) {
+        for (BenchmarkPhase phase : values()) {
+            for (String suffix : phase.mSectionSuffixes) {
+                if (sectionName.endsWith(suffix)) {
+                    return phase;
+                }
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,113 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package com.amazon.apl.android.benchmark;
+
+import org.json.JSONException;
+import org.json.JSONObject;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Locale;
+
+/**
+ * The per-phase results of benchmarking one document.
+ */
+class BenchmarkReport {
+    private static final double NANOS_PER_MILLI = 1e6;
+
+    private final String mDocumentName;
+    private final int mFrames;
+    private final long mFramePeriodNanos;
+    private final PhaseRecorder mRecorder;
+
+    BenchmarkReport(String documentName, int frames, long framePeriodNanos, PhaseRecorder recorder) {
+        mDocumentName = documentName;
+        mFrames = frames;
+        mFramePeriodNanos = framePeriodNanos;
+        mRecorder = recorder;
+    }
+
+    /**
+     * @return the number of frames which took longer than the frame period.
+     */
+    int getSlowFrames() {
+        PhaseRecorder.Samples frames = mRecorder.getSamples(BenchmarkPhase.FRAME);
+        int slow = 0;
+        for (int i = 0; i < frames.count(); i++) {
+            if (frames.nanosAt(i) > mFramePeriodNanos) {
+                slow++;
+            }
+        }
+        return slow;
+    }
+
+    /**
+     * @return a human readable table of the results.
+     */
+    String format() {
+        StringBuilder builder = new StringBuilder();
+        builder.append(String.format(Locale.US, "Benchmark %s: %d frames, %d slow, allocations %s%n",
+                mDocumentName, mFrames, getSlowFrames(),
+                PhaseRecorder.isAllocationCountingSupported() ? "counted" : "not counted"));
+        builder.append(String.format(Locale.US, "%-18s %8s %10s %9s %9s %9s %10s%n",
+                "phase", "count", "total ms", "p50 ms", "p95 ms", "max ms", "KiB/op"));
+        for (BenchmarkPhase phase : BenchmarkPhase.values()) {
+            PhaseRecorder.Samples samples = mRecorder.getSamples(phase);
+            builder.append(String.format(Locale.US, "%-18s %8d %10.2f %9.3f %9.3f %9.3f %10.1f%n",
+                    phase.name(),
+                    samples.count(),
+                    samples.totalNanos() / NANOS_PER_MILLI,
+                    samples.percentileNanos(50) / NANOS_PER_MILLI,
+                    samples.percentileNanos(95) / NANOS_PER_MILLI,
+                    samples.percentileNanos(100) / NANOS_PER_MILLI,
+                    samples.count() == 0 ? 0 : samples.totalBytes() / 1024.0 / samples.count()));
+        }
+        return builder.toString();
+    }
+
+    /**
+     * @return the results as JSON, for comparison against a baseline in CI.
+     */
+    JSONObject toJson() throws JSONException {
+        JSONObject phases = new JSONObject();
+        for (BenchmarkPhase phase : BenchmarkPhase.values()) {
+            PhaseRecorder.Samples samples = mRecorder.getSamples(phase);
+            phases.put(phase.name(), new JSONObject()
+                    .put("count", samples.count())
+                    .put("totalNanos", samples.totalNanos())
+                    .put("p50Nanos", samples.percentileNanos(50))
+                    .put("p95Nanos", samples.percentileNanos(95))
+                    .put("maxNanos", samples.percentileNanos(100))
+                    .put("allocatedBytes", samples.totalBytes()));
+        }
+        return new JSONObject()
+                .put("document", mDocumentName)
+                .put("frames", mFrames)
+                .put("framePeriodNanos", mFramePeriodNanos)
+                .put("slowFrames", getSlowFrames())
+                .put("allocationsCounted", PhaseRecorder.isAllocationCountingSupported())
+                .put("phases", phases);
+    }
+
+    /**
+     * Writes the results as {@code <document>.json} in a directory.
+     *
+     * @param directory the output directory, created if needed.
+     */
+    void writeTo(File directory) throws IOException, JSONException {
+        if (!directory.isDirectory() && !directory.mkdirs()) {
+            throw new IOException("Unable to create " + directory);
+        }
+        File file = new File(directory, mDocumentName + ".json");
+        try (Writer writer = new OutputStreamWriter(new FileOutputStream(file), StandardCharsets.UTF_8)) {
+            writer.write(toJson().toString(2));
+        }
+    }
+}
@@ -0,0 +1,226 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package com.amazon.apl.android.benchmark;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assume.assumeTrue;
+
+import android.graphics.Bitmap;
+import android.graphics.Canvas;
+
+import androidx.test.ext.junit.rules.ActivityScenarioRule;
+
+import com.amazon.apl.android.APLController;
+import com.amazon.apl.android.APLLayout;
+import com.amazon.apl.android.APLOptions;
+import com.amazon.apl.android.APLTestContext;
+import com.amazon.apl.android.TestActivity;
+import com.amazon.apl.android.robolectric.ViewhostRobolectricTest;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.robolectric.annotation.Config;
+import org.robolectric.shadows.ShadowLooper;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Renders the documents of the benchmark corpus in {@code src/test/resources/benchmark} on a
+ * virtual frame clock and reports the time and allocations of each {@link BenchmarkPhase}.
+ *
+ * Benchmarks are skipped by default. To run them against the host build of the core:
+ *
+ *     ./gradlew :apl:testDebugUnitTest -PaplBenchmark --tests '*DocumentBenchmarkTest'
+ *
+ * The inflation scaling benchmarks render generated documents of 1k, 5k and 20k components, the
+ * inflate phase should grow linearly with the number of components.
+ *
+ * Add {@code -PaplBenchmarkOutputDir=<dir>} to also write one JSON report per document. Robolectric
+ * does not rasterize, so the draw phase measures the view host side of drawing only.
+ */
+@Config(shadows = ShadowBenchmarkTrace.class)
+public class DocumentBenchmarkTest extends ViewhostRobolectricTest {
+    private static final int FRAMES_PER_SECOND = 60;
+    private static final int FRAMES = 300;
+    // Inflation scaling documents are only rendered for a few frames.
+    private static final int SCALING_FRAMES = 10;
+
+    @Rule
+    public ActivityScenarioRule<TestActivity> activityRule = new ActivityScenarioRule<>(TestActivity.class);
+
+    @Before
+    public void assumeBenchmarksEnabled() {
+        assumeTrue("Benchmarks are disabled", Boolean.getBoolean("apl.benchmark"));
+    }
+
+    @Test
+    public void benchmark_textList() throws Exception {
+        benchmark("text-list");
+    }
+
+    @Test
+    public void benchmark_animatedPager() throws Exception {
+        benchmark("animated-pager");
+    }
+
+    @Test
+    public void benchmark_nestedLayout() throws Exception {
+        benchmark("nested-layout");
+    }
+
+    @Test
+    public void benchmark_inflate1kComponents() throws Exception {
+        benchmark("inflate-1k", scalingDocument(1_000), SCALING_FRAMES);
+    }
+
+    @Test
+    public void benchmark_inflate5kComponents() throws Exception {
+        benchmark("inflate-5k", scalingDocument(5_000), SCALING_FRAMES);
+    }
+
+    @Test
+    public void benchmark_inflate20kComponents() throws Exception {
+        benchmark("inflate-20k", scalingDocument(20_000), SCALING_FRAMES);
+    }
+
+    private void benchmark(String documentName) throws Exception {
+        benchmark(documentName, readDocument(documentName), FRAMES);
+    }
+
+    private void benchmark(String name, String document, int frames) throws Exception {
+        // The first run warms up the JIT and the caches of the view host.
+        run(document, null, frames);
+
+        PhaseRecorder recorder = new PhaseRecorder();
+        long framePeriodNanos = run(document, recorder, frames);
+
+        BenchmarkReport report = new BenchmarkReport(name, frames, framePeriodNanos, recorder);
+        System.out.println(report.format());
+        String outputDir = System.getProperty("apl.benchmark.outputDir");
+        if (outputDir != null && !outputDir.isEmpty()) {
+            report.writeTo(new File(outputDir));
+        }
+
+        assertEquals(1, recorder.getSamples(BenchmarkPhase.INFLATE).count());
+        assertEquals(frames, recorder.getSamples(BenchmarkPhase.FRAME).count());
+    }
+
+    /**
+     * Inflates a document and renders it.
+     *
+     * @param document the document.
+     * @param recorder the recorder for this run, or null to not record it.
+     * @param frames   the number of frames to render.
+     * @return the frame period.
+     */
+    private long run(String document, PhaseRecorder recorder, int frames) {
+        final VirtualFrameClock clock = new VirtualFrameClock(FRAMES_PER_SECOND);
+        final APLTestContext testContext = new APLTestContext()
+                .setDocument(document)
+                .setAplOptions(APLOptions.builder()
+                        .aplClockProvider(callback -> {
+                            clock.registerCallback(callback);
+                            return clock;
+                        })
+                        .build())
+                .buildRootContextDependencies();
+        Assert.assertTrue("Failed to create Content", testContext.getContent().isReady());
+
+        ShadowBenchmarkTrace.setRecorder(recorder);
+        try {
+            activityRule.getScenario().onActivity(activity -> {
+                APLLayout aplLayout = activity.findViewById(com.amazon.apl.android.test.R.id.apl);
+                APLController controller;
+
+                begin(recorder, BenchmarkPhase.INFLATE);
+                try {
+                    controller = APLController.renderDocument(testContext.getContent(),
+                            testContext.getAplOptions(), testContext.getRootConfig(), aplLayout.getPresenter());
+                } catch (APLController.APLException e) {
+                    throw new AssertionError(e);
+                }
+                // Finish creating the views.
+                ShadowLooper.idleMainLooper();
+                end(recorder);
+
+                Canvas canvas = new Canvas(Bitmap.createBitmap(
+                        Math.max(1, aplLayout.getWidth()), Math.max(1, aplLayout.getHeight()), Bitmap.Config.ARGB_8888));
+                for (int i = 0; i < frames; i++) {
+                    clock.nextFrame();
+                    // Run the view traversal of this frame, in step with the virtual clock.
+                    ShadowLooper.idleMainLooper(clock.getFramePeriodNanos(), TimeUnit.NANOSECONDS);
+
+                    begin(recorder, BenchmarkPhase.DRAW);
+                    aplLayout.draw(canvas);
+                    end(recorder);
+                }
+
+                controller.finishDocument();
+            });
+        } finally {
+            ShadowBenchmarkTrace.setRecorder(null);
+        }
+        return clock.getFramePeriodNanos();
+    }
+
+    private static void begin(PhaseRecorder recorder, BenchmarkPhase phase) {
+        if (recorder != null) {
+            recorder.begin(phase);
+        }
+    }
+
+    private static void end(PhaseRecorder recorder) {
+        if (recorder != null) {
+            recorder.end();
+        }
+    }
+
+    /**
+     * @param components the number of components, including the root Container.
+     * @return a document with a Container of data bound Frames.
+     */
+    private static String scalingDocument(int components) {
+        return "{"
+                + "  \"type\": \"APL\","
+                + "  \"version\": \"1.8\","
+                + "  \"mainTemplate\": {"
+                + "    \"items\": {"
+                + "      \"type\": \"Container\","
+                + "      \"width\": \"100%\","
+                + "      \"height\": \"100%\","
+                + "      \"data\": \"${Array.range(" + (components - 1) + ")}\","
+                + "      \"items\": {"
+                + "        \"type\": \"Frame\","
+                + "        \"width\": 10,"
+                + "        \"height\": 1,"
+                + "        \"backgroundColor\": \"${index % 2 == 0 ? 'red' : 'blue'}\""
+                + "      }"
+                + "    }"
+                + "  }"
+                + "}";
+    }
+
+    private static String readDocument(String documentName) throws IOException {
+        try (InputStream stream = DocumentBenchmarkTest.class.getClassLoader()
+                .getResourceAsStream("benchmark/" + documentName + ".json")) {
+            Assert.assertNotNull("Missing benchmark document " + documentName, stream);
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            byte[] buffer = new byte[8192];
+            int read;
+            while ((read = stream.read(buffer)) != -1) {
+                bytes.write(buffer, 0, read);
+            }
+            return new String(bytes.toByteArray(), StandardCharsets.UTF_8);
+        }
+    }
+}
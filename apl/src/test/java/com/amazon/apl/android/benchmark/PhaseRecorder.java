@@ -0,0 +1,179 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package com.amazon.apl.android.benchmark;
+
+import androidx.annotation.Nullable;
+
+import java.lang.management.ManagementFactory;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Records the time spent and the bytes allocated in each {@link BenchmarkPhase}.
+ *
+ * Phases are fed by the trace sections the view host already emits (see
+ * {@link ShadowBenchmarkTrace}) and by the harness itself. A phase nested in itself is only
+ * recorded once, for the outermost section. Not thread safe: the benchmark runs on the main thread.
+ */
+final class PhaseRecorder {
+    private static final int MAX_DEPTH = 64;
+
+    @Nullable
+    private static final com.sun.management.ThreadMXBean sThreads = threads();
+
+    // Open sections, a null phase for sections which are not timed.
+    private final BenchmarkPhase[] mPhases = new BenchmarkPhase[MAX_DEPTH];
+    private final long[] mStartNanos = new long[MAX_DEPTH];
+    private final long[] mStartBytes = new long[MAX_DEPTH];
+    private final int[] mPhaseDepth = new int[BenchmarkPhase.values().length];
+    private int mDepth = 0;
+
+    private final Map<BenchmarkPhase, Samples> mSamples = new EnumMap<>(BenchmarkPhase.class);
+
+    PhaseRecorder() {
+        for (BenchmarkPhase phase : BenchmarkPhase.values()) {
+            mSamples.put(phase, new Samples());
+        }
+    }
+
+    /**
+     * @return true if allocations are counted, which depends on the JVM.
+     */
+    static boolean isAllocationCountingSupported() {
+        return sThreads != null;
+    }
+
+    /**
+     * Opens a section.
+     *
+     * @param phase the phase of the section, or null if it is not timed.
+     */
+    void begin(@Nullable BenchmarkPhase phase) {
+        if (mDepth == MAX_DEPTH) {
+            throw new IllegalStateException("Trace sections nested too deeply");
+        }
+        mPhases[mDepth] = phase;
+        if (phase != null && mPhaseDepth[phase.ordinal()]++ == 0) {
+            mStartBytes[mDepth] = allocatedBytes();
+            mStartNanos[mDepth] = System.nanoTime();
+        }
+        mDepth++;
+    }
+
+    /**
+     * Closes the innermost open section.
+     */
+    void end() {
+        if (mDepth == 0) {
+            // Sections opened before recording started.
+            return;
+        }
+        final long endNanos = System.nanoTime();
+        mDepth--;
+        BenchmarkPhase phase = mPhases[mDepth];
+        if (phase != null && --mPhaseDepth[phase.ordinal()] == 0) {
+            final long endBytes = allocatedBytes();
+            mSamples.get(phase).add(endNanos - mStartNanos[mDepth], endBytes - mStartBytes[mDepth]);
+        }
+    }
+
+    /**
+     * @return the samples recorded for a phase.
+     */
+    Samples getSamples(BenchmarkPhase phase) {
+        return mSamples.get(phase);
+    }
+
+    /**
+     * Drops all samples, for example those recorded while warming up.
+     */
+    void clear() {
+        for (Samples samples : mSamples.values()) {
+            samples.clear();
+        }
+    }
+
+    private static long allocatedBytes() {
+        return sThreads == null ? 0 : sThreads.getThreadAllocatedBytes(Thread.currentThread().getId());
+    }
+
+    @Nullable
+    private static com.sun.management.ThreadMXBean threads() {
+        try {
+            java.lang.management.ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+            if (threads instanceof com.sun.management.ThreadMXBean
+                    && ((com.sun.management.ThreadMXBean) threads).isThreadAllocatedMemorySupported()) {
+                ((com.sun.management.ThreadMXBean) threads).setThreadAllocatedMemoryEnabled(true);
+                return (com.sun.management.ThreadMXBean) threads;
+            }
+        } catch (LinkageError e) {
+            // Not a HotSpot based JVM.
+        }
+        return null;
+    }
+
+    /**
+     * The durations and allocations of every occurrence of a phase.
+     */
+    static final class Samples {
+        private long[] mNanos = new long[256];
+        private long[] mBytes = new long[256];
+        private int mCount = 0;
+
+        private void add(long nanos, long bytes) {
+            if (mCount == mNanos.length) {
+                mNanos = Arrays.copyOf(mNanos, mCount * 2);
+                mBytes = Arrays.copyOf(mBytes, mCount * 2);
+            }
+            mNanos[mCount] = nanos;
+            mBytes[mCount] = bytes;
+            mCount++;
+        }
+
+        private void clear() {
+            mCount = 0;
+        }
+
+        int count() {
+            return mCount;
+        }
+
+        long nanosAt(int index) {
+            return mNanos[index];
+        }
+
+        long totalNanos() {
+            long total = 0;
+            for (int i = 0; i < mCount; i++) {
+                total += mNanos[i];
+            }
+            return total;
+        }
+
+        long totalBytes() {
+            long total = 0;
+            for (int i = 0; i < mCount; i++) {
+                total += mBytes[i];
+            }
+            return total;
+        }
+
+        /**
+         * @param percentile the percentile, between 0 and 100.
+         * @return the duration at the percentile, using the nearest rank.
+         */
+        long percentileNanos(double percentile) {
+            if (mCount == 0) {
+                return 0;
+            }
+            long[] sorted = Arrays.copyOf(mNanos, mCount);
+            Arrays.sort(sorted);
+            int rank = (int) Math.ceil(percentile / 100 * mCount);
+            return sorted[Math.max(0, Math.min(mCount, rank) - 1)];
+        }
+    }
+}
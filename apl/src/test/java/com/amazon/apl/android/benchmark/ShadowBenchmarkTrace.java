@@ -0,0 +1,45 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package com.amazon.apl.android.benchmark;
+
+import android.os.Trace;
+
+import org.robolectric.annotation.Implementation;
+import org.robolectric.annotation.Implements;
+import org.robolectric.shadows.ShadowTrace;
+
+/**
+ * Feeds the trace sections emitted through {@link com.amazon.apl.android.utils.APLTrace} to the
+ * active {@link PhaseRecorder}, so the benchmark times the same sections a systrace would show
+ * without instrumenting the view host.
+ */
+@Implements(Trace.class)
+public class ShadowBenchmarkTrace extends ShadowTrace {
+    private static PhaseRecorder sRecorder;
+
+    /**
+     * @param recorder the recorder to feed, or null to stop recording.
+     */
+    static void setRecorder(PhaseRecorder recorder) {
+        sRecorder = recorder;
+    }
+
+    @Implementation
+    protected static void beginSection(String sectionName) {
+        ShadowTrace.beginSection(sectionName);
+        if (sRecorder != null) {
+            sRecorder.begin(BenchmarkPhase.forSection(sectionName));
+        }
+    }
+
+    @Implementation
+    protected static void endSection() {
+        if (sRecorder != null) {
+            sRecorder.end();
+        }
+        ShadowTrace.endSection();
+    }
+}
@@ -0,0 +1,63 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package com.amazon.apl.android.benchmark;
+
+import com.amazon.apl.android.IClock;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A clock that ticks at a fixed frame rate on virtual time, only when the benchmark asks for a
+ * frame. Every run of a document sees the same frame times, however long the frames take.
+ */
+class VirtualFrameClock implements IClock {
+    private final long mFramePeriodNanos;
+    private IClockCallback mCallback;
+    private boolean mRunning = false;
+    private long mFrameTimeNanos = 0;
+
+    /**
+     * @param framesPerSecond the frame rate to simulate.
+     */
+    VirtualFrameClock(int framesPerSecond) {
+        mFramePeriodNanos = TimeUnit.SECONDS.toNanos(1) / framesPerSecond;
+    }
+
+    void registerCallback(IClockCallback callback) {
+        mCallback = callback;
+    }
+
+    @Override
+    public void start() {
+        mRunning = true;
+    }
+
+    @Override
+    public void stop() {
+        mRunning = false;
+    }
+
+    /**
+     * @return the duration of a frame in nanoseconds.
+     */
+    long getFramePeriodNanos() {
+        return mFramePeriodNanos;
+    }
+
+    /**
+     * Advances virtual time by one frame and ticks, if the clock is running.
+     *
+     * @return true if the callback was ticked.
+     */
+    boolean nextFrame() {
+        mFrameTimeNanos += mFramePeriodNanos;
+        if (!mRunning || mCallback == null) {
+            return false;
+        }
+        mCallback.onTick(mFrameTimeNanos);
+        return true;
+    }
+}
@@ -0,0 +1,264 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package com.amazon.apl.android.bitmap;
+
+import android.graphics.Bitmap;
+
+import com.amazon.apl.android.robolectric.ViewhostRobolectricTest;
+
+import org.junit.Test;
+import org.mockito.Mock;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class SegmentedBitmapCacheTest extends ViewhostRobolectricTest {
+    @Mock
+    IBitmapPool mBitmapPool;
+
+    @Test
+    public void testCountsHitsAndMisses() {
+        SegmentedBitmapCache cache = new SegmentedBitmapCache(1000, 1, mBitmapPool);
+        Bitmap bitmap = bitmap(100);
+        cache.putBitmap(new TestKey(1), bitmap);
+
+        assertSame(bitmap, cache.getBitmap(new TestKey(1)));
+        assertNull(cache.getBitmap(new TestKey(2)));
+        assertEquals(1, cache.getHitCount());
+        assertEquals(1, cache.getMissCount());
+        assertEquals(100, cache.getSize());
+    }
+
+    @Test
+    public void testPutKeepsCachedBitmap() {
+        SegmentedBitmapCache cache = new SegmentedBitmapCache(1000, 1, mBitmapPool);
+        Bitmap bitmap = bitmap(100);
+        cache.putBitmap(new TestKey(1), bitmap);
+        cache.putBitmap(new TestKey(1), bitmap(100));
+
+        assertSame(bitmap, cache.getBitmap(new TestKey(1)));
+        assertEquals(100, cache.getSize());
+    }
+
+    @Test
+    public void testOneOffLargeBitmap_doesNotEvictFrequentlyUsedIcons() {
+        SegmentedBitmapCache cache = new SegmentedBitmapCache(1000, 1, mBitmapPool);
+        for (int i = 0; i < 5; i++) {
+            cache.putBitmap(new TestKey(i), bitmap(100));
+            for (int use = 0; use < 3; use++) {
+                cache.getBitmap(new TestKey(i));
+            }
+        }
+
+        cache.putBitmap(new TestKey(100), bitmap(600));
+
+        assertNull(cache.getBitmap(new TestKey(100)));
+        for (int i = 0; i < 5; i++) {
+            assertNotNull(cache.getBitmap(new TestKey(i)));
+        }
+        assertEquals(1, cache.getRejectionCount());
+        assertEquals(0, cache.getEvictionCount());
+    }
+
+    @Test
+    public void testLargeBitmap_isAdmittedWhenThereIsRoom() {
+        SegmentedBitmapCache cache = new SegmentedBitmapCache(1000, 1, mBitmapPool);
+        cache.putBitmap(new TestKey(1), bitmap(100));
+        cache.putBitmap(new TestKey(2), bitmap(600));
+
+        assertNotNull(cache.getBitmap(new TestKey(2)));
+        assertEquals(700, cache.getEstimatedBytes());
+    }
+
+    @Test
+    public void testBitmapLargerThanSegment_isNotCached() {
+        SegmentedBitmapCache cache = new SegmentedBitmapCache(1000, 2, mBitmapPool);
+        cache.putBitmap(new TestKey(1), bitmap(600));
+
+        assertNull(cache.getBitmap(new TestKey(1)));
+        assertEquals(1, cache.getRejectionCount());
+        assertEquals(0, cache.getSize());
+    }
+
+    @Test
+    public void testEviction_returnsReusableBitmapsToPool() {
+        SegmentedBitmapCache cache = new SegmentedBitmapCache(200, 1, mBitmapPool);
+        Bitmap reusable = bitmap(100);
+        cache.putBitmap(new TestKey(1, true), reusable);
+        cache.putBitmap(new TestKey(2), bitmap(100));
+        cache.putBitmap(new TestKey(3), bitmap(100));
+
+        assertNull(cache.getBitmap(new TestKey(1, true)));
+        assertEquals(1, cache.getEvictionCount());
+        verify(mBitmapPool).put(reusable);
+    }
+
+    @Test
+    public void testRejectedPut_isNotPooled() {
+        SegmentedBitmapCache cache = new SegmentedBitmapCache(1000, 2, mBitmapPool);
+        Bitmap bitmap = bitmap(600);
+        cache.putBitmap(new TestKey(1, true), bitmap);
+
+        assertEquals(1, cache.getRejectionCount());
+        verify(mBitmapPool, never()).put(any());
+    }
+
+    @Test
+    public void testRejectedAdmission_isNotPooled() {
+        SegmentedBitmapCache cache = new SegmentedBitmapCache(1000, 1, mBitmapPool);
+        for (int i = 0; i < 5; i++) {
+            cache.putBitmap(new TestKey(i), bitmap(100));
+            for (int use = 0; use < 3; use++) {
+                cache.getBitmap(new TestKey(i));
+            }
+        }
+
+        cache.putBitmap(new TestKey(100, true), bitmap(600));
+
+        assertEquals(1, cache.getRejectionCount());
+        verify(mBitmapPool, never()).put(any());
+    }
+
+    @Test
+    public void testTakeBitmap_removesWithoutPooling() {
+        SegmentedBitmapCache cache = new SegmentedBitmapCache(1000, 1, mBitmapPool);
+        Bitmap bitmap = bitmap(100);
+        cache.putBitmap(new TestKey(1, true), bitmap);
+
+        assertSame(bitmap, cache.takeBitmap(new TestKey(1, true)));
+        assertNull(cache.getBitmap(new TestKey(1, true)));
+        assertEquals(0, cache.getSize());
+        verify(mBitmapPool, never()).put(any());
+
+        cache.putBitmap(new TestKey(1, true), bitmap);
+        assertSame(bitmap, cache.getBitmap(new TestKey(1, true)));
+    }
+
+    @Test
+    public void testSetBitmapPool_poolsLaterEvictions() {
+        SegmentedBitmapCache cache = new SegmentedBitmapCache(200, 1, null);
+        cache.setBitmapPool(mBitmapPool);
+        Bitmap reusable = bitmap(100);
+        cache.putBitmap(new TestKey(1, true), reusable);
+        cache.clear();
+
+        verify(mBitmapPool).put(reusable);
+    }
+
+    @Test
+    public void testEviction_leavesOtherBitmapsToGC() {
+        SegmentedBitmapCache cache = new SegmentedBitmapCache(200, 1, mBitmapPool);
+        Bitmap bitmap = bitmap(100);
+        cache.putBitmap(new TestKey(1), bitmap);
+        cache.clear();
+
+        assertEquals(0, cache.getSize());
+        verify(mBitmapPool, never()).put(any());
+        verify(bitmap, never()).recycle();
+    }
+
+    @Test
+    public void testTrimToFraction_evictsLeastRecentlyUsed() {
+        SegmentedBitmapCache cache = new SegmentedBitmapCache(1000, 1, mBitmapPool);
+        for (int i = 0; i < 4; i++) {
+            cache.putBitmap(new TestKey(i), bitmap(100));
+        }
+        cache.getBitmap(new TestKey(0));
+
+        cache.trimToFraction(0.5f);
+
+        assertEquals(200, cache.getEstimatedBytes());
+        assertNotNull(cache.getBitmap(new TestKey(0)));
+        assertNull(cache.getBitmap(new TestKey(1)));
+        assertNull(cache.getBitmap(new TestKey(2)));
+    }
+
+    @Test
+    public void testConcurrentAccess() throws InterruptedException {
+        SegmentedBitmapCache cache = new SegmentedBitmapCache(1_000_000, 8, mBitmapPool);
+        int threads = 4;
+        int keysPerThread = 100;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Bitmap> bitmaps = new ArrayList<>();
+        for (int i = 0; i < threads * keysPerThread; i++) {
+            bitmaps.add(bitmap(100));
+        }
+        for (int t = 0; t < threads; t++) {
+            final int first = t * keysPerThread;
+            executor.execute(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    return;
+                }
+                for (int i = first; i < first + keysPerThread; i++) {
+                    cache.putBitmap(new TestKey(i), bitmaps.get(i));
+                    cache.getBitmap(new TestKey(i));
+                }
+            });
+        }
+        start.countDown();
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+
+        assertEquals(threads * keysPerThread * 100, cache.getSize());
+        assertEquals(threads * keysPerThread, cache.getHitCount());
+        for (int i = 0; i < threads * keysPerThread; i++) {
+            assertSame(bitmaps.get(i), cache.getBitmap(new TestKey(i)));
+        }
+    }
+
+    private static Bitmap bitmap(int bytes) {
+        Bitmap bitmap = mock(Bitmap.class);
+        when(bitmap.getByteCount()).thenReturn(bytes);
+        return bitmap;
+    }
+
+    private static final class TestKey implements BitmapKey {
+        private final int mId;
+        private final boolean mReusable;
+
+        TestKey(int id) {
+            this(id, false);
+        }
+
+        TestKey(int id, boolean reusable) {
+            mId = id;
+            mReusable = reusable;
+        }
+
+        @Override
+        public boolean isReusableOnEviction() {
+            return mReusable;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof TestKey && ((TestKey) o).mId == mId;
+        }
+
+        @Override
+        public int hashCode() {
+            return mId;
+        }
+    }
+}
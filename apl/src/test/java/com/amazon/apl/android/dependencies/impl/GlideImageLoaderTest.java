@@ -434,6 +434,57 @@ public class GlideImageLoaderTest extends ViewhostRobolectricTest {
         assertEquals(0, mImageLoader.getTargets().size());
     }
 
+    @Test
+    public void prefetchImage_preloadsAtTargetSize_withLoadOptions() {
+        // Given
+        RequestManager requestManager = spy(Glide.with(ViewhostRobolectricTest.getApplication().getApplicationContext()));
+        RequestBuilder<Bitmap> spyBuilder = spy(requestManager.asBitmap());
+        when(requestManager.asBitmap()).thenReturn(spyBuilder);
+        Map<String, String> headers = Collections.singletonMap("key", "value");
+
+        // When
+        mImageLoader.prefetchImageInternal(
+            IImageLoader.PrefetchImageParams.builder()
+                .path(URL)
+                .width(200)
+                .height(100)
+                .needsScaling(true)
+                .allowUpscaling(false)
+                .headers(headers)
+                .build(),
+            requestManager);
+
+        // Then
+        verify(spyBuilder).load(any(GlideUrl.class));
+        verify(spyBuilder).preload(200, 100);
+        ArgumentCaptor<RequestOptions> requestOptionsCaptor = ArgumentCaptor.forClass(RequestOptions.class);
+        verify(requestManager).setDefaultRequestOptions(requestOptionsCaptor.capture());
+        assertEquals(new ObjectKey(headers), requestOptionsCaptor.getValue().getSignature());
+    }
+
+    @Test
+    public void prefetchImage_noScaling_preloadsOriginalSize() {
+        // Given
+        RequestManager requestManager = spy(Glide.with(ViewhostRobolectricTest.getApplication().getApplicationContext()));
+        RequestBuilder<Bitmap> spyBuilder = spy(requestManager.asBitmap());
+        when(requestManager.asBitmap()).thenReturn(spyBuilder);
+
+        // When
+        mImageLoader.prefetchImageInternal(
+            IImageLoader.PrefetchImageParams.builder()
+                .path(URL)
+                .width(200)
+                .height(100)
+                .needsScaling(false)
+                .allowUpscaling(false)
+                .headers(Collections.emptyMap())
+                .build(),
+            requestManager);
+
+        // Then
+        verify(spyBuilder).preload(SimpleTarget.SIZE_ORIGINAL, SimpleTarget.SIZE_ORIGINAL);
+    }
+
     private Bitmap createDummyBitmap() {
         return Bitmap.createBitmap(1, 1, Bitmap.Config.ARGB_8888);
     }
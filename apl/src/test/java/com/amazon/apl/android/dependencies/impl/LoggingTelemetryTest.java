@@ -96,10 +96,9 @@ public class LoggingTelemetryTest extends ViewhostRobolectricTest {
 
     @Test
     public void testTimer_start() {
-        LoggingTelemetryProvider.Metric m = tProvider.getMetric(tTimer);
-
         tProvider.startTimer(tTimer);
 
+        LoggingTelemetryProvider.Metric m = tProvider.getMetric(tTimer);
         assertTrue(m.startTime != 0);
         assertEquals(0.0, m.success);
         assertEquals(0, m.fail);
@@ -109,8 +108,6 @@ public class LoggingTelemetryTest extends ViewhostRobolectricTest {
     @Test
     @Ignore("Flaky")
     public void testTimer_stop() {
-        LoggingTelemetryProvider.Metric m = tProvider.getMetric(tTimer);
-
         tProvider.startTimer(tTimer);
         try {
             Thread.sleep(2);
@@ -119,6 +116,7 @@ public class LoggingTelemetryTest extends ViewhostRobolectricTest {
         }
         tProvider.stopTimer(tTimer);
 
+        LoggingTelemetryProvider.Metric m = tProvider.getMetric(tTimer);
         assertEquals(1.0, m.success);
         assertEquals(0, m.fail);
 
@@ -131,8 +129,8 @@ public class LoggingTelemetryTest extends ViewhostRobolectricTest {
 
     @Test
     public void testTimer_report() {
-        LoggingTelemetryProvider.Metric m = tProvider.getMetric(rTimer);
         tProvider.reportTimer(rTimer, TimeUnit.NANOSECONDS, TWO_MILI);
+        LoggingTelemetryProvider.Metric m = tProvider.getMetric(rTimer);
         assertEquals(1.0, m.success);
         assertEquals(0, m.fail);
 
@@ -145,8 +143,6 @@ public class LoggingTelemetryTest extends ViewhostRobolectricTest {
 
     @Test
     public void testTimer_multiStart() {
-        LoggingTelemetryProvider.Metric m = tProvider.getMetric(tTimer);
-
         long start = System.nanoTime();
         for (int i = 0; i < 11; i++) {
             tProvider.startTimer(tTimer);
@@ -159,6 +155,7 @@ public class LoggingTelemetryTest extends ViewhostRobolectricTest {
         }
         long stop = System.nanoTime();
 
+        LoggingTelemetryProvider.Metric m = tProvider.getMetric(tTimer);
         assertEquals(11.0, m.success);
         assertEquals(0, m.fail);
         // validate totalTime, account for system call overhead by
@@ -169,9 +166,8 @@ public class LoggingTelemetryTest extends ViewhostRobolectricTest {
 
     @Test
     public void testTimer_overlapStart() {
-        LoggingTelemetryProvider.Metric m = tProvider.getMetric(tTimer);
-        long start = System.nanoTime();
         tProvider.startTimer(tTimer);
+        long start = tProvider.getMetric(tTimer).startTime;
 
         try {
             Thread.sleep(2);
@@ -180,18 +176,19 @@ public class LoggingTelemetryTest extends ViewhostRobolectricTest {
         }
 
         tProvider.startTimer(tTimer); // expected does nothing
-        tProvider.stopTimer(tTimer);
         // start time matches the first start call not the second
-        assertTrue(m.startTime - start < 2500);
+        assertEquals(start, tProvider.getMetric(tTimer).startTime);
+        tProvider.stopTimer(tTimer);
+        LoggingTelemetryProvider.Metric m = tProvider.getMetric(tTimer);
         assertEquals(1.0, m.success);
         assertEquals(0, m.fail);
     }
 
     @Test
     public void testTimer_fail() {
-        LoggingTelemetryProvider.Metric m = tProvider.getMetric(tTimer);
         tProvider.startTimer(tTimer);
         tProvider.fail(tTimer);
+        LoggingTelemetryProvider.Metric m = tProvider.getMetric(tTimer);
         assertEquals(0, m.startTime);
         assertEquals(0, m.totalTime);
         assertEquals(0.0, m.success);
@@ -200,8 +197,6 @@ public class LoggingTelemetryTest extends ViewhostRobolectricTest {
 
     @Test
     public void testTimer_startFail() {
-        LoggingTelemetryProvider.Metric m = tProvider.getMetric(tTimer);
-
         tProvider.startTimer(tTimer);
         try {
             Thread.sleep(2);
@@ -212,6 +207,7 @@ public class LoggingTelemetryTest extends ViewhostRobolectricTest {
         tProvider.startTimer(tTimer);
         tProvider.fail(tTimer);
 
+        LoggingTelemetryProvider.Metric m = tProvider.getMetric(tTimer);
         // start time matches the first start call not the second
         assertEquals(1.0, m.success);
         assertEquals(1, m.fail);
@@ -221,21 +217,19 @@ public class LoggingTelemetryTest extends ViewhostRobolectricTest {
 
     @Test
     public void testTimer_elapsedTimeStart() {
-        LoggingTelemetryProvider.Metric m = tProvider.getMetric(tTimer);
-
         tProvider.startTimer(tTimer, TimeUnit.SECONDS, 2);
 
+        LoggingTelemetryProvider.Metric m = tProvider.getMetric(tTimer);
         assertTrue(m.startTime != 0);
         assertEquals(TimeUnit.SECONDS.toNanos(2), m.seedTime);
     }
 
     @Test
     public void testTimer_elapsedTimeStop() {
-        LoggingTelemetryProvider.Metric m = tProvider.getMetric(tTimer);
-
         tProvider.startTimer(tTimer, TimeUnit.SECONDS, 2);
         tProvider.stopTimer(tTimer);
 
+        LoggingTelemetryProvider.Metric m = tProvider.getMetric(tTimer);
         assertEquals(1.0, m.success);
         assertEquals(0, m.fail);
 
@@ -244,12 +238,11 @@ public class LoggingTelemetryTest extends ViewhostRobolectricTest {
 
     @Test
     public void testTimer_elapsedTimeStopWithEndtime() {
-        LoggingTelemetryProvider.Metric m = tProvider.getMetric(tTimer);
-
         tProvider.startTimer(tTimer, TimeUnit.SECONDS, 2);
-        long start = m.startTime + TWO_SEC;
+        long start = tProvider.getMetric(tTimer).startTime + TWO_SEC;
         tProvider.stopTimer(tTimer, TimeUnit.NANOSECONDS, start);
 
+        LoggingTelemetryProvider.Metric m = tProvider.getMetric(tTimer);
         assertEquals(1.0, m.success);
         assertEquals(0, m.fail);
 
@@ -258,12 +251,11 @@ public class LoggingTelemetryTest extends ViewhostRobolectricTest {
 
     @Test
     public void testTimer_StopWithEndtime() {
-        LoggingTelemetryProvider.Metric m = tProvider.getMetric(tTimer);
-
         tProvider.startTimer(tTimer);
-        long start = m.startTime + TWO_SEC;
+        long start = tProvider.getMetric(tTimer).startTime + TWO_SEC;
         tProvider.stopTimer(tTimer, TimeUnit.NANOSECONDS, start);
 
+        LoggingTelemetryProvider.Metric m = tProvider.getMetric(tTimer);
         assertEquals(1.0, m.success);
         assertEquals(0, m.fail);
 
@@ -272,14 +264,13 @@ public class LoggingTelemetryTest extends ViewhostRobolectricTest {
 
     @Test
     public void testTimer_StopWithEndtimeInSeconds() {
-        LoggingTelemetryProvider.Metric m = tProvider.getMetric(tTimer);
-
         tProvider.startTimer(tTimer);
-        long startNanos = m.startTime;
+        long startNanos = tProvider.getMetric(tTimer).startTime;
         long startMillis = TimeUnit.NANOSECONDS.toMillis(startNanos);
         long endMillis = TimeUnit.SECONDS.toMillis(2) + startMillis;
         tProvider.stopTimer(tTimer, TimeUnit.MILLISECONDS, endMillis);
 
+        LoggingTelemetryProvider.Metric m = tProvider.getMetric(tTimer);
         assertEquals(1.0, m.success);
         assertEquals(0, m.fail);
 
@@ -298,9 +289,8 @@ public class LoggingTelemetryTest extends ViewhostRobolectricTest {
 
     @Test
     public void testGetPerformanceMetrics_WithFail() {
-        LoggingTelemetryProvider.Metric m = tProvider.getMetric(tTimer);
         tProvider.startTimer(tTimer);
-        long startNanos = m.startTime;
+        long startNanos = tProvider.getMetric(tTimer).startTime;
         long startMillis = TimeUnit.NANOSECONDS.toMillis(startNanos);
         long endMillis = TimeUnit.SECONDS.toMillis(2) + startMillis;
         tProvider.stopTimer(tTimer, TimeUnit.MILLISECONDS, endMillis);
@@ -319,9 +309,81 @@ public class LoggingTelemetryTest extends ViewhostRobolectricTest {
 
     @Test
     public void testIncrementCounterByDoubleValue() {
-        LoggingTelemetryProvider.Metric tCount = tProvider.getMetric(tCounter);
         tProvider.incrementCount(tCounter, 5.0);
+        LoggingTelemetryProvider.Metric tCount = tProvider.getMetric(tCounter);
 
         assertEquals(5.0, tCount.success);
     }
+
+    @Test
+    public void testId_createIsIdempotent() {
+        int before = tProvider.getPerformanceMetrics().size();
+
+        assertEquals(tCounter, tProvider.createMetricId(DOMAIN, METRIC_COUNTER, Type.COUNTER));
+        assertEquals(tTimer, tProvider.createMetricId(DOMAIN, METRIC_TIMER, Type.TIMER));
+        assertEquals(before, tProvider.getPerformanceMetrics().size());
+    }
+
+    @Test
+    public void testDocumentFinish_keepsIdsAndResetsValues() {
+        tProvider.incrementCount(tCounter, 5);
+        tProvider.startTimer(tTimer);
+        tProvider.fail(tTimer);
+
+        tProvider.onDocumentFinish();
+
+        assertEquals(tCounter, tProvider.getMetricId(DOMAIN, METRIC_COUNTER));
+        assertEquals(tTimer, tProvider.getMetricId(DOMAIN, METRIC_TIMER));
+        LoggingTelemetryProvider.Metric counter = tProvider.getMetric(tCounter);
+        assertEquals(0.0, counter.success);
+        LoggingTelemetryProvider.Metric timer = tProvider.getMetric(tTimer);
+        assertEquals(0, timer.fail);
+        assertEquals(0, timer.startTime);
+
+        tProvider.incrementCount(tCounter);
+        assertEquals(1.0, tProvider.getMetric(tCounter).success);
+    }
+
+    @Test
+    public void testSnapshot_isACopy() {
+        tProvider.incrementCount(tCounter, 2);
+
+        List<LoggingTelemetryProvider.Metric> snapshot = tProvider.snapshot();
+        tProvider.incrementCount(tCounter, 3);
+
+        assertEquals(3, snapshot.size());
+        assertEquals("DOMAIN.METRIC_COUNTER", snapshot.get(tCounter).metricName);
+        assertEquals(2.0, snapshot.get(tCounter).success);
+        assertEquals(5.0, tProvider.getMetric(tCounter).success);
+    }
+
+    @Test
+    public void testGetMetric_isACopy() {
+        LoggingTelemetryProvider.Metric before = tProvider.getMetric(tCounter);
+        tProvider.incrementCount(tCounter, 2);
+
+        assertEquals(0.0, before.success);
+        assertEquals(2.0, tProvider.getMetric(tCounter).success);
+    }
+
+    @Test
+    public void testConcurrentRecording_isNotLost() throws InterruptedException {
+        Thread[] threads = new Thread[4];
+        for (int t = 0; t < threads.length; t++) {
+            threads[t] = new Thread(() -> {
+                for (int i = 0; i < 1000; i++) {
+                    tProvider.incrementCount(tCounter, 0.5);
+                    tProvider.fail(tCounter);
+                }
+            });
+            threads[t].start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        LoggingTelemetryProvider.Metric m = tProvider.getMetric(tCounter);
+        assertEquals(2000.0, m.success);
+        assertEquals(4000, m.fail);
+    }
 }
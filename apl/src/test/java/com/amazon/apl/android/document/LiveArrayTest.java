@@ -681,4 +681,88 @@ public class LiveArrayTest extends LiveObjectTest {
         assertEquals("foxtrot", ((Text) c.getChildAt(2)).getText());
     }
 
+    /**
+     * Changes made with a batch are applied together, in order, to both arrays.
+     */
+    @Test
+    public void test_LiveDataBatch() {
+        mLiveArray.addAll(Arrays.asList("alpha", "bravo", "foxtrot"));
+        loadDocument(DOC);
+
+        mText = (Text) mRootContext.getTopComponent();
+        Assert.assertEquals("alpha-bravo", getText());
+
+        LiveArray.Batch batch = mLiveArray.newBatch()
+                .remove(0, 1)
+                .insert(0, "golf")
+                .insert(1, 23)
+                .insert(2, true)
+                .update(3, 100.25)
+                .pushBack("hotel")
+                .pushBack(Arrays.asList("india", "juliet"));
+        // The inserts and the push backs are merged.
+        assertEquals(4, batch.getOperationCount());
+        Assert.assertTrue(batch.apply());
+        Assert.assertTrue(batch.isEmpty());
+        advance();
+        Assert.assertEquals("golf-23", getText());
+        assertArrayMatches("golf", 23, true, 100.25, "foxtrot", "hotel", Arrays.asList("india", "juliet"));
+
+        // The batch is reused.
+        batch.update(0, "kilo").update(1, "lima").remove(2, 5).apply();
+        advance();
+        Assert.assertEquals("kilo-lima", getText());
+        assertArrayMatches("kilo", "lima");
+    }
+
+    /**
+     * A batch stops at the first change that fails, and keeps the changes before it.
+     */
+    @Test
+    public void test_LiveDataBatchFailure() {
+        mLiveArray.addAll(Arrays.asList("alpha", "bravo", "foxtrot"));
+
+        Assert.assertFalse(mLiveArray.newBatch()
+                .update(0, "golf")
+                .remove(1, 5)
+                .pushBack("hotel")
+                .apply());
+        assertArrayMatches("golf", "bravo", "foxtrot");
+
+        Assert.assertFalse(mLiveArray.newBatch().insert(-1, "india").apply());
+        Assert.assertFalse(mLiveArray.newBatch().insert(4, "india").apply());
+        assertArrayMatches("golf", "bravo", "foxtrot");
+    }
+
+    /**
+     * Write-mostly arrays read from the C++ array.
+     */
+    @Test
+    public void test_LiveDataWriteMostly() {
+        mLiveArray = LiveArray.createWriteMostly();
+        Assert.assertFalse(mLiveArray.isMirrored());
+
+        mLiveArray.addAll(Arrays.asList("alpha", "bravo", "foxtrot"));
+        mLiveArray.newBatch().update(1, "golf").pushBack(7).apply();
+        mLiveArray.add(0, "hotel");
+        assertEquals("alpha", mLiveArray.remove(1));
+        assertArrayMatches("hotel", "golf", "foxtrot", 7);
+        assertEquals(2, mLiveArray.indexOf("foxtrot"));
+        Assert.assertTrue(mLiveArray.contains("golf"));
+
+        try {
+            mLiveArray.add(10, "india");
+            fail();
+        } catch (IndexOutOfBoundsException ignore) {
+        }
+
+        try {
+            mLiveArray.get(4);
+            fail();
+        } catch (IndexOutOfBoundsException ignore) {
+        }
+
+        mLiveArray.clear();
+        Assert.assertTrue(mLiveArray.isEmpty());
+    }
 }
@@ -342,4 +342,46 @@ public class LiveMapTest extends LiveObjectTest {
         assertEquals("----", getText());
     }
 
+    /**
+     * Changes made with a batch are applied together, in order, to both maps.
+     */
+    @Test
+    public void test_LiveDataBatch() {
+        Map<String,Object> map = new HashMap<>();
+        map.put("alpha", "a");
+        map.put("bravo", 1);
+        map.put("charlie", true);
+        mLiveMap.putAll(map);
+
+        loadDocument(DOC);
+        mText = (Text) mRootContext.getTopComponent();
+
+        Map<String,Object> innerMap = new HashMap<>();
+        innerMap.put("a", 0.5);
+        LiveMap.Batch batch = mLiveMap.newBatch()
+                .set("alpha", 3.14)
+                .set("bravo", 2)
+                .remove("charlie")
+                .set("delta", innerMap)
+                .set("epsilon", Collections.singletonList("FOO"))
+                .set("epsilon", Collections.singletonList("BAR"));
+        assertEquals(6, batch.getOperationCount());
+        batch.apply();
+        assertTrue(batch.isEmpty());
+        map.put("alpha", 3.14);
+        map.put("bravo", 2);
+        map.remove("charlie");
+        map.put("delta", innerMap);
+        map.put("epsilon", Collections.singletonList("BAR"));
+        advance();
+        assertEquals("3.14-2--0.5-BAR", getText());
+        assertMapMatches(map);
+
+        batch.set("charlie", false).remove("delta").apply();
+        map.put("charlie", false);
+        map.remove("delta");
+        advance();
+        assertEquals("3.14-2-false--BAR", getText());
+        assertMapMatches(map);
+    }
 }
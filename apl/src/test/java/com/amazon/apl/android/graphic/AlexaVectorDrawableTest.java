@@ -5,10 +5,16 @@
 package com.amazon.apl.android.graphic;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.notNull;
 import static org.mockito.Mockito.atLeast;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoInteractions;
@@ -17,6 +23,7 @@ import static org.mockito.Mockito.when;
 import android.graphics.Bitmap;
 import android.graphics.Canvas;
 import android.graphics.Rect;
+import android.graphics.RectF;
 
 import com.amazon.apl.android.RenderingContext;
 import com.amazon.apl.android.bitmap.BitmapCreationException;
@@ -240,4 +247,123 @@ public class AlexaVectorDrawableTest extends ViewhostRobolectricTest {
         mAlexaVectorDrawable.draw(mockCanvas);
         verify(mBitmapFactory).createBitmap(10, 10);
     }
-}
\ No newline at end of file
+
+    @Test
+    public void test_cachedBitmap_reusedUntilDirty() throws BitmapCreationException {
+        mVectorState.createOrEraseCachedBitmap(10, 10);
+        mVectorState.createOrEraseCachedBitmap(10, 10);
+        mVectorState.createOrEraseCachedBitmap(10, 10);
+
+        verify(mBitmapFactory, times(1)).createBitmap(10, 10);
+        verify(mPathRenderer, times(1)).draw(any(Canvas.class), anyInt(), anyInt(), any(IBitmapFactory.class), eq(false));
+    }
+
+    @Test
+    public void test_cachedBitmap_redrawnAfterSizeChange() throws BitmapCreationException {
+        when(mBitmapFactory.createBitmap(20, 20)).thenReturn(Bitmap.createBitmap(20, 20, Bitmap.Config.ARGB_8888));
+
+        mVectorState.createOrEraseCachedBitmap(10, 10);
+        mVectorState.createOrEraseCachedBitmap(20, 20);
+
+        verify(mPathRenderer, times(2)).draw(any(Canvas.class), anyInt(), anyInt(), any(IBitmapFactory.class), eq(false));
+    }
+
+    @Test
+    public void test_addDamage_pathElement_repaintsOnlyDamagedArea() {
+        GraphicPathElement pathElement = mock(GraphicPathElement.class);
+        when(mGraphicContainerElement.getGraphicElement(5)).thenReturn(pathElement);
+        doAnswer(invocation -> {
+            RectF bounds = invocation.getArgument(0);
+            bounds.set(2.2f, 3.5f, 4f, 6f);
+            return true;
+        }).when(pathElement).getRasterBounds(any(RectF.class));
+        mVectorState.createOrEraseCachedBitmap(10, 10);
+
+        mVectorState.addDamage(Collections.singleton(5));
+
+        assertFalse(mVectorState.isDirty());
+        assertEquals(new Rect(1, 2, 5, 7), mVectorState.getDamageRect());
+
+        mVectorState.createOrEraseCachedBitmap(10, 10);
+
+        assertTrue(mVectorState.getDamageRect().isEmpty());
+        verify(mPathRenderer, times(2)).draw(any(Canvas.class), anyInt(), anyInt(), any(IBitmapFactory.class), eq(false));
+    }
+
+    @Test
+    public void test_addDamage_groupElement_marksWholeBitmapDirty() {
+        GraphicGroupElement groupElement = mock(GraphicGroupElement.class);
+        when(mGraphicContainerElement.getGraphicElement(5)).thenReturn(groupElement);
+        mVectorState.createOrEraseCachedBitmap(10, 10);
+
+        mVectorState.addDamage(Collections.singleton(5));
+
+        assertTrue(mVectorState.isDirty());
+    }
+
+    @Test
+    public void test_addDamage_withFilters_marksWholeBitmapDirty() {
+        GraphicPathElement pathElement = mock(GraphicPathElement.class);
+        when(mGraphicContainerElement.getGraphicElement(5)).thenReturn(pathElement);
+        when(pathElement.getRasterBounds(any(RectF.class))).thenReturn(true);
+        when(mGraphicContainerElement.doesMapContainFilters()).thenReturn(true);
+        mVectorState.createOrEraseCachedBitmap(10, 10);
+
+        mVectorState.addDamage(Collections.singleton(5));
+
+        assertTrue(mVectorState.isDirty());
+    }
+
+    @Test
+    public void test_updateDirtyGraphics_whileRasterInFlight_isDeferred() {
+        mVectorState.mRasterInFlight = true;
+
+        mAlexaVectorDrawable.updateDirtyGraphics(Collections.singleton(1));
+
+        verify(mGraphicContainerElement, never()).applyDirtyProperties(any());
+        assertEquals(Collections.singleton(1), mVectorState.mPendingDirtyGraphicIds);
+    }
+
+    @Test
+    public void test_rasterInto_drawsGraphicWithItsOwnFilterBitmaps() {
+        mVectorState.rasterInto(mPathRenderer, mBitmap, null, null);
+
+        verify(mPathRenderer).draw(any(Canvas.class), eq(10), eq(10), eq(mBitmapFactory), eq(false), notNull());
+    }
+
+    @Test
+    public void test_releaseBackBitmap_createsNewBackBuffer() throws BitmapCreationException {
+        mVectorState.createOrEraseCachedBitmap(10, 10);
+        mVectorState.swapBuffers(Bitmap.createBitmap(10, 10, Bitmap.Config.ARGB_8888));
+
+        mVectorState.releaseBackBitmap();
+        mVectorState.obtainBackBitmap(10, 10);
+
+        verify(mBitmapFactory, times(2)).createBitmap(10, 10);
+    }
+
+    @Test
+    public void test_swapBuffers_makesRasterTheFrontBuffer() {
+        mVectorState.createOrEraseCachedBitmap(10, 10);
+        Bitmap raster = Bitmap.createBitmap(10, 10, Bitmap.Config.ARGB_8888);
+        mVectorState.mRasterInFlight = true;
+
+        mVectorState.swapBuffers(raster);
+
+        assertEquals(raster, mVectorState.mCachedBitmap);
+        assertEquals(mBitmap, mVectorState.obtainBackBitmap(10, 10));
+        assertFalse(mVectorState.mRasterInFlight);
+    }
+
+    @Test
+    public void test_needsRaster() {
+        assertTrue(mVectorState.needsRaster(10, 10));
+
+        mVectorState.createOrEraseCachedBitmap(10, 10);
+
+        assertFalse(mVectorState.needsRaster(10, 10));
+        assertTrue(mVectorState.needsRaster(20, 10));
+        mVectorState.setDirty(true);
+        assertTrue(mVectorState.needsRaster(10, 10));
+    }
+}
@@ -0,0 +1,90 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package com.amazon.apl.android.graphic;
+
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assume.assumeTrue;
+
+import com.amazon.apl.android.RenderingContext;
+import com.amazon.apl.android.robolectric.ViewhostRobolectricTest;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mock;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Compares parsing the icon pathData corpus with the legacy {@link PathParser} against the
+ * single-pass {@link PathData} parser and the shared {@link PathDataCache}. Timings are reported
+ * on stdout and are not asserted, since they depend on the host.
+ *
+ * Runs only when the apl.benchmark system property is true, like the document benchmarks.
+ */
+public class PathDataBenchmarkTest extends ViewhostRobolectricTest {
+    private static final int WARMUP_ITERATIONS = 200;
+    private static final int ITERATIONS = 1000;
+
+    @Mock
+    private RenderingContext mRenderingContext;
+
+    @Before
+    public void assumeBenchmarksEnabled() {
+        assumeTrue("Benchmarks are disabled", Boolean.getBoolean("apl.benchmark"));
+    }
+
+    @Test
+    public void benchmarkParseIconCorpus() throws IOException {
+        final List<String> corpus = PathDataTest.loadIconCorpus();
+        final PathDataCache cache = new PathDataCache(512 * 1024);
+
+        runLegacy(corpus, WARMUP_ITERATIONS);
+        long legacyNanos = runLegacy(corpus, ITERATIONS);
+
+        runParser(corpus, WARMUP_ITERATIONS);
+        long parserNanos = runParser(corpus, ITERATIONS);
+
+        runCache(cache, corpus, WARMUP_ITERATIONS);
+        long cacheNanos = runCache(cache, corpus, ITERATIONS);
+
+        final int parses = corpus.size() * ITERATIONS;
+        System.out.println(String.format("PathData benchmark over %d paths x %d iterations", corpus.size(), ITERATIONS));
+        System.out.println(String.format("  legacy PathParser: %8.1f ns/path", (double) legacyNanos / parses));
+        System.out.println(String.format("  PathData.parse:    %8.1f ns/path", (double) parserNanos / parses));
+        System.out.println(String.format("  PathDataCache.get: %8.1f ns/path", (double) cacheNanos / parses));
+    }
+
+    private long runLegacy(List<String> corpus, int iterations) {
+        long start = System.nanoTime();
+        for (int i = 0; i < iterations; i++) {
+            for (String pathData : corpus) {
+                assertNotNull(PathParser.createNodesFromPathData(pathData, mRenderingContext));
+            }
+        }
+        return System.nanoTime() - start;
+    }
+
+    private static long runParser(List<String> corpus, int iterations) {
+        long start = System.nanoTime();
+        for (int i = 0; i < iterations; i++) {
+            for (String pathData : corpus) {
+                assertNotNull(PathData.parse(pathData));
+            }
+        }
+        return System.nanoTime() - start;
+    }
+
+    private static long runCache(PathDataCache cache, List<String> corpus, int iterations) {
+        long start = System.nanoTime();
+        for (int i = 0; i < iterations; i++) {
+            for (String pathData : corpus) {
+                assertNotNull(cache.get(pathData));
+            }
+        }
+        return System.nanoTime() - start;
+    }
+}
@@ -0,0 +1,188 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package com.amazon.apl.android.graphic;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.mockito.Mockito.when;
+
+import com.amazon.apl.android.APLVersionCodes;
+import com.amazon.apl.android.RenderingContext;
+import com.amazon.apl.android.providers.ITelemetryProvider;
+import com.amazon.apl.android.robolectric.ViewhostRobolectricTest;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mock;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+public class PathDataTest extends ViewhostRobolectricTest {
+    @Mock
+    private RenderingContext mRenderingContext;
+    @Mock
+    private ITelemetryProvider mTelemetryProvider;
+
+    @Before
+    public void setUp() {
+        when(mRenderingContext.getTelemetryProvider()).thenReturn(mTelemetryProvider);
+    }
+
+    @Test
+    public void testParse_expandsImplicitCommands() {
+        PathData pathData = PathData.parse("M0,0 1,1 2,2 h3 4z");
+
+        assertNotNull(pathData);
+        assertEquals("MLLhhZ", opsOf(pathData));
+        assertEquals(8, pathData.getCoordCount());
+        assertEquals(4f, pathData.getCoord(7), 0);
+    }
+
+    @Test
+    public void testParse_compactNumbers() {
+        PathData pathData = PathData.parse("M-1.5.5-2e1,1E-1l.1.2");
+
+        assertNotNull(pathData);
+        assertEquals("MLl", opsOf(pathData));
+        assertEquals(-1.5f, pathData.getCoord(0), 1e-6);
+        assertEquals(0.5f, pathData.getCoord(1), 1e-6);
+        assertEquals(-20f, pathData.getCoord(2), 1e-6);
+        assertEquals(0.1f, pathData.getCoord(3), 1e-6);
+        assertEquals(0.1f, pathData.getCoord(4), 1e-6);
+        assertEquals(0.2f, pathData.getCoord(5), 1e-6);
+    }
+
+    @Test
+    public void testParse_arcFlagsWithoutSeparators() {
+        PathData pathData = PathData.parse("M0,0 a1 1 0 00-1.05.1");
+
+        assertNotNull(pathData);
+        assertEquals("Ma", opsOf(pathData));
+        float[] expected = {0, 0, 1, 1, 0, 0, 0, -1.05f, 0.1f};
+        for (int i = 0; i < expected.length; i++) {
+            assertEquals(expected[i], pathData.getCoord(i), 1e-6);
+        }
+    }
+
+    @Test
+    public void testParse_invalidArcFlag_returnsNull() {
+        assertNull(PathData.parse("M0,0 a1 1 0 2 0 5 5"));
+    }
+
+    @Test
+    public void testParse_invalidNumber_returnsNull() {
+        assertNull(PathData.parse("M0,0 L#,1"));
+    }
+
+    @Test
+    public void testParse_incompleteTrailingGroup_isDropped() {
+        PathData pathData = PathData.parse("M15.67");
+
+        assertNotNull(pathData);
+        assertEquals(0, pathData.getOpCount());
+        assertEquals(0, pathData.getCoordCount());
+    }
+
+    @Test
+    public void testSvgSpecCompliance_requiresLeadingMoveFromApl14() {
+        PathData pathData = PathData.parse("H0,0");
+
+        when(mRenderingContext.getDocVersion()).thenReturn(APLVersionCodes.APL_1_3);
+        assertEquals(true, pathData.isSvgSpecCompliant(mRenderingContext));
+
+        when(mRenderingContext.getDocVersion()).thenReturn(APLVersionCodes.APL_1_4);
+        assertEquals(false, pathData.isSvgSpecCompliant(mRenderingContext));
+    }
+
+    @Test
+    public void testCache_sharesParsedPaths() {
+        PathDataCache cache = new PathDataCache(1024);
+        String pathData = "M8,5v14l11,-7z";
+
+        PathData first = cache.get(pathData);
+        PathData second = cache.get(new String(pathData));
+
+        assertNotNull(first);
+        assertSame(first, second);
+        assertNull(cache.get(null));
+        assertNull(cache.get("M0,0 L#,1"));
+    }
+
+    @Test
+    public void testCache_isSizeBounded() {
+        PathDataCache cache = new PathDataCache(256);
+        for (int i = 0; i < 100; i++) {
+            cache.get("M" + i + ",0 L10,10 z");
+        }
+        assertEquals(true, cache.size() <= 256);
+    }
+
+    @Test
+    public void testParse_matchesLegacyParserOnIconCorpus() throws IOException {
+        for (String pathData : loadIconCorpus()) {
+            PathParser.PathDataNode[] nodes = PathParser.createNodesFromPathData(pathData, mRenderingContext);
+            PathData parsed = PathData.parse(pathData);
+            assertNotNull(pathData, nodes);
+            assertNotNull(pathData, parsed);
+
+            // Expand the legacy nodes into one command per parameter group.
+            StringBuilder expectedOps = new StringBuilder();
+            List<Float> expectedCoords = new ArrayList<>();
+            for (PathParser.PathDataNode node : nodes) {
+                int count = PathData.getParameterCount(node.mType);
+                if (count == 0) {
+                    expectedOps.append(node.mType);
+                    continue;
+                }
+                for (int k = 0; k + count <= node.mParams.length; k += count) {
+                    char op = node.mType;
+                    if (k > 0 && op == 'M') op = 'L';
+                    if (k > 0 && op == 'm') op = 'l';
+                    expectedOps.append(op);
+                    for (int j = 0; j < count; j++) {
+                        expectedCoords.add(node.mParams[k + j]);
+                    }
+                }
+            }
+
+            assertEquals(pathData, expectedOps.toString(), opsOf(parsed));
+            assertEquals(pathData, expectedCoords.size(), parsed.getCoordCount());
+            for (int i = 0; i < expectedCoords.size(); i++) {
+                assertEquals(pathData, expectedCoords.get(i), parsed.getCoord(i), 1e-4);
+            }
+        }
+    }
+
+    static List<String> loadIconCorpus() throws IOException {
+        List<String> corpus = new ArrayList<>();
+        try (InputStream stream = PathDataTest.class.getClassLoader().getResourceAsStream("avg/icon-paths.txt");
+             BufferedReader reader = new BufferedReader(new InputStreamReader(stream, StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (!line.isEmpty() && !line.startsWith("#")) {
+                    corpus.add(line);
+                }
+            }
+        }
+        return corpus;
+    }
+
+    private static String opsOf(PathData pathData) {
+        StringBuilder ops = new StringBuilder();
+        for (int i = 0; i < pathData.getOpCount(); i++) {
+            ops.append(pathData.getOp(i));
+        }
+        return ops.toString();
+    }
+}
@@ -10,6 +10,7 @@ import org.mockito.junit.MockitoJUnitRunner;
 import static org.junit.Assert.assertEquals;
 
 
+import android.graphics.Bitmap;
 import android.graphics.Canvas;
 import android.graphics.DashPathEffect;
 import android.graphics.Matrix;
@@ -20,6 +21,7 @@ import android.graphics.Shader;
 
 import com.amazon.apl.android.PropertyMap;
 import com.amazon.apl.android.RenderingContext;
+import com.amazon.apl.android.bitmap.BitmapCreationException;
 import com.amazon.apl.android.bitmap.IBitmapFactory;
 import com.amazon.apl.android.graphic.GraphicContainerElement;
 import com.amazon.apl.android.graphic.GraphicPathElement;
@@ -41,7 +43,9 @@ import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 
 import java.util.ArrayList;
+import java.util.IdentityHashMap;
 import java.util.List;
+import java.util.Map;
 
 public class PathRendererTest extends ViewhostRobolectricTest {
 
@@ -178,6 +182,28 @@ public class PathRendererTest extends ViewhostRobolectricTest {
         verify(fillPaint).setShader(null);
     }
 
+    @Test
+    public void test_draw_withFilterBitmaps_reusesItsOwnScratchBitmap() throws BitmapCreationException {
+        when(element.getViewportHeightActual()).thenReturn(20.f);
+        when(element.getViewportWidthActual()).thenReturn(20.f);
+        when(pathElement.containsFilters()).thenReturn(true);
+        Bitmap scratch = Bitmap.createBitmap(20, 20, Bitmap.Config.ARGB_8888);
+        when(bitmapFactory.createBitmap(20, 20)).thenReturn(scratch);
+        Canvas bitmapCanvas = new Canvas(Bitmap.createBitmap(20, 20, Bitmap.Config.ARGB_8888));
+        Map<GraphicElement, Bitmap> filterBitmaps = new IdentityHashMap<>();
+
+        PathRenderer pathRenderer = new PathRenderer(element);
+        pathRenderer.applyBaseAndViewportDimensions();
+        pathRenderer.draw(bitmapCanvas, 20, 20, bitmapFactory, false, filterBitmaps);
+        pathRenderer.draw(bitmapCanvas, 20, 20, bitmapFactory, false, filterBitmaps);
+
+        verify(bitmapFactory, times(1)).createBitmap(20, 20);
+        verify(pathElement, times(2)).applyFilters(scratch, 1f, 1f);
+        assertEquals(scratch, filterBitmaps.get(pathElement));
+        // The bitmaps shared through the bitmap cache are never used.
+        verifyNoInteractions(context);
+    }
+
     @Test
     public void test_draw_uniform_scaling_scaled_stroke_width() {
         when(gradient.getType()).thenReturn(GradientType.LINEAR);
@@ -0,0 +1,97 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package com.amazon.apl.android.graphic;
+
+import android.graphics.Color;
+import android.graphics.LinearGradient;
+import android.graphics.Matrix;
+import android.graphics.RadialGradient;
+import android.graphics.Shader;
+
+import com.amazon.apl.android.robolectric.ViewhostRobolectricTest;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.hamcrest.CoreMatchers.instanceOf;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+
+public class ShaderCacheTest extends ViewhostRobolectricTest {
+    private static final float[] POSITIONS = {0f, 1f};
+
+    private ShaderCache mShaderCache;
+
+    @Before
+    public void setup() {
+        mShaderCache = new ShaderCache();
+    }
+
+    @Test
+    public void testSameGradient_reusesShader() {
+        Shader first = linear(Color.RED, new Matrix());
+        Shader second = linear(Color.RED, new Matrix());
+
+        assertThat(first, instanceOf(LinearGradient.class));
+        assertSame(first, second);
+        assertEquals(1, mShaderCache.size());
+    }
+
+    @Test
+    public void testMovedBounds_onlyUpdateLocalMatrix() {
+        Shader first = linear(Color.RED, new Matrix());
+        Matrix translated = new Matrix();
+        translated.setTranslate(10f, 20f);
+        Shader second = linear(Color.RED, translated);
+
+        assertSame(first, second);
+        Matrix localMatrix = new Matrix();
+        second.getLocalMatrix(localMatrix);
+        assertEquals(translated, localMatrix);
+    }
+
+    @Test
+    public void testDifferentGradients_getDifferentShaders() {
+        Shader red = linear(Color.RED, new Matrix());
+        Shader blue = linear(Color.BLUE, new Matrix());
+        Shader radial = mShaderCache.getRadialGradient(0f, 0f, 10f, new int[] {Color.RED, Color.WHITE},
+                POSITIONS, Shader.TileMode.CLAMP, new Matrix());
+
+        assertNotSame(red, blue);
+        assertThat(radial, instanceOf(RadialGradient.class));
+        assertEquals(3, mShaderCache.size());
+    }
+
+    @Test
+    public void testCacheIsBounded() {
+        for (int i = 0; i < 100; i++) {
+            linear(i, new Matrix());
+        }
+
+        assertTrue(mShaderCache.size() < 100);
+    }
+
+    @Test
+    public void testOtherThreads_getShadersOfTheirOwn() throws InterruptedException {
+        Shader shared = linear(Color.RED, new Matrix());
+        AtomicReference<Shader> worker = new AtomicReference<>();
+        Thread thread = new Thread(() -> worker.set(linear(Color.RED, new Matrix())));
+        thread.start();
+        thread.join();
+
+        assertNotSame(shared, worker.get());
+        assertEquals(1, mShaderCache.size());
+    }
+
+    private Shader linear(int color, Matrix localMatrix) {
+        return mShaderCache.getLinearGradient(0f, 0f, 100f, 0f, new int[] {color, Color.WHITE},
+                POSITIONS, Shader.TileMode.CLAMP, localMatrix);
+    }
+}
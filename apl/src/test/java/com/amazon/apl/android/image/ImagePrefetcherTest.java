@@ -0,0 +1,178 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package com.amazon.apl.android.image;
+
+import android.content.Context;
+import android.graphics.Bitmap;
+
+import com.amazon.apl.android.Component;
+import com.amazon.apl.android.Image;
+import com.amazon.apl.android.RenderingContext;
+import com.amazon.apl.android.bitmap.IBitmapCache;
+import com.amazon.apl.android.dependencies.IImageLoader;
+import com.amazon.apl.android.primitive.Filters;
+import com.amazon.apl.android.primitive.Rect;
+import com.amazon.apl.android.primitive.UrlRequests;
+import com.amazon.apl.android.robolectric.ViewhostRobolectricTest;
+import com.amazon.apl.enums.ComponentType;
+import com.amazon.apl.enums.ImageScale;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class ImagePrefetcherTest extends ViewhostRobolectricTest {
+    private static final String URL = "https://via.placeholder.com/300";
+
+    @Mock
+    private Context mContext;
+    @Mock
+    private IImageLoader mImageLoader;
+    @Mock
+    private IBitmapCache mBitmapCache;
+    @Mock
+    private RenderingContext mRenderingContext;
+
+    @Before
+    public void setup() {
+        when(mRenderingContext.getBitmapCache()).thenReturn(mBitmapCache);
+    }
+
+    @Test
+    public void testPrefetch_usesViewBoundsAsTargetSize() {
+        Image image = createImage("image", URL, 200, 100, ImageScale.kImageScaleBestFit);
+
+        assertEquals(1, new ImagePrefetcher(mContext, 0).prefetch(image));
+
+        ArgumentCaptor<IImageLoader.PrefetchImageParams> captor = ArgumentCaptor.forClass(IImageLoader.PrefetchImageParams.class);
+        verify(mImageLoader).prefetchImage(captor.capture());
+        IImageLoader.PrefetchImageParams params = captor.getValue();
+        assertEquals(URL, params.path());
+        assertEquals(200, params.width());
+        assertEquals(100, params.height());
+        assertTrue(params.needsScaling());
+        assertFalse(params.allowUpscaling());
+    }
+
+    @Test
+    public void testPrefetch_scaleNone_doesNotScale() {
+        Image image = createImage("image", URL, 200, 100, ImageScale.kImageScaleNone);
+
+        new ImagePrefetcher(mContext, 0).prefetch(image);
+
+        ArgumentCaptor<IImageLoader.PrefetchImageParams> captor = ArgumentCaptor.forClass(IImageLoader.PrefetchImageParams.class);
+        verify(mImageLoader).prefetchImage(captor.capture());
+        assertFalse(captor.getValue().needsScaling());
+    }
+
+    @Test
+    public void testPrefetch_skipsImagesWithoutSize() {
+        Image image = createImage("image", URL, 0, 0, ImageScale.kImageScaleBestFit);
+
+        assertEquals(0, new ImagePrefetcher(mContext, 0).prefetch(image));
+        verify(mImageLoader, never()).prefetchImage(any());
+    }
+
+    @Test
+    public void testPrefetch_skipsImagesInBitmapCache() {
+        Image image = createImage("image", URL, 200, 100, ImageScale.kImageScaleBestFit);
+        when(mBitmapCache.getBitmap(any())).thenReturn(Bitmap.createBitmap(1, 1, Bitmap.Config.ARGB_8888));
+
+        assertEquals(0, new ImagePrefetcher(mContext, 0).prefetch(image));
+        verify(mImageLoader, never()).prefetchImage(any());
+    }
+
+    @Test
+    public void testPrefetch_deduplicatesRequests() {
+        Image first = createImage("first", URL, 200, 100, ImageScale.kImageScaleBestFit);
+        Image second = createImage("second", URL, 200, 100, ImageScale.kImageScaleBestFit);
+        Component container = createParent("container", ComponentType.kComponentTypeContainer, Arrays.asList(first, second), 2);
+
+        assertEquals(1, new ImagePrefetcher(mContext, 0).prefetch(container));
+        verify(mImageLoader).prefetchImage(any());
+    }
+
+    @Test
+    public void testPrefetch_sequence_includesLookaheadChildren() {
+        List<Component> children = new ArrayList<>();
+        for (int i = 0; i < 6; i++) {
+            children.add(createImage("child" + i, URL + "?" + i, 200, 100, ImageScale.kImageScaleBestFit));
+        }
+        // Two children displayed, two more within the lookahead.
+        Component sequence = createParent("sequence", ComponentType.kComponentTypeSequence, children, 2);
+
+        assertEquals(4, new ImagePrefetcher(mContext, 2).prefetch(sequence));
+        verify(mImageLoader, times(4)).prefetchImage(any());
+    }
+
+    @Test
+    public void testPrefetch_sequence_doesNotInflateLookaheadChildren() {
+        List<Component> children = new ArrayList<>();
+        for (int i = 0; i < 6; i++) {
+            children.add(createImage("child" + i, URL + "?" + i, 200, 100, ImageScale.kImageScaleBestFit));
+        }
+        Component sequence = createParent("sequence", ComponentType.kComponentTypeSequence, children, 2);
+
+        new ImagePrefetcher(mContext, 2).prefetch(sequence);
+
+        verify(sequence, never()).getChildAt(anyInt());
+        verify(sequence, never()).getChildId(anyInt());
+    }
+
+    @Test
+    public void testPrefetch_container_ignoresLookahead() {
+        List<Component> children = new ArrayList<>();
+        for (int i = 0; i < 6; i++) {
+            children.add(createImage("child" + i, URL + "?" + i, 200, 100, ImageScale.kImageScaleBestFit));
+        }
+        Component container = createParent("container", ComponentType.kComponentTypeContainer, children, 2);
+
+        assertEquals(2, new ImagePrefetcher(mContext, 2).prefetch(container));
+    }
+
+    private Image createImage(String id, String url, int width, int height, ImageScale scale) {
+        Image image = mock(Image.class);
+        when(image.getComponentId()).thenReturn(id);
+        when(image.getSourceRequests()).thenReturn(Collections.singletonList(UrlRequests.UrlRequest.builder().url(url).build()));
+        when(image.getBounds()).thenReturn(Rect.builder().left(0).top(0).width(width).height(height).build());
+        when(image.getFilters()).thenReturn(mock(Filters.class));
+        when(image.getScale()).thenReturn(scale);
+        when(image.getRenderingContext()).thenReturn(mRenderingContext);
+        when(image.getImageLoader(mContext)).thenReturn(mImageLoader);
+        when(image.getDisplayedChildren()).thenReturn(Collections.emptyList());
+        when(image.getComponentType()).thenReturn(ComponentType.kComponentTypeImage);
+        return image;
+    }
+
+    private Component createParent(String id, ComponentType type, List<Component> children, int displayedCount) {
+        Component parent = mock(Component.class);
+        when(parent.getComponentId()).thenReturn(id);
+        when(parent.getComponentType()).thenReturn(type);
+        when(parent.getDisplayedChildren()).thenReturn(children.subList(0, displayedCount));
+        when(parent.getInflatedChildrenAfterDisplayed(anyInt())).thenAnswer(invocation -> {
+            int count = invocation.getArgument(0);
+            return children.subList(displayedCount, Math.min(children.size(), displayedCount + count));
+        });
+        return parent;
+    }
+}
@@ -91,12 +91,12 @@ public class FilterExecutorTest extends ViewhostRobolectricTest {
                 .noiseUseColor(false)
                 .noiseKind(NoiseFilterKind.kFilterNoiseKindGaussian)
                 .build());
-        init();
+        init(1);
         assertEquals(mSourceBitmaps.get(0), mFilterOperations.get(0).call().getBitmap());
 
         // Check result of apply is last
         FilterResult filterResult = mFilterExecutor.apply();
-        assertEquals(mFilterResults.get(3), filterResult);
+        assertEquals(mFilterResults.get(4), filterResult);
 
         // First filter is color
         ColorFilterOperation colorFilterOperation = (ColorFilterOperation) mFilterOperations.get(1);
@@ -110,10 +110,10 @@ public class FilterExecutorTest extends ViewhostRobolectricTest {
         assertEquals(mFilterResults.get(0), blendFilterOperation.getSource());
         assertEquals(mFilterResults.get(1), blendFilterOperation.getDestination());
 
-        // Last filter is noise
-        NoiseFilterOperation noiseFilterOperation = (NoiseFilterOperation) mFilterOperations.get(3);
+        // Last filter is noise, reading the blend result once it is checked for sharing
+        NoiseFilterOperation noiseFilterOperation = (NoiseFilterOperation) mFilterOperations.get(4);
         assertEquals(mFilters.at(2), noiseFilterOperation.getFilter());
-        assertEquals(mFilterResults.get(2), noiseFilterOperation.getSource());
+        assertEquals(mFilterResults.get(3), noiseFilterOperation.getSource());
         assertNull(noiseFilterOperation.getDestination());
 
         // Verify disposal
@@ -122,10 +122,140 @@ public class FilterExecutorTest extends ViewhostRobolectricTest {
             verify(mBitmapFactory).disposeBitmap(eq(mFilterResults.get(i).getBitmap()));
         }
     }
+
+    @Test
+    public void test_mutatingFilter_onSource_copiesSource() throws Exception {
+        mSourceBitmaps = Arrays.asList(Bitmap.createBitmap(1, 1, Bitmap.Config.ARGB_8888));
+        mFilters = Filters.create();
+        mFilters.add(noiseFilter(0));
+        init(1);
+        when(mFilterResults.get(0).getBitmap()).thenReturn(mSourceBitmaps.get(0));
+        Bitmap copy = Bitmap.createBitmap(1, 1, Bitmap.Config.ARGB_8888);
+        when(mBitmapFactory.createBitmap(any(Bitmap.class))).thenReturn(copy);
+
+        FilterResult filterResult = mFilterExecutor.apply();
+        assertEquals(mFilterResults.get(2), filterResult);
+
+        // source, copy of the source, noise
+        verify(mExecutorService, times(3)).submit(any(Callable.class));
+        assertEquals(copy, mFilterOperations.get(1).call().getBitmap());
+        NoiseFilterOperation noiseFilterOperation = (NoiseFilterOperation) mFilterOperations.get(2);
+        assertEquals(mFilterResults.get(1), noiseFilterOperation.getSource());
+
+        // The source bitmap belongs to the caller
+        verify(mBitmapFactory, never()).disposeBitmap(mSourceBitmaps.get(0));
+        verify(mBitmapFactory).disposeBitmap(eq(mFilterResults.get(1).getBitmap()));
+    }
+
+    @Test
+    public void test_readOnlyFilter_onSources_doesNotCopy() throws Exception {
+        mSourceBitmaps = Arrays.asList(Bitmap.createBitmap(1, 1, Bitmap.Config.ARGB_8888), Bitmap.createBitmap(1, 1, Bitmap.Config.ARGB_8888));
+        mFilters = Filters.create();
+        mFilters.add(Filters.Filter.builder()
+                .filterType(FilterType.kFilterTypeBlend)
+                .source(0)
+                .destination(1)
+                .build());
+        init();
+
+        mFilterExecutor.apply();
+
+        verify(mExecutorService, times(3)).submit(any(Callable.class));
+        verify(mBitmapFactory, never()).createBitmap(any(Bitmap.class));
+        BlendFilterOperation blendFilterOperation = (BlendFilterOperation) mFilterOperations.get(2);
+        assertEquals(mFilterResults.get(0), blendFilterOperation.getSource());
+        assertEquals(mFilterResults.get(1), blendFilterOperation.getDestination());
+    }
+
+    @Test
+    public void test_mutatingFilter_onSharedResult_copiesResult() throws Exception {
+        mSourceBitmaps = Arrays.asList(Bitmap.createBitmap(1, 1, Bitmap.Config.ARGB_8888));
+        mFilters = Filters.create();
+        mFilters.add(Filters.Filter.builder()
+                .filterType(FilterType.kFilterTypeColor)
+                .color(Color.RED).build());
+        // Both the noise and the blend filter read the color result
+        mFilters.add(noiseFilter(1));
+        mFilters.add(Filters.Filter.builder()
+                .filterType(FilterType.kFilterTypeBlend)
+                .source(1)
+                .destination(2)
+                .build());
+        init(1);
+
+        mFilterExecutor.apply();
+
+        // source, color, copy of the color result, noise, blend
+        verify(mExecutorService, times(5)).submit(any(Callable.class));
+        NoiseFilterOperation noiseFilterOperation = (NoiseFilterOperation) mFilterOperations.get(3);
+        assertEquals(mFilterResults.get(2), noiseFilterOperation.getSource());
+        BlendFilterOperation blendFilterOperation = (BlendFilterOperation) mFilterOperations.get(4);
+        assertEquals(mFilterResults.get(1), blendFilterOperation.getSource());
+        assertEquals(mFilterResults.get(3), blendFilterOperation.getDestination());
+    }
+
+    @Test
+    public void test_mutatingFilter_onUnsharedResult_doesNotCopy() throws Exception {
+        mSourceBitmaps = Arrays.asList(Bitmap.createBitmap(1, 1, Bitmap.Config.ARGB_8888));
+        mFilters = Filters.create();
+        mFilters.add(Filters.Filter.builder()
+                .filterType(FilterType.kFilterTypeColor)
+                .color(Color.RED).build());
+        mFilters.add(noiseFilter(-1));
+        init(1);
+
+        mFilterExecutor.apply();
+
+        // source, color, input check, noise
+        verify(mExecutorService, times(4)).submit(any(Callable.class));
+        assertEquals(mFilterResults.get(1), mFilterOperations.get(2).call());
+        verify(mBitmapFactory, never()).createBitmap(any(Bitmap.class));
+        NoiseFilterOperation noiseFilterOperation = (NoiseFilterOperation) mFilterOperations.get(3);
+        assertEquals(mFilterResults.get(2), noiseFilterOperation.getSource());
+    }
+
+    @Test
+    public void test_mutatingFilter_onResultAliasingSource_copiesResult() throws Exception {
+        mSourceBitmaps = Arrays.asList(Bitmap.createBitmap(1, 1, Bitmap.Config.ARGB_8888));
+        mFilters = Filters.create();
+        mFilters.add(Filters.Filter.builder()
+                .filterType(FilterType.kFilterTypeBlend)
+                .source(0)
+                .destination(0)
+                .build());
+        mFilters.add(noiseFilter(-1));
+        init(1);
+        // The blend result passed the source bitmap through, for example after failing.
+        when(mFilterResults.get(1).getBitmap()).thenReturn(mSourceBitmaps.get(0));
+        Bitmap copy = Bitmap.createBitmap(1, 1, Bitmap.Config.ARGB_8888);
+        when(mBitmapFactory.createBitmap(mSourceBitmaps.get(0))).thenReturn(copy);
+
+        mFilterExecutor.apply();
+
+        assertEquals(copy, mFilterOperations.get(2).call().getBitmap());
+        verify(mBitmapFactory, never()).disposeBitmap(mSourceBitmaps.get(0));
+    }
+
+    private static Filters.Filter noiseFilter(int source) {
+        return Filters.Filter.builder()
+                .filterType(FilterType.kFilterTypeNoise)
+                .source(source)
+                .noiseSigma(10f)
+                .noiseUseColor(false)
+                .noiseKind(NoiseFilterKind.kFilterNoiseKindGaussian)
+                .build();
+    }
     
     void init() {
+        init(0);
+    }
+
+    /**
+     * @param copies the number of input copies the filters are expected to make
+     */
+    void init(int copies) {
         // init mocks
-        for (int i = 0; i < mSourceBitmaps.size() + mFilters.size(); i++) {
+        for (int i = 0; i < mSourceBitmaps.size() + mFilters.size() + copies; i++) {
             FilterResult filterResult = mock(FilterResult.class);
             Future<FilterResult> resultFuture = mock(Future.class);
             when(filterResult.isBitmap()).thenReturn(true);
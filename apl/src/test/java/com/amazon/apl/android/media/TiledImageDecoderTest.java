@@ -0,0 +1,149 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package com.amazon.apl.android.media;
+
+import android.graphics.Bitmap;
+import android.graphics.Rect;
+
+import com.amazon.apl.android.bitmap.IBitmapCache;
+import com.amazon.apl.android.bitmap.IBitmapFactory;
+import com.amazon.apl.android.bitmap.LruBitmapCache;
+import com.amazon.apl.android.image.filters.bitmap.Size;
+import com.amazon.apl.android.image.filters.bitmap.TiledFilterResult;
+import com.amazon.apl.android.robolectric.ViewhostRobolectricTest;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mock;
+
+import java.io.File;
+import java.util.List;
+
+import static com.amazon.apl.android.media.TiledImageDecoder.TILE_SIZE;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.verify;
+
+public class TiledImageDecoderTest extends ViewhostRobolectricTest {
+    private static final String URL = "https://example.com/panorama.jpg";
+    private static final int WIDTH = 4000;
+    private static final int HEIGHT = 1000;
+
+    @Mock
+    private IBitmapFactory mBitmapFactory;
+
+    private IBitmapCache mBitmapCache;
+    private TiledImageDecoder mDecoder;
+
+    @Before
+    public void setup() {
+        mBitmapCache = new LruBitmapCache(64 * 1024 * 1024);
+        mDecoder = new TiledImageDecoder(URL, new File("panorama.jpg"), WIDTH, HEIGHT, mBitmapCache);
+    }
+
+    @Test
+    public void testPreviewSampleSize_fitsWholeImageInOneTile() {
+        assertEquals(16, mDecoder.getPreviewSampleSize());
+        assertEquals(1, mDecoder.getTileRegions(new Rect(0, 0, WIDTH, HEIGHT), 16).size());
+    }
+
+    @Test
+    public void testGetTileRegions_onlyVisibleTiles() {
+        List<Rect> tiles = mDecoder.getTileRegions(new Rect(300, 100, 600, 200), 1);
+
+        assertEquals(2, tiles.size());
+        assertEquals(new Rect(TILE_SIZE, 0, 2 * TILE_SIZE, TILE_SIZE), tiles.get(0));
+        assertEquals(new Rect(2 * TILE_SIZE, 0, 3 * TILE_SIZE, TILE_SIZE), tiles.get(1));
+    }
+
+    @Test
+    public void testGetTileRegions_clampsEdgeTilesToImage() {
+        List<Rect> tiles = mDecoder.getTileRegions(new Rect(WIDTH - 10, HEIGHT - 10, WIDTH, HEIGHT), 4);
+
+        assertEquals(1, tiles.size());
+        assertEquals(new Rect(3 * 4 * TILE_SIZE, 0, WIDTH, HEIGHT), tiles.get(0));
+    }
+
+    @Test
+    public void testFindCached_missingTile_returnsNull() {
+        Rect region = new Rect(0, 0, 600, 200);
+        List<Rect> tiles = mDecoder.getTileRegions(region, 1);
+        putTile(tiles.get(0), 1);
+
+        assertNull(mDecoder.findCached(region, 1, mBitmapFactory));
+    }
+
+    @Test
+    public void testFindCached_reusesFinerTiles() {
+        Rect region = new Rect(0, 0, 600, 200);
+        for (Rect tile : mDecoder.getTileRegions(region, 1)) {
+            putTile(tile, 1);
+        }
+
+        TiledFilterResult result = mDecoder.findCached(region, 4, mBitmapFactory);
+        assertNotNull(result);
+        assertEquals(1, result.getSampleSize());
+        assertEquals(Size.create(600, 200), result.getSize());
+    }
+
+    @Test
+    public void testFindCached_ignoresCoarserTiles() {
+        Rect region = new Rect(0, 0, 600, 200);
+        putTile(new Rect(0, 0, WIDTH, HEIGHT), 16);
+
+        assertNull(mDecoder.findCached(region, 1, mBitmapFactory));
+    }
+
+    @Test
+    public void testFindPreview_usesCoarserTiles() {
+        Rect region = new Rect(0, 0, 600, 200);
+        putTile(new Rect(0, 0, WIDTH, HEIGHT), 16);
+
+        TiledFilterResult preview = mDecoder.findPreview(region, 1, mBitmapFactory);
+        assertNotNull(preview);
+        assertEquals(16, preview.getSampleSize());
+    }
+
+    @Test
+    public void testFindPreview_atPreviewLevel_returnsNull() {
+        putTile(new Rect(0, 0, WIDTH, HEIGHT), 16);
+
+        assertNull(mDecoder.findPreview(new Rect(0, 0, WIDTH, HEIGHT), 16, mBitmapFactory));
+    }
+
+    @Test
+    public void testRetire_withPendingDecode_closesOnceDrained() {
+        TiledImageDecoder decoder = spy(mDecoder);
+        decoder.beginDecode();
+        decoder.beginDecode();
+
+        decoder.retire();
+        decoder.endDecode();
+        verify(decoder, never()).close();
+
+        decoder.endDecode();
+        verify(decoder).close();
+    }
+
+    @Test
+    public void testRetire_idle_closesImmediately() {
+        TiledImageDecoder decoder = spy(mDecoder);
+
+        decoder.retire();
+        verify(decoder).close();
+    }
+
+    private void putTile(Rect tileRegion, int sampleSize) {
+        Bitmap tile = Bitmap.createBitmap(
+                Math.max(1, tileRegion.width() / sampleSize),
+                Math.max(1, tileRegion.height() / sampleSize),
+                Bitmap.Config.ARGB_8888);
+        mBitmapCache.putBitmap(DecodedImageBitmapKey.create(URL, tileRegion, sampleSize), tile);
+    }
+}
@@ -22,6 +22,7 @@ import android.text.TextDirectionHeuristics;
 import android.text.TextPaint;
 
 import com.amazon.apl.android.RenderingContext;
+import com.amazon.apl.android.graphic.ShaderCache;
 import com.amazon.apl.android.scenegraph.APLLayer;
 import com.amazon.apl.android.scenegraph.text.APLTextLayout;
 import com.amazon.apl.android.scenegraph.text.APLTextProperties;
@@ -70,6 +71,8 @@ public class APLRenderTest {
         when(mockNode.getOp()).thenReturn(mockPathOp);
         when(mockLayout.getPaint()).thenReturn(mTextPaint);
         when(mockCanvas.getMatrix()).thenReturn(Matrix.IDENTITY_MATRIX);
+        when(mockRenderingContext.getShaderCache()).thenReturn(new ShaderCache());
+        when(mockSGPaint.getTransform()).thenReturn(new Matrix());
     }
 
     @Test
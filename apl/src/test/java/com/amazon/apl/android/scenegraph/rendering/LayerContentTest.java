@@ -0,0 +1,98 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package com.amazon.apl.android.scenegraph.rendering;
+
+import static org.junit.Assert.assertFalse;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.clearInvocations;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
+import static org.mockito.Mockito.when;
+
+import android.graphics.Canvas;
+import android.graphics.Color;
+import android.graphics.Matrix;
+import android.graphics.RectF;
+
+import com.amazon.apl.android.RenderingContext;
+import com.amazon.apl.android.graphic.ShaderCache;
+import com.amazon.apl.android.scenegraph.APLLayer;
+import com.amazon.apl.android.sgcontent.Node;
+import com.amazon.apl.android.sgcontent.Paint;
+import com.amazon.apl.android.sgcontent.Path;
+import com.amazon.apl.android.sgcontent.PathOp;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.annotation.Config;
+
+import java.util.Collections;
+
+@RunWith(RobolectricTestRunner.class)
+@Config(sdk = 22, manifest = Config.NONE)
+public class LayerContentTest {
+    @Mock
+    private APLLayer mockAPLLayer;
+    @Mock
+    private RenderingContext mockRenderingContext;
+    @Mock
+    private Node mockNode;
+    @Mock
+    private PathOp mockPathOp;
+    @Mock
+    private Paint mockSGPaint;
+    @Mock
+    private Path mockPath;
+    @Mock
+    private Canvas mockCanvas;
+
+    @Before
+    public void setup() {
+        MockitoAnnotations.openMocks(this);
+        when(mockAPLLayer.getRenderingContext()).thenReturn(mockRenderingContext);
+        when(mockRenderingContext.getShaderCache()).thenReturn(new ShaderCache());
+        when(mockCanvas.getMatrix()).thenReturn(Matrix.IDENTITY_MATRIX);
+        when(mockNode.getType()).thenReturn("Draw");
+        when(mockNode.isVisible()).thenReturn(true);
+        when(mockNode.getChildren()).thenReturn(Collections.emptyList());
+        when(mockNode.getOp()).thenReturn(mockPathOp);
+        when(mockNode.getPath()).thenReturn(mockPath);
+        when(mockPath.getType()).thenReturn("Rect");
+        when(mockPath.getRectPathRect()).thenReturn(new RectF(0f, 0f, 10f, 10f));
+        when(mockPathOp.getType()).thenReturn("Fill");
+        when(mockPathOp.getPaint()).thenReturn(mockSGPaint);
+        when(mockSGPaint.getType()).thenReturn("Color");
+        when(mockSGPaint.getColor()).thenReturn(Color.BLUE);
+        when(mockSGPaint.getOpacity()).thenReturn(1f);
+    }
+
+    @Test
+    public void testDraw_doesNotReadTheSceneGraph() {
+        LayerContent content = LayerContent.capture(new Node[]{mockNode});
+        clearInvocations(mockNode, mockPathOp, mockSGPaint, mockPath);
+
+        content.draw(mockAPLLayer, mockCanvas);
+
+        verify(mockCanvas).drawPath(any(android.graphics.Path.class), any(android.graphics.Paint.class));
+        verifyNoMoreInteractions(mockNode, mockPathOp, mockSGPaint, mockPath);
+    }
+
+    @Test
+    public void testCapture_skipsHiddenNodes() {
+        when(mockNode.isVisible()).thenReturn(false);
+
+        LayerContent content = LayerContent.capture(new Node[]{mockNode});
+
+        verify(mockNode, never()).getChildren();
+        verify(mockNode, never()).getOp();
+        assertFalse(content.containsGeneralPath());
+    }
+}
@@ -0,0 +1,175 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package com.amazon.apl.android.scenegraph.rendering;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.robolectric.shadows.ShadowLooper.shadowMainLooper;
+
+import android.graphics.Bitmap;
+import android.graphics.Canvas;
+import android.graphics.Matrix;
+
+import com.amazon.apl.android.robolectric.ViewhostRobolectricTest;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class LayerDisplayListTest extends ViewhostRobolectricTest {
+    private LayerDisplayList mDisplayList;
+    private Canvas mCanvas;
+    private int mRecordings;
+    private int mPrepared;
+    private final List<Runnable> mWorker = new ArrayList<>();
+    private final LayerDisplayList.Recorder mRecorder = canvas -> mRecordings++;
+    private final Runnable mOnPrepared = () -> mPrepared++;
+
+    @Before
+    public void setup() {
+        mDisplayList = new LayerDisplayList(mWorker::add);
+        mCanvas = new Canvas(Bitmap.createBitmap(100, 100, Bitmap.Config.ARGB_8888));
+    }
+
+    @Test
+    public void testSameGeneration_replaysRecording() {
+        mDisplayList.draw(mCanvas, 0, 100, 100, mRecorder);
+        mDisplayList.draw(mCanvas, 0, 100, 100, mRecorder);
+
+        assertEquals(1, mRecordings);
+        assertEquals(1, mDisplayList.getRecordCount());
+    }
+
+    @Test
+    public void testNewGeneration_recordsAgain() {
+        mDisplayList.draw(mCanvas, 0, 100, 100, mRecorder);
+        mDisplayList.draw(mCanvas, 1, 100, 100, mRecorder);
+
+        assertEquals(2, mRecordings);
+    }
+
+    @Test
+    public void testResize_recordsAgain() {
+        mDisplayList.draw(mCanvas, 0, 100, 100, mRecorder);
+        mDisplayList.draw(mCanvas, 0, 50, 100, mRecorder);
+
+        assertEquals(2, mRecordings);
+    }
+
+    @Test
+    public void testCanvasScale_recordsAtScale() {
+        Canvas scaledCanvas = mock(Canvas.class);
+        Matrix matrix = new Matrix();
+        matrix.setScale(2f, 2f);
+        when(scaledCanvas.getMatrix()).thenReturn(matrix);
+
+        mDisplayList.draw(scaledCanvas, 0, 100, 100, mRecorder);
+        mDisplayList.draw(scaledCanvas, 0, 100, 100, mRecorder);
+        assertEquals(1, mRecordings);
+        verify(scaledCanvas, times(2)).scale(0.5f, 0.5f);
+
+        mDisplayList.draw(mCanvas, 0, 100, 100, mRecorder);
+        assertEquals(2, mRecordings);
+    }
+
+    @Test
+    public void testInvalidateAndRelease_recordAgain() {
+        mDisplayList.draw(mCanvas, 0, 100, 100, mRecorder);
+        mDisplayList.invalidate();
+        mDisplayList.draw(mCanvas, 0, 100, 100, mRecorder);
+        mDisplayList.release();
+        mDisplayList.draw(mCanvas, 0, 100, 100, mRecorder);
+
+        assertEquals(3, mRecordings);
+    }
+
+    @Test
+    public void testPreparedContent_isRecordedOnTheWorkerAndReplayedWhenDrawn() {
+        assertTrue(mDisplayList.prepare(0, 100, 100, false, mRecorder, mOnPrepared));
+        assertEquals(0, mRecordings);
+
+        runWorker();
+        assertEquals(1, mRecordings);
+        assertEquals(1, mPrepared);
+
+        mDisplayList.draw(mCanvas, 0, 100, 100, mRecorder);
+
+        assertEquals(1, mRecordings);
+        assertEquals(1, mDisplayList.getRecordCount());
+    }
+
+    @Test
+    public void testPreparingContent_replaysPreviousRecordingUntilPublished() {
+        mDisplayList.draw(mCanvas, 0, 100, 100, mRecorder);
+        mDisplayList.prepare(1, 100, 100, false, mRecorder, mOnPrepared);
+
+        mDisplayList.draw(mCanvas, 1, 100, 100, mRecorder);
+        assertEquals(1, mRecordings);
+        assertEquals(0, mPrepared);
+
+        runWorker();
+        mDisplayList.draw(mCanvas, 1, 100, 100, mRecorder);
+
+        assertEquals(2, mRecordings);
+        assertEquals(1, mPrepared);
+    }
+
+    @Test
+    public void testPrepare_sameGenerationIsRecordedOnce() {
+        mDisplayList.prepare(0, 100, 100, false, mRecorder, mOnPrepared);
+        mDisplayList.prepare(0, 100, 100, false, mRecorder, mOnPrepared);
+        runWorker();
+        mDisplayList.prepare(0, 100, 100, false, mRecorder, mOnPrepared);
+
+        assertTrue(mWorker.isEmpty());
+        assertEquals(1, mRecordings);
+    }
+
+    @Test
+    public void testInvalidate_dropsPreparedContent() {
+        mDisplayList.prepare(0, 100, 100, false, mRecorder, mOnPrepared);
+        mDisplayList.invalidate();
+        runWorker();
+
+        assertEquals(0, mPrepared);
+        mDisplayList.draw(mCanvas, 0, 100, 100, mRecorder);
+        assertEquals(2, mRecordings);
+    }
+
+    @Test
+    public void testPrepare_skipsCanvasesWhichCannotReplay() {
+        // Hardware accelerated canvases only replay pictures on API 23+.
+        assertFalse(mDisplayList.prepare(0, 100, 100, true, mRecorder, mOnPrepared));
+
+        assertTrue(mWorker.isEmpty());
+        assertEquals(0, mRecordings);
+    }
+
+    @Test
+    public void testEmptyLayer_isDrawnDirectly() {
+        mDisplayList.draw(mCanvas, 0, 0, 100, mRecorder);
+        mDisplayList.draw(mCanvas, 0, 0, 100, mRecorder);
+
+        assertEquals(2, mRecordings);
+        assertEquals(0, mDisplayList.getRecordCount());
+    }
+
+    private void runWorker() {
+        List<Runnable> tasks = new ArrayList<>(mWorker);
+        mWorker.clear();
+        for (Runnable task : tasks) {
+            task.run();
+        }
+        shadowMainLooper().idle();
+    }
+}
@@ -0,0 +1,135 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package com.amazon.apl.android.utils;
+
+import static org.junit.Assert.assertEquals;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import android.content.ComponentCallbacks2;
+
+import com.amazon.apl.android.providers.ITelemetryProvider;
+import com.amazon.apl.android.robolectric.ViewhostRobolectricTest;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Map;
+
+public class CacheGovernorTest extends ViewhostRobolectricTest {
+    private CacheGovernor mGovernor;
+
+    @Before
+    public void setup() {
+        mGovernor = new CacheGovernor();
+    }
+
+    @Test
+    public void testUiHidden_doesNotTrim() {
+        FakeCache cache = register("text", CacheGovernor.Priority.LOW, 1f, 100);
+
+        mGovernor.onTrimMemory(ComponentCallbacks2.TRIM_MEMORY_UI_HIDDEN);
+
+        assertEquals(100, cache.mBytes);
+    }
+
+    @Test
+    public void testLowPriorityCaches_areTrimmedFirst() {
+        FakeCache high = register("package", CacheGovernor.Priority.HIGH, 1f, 100);
+        FakeCache low = register("text", CacheGovernor.Priority.LOW, 1f, 100);
+
+        mGovernor.onTrimMemory(ComponentCallbacks2.TRIM_MEMORY_RUNNING_CRITICAL);
+
+        assertEquals(0, low.mBytes);
+        assertEquals(100, high.mBytes);
+    }
+
+    @Test
+    public void testWeight_capsWhatOneTrimEvicts() {
+        FakeCache low = register("text", CacheGovernor.Priority.LOW, 0.5f, 100);
+        FakeCache high = register("package", CacheGovernor.Priority.HIGH, 1f, 100);
+
+        mGovernor.onTrimMemory(ComponentCallbacks2.TRIM_MEMORY_RUNNING_CRITICAL);
+
+        assertEquals(50, low.mBytes);
+        assertEquals(50, high.mBytes);
+    }
+
+    @Test
+    public void testTrimIsProportionalToLevel() {
+        FakeCache cache = register("bitmap", CacheGovernor.Priority.NORMAL, 1f, 1000);
+
+        mGovernor.onTrimMemory(ComponentCallbacks2.TRIM_MEMORY_RUNNING_LOW);
+        assertEquals(750, cache.mBytes);
+
+        mGovernor.onTrimMemory(ComponentCallbacks2.TRIM_MEMORY_BACKGROUND);
+        assertEquals(375, cache.mBytes);
+    }
+
+    @Test
+    public void testComplete_evictsEverythingAllowedByWeight() {
+        FakeCache low = register("text", CacheGovernor.Priority.LOW, 1f, 100);
+        FakeCache high = register("font", CacheGovernor.Priority.HIGH, 0.5f, 100);
+
+        mGovernor.onTrimMemory(ComponentCallbacks2.TRIM_MEMORY_COMPLETE);
+
+        assertEquals(0, low.mBytes);
+        assertEquals(50, high.mBytes);
+    }
+
+    @Test
+    public void testRegisteringTwice_hasNoEffect() {
+        FakeCache cache = register("text", CacheGovernor.Priority.LOW, 1f, 100);
+        mGovernor.register("text", cache, CacheGovernor.Priority.LOW, 1f);
+
+        assertEquals(Long.valueOf(100), mGovernor.getEstimatedBytes().get("text"));
+    }
+
+    @Test
+    public void testReport_sumsBytesByName() {
+        // Held here, the governor only holds caches weakly.
+        FakeCache first = register("text", CacheGovernor.Priority.LOW, 1f, 10);
+        FakeCache second = register("text", CacheGovernor.Priority.LOW, 1f, 20);
+        FakeCache bitmap = register("bitmap", CacheGovernor.Priority.NORMAL, 1f, 5);
+        ITelemetryProvider telemetryProvider = mock(ITelemetryProvider.class);
+        when(telemetryProvider.createMetricId(ITelemetryProvider.APL_DOMAIN, "CacheGovernor.text.bytes", ITelemetryProvider.Type.COUNTER)).thenReturn(1);
+        when(telemetryProvider.createMetricId(ITelemetryProvider.APL_DOMAIN, "CacheGovernor.bitmap.bytes", ITelemetryProvider.Type.COUNTER)).thenReturn(2);
+
+        Map<String, Long> bytes = mGovernor.getEstimatedBytes();
+        mGovernor.reportTo(telemetryProvider);
+
+        assertEquals(2, bytes.size());
+        verify(telemetryProvider).incrementCount(eq(1), eq(30.0));
+        verify(telemetryProvider).incrementCount(eq(2), eq(5.0));
+        assertEquals(35, first.mBytes + second.mBytes + bitmap.mBytes);
+    }
+
+    private FakeCache register(String name, CacheGovernor.Priority priority, float weight, long bytes) {
+        FakeCache cache = new FakeCache(bytes);
+        mGovernor.register(name, cache, priority, weight);
+        return cache;
+    }
+
+    private static class FakeCache implements ITrimmableCache {
+        private long mBytes;
+
+        FakeCache(long bytes) {
+            mBytes = bytes;
+        }
+
+        @Override
+        public long getEstimatedBytes() {
+            return mBytes;
+        }
+
+        @Override
+        public void trimToFraction(float fraction) {
+            mBytes = (long) (mBytes * fraction);
+        }
+    }
+}
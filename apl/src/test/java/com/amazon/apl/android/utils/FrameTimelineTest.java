@@ -0,0 +1,105 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package com.amazon.apl.android.utils;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class FrameTimelineTest {
+    // Batches are only handed over when flushed.
+    private static final long NEVER = Long.MAX_VALUE / 1_000_000L;
+
+    private FrameTimeline mTimeline;
+    private final List<FrameTimeline.Batch> mBatches = new ArrayList<>();
+
+    @Before
+    public void setup() {
+        mTimeline = new FrameTimeline(4);
+    }
+
+    @Test
+    public void testFrame_isCommittedWithItsDraw() {
+        mTimeline.setListener(mBatches::add, 0);
+        mTimeline.beginFrame(100);
+        mTimeline.mark(FrameTimeline.Phase.WORK_QUEUE);
+        mTimeline.mark(FrameTimeline.Phase.UPDATE_TIME);
+        mTimeline.endFrame(200);
+        mTimeline.recordDraw(5000);
+        mTimeline.recordDraw(3000);
+        mTimeline.flush();
+
+        assertEquals(1, mBatches.size());
+        FrameTimeline.Batch batch = mBatches.get(0);
+        assertEquals(1, batch.getFrameCount());
+        assertEquals(100, batch.getBegin(0));
+        assertEquals(200, batch.getEnd(0));
+        assertEquals(8000, batch.getPhaseNanos(0, FrameTimeline.Phase.DRAW));
+        assertTrue(batch.getPhaseNanos(0, FrameTimeline.Phase.UPDATE_TIME) >= 0);
+        assertEquals(0, batch.getPhaseNanos(0, FrameTimeline.Phase.EVENTS));
+    }
+
+    @Test
+    public void testDrawWithoutFrame_isIgnored() {
+        mTimeline.recordDraw(1000);
+        mTimeline.beginFrame(100);
+        mTimeline.recordDraw(1000);
+        mTimeline.endFrame(200);
+
+        List<FrameStat> frameStats = mTimeline.getFrameStats();
+        assertEquals(1, frameStats.size());
+    }
+
+    @Test
+    public void testLongRecording_keepsLastFrames() {
+        recordFrames(0, 10);
+
+        List<FrameStat> frameStats = mTimeline.getFrameStats();
+        assertEquals(4, frameStats.size());
+        assertEquals(6, frameStats.get(0).begin);
+        assertEquals(9, frameStats.get(3).begin);
+    }
+
+    @Test
+    public void testBatches_onlyHandOverNewFrames() {
+        mTimeline.setListener(mBatches::add, NEVER);
+        recordFrames(0, 2);
+        mTimeline.flush();
+        recordFrames(2, 3);
+        mTimeline.flush();
+        mTimeline.flush();
+
+        assertEquals(2, mBatches.size());
+        assertEquals(2, mBatches.get(0).getFrameCount());
+        assertEquals(3, mBatches.get(1).getFrameCount());
+        assertEquals(2, mBatches.get(1).getBegin(0));
+    }
+
+    @Test
+    public void testSlowBatches_countDroppedFrames() {
+        mTimeline.setListener(mBatches::add, NEVER);
+        recordFrames(0, 7);
+        mTimeline.flush();
+
+        assertEquals(1, mBatches.size());
+        FrameTimeline.Batch batch = mBatches.get(0);
+        assertEquals(4, batch.getFrameCount());
+        assertEquals(3, batch.getDroppedFrames());
+        assertEquals(3, batch.getBegin(0));
+    }
+
+    private void recordFrames(int first, int count) {
+        for (int i = first; i < first + count; i++) {
+            mTimeline.beginFrame(i);
+            mTimeline.endFrame(i + 1);
+        }
+    }
+}
@@ -0,0 +1,101 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package com.amazon.apl.android.utils;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+
+public class IntObjectMapTest {
+
+    @Test
+    public void testPutGetRemove() {
+        IntObjectMap<String> map = new IntObjectMap<>();
+
+        assertNull(map.put(1000, "a"));
+        assertEquals("a", map.put(1000, "b"));
+        assertEquals("b", map.get(1000));
+        assertTrue(map.containsKey(1000));
+        assertEquals(1, map.size());
+
+        assertEquals("b", map.remove(1000));
+        assertNull(map.remove(1000));
+        assertNull(map.get(1000));
+        assertTrue(map.isEmpty());
+    }
+
+    @Test
+    public void testGrowsPastExpectedSize() {
+        IntObjectMap<Integer> map = new IntObjectMap<>(4);
+        for (int i = 0; i < 10_000; i++) {
+            map.put(i, i);
+        }
+
+        assertEquals(10_000, map.size());
+        for (int i = 0; i < 10_000; i++) {
+            assertEquals(Integer.valueOf(i), map.get(i));
+        }
+    }
+
+    @Test
+    public void testRemove_keepsCollidingKeysReachable() {
+        // Small map and many keys, so that probe sequences overlap and wrap around.
+        IntObjectMap<Integer> map = new IntObjectMap<>();
+        Map<Integer, Integer> expected = new HashMap<>();
+        Random random = new Random(42);
+        for (int i = 0; i < 50_000; i++) {
+            int key = random.nextInt(64);
+            if (random.nextBoolean()) {
+                assertEquals(expected.put(key, i), map.put(key, i));
+            } else {
+                assertEquals(expected.remove(key), map.remove(key));
+            }
+            assertEquals(expected.size(), map.size());
+        }
+        for (int key = 0; key < 64; key++) {
+            assertEquals(expected.get(key), map.get(key));
+        }
+    }
+
+    @Test
+    public void testValues() {
+        IntObjectMap<Integer> map = new IntObjectMap<>();
+        for (int i = 0; i < 100; i++) {
+            map.put(i, i);
+        }
+        map.remove(50);
+
+        Set<Integer> values = new HashSet<>();
+        for (Integer value : map.values()) {
+            values.add(value);
+        }
+
+        assertEquals(99, values.size());
+        assertFalse(values.contains(50));
+    }
+
+    @Test
+    public void testClear() {
+        IntObjectMap<Integer> map = new IntObjectMap<>();
+        map.put(1, 1);
+        map.put(-1, -1);
+        map.clear();
+
+        assertEquals(0, map.size());
+        assertNull(map.get(1));
+        assertNull(map.get(-1));
+        assertFalse(map.values().iterator().hasNext());
+    }
+}
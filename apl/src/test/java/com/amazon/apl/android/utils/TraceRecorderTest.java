@@ -0,0 +1,152 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package com.amazon.apl.android.utils;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import com.amazon.apl.android.robolectric.ViewhostRobolectricTest;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.List;
+
+public class TraceRecorderTest extends ViewhostRobolectricTest {
+    private TraceRecorder mRecorder;
+
+    @Before
+    public void setup() {
+        mRecorder = new TraceRecorder(4);
+    }
+
+    @Test
+    public void testDisabled_recordsNothing() {
+        mRecorder.begin(TracePoint.TEXT_MEASURE);
+        mRecorder.end();
+
+        assertTrue(mRecorder.snapshot().isEmpty());
+    }
+
+    @Test
+    public void testNestedSections_areRecordedWhenTheyEnd() {
+        mRecorder.start();
+        mRecorder.begin(TracePoint.ROOT_CONTEXT_CREATE);
+        mRecorder.begin(TracePoint.TEXT_MEASURE);
+        mRecorder.end();
+        mRecorder.end();
+
+        List<TraceRecorder.Section> sections = mRecorder.snapshot();
+        assertEquals(2, sections.size());
+        TraceRecorder.Section inner = sections.get(0);
+        TraceRecorder.Section outer = sections.get(1);
+        assertEquals(TracePoint.TEXT_MEASURE, inner.getTracePoint());
+        assertEquals(TracePoint.ROOT_CONTEXT_CREATE, outer.getTracePoint());
+        assertTrue(outer.getStartNanos() <= inner.getStartNanos());
+        assertTrue(inner.getEndNanos() <= outer.getEndNanos());
+        assertEquals(Thread.currentThread().getName(), inner.getThreadName());
+    }
+
+    @Test
+    public void testSectionBegunBeforeStart_isNotRecorded() {
+        mRecorder.start();
+        mRecorder.begin(TracePoint.ROOT_CONTEXT_CREATE);
+        mRecorder.start();
+        mRecorder.begin(TracePoint.TEXT_MEASURE);
+        mRecorder.end();
+        mRecorder.end();
+
+        List<TraceRecorder.Section> sections = mRecorder.snapshot();
+        assertEquals(1, sections.size());
+        assertEquals(TracePoint.TEXT_MEASURE, sections.get(0).getTracePoint());
+    }
+
+    @Test
+    public void testStart_discardsPreviousTrace() {
+        mRecorder.start();
+        mRecorder.begin(TracePoint.TEXT_MEASURE);
+        mRecorder.end();
+        mRecorder.stop();
+        assertEquals(1, mRecorder.snapshot().size());
+
+        mRecorder.start();
+
+        assertTrue(mRecorder.snapshot().isEmpty());
+    }
+
+    @Test
+    public void testFullBuffer_keepsNewestSections() {
+        mRecorder.start();
+        for (int i = 0; i < 6; i++) {
+            mRecorder.begin(i < 2 ? TracePoint.ROOT_CONTEXT_CREATE : TracePoint.TEXT_MEASURE);
+            mRecorder.end();
+        }
+
+        List<TraceRecorder.Section> sections = mRecorder.snapshot();
+        assertEquals(4, sections.size());
+        for (TraceRecorder.Section section : sections) {
+            assertEquals(TracePoint.TEXT_MEASURE, section.getTracePoint());
+        }
+    }
+
+    @Test
+    public void testSections_areRecordedPerThread() throws InterruptedException {
+        mRecorder.start();
+        Thread thread = new Thread(() -> {
+            mRecorder.begin(TracePoint.TEXT_MEASURE);
+            mRecorder.end();
+        }, "trace-worker");
+        thread.start();
+        thread.join();
+        mRecorder.begin(TracePoint.ROOT_CONTEXT_CREATE);
+        mRecorder.end();
+
+        List<TraceRecorder.Section> sections = mRecorder.snapshot();
+        assertEquals(2, sections.size());
+        assertEquals("trace-worker", sections.get(0).getThreadName());
+        assertEquals(TracePoint.TEXT_MEASURE, sections.get(0).getTracePoint());
+        assertEquals(TracePoint.ROOT_CONTEXT_CREATE, sections.get(1).getTracePoint());
+    }
+
+    @Test
+    public void testTerminatedThreads_bufferIsDroppedAndSectionsKept() throws InterruptedException {
+        mRecorder.start();
+        for (int i = 0; i < 3; i++) {
+            Thread thread = new Thread(() -> {
+                mRecorder.begin(TracePoint.TEXT_MEASURE);
+                mRecorder.end();
+            }, "trace-worker-" + i);
+            thread.start();
+            thread.join();
+        }
+
+        List<TraceRecorder.Section> sections = mRecorder.snapshot();
+        assertEquals(0, mRecorder.getThreadBufferCount());
+        assertEquals(3, sections.size());
+        assertEquals("trace-worker-0", sections.get(0).getThreadName());
+        assertEquals(3, mRecorder.snapshot().size());
+
+        mRecorder.start();
+        assertTrue(mRecorder.snapshot().isEmpty());
+    }
+
+    @Test
+    public void testTerminatedThreads_keepNewestSections() throws InterruptedException {
+        mRecorder.start();
+        for (int i = 0; i < 6; i++) {
+            Thread thread = new Thread(() -> {
+                mRecorder.begin(TracePoint.TEXT_MEASURE);
+                mRecorder.end();
+            }, "trace-worker-" + i);
+            thread.start();
+            thread.join();
+        }
+
+        List<TraceRecorder.Section> sections = mRecorder.snapshot();
+        assertEquals(4, sections.size());
+        assertEquals("trace-worker-2", sections.get(0).getThreadName());
+    }
+}
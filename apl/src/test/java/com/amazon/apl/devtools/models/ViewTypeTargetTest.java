@@ -5,6 +5,7 @@
 package com.amazon.apl.devtools.models;
 
 import static com.amazon.apl.devtools.enums.EventMethod.FRAMEMETRICS_INCIDENT_REPORTED;
+import static com.amazon.apl.devtools.enums.EventMethod.FRAMEMETRICS_TIMELINE;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
 import static org.mockito.Mockito.any;
@@ -19,9 +20,11 @@ import android.os.Handler;
 import com.amazon.apl.android.APLOptions;
 import com.amazon.apl.android.providers.impl.LoggingTelemetryProvider;
 import com.amazon.apl.android.utils.FrameStat;
+import com.amazon.apl.android.utils.FrameTimeline;
 import com.amazon.apl.android.utils.MetricInfo;
 import com.amazon.apl.devtools.enums.ViewState;
 import com.amazon.apl.devtools.models.frameMetrics.FrameIncidentReportedEvent;
+import com.amazon.apl.devtools.models.frameMetrics.FrameTimelineEvent;
 import com.amazon.apl.devtools.models.log.LogEntry;
 import com.amazon.apl.devtools.models.log.LogEntryAddedEvent;
 
@@ -201,5 +204,30 @@ public class ViewTypeTargetTest {
         assertEquals(2, ((JSONArray) eventJsonParams.get("framestats")).length());
         assertEquals(2, ((JSONArray) eventJsonParams.get("upsValues")).length());
     }
-}
 
+    @Test
+    public void testFrameTimelineEvent() throws JSONException {
+        FrameTimeline timeline = new FrameTimeline(10);
+        timeline.setListener(viewTypeTarget::onFrameTimeline, 0);
+        timeline.beginFrame(1);
+        timeline.endFrame(2);
+        timeline.recordDraw(3000);
+        reset(mockHandler);
+        timeline.flush();
+        verify(mockHandler).post(mHandlerArgumentCaptor.capture());
+        mHandlerArgumentCaptor.getValue().run();
+        ArgumentCaptor<FrameTimelineEvent> eventCaptor = ArgumentCaptor.forClass(FrameTimelineEvent.class);
+        verify(mockSession).sendEvent(eventCaptor.capture());
+        FrameTimelineEvent event = eventCaptor.getValue();
+        assertEquals(FRAMEMETRICS_TIMELINE, event.getMethod());
+        JSONObject eventJsonParams = event.toJSONObject().getJSONObject("params");
+        JSONArray phases = eventJsonParams.getJSONArray("phases");
+        assertEquals(FrameTimeline.Phase.values().length, phases.length());
+        assertEquals("draw", phases.get(phases.length() - 1));
+        JSONArray frame = eventJsonParams.getJSONArray("frames").getJSONArray(0);
+        assertEquals(1L, frame.getLong(0));
+        assertEquals(2L, frame.getLong(1));
+        assertEquals(3L, frame.getLong(frame.length() - 1));
+        assertEquals(0L, eventJsonParams.getLong("droppedFrames"));
+    }
+}
@@ -0,0 +1,67 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package com.amazon.apl.devtools.models.view;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import android.util.Base64;
+
+import org.json.JSONObject;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+
+@RunWith(RobolectricTestRunner.class)
+public class ViewCaptureImageCommandResponseTest {
+
+    @Test
+    public void testFragments_concatenateToResponse() throws Exception {
+        byte[] image = new byte[200 * 1024 + 7];
+        for (int i = 0; i < image.length; i++) {
+            image[i] = (byte) i;
+        }
+        ViewCaptureImageCommandResponse response = new ViewCaptureImageCommandResponse(100,
+                "session100", 20, 10, "image/png", image);
+
+        ByteArrayOutputStream message = new ByteArrayOutputStream();
+        int[] fragments = new int[1];
+        boolean[] last = new boolean[1];
+        response.writeFragments((utf8, isLast) -> {
+            assertFalse(last[0]);
+            byte[] bytes = new byte[utf8.remaining()];
+            utf8.get(bytes);
+            message.write(bytes, 0, bytes.length);
+            fragments[0]++;
+            last[0] = isLast;
+        });
+
+        assertTrue(last[0]);
+        assertTrue(fragments[0] > 3);
+        JSONObject streamed = new JSONObject(new String(message.toByteArray(), StandardCharsets.UTF_8));
+        assertEquals(response.toJSONObject().toString(), streamed.toString());
+        JSONObject result = streamed.getJSONObject("result");
+        assertEquals(20, result.getInt("height"));
+        assertEquals("image/png", result.getString("type"));
+        assertArrayEquals(image, Base64.decode(result.getString("data"), Base64.DEFAULT));
+        assertEquals(Base64.encodeToString(image, Base64.DEFAULT), result.getString("data"));
+    }
+
+    @Test
+    public void testEmptyImage_isStreamed() throws Exception {
+        ViewCaptureImageCommandResponse response = new ViewCaptureImageCommandResponse(100,
+                "session100", 1, 1, "image/png", new byte[0]);
+        StringBuilder message = new StringBuilder();
+        response.writeFragments((utf8, isLast) -> message.append(StandardCharsets.UTF_8.decode(utf8)));
+
+        assertEquals("", new JSONObject(message.toString()).getJSONObject("result").getString("data"));
+    }
+}
@@ -5,6 +5,7 @@
 
 package com.amazon.apl.devtools.util;
 
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
@@ -22,6 +23,8 @@ import com.amazon.apl.devtools.executers.NetworkDisableCommandRequest;
 import com.amazon.apl.devtools.executers.NetworkEnableCommandRequest;
 import com.amazon.apl.devtools.executers.PerformanceDisableCommandRequest;
 import com.amazon.apl.devtools.executers.PerformanceEnableCommandRequest;
+import com.amazon.apl.devtools.executers.PerformanceStartTracingCommandRequest;
+import com.amazon.apl.devtools.executers.PerformanceStopTracingCommandRequest;
 import com.amazon.apl.devtools.executers.TargetAttachToTargetCommandRequest;
 import com.amazon.apl.devtools.executers.TargetGetTargetsCommandRequest;
 import com.amazon.apl.devtools.executers.ViewCaptureImageCommandRequest;
@@ -35,6 +38,7 @@ import com.amazon.apl.devtools.models.Target;
 import com.amazon.apl.devtools.models.common.Request;
 import com.amazon.apl.devtools.models.common.Response;
 import com.amazon.apl.devtools.models.error.DTException;
+import com.amazon.apl.devtools.models.view.ViewCaptureImageCommandRequestModel;
 
 import org.json.JSONArray;
 import org.json.JSONException;
@@ -203,6 +207,40 @@ public class CommandRequestFactoryUnitTest {
         }
     }
 
+    @Test
+    public void createCommandRequest_forPerformanceStartTracing_returnsCorrectRequestObject() {
+        try {
+            JSONObject obj = new JSONObject()
+                    .put("method", CommandMethod.PERFORMANCE_START_TRACING.toString())
+                    .put("id", 100)
+                    .put("sessionId", "session100");
+            when(mCommandMethodUtil.parseMethod(any())).thenReturn(
+                    CommandMethod.PERFORMANCE_START_TRACING);
+            Request<? extends Response> request = mCommandRequestFactory.createCommandRequest(obj,
+                    mConnection);
+            assertTrue(request instanceof PerformanceStartTracingCommandRequest);
+        } catch (Exception e) {
+            fail(e.getMessage());
+        }
+    }
+
+    @Test
+    public void createCommandRequest_forPerformanceStopTracing_returnsCorrectRequestObject() {
+        try {
+            JSONObject obj = new JSONObject()
+                    .put("method", CommandMethod.PERFORMANCE_STOP_TRACING.toString())
+                    .put("id", 100)
+                    .put("sessionId", "session100");
+            when(mCommandMethodUtil.parseMethod(any())).thenReturn(
+                    CommandMethod.PERFORMANCE_STOP_TRACING);
+            Request<? extends Response> request = mCommandRequestFactory.createCommandRequest(obj,
+                    mConnection);
+            assertTrue(request instanceof PerformanceStopTracingCommandRequest);
+        } catch (Exception e) {
+            fail(e.getMessage());
+        }
+    }
+
     @Test
     public void createCommandRequest_forViewCaptureImage_returnsCorrectRequestObject() {
         try {
@@ -220,6 +258,46 @@ public class CommandRequestFactoryUnitTest {
         }
     }
 
+    @Test
+    public void createCommandRequest_forViewCaptureImageWithParams_returnsCorrectRequestObject() {
+        try {
+            JSONObject obj = new JSONObject()
+                    .put("method", CommandMethod.VIEW_CAPTURE_IMAGE.toString())
+                    .put("id", 100)
+                    .put("sessionId", "session100")
+                    .put("params", new JSONObject()
+                            .put("format", "webp")
+                            .put("quality", 80)
+                            .put("scale", 0.5));
+            when(mCommandMethodUtil.parseMethod(any())).thenReturn(
+                    CommandMethod.VIEW_CAPTURE_IMAGE);
+            ViewCaptureImageCommandRequest request = (ViewCaptureImageCommandRequest)
+                    mCommandRequestFactory.createCommandRequest(obj, mConnection);
+            assertEquals(ViewCaptureImageCommandRequestModel.ImageFormat.WEBP, request.getFormat());
+            assertEquals(80, request.getQuality());
+            assertEquals(0.5f, request.getScale(), 0);
+        } catch (Exception e) {
+            fail(e.getMessage());
+        }
+    }
+
+    @Test
+    public void createCommandRequest_forViewCaptureImageWithUnsupportedFormat_throws() {
+        try {
+            JSONObject obj = new JSONObject()
+                    .put("method", CommandMethod.VIEW_CAPTURE_IMAGE.toString())
+                    .put("id", 100)
+                    .put("sessionId", "session100")
+                    .put("params", new JSONObject().put("format", "gif"));
+            when(mCommandMethodUtil.parseMethod(any())).thenReturn(
+                    CommandMethod.VIEW_CAPTURE_IMAGE);
+            mCommandRequestFactory.createCommandRequest(obj, mConnection);
+            fail("Unsupported image format should throw exception");
+        } catch (Exception e) {
+            assertTrue(e instanceof DTException);
+        }
+    }
+
     @Test
     public void createCommandRequest_forViewExecuteCommands_returnsCorrectRequestObject() {
         try {
@@ -9,7 +9,10 @@ import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.inOrder;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.when;
 import static org.mockito.Mockito.verify;
 
@@ -26,13 +29,21 @@ import com.amazon.apl.viewhost.DocumentHandle;
 import com.amazon.apl.viewhost.primitives.JsonStringDecodable;
 import com.amazon.apl.viewhost.request.ExecuteCommandsRequest;
 import com.amazon.apl.viewhost.request.ExecuteCommandsRequest.ExecuteCommandsCallback;
+import com.amazon.apl.viewhost.request.UpdateDataSourceRequest;
+import com.amazon.apl.viewhost.request.UpdateDataSourceRequest.UpdateDataSourceCallback;
 
 import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
 
 @RunWith(AndroidJUnit4.class)
 public class DocumentHandleTest extends ViewhostRobolectricTest {
@@ -124,4 +135,138 @@ public class DocumentHandleTest extends ViewhostRobolectricTest {
         verify(((DocumentHandleImpl)mDocumentHandle).getRootContext()).cancelExecution();
     }
 
+    @Test
+    public void testRequestsBeforeWorkerRunsAreAppliedInOnePass() {
+        DocumentHandleImpl impl = (DocumentHandleImpl) mDocumentHandle;
+        RootContext rootContext = mock(RootContext.class);
+        impl.setPrimary(rootContext, mViewhost);
+        impl.setDocumentContext(mDocumentContext);
+        when(rootContext.updateDataSource(anyString(), anyString())).thenReturn(true);
+        List<Runnable> posted = capturePosts();
+        List<String> delivered = new ArrayList<>();
+
+        assertTrue(mDocumentHandle.executeCommands(commandsRequest("first", delivered)));
+        assertTrue(mDocumentHandle.updateDataSource(UpdateDataSourceRequest.builder()
+                .token("token")
+                .type("dynamicIndexList")
+                .data(new JsonStringDecodable("{\"type\": \"dynamicIndexList\"}"))
+                .callback(new UpdateDataSourceCallback() {
+                    @Override
+                    public void onSuccess() {
+                        delivered.add("update");
+                    }
+
+                    @Override
+                    public void onFailure(String reason) {
+                        delivered.add(reason);
+                    }
+                })
+                .build()));
+        assertTrue(mDocumentHandle.executeCommands(commandsRequest("second", delivered)));
+
+        // One pass on the core worker, applying the requests in order
+        assertEquals(1, posted.size());
+        posted.get(0).run();
+        InOrder inOrder = inOrder(mDocumentContext, rootContext);
+        inOrder.verify(mDocumentContext).executeCommands("first");
+        inOrder.verify(rootContext).updateDataSource("dynamicIndexList", "{\"type\": \"dynamicIndexList\"}");
+        inOrder.verify(mDocumentContext).executeCommands("second");
+
+        // One dispatch delivering every callback, in order
+        ArgumentCaptor<Runnable> published = ArgumentCaptor.forClass(Runnable.class);
+        verify(mViewhost, times(1)).publish(published.capture());
+        published.getValue().run();
+        assertEquals(Arrays.asList("first", "update", "second"), delivered);
+    }
+
+    @Test
+    public void testRequestAfterPassSchedulesAnotherPass() {
+        DocumentHandleImpl impl = (DocumentHandleImpl) mDocumentHandle;
+        impl.setDocumentContext(mDocumentContext);
+        List<Runnable> posted = capturePosts();
+        List<String> delivered = new ArrayList<>();
+
+        mDocumentHandle.executeCommands(commandsRequest("first", delivered));
+        posted.get(0).run();
+        mDocumentHandle.executeCommands(commandsRequest("second", delivered));
+
+        assertEquals(2, posted.size());
+        posted.get(1).run();
+        verify(mDocumentContext).executeCommands("second");
+        verify(mViewhost, times(2)).publish(any(Runnable.class));
+    }
+
+    @Test
+    public void testFailingRequestDoesNotStopThePass() {
+        DocumentHandleImpl impl = (DocumentHandleImpl) mDocumentHandle;
+        impl.setDocumentContext(mDocumentContext);
+        when(mDocumentContext.executeCommands("first")).thenThrow(new IllegalStateException("failed"));
+        List<Runnable> posted = capturePosts();
+        List<String> delivered = new ArrayList<>();
+
+        mDocumentHandle.executeCommands(commandsRequest("first", delivered));
+        mDocumentHandle.executeCommands(commandsRequest("second", delivered));
+        posted.get(0).run();
+
+        verify(mDocumentContext).executeCommands("second");
+        ArgumentCaptor<Runnable> published = ArgumentCaptor.forClass(Runnable.class);
+        verify(mViewhost, times(1)).publish(published.capture());
+        published.getValue().run();
+        assertEquals(Arrays.asList("second"), delivered);
+    }
+
+    @Test
+    public void testFailingCallbackDoesNotDropLaterCallbacks() {
+        DocumentHandleImpl impl = (DocumentHandleImpl) mDocumentHandle;
+        impl.setDocumentContext(mDocumentContext);
+        List<Runnable> posted = capturePosts();
+        List<String> delivered = new ArrayList<>();
+
+        mDocumentHandle.executeCommands(ExecuteCommandsRequest.builder()
+                .commands(new JsonStringDecodable("first"))
+                .callback(new ExecuteCommandsCallback() {
+                    @Override
+                    public void onComplete() {
+                        throw new IllegalStateException("failed");
+                    }
+
+                    @Override
+                    public void onTerminated() {
+                    }
+                })
+                .build());
+        mDocumentHandle.executeCommands(commandsRequest("second", delivered));
+        posted.get(0).run();
+
+        ArgumentCaptor<Runnable> published = ArgumentCaptor.forClass(Runnable.class);
+        verify(mViewhost, times(1)).publish(published.capture());
+        published.getValue().run();
+        assertEquals(Arrays.asList("second"), delivered);
+    }
+
+    private List<Runnable> capturePosts() {
+        List<Runnable> posted = new ArrayList<>();
+        when(mHandler.post(any(Runnable.class))).thenAnswer(invocation -> {
+            posted.add(invocation.getArgument(0));
+            return true;
+        });
+        return posted;
+    }
+
+    private ExecuteCommandsRequest commandsRequest(String commands, List<String> delivered) {
+        return ExecuteCommandsRequest.builder()
+                .commands(new JsonStringDecodable(commands))
+                .callback(new ExecuteCommandsCallback() {
+                    @Override
+                    public void onComplete() {
+                        delivered.add(commands);
+                    }
+
+                    @Override
+                    public void onTerminated() {
+                    }
+                })
+                .build();
+    }
+
 }
@@ -0,0 +1,243 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package com.amazon.apl.viewhost.primitives;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+
+import com.amazon.apl.android.robolectric.ViewhostRobolectricTest;
+import com.amazon.apl.viewhost.primitives.decoder.KeyedContainerDecoder;
+import com.amazon.apl.viewhost.primitives.decoder.SingleValueDecoder;
+import com.amazon.apl.viewhost.primitives.decoder.UnkeyedContainerDecoder;
+
+import org.json.JSONArray;
+import org.json.JSONException;
+import org.json.JSONObject;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
+@RunWith(AndroidJUnit4.class)
+public class LazyJsonDecodableTest extends ViewhostRobolectricTest {
+    private static final String DECODABLE_JSON = "{" +
+        "  \"id\": \"foo\"," +
+        "  \"version\": 2," +
+        "  \"title\": \"caf\\u00e9 \\\"quoted\\\" ☃\"," +
+        "  \"flags\": {" +
+        "    \"nestedArrays\": [ [ \"a\" ], [ \"b\", \"c\" ], [ true, false ] ]," +
+        "    \"nestedObjects\": [ { \"a\": null }, { \"b\": 2 }, { \"d\": 3.3 } ]," +
+        "    \"items\": [ 1, -2, 3e2, 9007199254740993 ]" +
+        "  }" +
+        "}";
+
+    private static Decodable utf8(String json) {
+        return new Utf8JsonDecodable(json.getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    public void testKeyedContainer_matchesJsonDecodable() throws JSONException {
+        for (Decodable payload : new Decodable[]{utf8(DECODABLE_JSON), new JsonStringDecodable(DECODABLE_JSON)}) {
+            KeyedContainerDecoder expected = new JsonDecodable(new JSONObject(DECODABLE_JSON)).decodeKeyedContainer();
+            KeyedContainerDecoder decoder = payload.decodeKeyedContainer();
+
+            assertNull(payload.decodeUnkeyedContainer());
+            assertNull(payload.decodeSingleValue());
+            assertEquals(expected.size(), decoder.size());
+            List<String> keys = new ArrayList<>();
+            for (Iterator<String> iterator = decoder.keys(); iterator.hasNext(); ) {
+                keys.add(iterator.next());
+            }
+            assertEquals(4, keys.size());
+            assertTrue(decoder.hasKey("flags"));
+            assertFalse(decoder.hasKey("missing"));
+            assertNull(decoder.decodeSingleValue("missing"));
+
+            assertEquals("foo", decoder.decodeSingleValue("id").decodeString());
+            assertEquals(2, decoder.decodeSingleValue("version").decodeInteger().intValue());
+            assertEquals(expected.decodeSingleValue("title").decodeString(), decoder.decodeSingleValue("title").decodeString());
+            assertNull(decoder.decodeKeyedContainer("id"));
+            assertNull(decoder.decodeUnkeyedContainer("flags"));
+        }
+    }
+
+    @Test
+    public void testCoercion_matchesJsonDecodable() throws JSONException {
+        String json = "{" +
+            "  \"intString\": \"5\"," +
+            "  \"doubleString\": \" 2.5 \"," +
+            "  \"trueString\": \"true\"," +
+            "  \"falseString\": \"FALSE\"," +
+            "  \"text\": \"five\"," +
+            "  \"trailingZero\": 1.50," +
+            "  \"exponent\": 1e2," +
+            "  \"large\": 9007199254740993," +
+            "  \"fraction\": -3.7," +
+            "  \"flag\": true," +
+            "  \"nothing\": null," +
+            "  \"object\": { \"a\": [ 1, 2 ] }" +
+            "}";
+        KeyedContainerDecoder expected = new JsonDecodable(new JSONObject(json)).decodeKeyedContainer();
+
+        for (Decodable payload : new Decodable[]{utf8(json), new JsonStringDecodable(json)}) {
+            KeyedContainerDecoder decoder = payload.decodeKeyedContainer();
+            for (Iterator<String> keys = expected.keys(); keys.hasNext(); ) {
+                String key = keys.next();
+                SingleValueDecoder want = expected.decodeSingleValue(key);
+                SingleValueDecoder got = decoder.decodeSingleValue(key);
+                assertEquals(key, want.decodeNull(), got.decodeNull());
+                assertEquals(key, want.decodeBoolean(), got.decodeBoolean());
+                assertEquals(key, want.decodeInteger(), got.decodeInteger());
+                assertEquals(key, want.decodeLong(), got.decodeLong());
+                assertEquals(key, want.decodeDouble(), got.decodeDouble());
+                assertEquals(key, want.decodeFloat(), got.decodeFloat());
+                assertEquals(key, want.decodeString(), got.decodeString());
+            }
+        }
+    }
+
+    @Test
+    public void testUnkeyedCoercion_matchesJsonDecodable() throws JSONException {
+        String json = "[ \"5\", \"true\", \"x\", 1.50, 1e2, false, null ]";
+        UnkeyedContainerDecoder expected = new JsonDecodable(new JSONArray(json)).decodeUnkeyedContainer();
+        UnkeyedContainerDecoder decoder = utf8(json).decodeUnkeyedContainer();
+
+        assertEquals(expected.size(), decoder.size());
+        while (!expected.atEnd()) {
+            SingleValueDecoder want = expected.decodeSingleValue();
+            SingleValueDecoder got = decoder.decodeSingleValue();
+            String index = String.valueOf(decoder.index());
+            assertEquals(index, want.decodeNull(), got.decodeNull());
+            assertEquals(index, want.decodeBoolean(), got.decodeBoolean());
+            assertEquals(index, want.decodeInteger(), got.decodeInteger());
+            assertEquals(index, want.decodeLong(), got.decodeLong());
+            assertEquals(index, want.decodeDouble(), got.decodeDouble());
+            assertEquals(index, want.decodeString(), got.decodeString());
+        }
+        assertTrue(decoder.atEnd());
+    }
+
+    @Test
+    public void testUnkeyedContainer_decodesSequentially() {
+        UnkeyedContainerDecoder decoder = utf8(DECODABLE_JSON).decodeKeyedContainer()
+                .decodeKeyedContainer("flags")
+                .decodeUnkeyedContainer("items");
+
+        assertEquals(4, decoder.size());
+        assertNull(decoder.decodeKeyedContainer());
+        assertNull(decoder.decodeUnkeyedContainer());
+        assertEquals(0, decoder.index());
+
+        assertEquals(1, decoder.decodeSingleValue().decodeInteger().intValue());
+        assertEquals(-2L, decoder.decodeSingleValue().decodeLong().longValue());
+        assertEquals(300.0, decoder.decodeSingleValue().decodeDouble(), 0.001);
+        assertEquals(9007199254740993L, decoder.decodeSingleValue().decodeLong().longValue());
+        assertTrue(decoder.atEnd());
+        assertNull(decoder.decodeSingleValue());
+    }
+
+    @Test
+    public void testNestedContainers() {
+        KeyedContainerDecoder flags = utf8(DECODABLE_JSON).decodeKeyedContainer().decodeKeyedContainer("flags");
+
+        UnkeyedContainerDecoder arrays = flags.decodeUnkeyedContainer("nestedArrays");
+        assertEquals(3, arrays.size());
+        assertNotNull(arrays.decodeUnkeyedContainer());
+        SingleValueDecoder container = arrays.decodeSingleValue();
+        assertFalse(container.decodeNull());
+        assertNull(container.decodeBoolean());
+        assertNull(container.decodeInteger());
+        assertEquals("[\"b\",\"c\"]", container.decodeString());
+        UnkeyedContainerDecoder bools = arrays.decodeUnkeyedContainer();
+        assertTrue(bools.decodeSingleValue().decodeBoolean());
+        assertFalse(bools.decodeSingleValue().decodeBoolean());
+
+        UnkeyedContainerDecoder objects = flags.decodeUnkeyedContainer("nestedObjects");
+        assertTrue(objects.decodeKeyedContainer().decodeSingleValue("a").decodeNull());
+        KeyedContainerDecoder b = objects.decodeKeyedContainer();
+        assertEquals(2, b.decodeSingleValue("b").decodeInteger().intValue());
+        assertNull(b.decodeSingleValue("b").decodeBoolean());
+        assertFalse(b.decodeSingleValue("b").decodeNull());
+        assertEquals(3.3f, objects.decodeKeyedContainer().decodeSingleValue("d").decodeFloat(), 0.001f);
+    }
+
+    @Test
+    public void testTopLevelValues() {
+        assertEquals("text", utf8("\"text\"").decodeSingleValue().decodeString());
+        assertEquals(42, utf8(" 42 ").decodeSingleValue().decodeInteger().intValue());
+        assertTrue(utf8("null").decodeSingleValue().decodeNull());
+        assertNull(utf8("payload").decodeSingleValue());
+        assertNull(utf8("").decodeKeyedContainer());
+
+        UnkeyedContainerDecoder array = utf8("[]").decodeUnkeyedContainer();
+        assertEquals(0, array.size());
+        assertTrue(array.atEnd());
+        assertEquals(0, utf8("{ }").decodeKeyedContainer().size());
+    }
+
+    @Test
+    public void testMalformedContainer_decodesValuesBeforeError() {
+        KeyedContainerDecoder decoder = utf8("{\"a\": 1, \"b\": \"unterminated}").decodeKeyedContainer();
+        assertEquals(1, decoder.size());
+        assertEquals(1, decoder.decodeSingleValue("a").decodeInteger().intValue());
+    }
+
+    @Test
+    public void testReadTopLevelString() throws JSONException {
+        Utf8JsonDecodable payload = (Utf8JsonDecodable) utf8(DECODABLE_JSON);
+        assertEquals("foo", payload.readTopLevelString("id"));
+        assertEquals("café \"quoted\" ☃", payload.readTopLevelString("title"));
+        // Not strings
+        assertNull(payload.readTopLevelString("version"));
+        assertNull(payload.readTopLevelString("flags"));
+        // Nested keys are not top level
+        assertNull(payload.readTopLevelString("interactionType"));
+        assertNull(payload.readTopLevelString("missing"));
+    }
+
+    @Test
+    public void testReadTopLevelString_stopsAtField() throws JSONException {
+        JsonStringDecodable payload = new JsonStringDecodable(
+                "{\"type\": \"dynamicIndexList\", \"items\": [ this is not scanned");
+        assertEquals("dynamicIndexList", payload.readTopLevelString("type"));
+    }
+
+    @Test
+    public void testReadTopLevelString_skipsLargeValues() throws JSONException {
+        StringBuilder items = new StringBuilder("[");
+        for (int i = 0; i < 1000; i++) {
+            items.append(i == 0 ? "" : ",").append("{\"type\": \"item\", \"text\": \"}]\\\"").append(i).append("\"}");
+        }
+        items.append("]");
+        JsonStringDecodable payload = new JsonStringDecodable(
+                "{\"items\": " + items + ", \"type\": \"dynamicTokenList\"}");
+        assertEquals("dynamicTokenList", payload.readTopLevelString("type"));
+    }
+
+    @Test(expected = JSONException.class)
+    public void testReadTopLevelString_notAnObject() throws JSONException {
+        new JsonStringDecodable("Invalid").readTopLevelString("type");
+    }
+
+    @Test
+    public void testTranscode_buildsJsonTreeOnlyForJsonTranscoder() throws JSONException {
+        Utf8JsonDecodable payload = (Utf8JsonDecodable) utf8("{\"hello\": 3}");
+        JsonTranscoder transcoder = new JsonTranscoder();
+
+        assertTrue(payload.transcode(transcoder));
+        assertEquals(3, transcoder.getJsonObject().getInt("hello"));
+        assertArrayEquals("{\"hello\": 3}".getBytes(StandardCharsets.UTF_8), payload.getBytes());
+    }
+}